@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.dictionary;
+
+import org.agrona.collections.IntHashSet;
+
+import java.util.Arrays;
+
+/**
+ * Operations on sets of fields held as a bitset of <code>long</code> words, used by generated decoders for
+ * validation. Fields are identified by their dense ordinal within the dictionary, see the generated
+ * <code>Constants.fieldOrdinal(int)</code>. Tags without an ordinal are tracked in an {@link IntHashSet} alongside
+ * the bits so that the results of validation are the same for tags that aren't in the dictionary.
+ */
+public final class FieldBitSet
+{
+    public static final int NO_ORDINAL = -1;
+
+    private static final int WORD_SHIFT = 6;
+
+    private FieldBitSet()
+    {
+    }
+
+    public static int wordCount(final int ordinalCount)
+    {
+        return (ordinalCount + Long.SIZE - 1) >>> WORD_SHIFT;
+    }
+
+    /**
+     * Add a field to the set.
+     *
+     * @param bits the bitset for fields with an ordinal.
+     * @param otherTags the set for fields without an ordinal.
+     * @param ordinal the ordinal of the field or {@link #NO_ORDINAL}.
+     * @param tag the tag of the field.
+     * @return true if the field was added, false if it was already in the set.
+     */
+    public static boolean add(final long[] bits, final IntHashSet otherTags, final int ordinal, final int tag)
+    {
+        if (ordinal == NO_ORDINAL)
+        {
+            return otherTags.add(tag);
+        }
+
+        final int index = ordinal >>> WORD_SHIFT;
+        final long word = bits[index];
+        final long mask = 1L << ordinal;
+        bits[index] = word | mask;
+
+        return (word & mask) == 0;
+    }
+
+    public static void remove(final long[] bits, final IntHashSet otherTags, final int ordinal, final int tag)
+    {
+        if (ordinal == NO_ORDINAL)
+        {
+            otherTags.remove(tag);
+        }
+        else
+        {
+            remove(bits, ordinal);
+        }
+    }
+
+    public static void set(final long[] bits, final int ordinal)
+    {
+        bits[ordinal >>> WORD_SHIFT] |= 1L << ordinal;
+    }
+
+    public static void remove(final long[] bits, final int ordinal)
+    {
+        if (ordinal != NO_ORDINAL)
+        {
+            bits[ordinal >>> WORD_SHIFT] &= ~(1L << ordinal);
+        }
+    }
+
+    public static boolean contains(final long[] bits, final int ordinal)
+    {
+        return ordinal != NO_ORDINAL && (bits[ordinal >>> WORD_SHIFT] & (1L << ordinal)) != 0;
+    }
+
+    public static void copy(final long[] src, final long[] dst)
+    {
+        System.arraycopy(src, 0, dst, 0, dst.length);
+    }
+
+    public static void clear(final long[] bits)
+    {
+        Arrays.fill(bits, 0L);
+    }
+
+    /**
+     * Find the lowest ordinal within the set.
+     *
+     * @param bits the bitset to search.
+     * @return the lowest ordinal within the set or {@link #NO_ORDINAL} if the set is empty.
+     */
+    public static int firstOrdinal(final long[] bits)
+    {
+        for (int i = 0; i < bits.length; i++)
+        {
+            final long word = bits[i];
+            if (word != 0)
+            {
+                return (i << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+            }
+        }
+
+        return NO_ORDINAL;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.dictionary;
+
+import uk.co.real_logic.artio.dictionary.generation.CodecConfiguration;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reports the bytecode size of the methods in compiled codecs, read from their class files. Methods larger than
+ * HotSpot's default <code>-XX:HugeMethodLimit</code> are never JIT compiled, see
+ * {@link CodecConfiguration#maxMethodSize(int)} for how the codec generator avoids them.
+ */
+public final class MethodSizeReport
+{
+    /**
+     * Methods with at least this many bytes of bytecode are listed by default, HotSpot's default
+     * <code>-XX:FreqInlineSize</code> is 325 bytes.
+     */
+    public static final int DEFAULT_MIN_REPORTED_SIZE = 326;
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    public static void main(final String[] args) throws IOException
+    {
+        if (args.length < 1)
+        {
+            System.err.println("Usage: MethodSizeReport </path/to/classes-directory> [minimum-reported-size]");
+            System.exit(-1);
+        }
+
+        final int minReportedSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MIN_REPORTED_SIZE;
+        final List<MethodSize> methodSizes = scan(Paths.get(args[0]));
+        print(methodSizes, minReportedSize, System.out);
+    }
+
+    public static List<MethodSize> scan(final Path classesDirectory) throws IOException
+    {
+        final List<MethodSize> methodSizes = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(classesDirectory))
+        {
+            final List<Path> classFiles = new ArrayList<>();
+            paths.filter((path) -> path.toString().endsWith(".class")).forEach(classFiles::add);
+            for (final Path classFile : classFiles)
+            {
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(classFile)))
+                {
+                    read(in, methodSizes);
+                }
+            }
+        }
+
+        methodSizes.sort(Comparator.comparingInt(MethodSize::size).reversed());
+        return methodSizes;
+    }
+
+    public static void print(final List<MethodSize> methodSizes, final int minReportedSize, final PrintStream out)
+    {
+        final int hugeMethodLimit = CodecConfiguration.DEFAULT_MAX_METHOD_SIZE;
+        int hugeMethodCount = 0;
+        int reportedCount = 0;
+        for (final MethodSize methodSize : methodSizes)
+        {
+            final int size = methodSize.size();
+            if (size > hugeMethodLimit)
+            {
+                hugeMethodCount++;
+            }
+
+            if (size >= minReportedSize)
+            {
+                reportedCount++;
+                out.printf("%8d %s.%s%s%s%n",
+                    size,
+                    methodSize.className(),
+                    methodSize.methodName(),
+                    methodSize.descriptor(),
+                    size > hugeMethodLimit ? " NOT JIT COMPILED" : "");
+            }
+        }
+
+        out.printf(
+            "%d methods scanned, %d of at least %d bytes, %d over the HugeMethodLimit of %d bytes%n",
+            methodSizes.size(),
+            reportedCount,
+            minReportedSize,
+            hugeMethodCount,
+            hugeMethodLimit);
+    }
+
+    public static void read(final InputStream classFile, final List<MethodSize> methodSizes) throws IOException
+    {
+        final DataInputStream in = new DataInputStream(classFile);
+        if (in.readInt() != MAGIC)
+        {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        final int constantPoolCount = in.readUnsignedShort();
+        final String[] utf8Constants = new String[constantPoolCount];
+        final int[] classNameIndices = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++)
+        {
+            final int tag = in.readUnsignedByte();
+            switch (tag)
+            {
+                case 1: // Utf8
+                    utf8Constants[i] = in.readUTF();
+                    break;
+
+                case 7: // Class
+                    classNameIndices[i] = in.readUnsignedShort();
+                    break;
+
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skip(in, 2);
+                    break;
+
+                case 15: // MethodHandle
+                    skip(in, 3);
+                    break;
+
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skip(in, 4);
+                    break;
+
+                case 5: // Long
+                case 6: // Double
+                    skip(in, 8);
+                    i++; // Takes up two entries in the constant pool
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag: " + tag);
+            }
+        }
+
+        in.readUnsignedShort(); // access flags
+        final String className = utf8Constants[classNameIndices[in.readUnsignedShort()]].replace('/', '.');
+        in.readUnsignedShort(); // super class
+        skip(in, 2 * in.readUnsignedShort()); // interfaces
+
+        final int fieldCount = in.readUnsignedShort();
+        for (int i = 0; i < fieldCount; i++)
+        {
+            skip(in, 6); // access flags, name and descriptor
+            skipAttributes(in);
+        }
+
+        final int methodCount = in.readUnsignedShort();
+        for (int i = 0; i < methodCount; i++)
+        {
+            in.readUnsignedShort(); // access flags
+            final String methodName = utf8Constants[in.readUnsignedShort()];
+            final String descriptor = utf8Constants[in.readUnsignedShort()];
+            final int attributeCount = in.readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++)
+            {
+                final String attributeName = utf8Constants[in.readUnsignedShort()];
+                final int attributeLength = in.readInt();
+                if ("Code".equals(attributeName))
+                {
+                    in.readUnsignedShort(); // max stack
+                    in.readUnsignedShort(); // max locals
+                    final int codeLength = in.readInt();
+                    methodSizes.add(new MethodSize(className, methodName, descriptor, codeLength));
+                    skip(in, attributeLength - 8);
+                }
+                else
+                {
+                    skip(in, attributeLength);
+                }
+            }
+        }
+    }
+
+    private static void skip(final DataInputStream in, final int length) throws IOException
+    {
+        int remaining = length;
+        while (remaining > 0)
+        {
+            final int skipped = in.skipBytes(remaining);
+            if (skipped > 0)
+            {
+                remaining -= skipped;
+            }
+            else
+            {
+                in.readByte();
+                remaining--;
+            }
+        }
+    }
+
+    private static void skipAttributes(final DataInputStream in) throws IOException
+    {
+        final int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++)
+        {
+            in.readUnsignedShort(); // name
+            skip(in, in.readInt());
+        }
+    }
+
+    public static final class MethodSize
+    {
+        private final String className;
+        private final String methodName;
+        private final String descriptor;
+        private final int size;
+
+        MethodSize(final String className, final String methodName, final String descriptor, final int size)
+        {
+            this.className = className;
+            this.methodName = methodName;
+            this.descriptor = descriptor;
+            this.size = size;
+        }
+
+        public String className()
+        {
+            return className;
+        }
+
+        public String methodName()
+        {
+            return methodName;
+        }
+
+        public String descriptor()
+        {
+            return descriptor;
+        }
+
+        public int size()
+        {
+            return size;
+        }
+
+        public String toString()
+        {
+            return className + "." + methodName + descriptor + " = " + size;
+        }
+    }
+}
@@ -59,14 +59,26 @@ public final class CodecConfiguration
     public static final String FLOAT_OVERFLOW_HANDLER_PROPERTY = "fix.codecs.float_overflow_handler";
     public static final String FIX_TAGS_IN_JAVADOC = "fix.codecs.tags_in_javadoc";
 
+    /**
+     * Integer system property for the estimated size, in bytes of bytecode, above which generated decode and encode
+     * methods are split into helper methods.
+     */
+    public static final String MAX_METHOD_SIZE_PROPERTY = "fix.codecs.max_method_size";
+
     public static final String DEFAULT_PARENT_PACKAGE = "uk.co.real_logic.artio";
     public static final String DEFAULT_FIX_TAGS_IN_JAVADOC = "true";
 
+    /**
+     * HotSpot's default <code>-XX:HugeMethodLimit</code>, methods with more bytecode than this are never JIT compiled.
+     */
+    public static final int DEFAULT_MAX_METHOD_SIZE = 8000;
+
     private String parentPackage = System.getProperty(PARENT_PACKAGE_PROPERTY, DEFAULT_PARENT_PACKAGE);
     private boolean flyweightsEnabled = Boolean.getBoolean(FLYWEIGHTS_ENABLED_PROPERTY);
     private boolean wrapEmptyBuffer = Boolean.getBoolean(WRAP_EMPTY_BUFFER);
     private boolean fixTagsInJavadoc = Boolean.parseBoolean(System.getProperty(
         FIX_TAGS_IN_JAVADOC, DEFAULT_FIX_TAGS_IN_JAVADOC));
+    private int maxMethodSize = Integer.getInteger(MAX_METHOD_SIZE_PROPERTY, DEFAULT_MAX_METHOD_SIZE);
     private SharedCodecConfiguration sharedCodecConfiguration;
 
     private String codecRejectUnknownEnumValueEnabled;
@@ -249,6 +261,22 @@ public final class CodecConfiguration
         return this;
     }
 
+    /**
+     * Sets the estimated bytecode size above which the generated <code>decode()</code> and <code>encode()</code>
+     * methods are split into smaller helper methods. Large dictionaries can otherwise produce methods that exceed
+     * HotSpot's <code>-XX:HugeMethodLimit</code> and are left running in the interpreter. Defaults to
+     * {@link #DEFAULT_MAX_METHOD_SIZE}. Can be configured via properties using
+     * <code>-Dfix.codecs.max_method_size=4000</code>.
+     *
+     * @param maxMethodSize the estimated bytecode size above which methods are split.
+     * @return this
+     */
+    public CodecConfiguration maxMethodSize(final int maxMethodSize)
+    {
+        this.maxMethodSize = maxMethodSize;
+        return this;
+    }
+
     String outputPath()
     {
         return outputPath;
@@ -294,6 +322,11 @@ public final class CodecConfiguration
         return fixTagsInJavadoc;
     }
 
+    int maxMethodSize()
+    {
+        return maxMethodSize;
+    }
+
     void conclude()
     {
         if (outputPath() == null)
@@ -166,7 +166,9 @@ public final class CodecGenerator
             RejectUnknownField.class,
             RejectUnknownEnumValue.class,
             codecRejectUnknownEnumValueEnabled,
-            configuration.fixTagsInJavadoc()).generate();
+            configuration.fixTagsInJavadoc())
+            .maxMethodSize(configuration.maxMethodSize())
+            .generate();
 
         new DecoderGenerator(
             dictionary,
@@ -182,7 +184,9 @@ public final class CodecGenerator
             configuration.wrapEmptyBuffer(),
             codecRejectUnknownEnumValueEnabled,
             configuration.fixTagsInJavadoc(),
-            configuration.getDecimalFloatOverflowHandler()).generate();
+            configuration.getDecimalFloatOverflowHandler())
+            .maxMethodSize(configuration.maxMethodSize())
+            .generate();
 
         new PrinterGenerator(dictionary, decoderPackage, decoderOutput).generate();
         new AcceptorGenerator(dictionary, decoderPackage, decoderOutput).generate();
@@ -205,7 +209,9 @@ public final class CodecGenerator
                 configuration.wrapEmptyBuffer(),
                 codecRejectUnknownEnumValueEnabled,
                 configuration.fixTagsInJavadoc(),
-                configuration.getDecimalFloatOverflowHandler()).generate();
+                configuration.getDecimalFloatOverflowHandler())
+            .maxMethodSize(configuration.maxMethodSize())
+            .generate();
         }
     }
 }
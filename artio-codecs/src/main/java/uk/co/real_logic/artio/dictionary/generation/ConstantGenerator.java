@@ -18,10 +18,12 @@ package uk.co.real_logic.artio.dictionary.generation;
 import org.agrona.collections.IntHashSet;
 import org.agrona.generation.OutputManager;
 import uk.co.real_logic.artio.dictionary.CharArraySet;
+import uk.co.real_logic.artio.dictionary.FieldBitSet;
 import uk.co.real_logic.artio.dictionary.Generated;
 import uk.co.real_logic.artio.dictionary.ir.Dictionary;
 import uk.co.real_logic.artio.dictionary.ir.Field;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 import static java.util.stream.Collectors.joining;
@@ -37,6 +39,9 @@ class ConstantGenerator
 
     static final String VERSION = "VERSION";
 
+    // Tags above this get their ordinal from a switch rather than the dense lookup table.
+    static final int MAX_DENSE_ORDINAL_TAG = 65_535;
+
     private final String className;
     private final String body;
     private final Dictionary dictionary;
@@ -75,6 +80,8 @@ class ConstantGenerator
             out.append(fileHeader(builderPackage));
             out.append(importFor(IntHashSet.class));
             out.append(importFor(CharArraySet.class));
+            out.append(importFor(FieldBitSet.class));
+            out.append(importFor(Arrays.class));
             out.append(importFor(Generated.class));
             out.append("\n" + GENERATED_ANNOTATION);
             out.append(body);
@@ -84,6 +91,7 @@ class ConstantGenerator
             if (!dictionary.shared())
             {
                 out.append(generateAllFieldsDictionary());
+                out.append(generateFieldOrdinals());
             }
             out.append("}\n");
         });
@@ -94,6 +102,86 @@ class ConstantGenerator
         return generateFieldDictionary(dictionary.fields().values(), "ALL_FIELDS");
     }
 
+    // Assigns each tag in the dictionary a dense ordinal, in tag order, so generated decoders can validate using
+    // bitsets rather than hash sets.
+    private String generateFieldOrdinals()
+    {
+        final int[] tags = fields()
+            .stream()
+            .mapToInt(Field::number)
+            .distinct()
+            .sorted()
+            .toArray();
+        final int maxDenseTag = Arrays
+            .stream(tags)
+            .filter(tag -> tag <= MAX_DENSE_ORDINAL_TAG)
+            .max()
+            .orElse(0);
+
+        final StringBuilder putOrdinals = new StringBuilder();
+        final StringBuilder sparseOrdinals = new StringBuilder();
+        for (int ordinal = 0; ordinal < tags.length; ordinal++)
+        {
+            final int tag = tags[ordinal];
+            putOrdinals.append(String.format("        putFieldOrdinal(%d, %d);\n", tag, ordinal));
+            if (tag > MAX_DENSE_ORDINAL_TAG)
+            {
+                sparseOrdinals.append(String.format("            case %d: return %d;\n", tag, ordinal));
+            }
+        }
+
+        final String sparseLookup = sparseOrdinals.length() == 0 ? "" :
+            "        switch (tag)\n" +
+            "        {\n" +
+            sparseOrdinals +
+            "        }\n";
+
+        return String.format(
+            "    public static final int FIELD_ORDINAL_COUNT = %1$d;\n" +
+            "    public static final int FIELD_ORDINAL_WORDS = FieldBitSet.wordCount(FIELD_ORDINAL_COUNT);\n" +
+            "    private static final int[] FIELD_ORDINALS = new int[%2$d];\n" +
+            "    private static final int[] FIELD_TAGS = new int[FIELD_ORDINAL_COUNT];\n" +
+            "    static\n" +
+            "    {\n" +
+            "        Arrays.fill(FIELD_ORDINALS, FieldBitSet.NO_ORDINAL);\n" +
+            "%3$s" +
+            "    }\n\n" +
+            "    private static void putFieldOrdinal(final int tag, final int ordinal)\n" +
+            "    {\n" +
+            "        if (tag < FIELD_ORDINALS.length)\n" +
+            "        {\n" +
+            "            FIELD_ORDINALS[tag] = ordinal;\n" +
+            "        }\n" +
+            "        FIELD_TAGS[ordinal] = tag;\n" +
+            "    }\n\n" +
+            "    public static int fieldOrdinal(final int tag)\n" +
+            "    {\n" +
+            "        if (tag >= 0 && tag < FIELD_ORDINALS.length)\n" +
+            "        {\n" +
+            "            return FIELD_ORDINALS[tag];\n" +
+            "        }\n" +
+            "%4$s" +
+            "        return FieldBitSet.NO_ORDINAL;\n" +
+            "    }\n\n" +
+            "    public static int fieldTag(final int ordinal)\n" +
+            "    {\n" +
+            "        return FIELD_TAGS[ordinal];\n" +
+            "    }\n\n" +
+            "    public static long[] fieldBits(final int... tags)\n" +
+            "    {\n" +
+            "        final long[] bits = new long[FIELD_ORDINAL_WORDS];\n" +
+            "        for (final int tag : tags)\n" +
+            "        {\n" +
+            "            FieldBitSet.set(bits, fieldOrdinal(tag));\n" +
+            "        }\n" +
+            "        return bits;\n" +
+            "    }\n\n",
+            tags.length,
+            maxDenseTag + 1,
+            putOrdinals,
+            sparseLookup);
+    }
+
     private String generateFieldDictionary(final Collection<Field> fields, final String name)
     {
         final String addFields = fields
@@ -23,6 +23,7 @@ import uk.co.real_logic.artio.builder.CommonDecoderImpl;
 import uk.co.real_logic.artio.builder.Decoder;
 import uk.co.real_logic.artio.builder.Encoder;
 import uk.co.real_logic.artio.decoder.SessionHeaderDecoder;
+import uk.co.real_logic.artio.dictionary.FieldBitSet;
 import uk.co.real_logic.artio.dictionary.Generated;
 import uk.co.real_logic.artio.dictionary.ir.Dictionary;
 import uk.co.real_logic.artio.dictionary.ir.*;
@@ -72,6 +73,21 @@ class DecoderGenerator extends Generator
     public static final String REQUIRED_FIELDS = "REQUIRED_FIELDS";
     private static final String GROUP_FIELDS = "GROUP_FIELDS";
     private static final String ALL_GROUP_FIELDS = "ALL_GROUP_FIELDS";
+    private static final String REQUIRED_FIELD_BITS = "REQUIRED_FIELD_BITS";
+    // Only tags that aren't in the dictionary end up in these sets, so they're usually empty.
+    private static final int OTHER_FIELDS_SET_SIZE = 8;
+
+    // Conservative estimates of the bytecode emitted for the decode method, used to decide when to split it
+    private static final int ESTIMATED_DECODE_METHOD_SIZE = 1024;
+    private static final int ESTIMATED_FIELD_CASE_SIZE = 56;
+    private static final int ESTIMATED_GROUP_CASE_SIZE = 360;
+    private static final String SPLIT_FIELD_ARGS = "tag, buffer, valueOffset, valueLength, endOfField";
+    private static final String SPLIT_FIELD_PARAMS =
+        "        final int tag,\n" +
+        "        final AsciiBuffer buffer,\n" +
+        "        final int valueOffset,\n" +
+        "        final int valueLength,\n" +
+        "        final int endOfField)\n";
 
     // Has to be generated everytime since HeaderDecoder and TrailerDecoder are generated.
     private static final String MESSAGE_DECODER =
@@ -506,10 +522,11 @@ class DecoderGenerator extends Generator
             "        {\n" +
             "            invalidTagId = Decoder.NO_ERROR;\n" +
             "            rejectReason = Decoder.NO_ERROR;\n" +
-            "            missingRequiredFields.clear();\n" +
+            "            FieldBitSet.clear(missingRequiredFields);\n" +
             (isGroup ? "" :
                 "            unknownFields.clear();\n" +
-                "            alreadyVisitedFields.clear();\n") +
+                "            FieldBitSet.clear(alreadyVisitedFields);\n" +
+                "            alreadyVisitedOtherFields.clear();\n") +
             "        }\n";
     }
 
@@ -524,6 +541,7 @@ class DecoderGenerator extends Generator
 
         final List<Field> requiredFields = requiredFields(aggregate.entries()).collect(toList());
         out.append(generateFieldDictionary(requiredFields, REQUIRED_FIELDS, true));
+        out.append(generateFieldBits(requiredFields, REQUIRED_FIELD_BITS));
 
         if (aggregate.containsGroup())
         {
@@ -580,9 +598,10 @@ class DecoderGenerator extends Generator
 
         out.append(String.format(
             (isGroup ? generateAllGroupFields(aggregate) :
-            "    private final IntHashSet alreadyVisitedFields = new IntHashSet(%6$d);\n\n" +
+            "    private final long[] alreadyVisitedFields = new long[Constants.FIELD_ORDINAL_WORDS];\n\n" +
+            "    private final IntHashSet alreadyVisitedOtherFields = new IntHashSet(%5$d);\n\n" +
             "    private final IntHashSet unknownFields = new IntHashSet(10);\n\n") +
-            "    private final IntHashSet missingRequiredFields = new IntHashSet(%1$d);\n\n" +
+            "    private final long[] missingRequiredFields = new long[Constants.FIELD_ORDINAL_WORDS];\n\n" +
             "    public boolean validate()\n" +
             "    {\n" +
             // validation for some tags performed in the decode method
@@ -590,26 +609,25 @@ class DecoderGenerator extends Generator
             "        {\n" +
             "            return false;\n" +
             "        }\n" +
-            "        final IntIterator missingFieldsIterator = missingRequiredFields.iterator();\n" +
+            "        final int missingFieldOrdinal = FieldBitSet.firstOrdinal(missingRequiredFields);\n" +
             (isMessage ? "        final IntIterator unknownFieldsIterator = unknownFields.iterator();\n" : "") +
-            "%2$s" +
-            "        if (missingFieldsIterator.hasNext())\n" +
+            "%1$s" +
+            "        if (missingFieldOrdinal != FieldBitSet.NO_ORDINAL)\n" +
             "        {\n" +
-            "            invalidTagId = missingFieldsIterator.nextValue();\n" +
+            "            invalidTagId = Constants.fieldTag(missingFieldOrdinal);\n" +
             "            rejectReason = " + REQUIRED_TAG_MISSING + ";\n" +
             "            return false;\n" +
             "        }\n" +
+            "%2$s" +
             "%3$s" +
             "%4$s" +
-            "%5$s" +
             "        return true;\n" +
             "    }\n\n",
-            sizeHashSet(requiredFields),
             messageValidation,
             enumValidation,
             charSizeValidation,
             groupValidation,
-            2 * aggregate.allFieldsIncludingComponents().count()));
+            OTHER_FIELDS_SET_SIZE));
     }
 
     private String generateAllGroupFields(final Aggregate groupAggregate)
@@ -654,6 +672,19 @@ class DecoderGenerator extends Generator
             String.format(generatedFieldEntryCode, addFields));
     }
 
+    private String generateFieldBits(final Collection<Field> fields, final String name)
+    {
+        final String tags = fields
+            .stream()
+            .map((field) -> "Constants." + constantName(field.name()))
+            .collect(joining(", "));
+
+        return String.format(
+            "    private static final long[] %1$s = Constants.fieldBits(%2$s);\n\n",
+            name,
+            tags);
+    }
+
     public static String addField(final Field field, final String name, final String prefix)
     {
         return String.format(
@@ -921,7 +952,7 @@ class DecoderGenerator extends Generator
     private void generateImports(final Writer out, final AggregateType component) throws IOException
     {
         generateImports("Decoder", component, out,
-            Encoder.class, CommonDecoderImpl.class);
+            Encoder.class, CommonDecoderImpl.class, FieldBitSet.class);
     }
 
     private void componentInterfaceGetter(final Entry entry, final Writer out)
@@ -1040,10 +1071,16 @@ class DecoderGenerator extends Generator
                 "    public %1$s next()\n" +
                 "    {\n" +
                 "        return next;\n" +
-                "    }\n\n" +
-                "    private IntHashSet seenFields = new IntHashSet(%2$d);\n\n",
-                groupClassName(group),
-                sizeHashSet(group.entries())));
+                "    }\n\n",
+                groupClassName(group)));
+
+            if (!isSharedParent())
+            {
+                out.append(String.format(
+                    "    private final long[] seenFields = new long[Constants.FIELD_ORDINAL_WORDS];\n\n" +
+                    "    private final IntHashSet seenOtherFields = new IntHashSet(%1$d);\n\n",
+                    OTHER_FIELDS_SET_SIZE));
+            }
         }
     }
 
@@ -1767,17 +1804,43 @@ class DecoderGenerator extends Generator
         final boolean isHeader = type == HEADER;
         final String endGroupCheck = endGroupCheck(aggregate, isGroup);
         final String prefix = generateDecodePrefix(aggregate, hasCommonCompounds, isGroup, isHeader, endGroupCheck);
-        final String body = entries.stream()
-            .map(this::decodeEntry)
-            .collect(joining("\n", "", "\n"));
+
+        final List<Entry> caseEntries = new ArrayList<>();
+        collectDecodeCases(entries, caseEntries);
+        final String body;
+        final String splitMethods;
+        if (estimateDecodeSize(caseEntries) > maxMethodSize)
+        {
+            // Move plain fields out into small methods keyed by tag range, groups and data fields update the
+            // position within the message so have to stay in the decode method.
+            final List<Entry> splitFields = caseEntries.stream().filter(this::isSplittableDecodeCase).collect(toList());
+            body = caseEntries.stream()
+                .filter((entry) -> !isSplittableDecodeCase(entry))
+                .map(this::decodeEntry)
+                .collect(joining("\n", "", "\n"));
+            splitMethods = splitDecodeMethods(splitFields);
+        }
+        else
+        {
+            body = entries.stream()
+                .map(this::decodeEntry)
+                .collect(joining("\n", "", "\n"));
+            splitMethods = "";
+        }
 
         final String suffix =
             "            default:\n" +
+            (splitMethods.isEmpty() ? "" :
+            "                if (decodeSplitField(" + SPLIT_FIELD_ARGS + "))\n" +
+            "                {\n" +
+            "                    break;\n" +
+            "                }\n\n") +
             "                if (!" + CODEC_REJECT_UNKNOWN_FIELD_ENABLED + ")\n" +
             "                {\n" +
             (isGroup ?
-            "                    seenFields.remove(tag);\n" :
-            "                    alreadyVisitedFields.remove(tag);\n") +
+            "                    FieldBitSet.remove(seenFields, seenOtherFields, fieldOrdinal, tag);\n" :
+            "                    FieldBitSet.remove(\n" +
+            "                        alreadyVisitedFields, alreadyVisitedOtherFields, fieldOrdinal, tag);\n") +
             "                }\n" +
             (isGroup ? "" :
             "                else\n" +
@@ -1803,7 +1866,98 @@ class DecoderGenerator extends Generator
             "        }\n" +
             decodeTrailerOrReturn(hasCommonCompounds, 2) +
             "    }\n\n";
-        return prefix + body + suffix;
+        return prefix + body + suffix + splitMethods;
+    }
+
+    private void collectDecodeCases(final List<Entry> entries, final List<Entry> caseEntries)
+    {
+        for (final Entry entry : entries)
+        {
+            if (entry.isComponent())
+            {
+                collectDecodeCases(((Component)entry.element()).entries(), caseEntries);
+            }
+            else if (entry.isField() || entry.isGroup())
+            {
+                caseEntries.add(entry);
+            }
+        }
+    }
+
+    private int estimateDecodeSize(final List<Entry> caseEntries)
+    {
+        int size = ESTIMATED_DECODE_METHOD_SIZE;
+        for (final Entry entry : caseEntries)
+        {
+            size += entry.isGroup() ? ESTIMATED_GROUP_CASE_SIZE : ESTIMATED_FIELD_CASE_SIZE;
+        }
+
+        return size;
+    }
+
+    private boolean isSplittableDecodeCase(final Entry entry)
+    {
+        return entry.isField() && !((Field)entry.element()).type().isDataBased();
+    }
+
+    private String splitDecodeMethods(final List<Entry> splitFields)
+    {
+        if (splitFields.isEmpty())
+        {
+            return "";
+        }
+
+        splitFields.sort(Comparator.comparingInt(Entry::number));
+
+        // Each method is kept small enough to be inlined into the dispatch method
+        final int casesPerMethod = Math.max(1, INLINEABLE_METHOD_SIZE / ESTIMATED_FIELD_CASE_SIZE);
+        final int methodCount = (splitFields.size() + casesPerMethod - 1) / casesPerMethod;
+        final int[] maxTags = new int[methodCount];
+        final StringBuilder methods = new StringBuilder();
+        for (int i = 0; i < methodCount; i++)
+        {
+            final List<Entry> fields = splitFields.subList(
+                i * casesPerMethod, Math.min(splitFields.size(), (i + 1) * casesPerMethod));
+            maxTags[i] = fields.get(fields.size() - 1).number();
+
+            methods
+                .append("    private boolean decodeFields").append(i).append("(\n")
+                .append(SPLIT_FIELD_PARAMS)
+                .append("    {\n")
+                .append("        switch (tag)\n")
+                .append("        {\n")
+                .append(fields.stream().map((entry) -> decodeField(entry, "")).collect(joining("\n", "", "\n")))
+                .append("            default:\n")
+                .append("                return false;\n")
+                .append("        }\n\n")
+                .append("        return true;\n")
+                .append("    }\n\n");
+        }
+
+        return
+            "    private boolean decodeSplitField(\n" +
+            SPLIT_FIELD_PARAMS +
+            "    {\n" +
+            splitFieldDispatch(maxTags, 0, methodCount - 1, 2) +
+            "    }\n\n" +
+            methods;
+    }
+
+    // Binary search over the tag ranges of the split methods
+    private String splitFieldDispatch(final int[] maxTags, final int low, final int high, final int indent)
+    {
+        if (low == high)
+        {
+            return indent(indent, "return decodeFields" + low + "(" + SPLIT_FIELD_ARGS + ");\n");
+        }
+
+        final int mid = (low + high) >>> 1;
+        return
+            indent(indent, "if (tag <= " + maxTags[mid] + ")\n") +
+            indent(indent, "{\n") +
+            splitFieldDispatch(maxTags, low, mid, indent + 1) +
+            indent(indent, "}\n\n") +
+            splitFieldDispatch(maxTags, mid + 1, high, indent);
     }
 
     private String generateDecodePrefix(
@@ -1819,15 +1973,19 @@ class DecoderGenerator extends Generator
             "        int seenFieldCount = 0;\n" +
             "        if (" + CODEC_VALIDATION_ENABLED + ")\n" +
             "        {\n" +
-            "            missingRequiredFields.copy(" + REQUIRED_FIELDS + ");\n" +
-            (isGroup ? "" : "            alreadyVisitedFields.clear();\n") +
+            "            FieldBitSet.copy(" + REQUIRED_FIELD_BITS + ", missingRequiredFields);\n" +
+            (isGroup ? "" :
+            "            FieldBitSet.clear(alreadyVisitedFields);\n" +
+            "            alreadyVisitedOtherFields.clear();\n") +
             "        }\n" +
             "        this.buffer = buffer;\n" +
             "        final int end = offset + length;\n" +
             "        int position = offset;\n" +
             "        int positionIter = position;\n" +
             (hasCommonCompounds ? "        position += header.decode(buffer, position, length);\n" : "") +
-            (isGroup ? "        seenFields.clear();\n" : "") +
+            (isGroup ?
+            "        FieldBitSet.clear(seenFields);\n" +
+            "        seenOtherFields.clear();\n" : "") +
             "        int tag;\n\n" +
             "        while (position < end)\n" +
             "        {\n" +
@@ -1837,6 +1995,11 @@ class DecoderGenerator extends Generator
             "               return position;\n" +
             "            }\n" +
             "            tag = buffer.getInt(position, equalsPosition);\n" +
+            // Groups always need the ordinal in order to detect the start of the next group entry
+            (isGroup ?
+            "            final int fieldOrdinal = Constants.fieldOrdinal(tag);\n" :
+            "            final int fieldOrdinal = " + CODEC_VALIDATION_ENABLED +
+            " ? Constants.fieldOrdinal(tag) : FieldBitSet.NO_ORDINAL;\n") +
             endGroupCheck +
             "            final int valueOffset = equalsPosition + 1;\n" +
             "            int endOfField = buffer.scan(valueOffset, end, START_OF_HEADER);\n" +
@@ -1860,12 +2023,13 @@ class DecoderGenerator extends Generator
             "                }\n" +
             headerValidation(isHeader) +
             (isGroup ? "" :
-            "                if (!alreadyVisitedFields.add(tag))\n" +
+            "                if (!FieldBitSet.add(\n" +
+            "                    alreadyVisitedFields, alreadyVisitedOtherFields, fieldOrdinal, tag))\n" +
             "                {\n" +
             "                    invalidTagId = tag;\n" +
             "                    rejectReason = " + TAG_APPEARS_MORE_THAN_ONCE + ";\n" +
             "                }\n") +
-            "                missingRequiredFields.remove(tag);\n" +
+            "                FieldBitSet.remove(missingRequiredFields, fieldOrdinal);\n" +
             "                seenFieldCount++;\n" +
             "            }\n\n" +
             "            switch (tag)\n" +
@@ -1902,7 +2066,7 @@ class DecoderGenerator extends Generator
         if (isGroup)
         {
             endGroupCheck = String.format(
-                "            if (!seenFields.add(tag))\n" +
+                "            if (!FieldBitSet.add(seenFields, seenOtherFields, fieldOrdinal, tag))\n" +
                 "            {\n" +
                 "                if (next == null)\n" +
                 "                {\n" +
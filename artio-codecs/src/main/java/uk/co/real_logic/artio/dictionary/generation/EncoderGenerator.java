@@ -140,6 +140,12 @@ class EncoderGenerator extends Generator
         "    {\n" +
         "        int position = offset;\n\n";
 
+    // Conservative estimates of the bytecode emitted for the encode method, used to decide when to split it
+    private static final int ESTIMATED_ENCODE_METHOD_SIZE = 256;
+    private static final int ESTIMATED_ENCODE_FIELD_SIZE = 80;
+    private static final int ESTIMATED_ENCODE_GROUP_SIZE = 112;
+    private static final int ESTIMATED_ENCODE_COMPONENT_SIZE = 24;
+
     private static final String RESET_NEXT_GROUP =
         "        if (next != null)" +
         "        {\n" +
@@ -986,9 +992,23 @@ class EncoderGenerator extends Generator
                 break;
         }
 
-        final String body = entries.stream()
-            .map(this::encodeEntry)
-            .collect(joining("\n"));
+        final String body;
+        final String splitMethods;
+        if (estimateEncodeSize(entries) > maxMethodSize)
+        {
+            final StringBuilder calls = new StringBuilder();
+            final StringBuilder methods = new StringBuilder();
+            splitEncodeMethods(entries, calls, methods);
+            body = calls.toString();
+            splitMethods = methods.toString();
+        }
+        else
+        {
+            body = entries.stream()
+                .map(this::encodeEntry)
+                .collect(joining("\n"));
+            splitMethods = "";
+        }
 
         String suffix;
         if (aggregateType == AggregateType.MESSAGE)
@@ -1029,7 +1049,81 @@ class EncoderGenerator extends Generator
             }
         }
 
-        return prefix + body + suffix;
+        return prefix + body + suffix + splitMethods;
+    }
+
+    private int estimateEncodeSize(final List<Entry> entries)
+    {
+        int size = ESTIMATED_ENCODE_METHOD_SIZE;
+        for (final Entry entry : entries)
+        {
+            size += estimateEncodeSize(entry);
+        }
+
+        return size;
+    }
+
+    private int estimateEncodeSize(final Entry entry)
+    {
+        if (entry.isGroup())
+        {
+            return ESTIMATED_ENCODE_GROUP_SIZE;
+        }
+        else if (entry.isField())
+        {
+            return ESTIMATED_ENCODE_FIELD_SIZE;
+        }
+        else
+        {
+            return ESTIMATED_ENCODE_COMPONENT_SIZE;
+        }
+    }
+
+    // Fields are encoded in order, so split them into consecutive runs that are each small enough to be inlined
+    private void splitEncodeMethods(final List<Entry> entries, final StringBuilder calls, final StringBuilder methods)
+    {
+        int methodCount = 0;
+        int methodSize = 0;
+        final StringBuilder methodBody = new StringBuilder();
+        for (final Entry entry : entries)
+        {
+            final String encodedEntry = encodeEntry(entry);
+            if (encodedEntry.isEmpty())
+            {
+                continue;
+            }
+
+            final int entrySize = estimateEncodeSize(entry);
+            if (methodSize > 0 && methodSize + entrySize > INLINEABLE_METHOD_SIZE)
+            {
+                appendEncodeFieldsMethod(methodCount++, methodBody, calls, methods);
+                methodBody.setLength(0);
+                methodSize = 0;
+            }
+
+            methodBody.append(encodedEntry).append("\n");
+            methodSize += entrySize;
+        }
+
+        if (methodSize > 0)
+        {
+            appendEncodeFieldsMethod(methodCount, methodBody, calls, methods);
+        }
+    }
+
+    private void appendEncodeFieldsMethod(
+        final int index, final CharSequence methodBody, final StringBuilder calls, final StringBuilder methods)
+    {
+        calls.append("        position = encodeFields").append(index).append("(buffer, position);\n");
+
+        methods
+            .append("    private int encodeFields").append(index)
+            .append("(final MutableAsciiBuffer buffer, final int offset)\n")
+            .append("    {\n")
+            .append("        int position = offset;\n\n")
+            .append(methodBody)
+            .append("        return position;\n")
+            .append("    }\n\n");
     }
 
     private String encodeEntry(final Entry entry)
@@ -102,6 +102,11 @@ public abstract class Generator
 
     protected final Deque<Aggregate> aggregateStack = new ArrayDeque<>();
 
+    // Hot methods with no more bytecode than HotSpot's default -XX:FreqInlineSize can be inlined by the JIT
+    protected static final int INLINEABLE_METHOD_SIZE = 325;
+
+    protected int maxMethodSize = CodecConfiguration.DEFAULT_MAX_METHOD_SIZE;
+
     protected Generator(
         final Dictionary dictionary,
         final String thisPackage,
@@ -130,6 +135,12 @@ public abstract class Generator
         this.decimalFloatOverflowHandler = decimalFloatOverflowHandler;
     }
 
+    Generator maxMethodSize(final int maxMethodSize)
+    {
+        this.maxMethodSize = maxMethodSize;
+        return this;
+    }
+
     public void generate()
     {
         generateAggregateFile(dictionary.header(), AggregateType.HEADER);
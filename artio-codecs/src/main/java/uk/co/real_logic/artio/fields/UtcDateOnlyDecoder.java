@@ -18,8 +18,12 @@ package uk.co.real_logic.artio.fields;
 import uk.co.real_logic.artio.util.AsciiBuffer;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 
-import static uk.co.real_logic.artio.fields.CalendricalUtil.getValidInt;
-import static uk.co.real_logic.artio.fields.CalendricalUtil.toEpochDay;
+import java.nio.ByteOrder;
+
+import static uk.co.real_logic.artio.fields.CalendricalUtil.*;
+import static uk.co.real_logic.artio.util.AsciiDigits.digitPair;
+import static uk.co.real_logic.artio.util.AsciiDigits.foldDigitPairs;
+import static uk.co.real_logic.artio.util.AsciiDigits.isEightDigits;
 
 /**
  * .
@@ -40,6 +44,25 @@ public final class UtcDateOnlyDecoder
     }
 
     public static int decode(final AsciiBuffer date, final int offset)
+    {
+        // All eight characters of YYYYMMDD are read at once, invalid values are left to the slower path to report
+        final long word = date.getLong(offset, ByteOrder.LITTLE_ENDIAN);
+        if (isEightDigits(word))
+        {
+            final long pairs = foldDigitPairs(word);
+            final int month = digitPair(pairs, SIZE_OF_YEAR);
+            final int day = digitPair(pairs, SIZE_OF_YEAR + SIZE_OF_MONTH);
+            if (isValidMonth(month) && isValidDayOfMonth(day))
+            {
+                final int year = digitPair(pairs, 0) * 100 + digitPair(pairs, 2);
+                return toEpochDay(year, month, day);
+            }
+        }
+
+        return decodeDigits(date, offset);
+    }
+
+    private static int decodeDigits(final AsciiBuffer date, final int offset)
     {
         final int endYear = offset + SIZE_OF_YEAR;
         final int endMonth = endYear + SIZE_OF_MONTH;
@@ -19,7 +19,13 @@ import uk.co.real_logic.artio.util.AsciiBuffer;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 import uk.co.real_logic.artio.util.PowerOf10;
 
+import java.nio.ByteOrder;
+
 import static uk.co.real_logic.artio.fields.CalendricalUtil.*;
+import static uk.co.real_logic.artio.util.AsciiDigits.ZEROS;
+import static uk.co.real_logic.artio.util.AsciiDigits.digitPair;
+import static uk.co.real_logic.artio.util.AsciiDigits.foldDigitPairs;
+import static uk.co.real_logic.artio.util.AsciiDigits.isEightDigits;
 
 /**
  * "HH:mm:ss[.SSS]"         - Millisecond Format
@@ -38,6 +44,11 @@ public final class UtcTimeOnlyDecoder
     static final int MICROS_FIELD_LENGTH = 6;
     static final int NANOS_FIELD_LENGTH = 9;
 
+    // The ':' separators within "HH:mm:ss" when read as a little endian long
+    private static final long SEPARATOR_MASK = 0x0000_FF00_00FF_0000L;
+    private static final long SEPARATORS = 0x0000_3A00_003A_0000L;
+    private static final int INVALID_SECOND_OF_DAY = -1;
+
     private final AsciiBuffer buffer = new MutableAsciiBuffer();
     private final boolean strict;
 
@@ -106,18 +117,13 @@ public final class UtcTimeOnlyDecoder
         final long fractionsInSecond,
         final boolean strict)
     {
-        final int startHour = offset;
-        final int endHour = startHour + 2;
-
-        final int startMinute = endHour + 1;
-        final int endMinute = startMinute + 2;
-
-        final int startSecond = endMinute + 1;
-        final int endSecond = startSecond + 2;
-
-        final int hour = getValidInt(time, startHour, endHour, 0, 23);
-        final int minute = getValidInt(time, startMinute, endMinute, 0, 59);
-        final int second = getValidInt(time, startSecond, endSecond, 0, 60);
+        final int endSecond = offset + SHORT_LENGTH;
+        int secondOfDay = length >= SHORT_LENGTH ?
+            secondOfDay(time.getLong(offset, ByteOrder.LITTLE_ENDIAN)) : INVALID_SECOND_OF_DAY;
+        if (secondOfDay == INVALID_SECOND_OF_DAY)
+        {
+            secondOfDay = secondOfDayDigits(time, offset);
+        }
 
         // expectedLength
         final int fractionsLength;
@@ -146,8 +152,6 @@ public final class UtcTimeOnlyDecoder
             fraction = 0;
         }
 
-        final int secondOfDay = hour * SECONDS_IN_HOUR + minute * SECONDS_IN_MINUTE + second;
-
         if (length < expectedLength)
         {
             return secondOfDay * fractionsInSecond + (fraction * (fractionsInSecond / fractionMultiplier));
@@ -158,6 +162,50 @@ public final class UtcTimeOnlyDecoder
         }
     }
 
+    // Reads all eight characters of "HH:mm:ss" at once, invalid values are left to the slower path to report
+    private static int secondOfDay(final long word)
+    {
+        if ((word & SEPARATOR_MASK) != SEPARATORS)
+        {
+            return INVALID_SECOND_OF_DAY;
+        }
+
+        final long digits = (word & ~SEPARATOR_MASK) | (ZEROS & SEPARATOR_MASK);
+        if (!isEightDigits(digits))
+        {
+            return INVALID_SECOND_OF_DAY;
+        }
+
+        final long pairs = foldDigitPairs(digits);
+        final int hour = digitPair(pairs, 0);
+        final int minute = digitPair(pairs, 3);
+        final int second = digitPair(pairs, 6);
+        if (hour > 23 || minute > 59 || second > 60)
+        {
+            return INVALID_SECOND_OF_DAY;
+        }
+
+        return hour * SECONDS_IN_HOUR + minute * SECONDS_IN_MINUTE + second;
+    }
+
+    private static int secondOfDayDigits(final AsciiBuffer time, final int offset)
+    {
+        final int startHour = offset;
+        final int endHour = startHour + 2;
+
+        final int startMinute = endHour + 1;
+        final int endMinute = startMinute + 2;
+
+        final int startSecond = endMinute + 1;
+        final int endSecond = startSecond + 2;
+
+        final int hour = getValidInt(time, startHour, endHour, 0, 23);
+        final int minute = getValidInt(time, startMinute, endMinute, 0, 59);
+        final int second = getValidInt(time, startSecond, endSecond, 0, 60);
+
+        return hour * SECONDS_IN_HOUR + minute * SECONDS_IN_MINUTE + second;
+    }
+
     private static long fractionMultiplier(final int length, final boolean strict)
     {
         switch (length)
@@ -18,6 +18,8 @@ package uk.co.real_logic.artio.fields;
 import uk.co.real_logic.artio.util.AsciiBuffer;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 
+import java.nio.ByteOrder;
+
 import static uk.co.real_logic.artio.fields.CalendricalUtil.*;
 import static uk.co.real_logic.artio.fields.UtcDateOnlyDecoder.LENGTH;
 
@@ -31,6 +33,9 @@ import static uk.co.real_logic.artio.fields.UtcDateOnlyDecoder.LENGTH;
  * then you can use the normal {@link UtcTimestampDecoder#decode(AsciiBuffer, int, int, boolean)} method.
  * Support for microsecond precision, eg: "yyyyMMdd-HH:mm:ss[.SSSSSS]" is provided through the
  * {@link UtcTimestampDecoder#decodeMicros(AsciiBuffer, int, int, boolean)} method.
+ * <p>
+ * Instances remember the epoch day of the last date that they decoded, so repeatedly decoding timestamps from the
+ * same day, such as the SendingTime of each message on a session, only parses the time of day.
  */
 public final class UtcTimestampDecoder
 {
@@ -48,9 +53,15 @@ public final class UtcTimestampDecoder
 
     private static final int TIME_OFFSET = LENGTH + 1;
 
+    // No date prefix of eight ASCII characters packs to zero
+    private static final long NO_DATE = 0;
+
     private final AsciiBuffer buffer = new MutableAsciiBuffer();
     private final boolean strict;
 
+    private long cachedDate = NO_DATE;
+    private long cachedEpochDay;
+
     /**
      * @param strict if length of FIX encoded value has to be checked to match FIX specification
      */
@@ -62,7 +73,7 @@ public final class UtcTimestampDecoder
     public long decode(final byte[] bytes, final int length)
     {
         buffer.wrap(bytes);
-        return decode(buffer, 0, length, strict);
+        return decode(buffer, 0, length);
     }
 
     public long decode(final byte[] bytes)
@@ -73,7 +84,7 @@ public final class UtcTimestampDecoder
     public long decodeMicros(final byte[] bytes, final int length)
     {
         buffer.wrap(bytes);
-        return decodeMicros(buffer, 0, length, strict);
+        return decodeMicros(buffer, 0, length);
     }
 
     public long decodeMicros(final byte[] bytes)
@@ -84,7 +95,7 @@ public final class UtcTimestampDecoder
     public long decodeNanos(final byte[] bytes, final int length)
     {
         buffer.wrap(bytes);
-        return decodeNanos(buffer, 0, length, strict);
+        return decodeNanos(buffer, 0, length);
     }
 
     public long decodeNanos(final byte[] bytes)
@@ -92,6 +103,73 @@ public final class UtcTimestampDecoder
         return decodeNanos(bytes, bytes.length);
     }
 
+    /**
+     * Decode a timestamp, reusing the epoch day of the previous timestamp decoded by this instance if it has the same
+     * date.
+     *
+     * @param timestamp a buffer containing the FIX encoded value of the timestamp in ASCII
+     * @param offset the offset within the timestamp buffer where the value starts
+     * @param length the length of the FIX encoded value in bytes / ASCII characters
+     * @return the number of milliseconds since the Unix Epoch that represents this timestamp
+     * @throws NumberFormatException if the value in the buffer isn't a valid timestamp.
+     */
+    public long decode(final AsciiBuffer timestamp, final int offset, final int length)
+    {
+        final long epochDay = epochDay(timestamp, offset);
+        final long millisecondOfDay = UtcTimeOnlyDecoder.decode(
+            timestamp, offset + TIME_OFFSET, length - TIME_OFFSET, strict);
+        return epochDay * MILLIS_IN_DAY + millisecondOfDay;
+    }
+
+    /**
+     * Decode a timestamp with microsecond precision, reusing the epoch day of the previous timestamp decoded by this
+     * instance if it has the same date.
+     *
+     * @param timestamp a buffer containing the FIX encoded value of the timestamp in ASCII
+     * @param offset the offset within the timestamp buffer where the value starts
+     * @param length the length of the FIX encoded value in bytes / ASCII characters
+     * @return the number of microseconds since the Unix Epoch that represents this timestamp
+     * @throws NumberFormatException if the value in the buffer isn't a valid timestamp.
+     */
+    public long decodeMicros(final AsciiBuffer timestamp, final int offset, final int length)
+    {
+        final long epochDay = epochDay(timestamp, offset);
+        final long microsOfDay = UtcTimeOnlyDecoder.decodeMicros(
+            timestamp, offset + TIME_OFFSET, length - TIME_OFFSET, strict);
+        return epochDay * MICROS_IN_DAY + microsOfDay;
+    }
+
+    /**
+     * Decode a timestamp with nanosecond precision, reusing the epoch day of the previous timestamp decoded by this
+     * instance if it has the same date.
+     *
+     * @param timestamp a buffer containing the FIX encoded value of the timestamp in ASCII
+     * @param offset the offset within the timestamp buffer where the value starts
+     * @param length the length of the FIX encoded value in bytes / ASCII characters
+     * @return the number of nanoseconds since the Unix Epoch that represents this timestamp
+     * @throws NumberFormatException if the value in the buffer isn't a valid timestamp.
+     */
+    public long decodeNanos(final AsciiBuffer timestamp, final int offset, final int length)
+    {
+        final long epochDay = epochDay(timestamp, offset);
+        final long nanosOfDay = UtcTimeOnlyDecoder.decodeNanos(
+            timestamp, offset + TIME_OFFSET, length - TIME_OFFSET, strict);
+        return epochDay * NANOS_IN_DAY + nanosOfDay;
+    }
+
+    private long epochDay(final AsciiBuffer timestamp, final int offset)
+    {
+        final long date = timestamp.getLong(offset, ByteOrder.LITTLE_ENDIAN);
+        if (date != cachedDate)
+        {
+            // Only cache once the date has been successfully decoded
+            cachedEpochDay = UtcDateOnlyDecoder.decode(timestamp, offset);
+            cachedDate = date;
+        }
+
+        return cachedEpochDay;
+    }
+
     /**
      * @param timestamp a buffer containing the FIX encoded value of the timestamp in ASCII
      * @param offset the offset within the timestamp buffer where the value starts
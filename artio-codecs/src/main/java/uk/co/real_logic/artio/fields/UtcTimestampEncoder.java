@@ -42,6 +42,8 @@ public final class UtcTimestampEncoder
 
     private static final int LENGTH_OF_DATE = 8;
     private static final int LENGTH_OF_DATE_AND_DASH = LENGTH_OF_DATE + 1;
+    // HH:MM:SS.
+    private static final int FRACTION_OFFSET = LENGTH_OF_DATE_AND_DASH + 9;
 
     private static final int MILLISECONDS_EPOCH_FRACTION = EpochFractionFormat.MILLISECONDS.ordinal();
     private static final int MICROSECONDS_EPOCH_FRACTION = EpochFractionFormat.MICROSECONDS.ordinal();
@@ -52,6 +54,8 @@ public final class UtcTimestampEncoder
 
     private long startOfNextDayInFraction;
     private long beginningOfDayInFraction;
+    private long startOfNextSecondInFraction;
+    private long beginningOfSecondInFraction;
 
     public UtcTimestampEncoder()
     {
@@ -110,6 +114,9 @@ public final class UtcTimestampEncoder
      */
     public int encode(final long epochFraction)
     {
+        // The buffer no longer holds the cached day and second
+        invalidate();
+
         final int epochFractionPrecision = this.epochFractionPrecision;
         if (epochFractionPrecision == MILLISECONDS_EPOCH_FRACTION)
         {
@@ -176,6 +183,7 @@ public final class UtcTimestampEncoder
 
         startOfNextDayInFraction = (epochDay + 1) * fractionInDay;
         beginningOfDayInFraction = startOfNextDayInFraction - fractionInDay;
+        cacheSecond(localSecond, fractionInSecond);
 
         encodeDate(epochDay, flyweight, 0);
         flyweight.putChar(LENGTH_OF_DATE, '-');
@@ -198,7 +206,9 @@ public final class UtcTimestampEncoder
     }
 
     /**
-     * Update the current time into the buffer as an ascii UTC String
+     * Update the current time into the buffer as an ascii UTC String. The date is only encoded when the day changes
+     * and the time of day is only encoded when the second changes, within the same second only the fraction digits
+     * are written.
      *
      * @param epochFraction the current time as the number of milliseconds, microseconds or nanoseconds since the
      *                      start of the UNIX Epoch. The unit of this parameter should align with the constructor
@@ -236,15 +246,38 @@ public final class UtcTimestampEncoder
             lengthWithFraction = LENGTH_WITH_NANOSECONDS;
         }
 
+        if (epochFraction < startOfNextSecondInFraction && epochFraction >= beginningOfSecondInFraction)
+        {
+            flyweight.putNaturalPaddedIntAscii(
+                FRACTION_OFFSET, fractionFieldLength, (int)(epochFraction - beginningOfSecondInFraction));
+
+            return lengthWithFraction;
+        }
+
         final long localSecond = localSecond(epochFraction, fractionInSecond);
         final int fractionOfSecond = fractionOfSecond(epochFraction, fractionInSecond);
 
         UtcTimeOnlyEncoder.encodeFraction(
             localSecond, fractionOfSecond, flyweight, LENGTH_OF_DATE_AND_DASH, fractionFieldLength);
+        cacheSecond(localSecond, fractionInSecond);
 
         return lengthWithFraction;
     }
 
+    private void cacheSecond(final long localSecond, final long fractionInSecond)
+    {
+        beginningOfSecondInFraction = localSecond * fractionInSecond;
+        startOfNextSecondInFraction = beginningOfSecondInFraction + fractionInSecond;
+    }
+
+    private void invalidate()
+    {
+        startOfNextDayInFraction = 0;
+        beginningOfDayInFraction = 0;
+        startOfNextSecondInFraction = 0;
+        beginningOfSecondInFraction = 0;
+    }
+
     public byte[] buffer()
     {
         return bytes;
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.util;
+
+/**
+ * Operations on eight ASCII characters packed into a <code>long</code>, read in little endian order so that the
+ * first character is in the lowest byte. Used to validate and parse eight digits at a time.
+ */
+public final class AsciiDigits
+{
+    public static final int DIGITS_PER_WORD = 8;
+
+    /**
+     * '0' in every byte.
+     */
+    public static final long ZEROS = 0x3030_3030_3030_3030L;
+
+    private static final long HIGH_NIBBLES = 0xF0F0_F0F0_F0F0_F0F0L;
+    private static final long SIXES = 0x0606_0606_0606_0606L;
+
+    private AsciiDigits()
+    {
+    }
+
+    /**
+     * Check whether all eight characters are ASCII digits.
+     *
+     * @param word eight characters in little endian order.
+     * @return true if all eight characters are between '0' and '9'.
+     */
+    public static boolean isEightDigits(final long word)
+    {
+        // Every byte is 0x3? and adding 6 doesn't carry it out of 0x3?, ie its low nibble is at most 9.
+        return (word & HIGH_NIBBLES) == ZEROS && ((word + SIXES) & HIGH_NIBBLES) == ZEROS;
+    }
+
+    /**
+     * Parse eight ASCII digits, see {@link #isEightDigits(long)} for validation.
+     *
+     * @param word eight digits in little endian order.
+     * @return the value of the digits, between 0 and 99,999,999.
+     */
+    public static int parseEightDigits(final long word)
+    {
+        long value = word - ZEROS;
+        value = (value * 10 + (value >>> 8)) & 0x00FF_00FF_00FF_00FFL;
+        value = (value * 100 + (value >>> 16)) & 0x0000_FFFF_0000_FFFFL;
+        return (int)(value * 10_000 + (value >>> 32));
+    }
+
+    /**
+     * Fold adjacent pairs of ASCII digits into their two digit values. Byte <code>i</code> of the result holds the
+     * value of the digits at positions <code>i</code> and <code>i + 1</code>, so only bytes at the start of a pair
+     * are meaningful.
+     *
+     * @param word eight digits in little endian order.
+     * @return the folded pairs.
+     */
+    public static long foldDigitPairs(final long word)
+    {
+        final long value = word - ZEROS;
+        return value * 10 + (value >>> 8);
+    }
+
+    /**
+     * Extract the two digit value starting at a character position from the result of
+     * {@link #foldDigitPairs(long)}.
+     *
+     * @param pairs the folded digit pairs.
+     * @param position the position of the first digit of the pair within the word.
+     * @return the two digit value.
+     */
+    public static int digitPair(final long pairs, final int position)
+    {
+        return (int)((pairs >>> (position << 3)) & 0xFF);
+    }
+}
@@ -20,7 +20,6 @@ import org.agrona.AsciiNumberFormatException;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.artio.fields.*;
-import uk.co.real_logic.artio.util.float_parsing.AsciiBufferCharReader;
 import uk.co.real_logic.artio.util.float_parsing.DecimalFloatOverflowHandler;
 import uk.co.real_logic.artio.util.float_parsing.DecimalFloatParser;
 
@@ -177,7 +176,6 @@ public final class MutableAsciiBuffer extends UnsafeBuffer implements AsciiBuffe
     {
         return DecimalFloatParser.extract(
           number,
-          AsciiBufferCharReader.INSTANCE,
           this,
           offset,
           length,
@@ -17,8 +17,14 @@ package uk.co.real_logic.artio.util.float_parsing;
 
 
 import uk.co.real_logic.artio.fields.DecimalFloat;
+import uk.co.real_logic.artio.util.AsciiBuffer;
+
+import java.nio.ByteOrder;
 
 import static uk.co.real_logic.artio.fields.ReadOnlyDecimalFloat.VALUE_MAX_VAL;
+import static uk.co.real_logic.artio.util.AsciiDigits.DIGITS_PER_WORD;
+import static uk.co.real_logic.artio.util.AsciiDigits.isEightDigits;
+import static uk.co.real_logic.artio.util.AsciiDigits.parseEightDigits;
 import static uk.co.real_logic.artio.util.PowerOf10.pow10;
 
 public final class DecimalFloatParser
@@ -29,6 +35,101 @@ public final class DecimalFloatParser
     private static final char MINUS = '-';
     private static final byte DOT = '.';
 
+    // Values with no more digits than this can't overflow, so plain decimals this short take the fast path.
+    private static final int MAX_PLAIN_DIGITS = 18;
+    private static final int MAX_PLAIN_LENGTH = MAX_PLAIN_DIGITS + 2;
+    private static final long EIGHT_DIGITS_MULTIPLIER = 100_000_000L;
+
+    /**
+     * Extract a decimal float from an {@link AsciiBuffer}. Values of the common form <code>-?[0-9]*.?[0-9]*</code>
+     * are parsed eight digits at a time, anything else (spaces, exponents, large values or invalid characters)
+     * falls back to the general parser so errors and overflow handling are unchanged.
+     *
+     * @param number the decimal float to update.
+     * @param buffer the buffer containing the value.
+     * @param offset the offset of the value within the buffer.
+     * @param length the length of the value.
+     * @param tagId the tag of the field being parsed, passed to the overflow handler.
+     * @param overflowHandler the handler for values that are too large or null to throw.
+     * @return the decimal float.
+     */
+    public static DecimalFloat extract(
+        final DecimalFloat number,
+        final AsciiBuffer buffer,
+        final int offset,
+        final int length,
+        final int tagId,
+        final DecimalFloatOverflowHandler overflowHandler)
+    {
+        if (extractPlainDecimal(number, buffer, offset, length))
+        {
+            return number;
+        }
+
+        return extract(number, AsciiBufferCharReader.INSTANCE, buffer, offset, length, tagId, overflowHandler);
+    }
+
+    private static boolean extractPlainDecimal(
+        final DecimalFloat number, final AsciiBuffer buffer, final int offset, final int length)
+    {
+        if (length <= 0 || length > MAX_PLAIN_LENGTH)
+        {
+            return false;
+        }
+
+        final int end = offset + length;
+        int index = offset;
+        final boolean negative = buffer.getByte(index) == MINUS;
+        if (negative)
+        {
+            index++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        int dotIndex = -1;
+        while (index < end)
+        {
+            if (index + DIGITS_PER_WORD <= end)
+            {
+                final long word = buffer.getLong(index, ByteOrder.LITTLE_ENDIAN);
+                if (isEightDigits(word))
+                {
+                    value = value * EIGHT_DIGITS_MULTIPLIER + parseEightDigits(word);
+                    digits += DIGITS_PER_WORD;
+                    index += DIGITS_PER_WORD;
+                    continue;
+                }
+            }
+
+            final byte character = buffer.getByte(index);
+            if (character >= '0' && character <= '9')
+            {
+                value = value * 10 + (character - '0');
+                digits++;
+            }
+            else if (character == DOT && dotIndex == -1)
+            {
+                dotIndex = index;
+            }
+            else
+            {
+                return false;
+            }
+            index++;
+        }
+
+        if (digits == 0 || digits > MAX_PLAIN_DIGITS)
+        {
+            return false;
+        }
+
+        // Trailing zeros are removed when the value is normalised
+        final int scale = dotIndex == -1 ? 0 : end - (dotIndex + 1);
+        number.set(negative ? -value : value, scale);
+        return true;
+    }
+
     public static <Data> DecimalFloat extract(
         final DecimalFloat number,
         final CharReader<Data> charReader,
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.dictionary;
+
+import org.agrona.collections.IntHashSet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.co.real_logic.artio.dictionary.FieldBitSet.NO_ORDINAL;
+
+public class FieldBitSetTest
+{
+    private final long[] bits = new long[FieldBitSet.wordCount(130)];
+    private final IntHashSet otherTags = new IntHashSet();
+
+    @Test
+    public void shouldSizeWordsForOrdinals()
+    {
+        assertEquals(0, FieldBitSet.wordCount(0));
+        assertEquals(1, FieldBitSet.wordCount(64));
+        assertEquals(2, FieldBitSet.wordCount(65));
+        assertEquals(3, bits.length);
+    }
+
+    @Test
+    public void shouldDetectDuplicatesAcrossWords()
+    {
+        for (final int ordinal : new int[]{ 0, 63, 64, 129 })
+        {
+            assertTrue(FieldBitSet.add(bits, otherTags, ordinal, 1000 + ordinal));
+            assertFalse(FieldBitSet.add(bits, otherTags, ordinal, 1000 + ordinal));
+            assertTrue(FieldBitSet.contains(bits, ordinal));
+        }
+
+        assertTrue(otherTags.isEmpty());
+    }
+
+    @Test
+    public void shouldTrackTagsWithoutOrdinalSeparately()
+    {
+        assertTrue(FieldBitSet.add(bits, otherTags, NO_ORDINAL, 9999));
+        assertFalse(FieldBitSet.add(bits, otherTags, NO_ORDINAL, 9999));
+        assertEquals(NO_ORDINAL, FieldBitSet.firstOrdinal(bits));
+
+        FieldBitSet.remove(bits, otherTags, NO_ORDINAL, 9999);
+        assertTrue(otherTags.isEmpty());
+    }
+
+    @Test
+    public void shouldFindLowestRemainingOrdinal()
+    {
+        final long[] required = new long[bits.length];
+        FieldBitSet.set(required, 3);
+        FieldBitSet.set(required, 70);
+        FieldBitSet.set(required, 128);
+
+        FieldBitSet.copy(required, bits);
+        assertEquals(3, FieldBitSet.firstOrdinal(bits));
+
+        FieldBitSet.remove(bits, 3);
+        assertEquals(70, FieldBitSet.firstOrdinal(bits));
+
+        FieldBitSet.remove(bits, 70);
+        FieldBitSet.remove(bits, NO_ORDINAL);
+        assertEquals(128, FieldBitSet.firstOrdinal(bits));
+
+        FieldBitSet.clear(bits);
+        assertEquals(NO_ORDINAL, FieldBitSet.firstOrdinal(bits));
+        assertTrue(FieldBitSet.contains(required, 70));
+    }
+}
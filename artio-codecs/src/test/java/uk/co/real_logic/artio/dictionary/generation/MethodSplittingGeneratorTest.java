@@ -0,0 +1,142 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.dictionary.generation;
+
+import org.agrona.generation.StringWriterOutputManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import uk.co.real_logic.artio.builder.Decoder;
+import uk.co.real_logic.artio.builder.Encoder;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.agrona.generation.CompilerUtil.compileInMemory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.params.provider.Arguments.of;
+import static uk.co.real_logic.artio.dictionary.ExampleDictionary.*;
+import static uk.co.real_logic.artio.dictionary.generation.AbstractDecoderGeneratorTest.CODEC_LOGGING;
+import static uk.co.real_logic.artio.dictionary.generation.Generator.RUNTIME_REJECT_UNKNOWN_ENUM_VALUE_PROPERTY;
+import static uk.co.real_logic.artio.dictionary.generation.ToEncoderDecoderGeneratorTest.assertEncodesCorrectly;
+
+@SuppressWarnings("unchecked")
+public class MethodSplittingGeneratorTest
+{
+    private static final int BUFFER_SIZE = 1024;
+
+    private static Map<String, CharSequence> splitSources;
+    private static Map<String, CharSequence> defaultSources;
+    private static Class<? extends Decoder> heartbeatDecoder;
+    private static Class<? extends Encoder> heartbeatEncoder;
+
+    @BeforeAll
+    public static void generateClasses() throws ClassNotFoundException
+    {
+        defaultSources = generateClasses(CodecConfiguration.DEFAULT_MAX_METHOD_SIZE);
+
+        // Forces every decode and encode method to be split
+        splitSources = generateClasses(0);
+        heartbeatDecoder = (Class<? extends Decoder>)compileInMemory(HEARTBEAT_DECODER, splitSources);
+        if (heartbeatDecoder == null || CODEC_LOGGING)
+        {
+            System.out.println(splitSources);
+        }
+        heartbeatEncoder = (Class<? extends Encoder>)heartbeatDecoder.getClassLoader().loadClass(HEARTBEAT_ENCODER);
+    }
+
+    private static Map<String, CharSequence> generateClasses(final int maxMethodSize)
+    {
+        final StringWriterOutputManager outputManager = new StringWriterOutputManager();
+        final ConstantGenerator constantGenerator = new ConstantGenerator(
+            MESSAGE_EXAMPLE, TEST_PACKAGE, null, outputManager);
+        final EnumGenerator enumGenerator = new EnumGenerator(MESSAGE_EXAMPLE, TEST_PARENT_PACKAGE, outputManager);
+        final DecoderGenerator decoderGenerator = new DecoderGenerator(
+            MESSAGE_EXAMPLE, 1, TEST_PACKAGE,
+            TEST_PARENT_PACKAGE, TEST_PACKAGE, outputManager, ValidationOn.class,
+            RejectUnknownFieldOn.class, RejectUnknownEnumValueOn.class, false, false,
+            RUNTIME_REJECT_UNKNOWN_ENUM_VALUE_PROPERTY, true, null);
+        final EncoderGenerator encoderGenerator = new EncoderGenerator(MESSAGE_EXAMPLE, TEST_PACKAGE,
+            TEST_PARENT_PACKAGE, outputManager, ValidationOn.class, RejectUnknownFieldOn.class,
+            RejectUnknownEnumValueOn.class, RUNTIME_REJECT_UNKNOWN_ENUM_VALUE_PROPERTY, true);
+
+        constantGenerator.generate();
+        enumGenerator.generate();
+        encoderGenerator.maxMethodSize(maxMethodSize).generate();
+        decoderGenerator.maxMethodSize(maxMethodSize).generate();
+
+        return outputManager.getSources();
+    }
+
+    public static Stream<Arguments> data()
+    {
+        return Stream.of(
+            of(ENCODED_MESSAGE),
+            of(NO_OPTIONAL_MESSAGE),
+            of(COMPONENT_MESSAGE),
+            of(DERIVED_FIELDS_MESSAGE),
+            of(REPEATING_GROUP_MESSAGE),
+            of(NESTED_COMPONENT_MESSAGE),
+            of(NESTED_GROUP_MESSAGE),
+            of(SOH_IN_DATA_FIELD_MESSAGE));
+    }
+
+    @Test
+    public void shouldNotSplitMethodsOfSmallMessagesByDefault()
+    {
+        final String decoder = defaultSources.get(HEARTBEAT_DECODER).toString();
+        assertThat(decoder, not(containsString("decodeSplitField")));
+
+        final String encoder = defaultSources.get(HEARTBEAT_ENCODER).toString();
+        assertThat(encoder, not(containsString("encodeFields0")));
+    }
+
+    @Test
+    public void shouldSplitMethodsAboveMaxMethodSize()
+    {
+        final String decoder = splitSources.get(HEARTBEAT_DECODER).toString();
+        assertThat(decoder, containsString("private boolean decodeSplitField("));
+        assertThat(decoder, containsString("private boolean decodeFields1("));
+
+        final String encoder = splitSources.get(HEARTBEAT_ENCODER).toString();
+        assertThat(encoder, containsString("position = encodeFields0(buffer, position);"));
+        assertThat(encoder, containsString("private int encodeFields1("));
+    }
+
+    @ParameterizedTest
+    @MethodSource(value = "data")
+    public void shouldDecodeAndEncodeWithSplitMethods(final String message) throws Exception
+    {
+        final Decoder decoder = heartbeatDecoder.getConstructor().newInstance();
+        final Encoder encoder = heartbeatEncoder.getConstructor().newInstance();
+
+        final int offset = 1;
+        final MutableAsciiBuffer decodeBuffer = new MutableAsciiBuffer(new byte[BUFFER_SIZE]);
+        decodeBuffer.putAscii(offset, message);
+
+        decoder.decode(decodeBuffer, offset, message.length());
+        assertTrue(decoder.validate(), message);
+
+        decoder.toEncoder(encoder);
+        assertEncodesCorrectly(message, encoder, offset);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.fields;
+
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Randomised checks of timestamp decoding, including the cached epoch day of decoder instances, against java.time.
+ */
+public class UtcTimestampDecoderPropertyTest
+{
+    private static final int ITERATIONS = 50_000;
+    private static final DateTimeFormatter FORMATTER =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HH:mm:ss.SSSSSSSSS").withZone(ZoneOffset.UTC);
+    private static final long MIN_EPOCH_SECOND = -62135596800L;
+    private static final long MAX_EPOCH_SECOND = 253402300799L;
+
+    private final Random random = new Random(11);
+    private final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[64]);
+    private final UtcTimestampDecoder decoder = new UtcTimestampDecoder(true);
+
+    @Test
+    public void shouldDecodeRandomTimestampsLikeJavaTime()
+    {
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final long epochSecond =
+                MIN_EPOCH_SECOND + (long)(random.nextDouble() * (MAX_EPOCH_SECOND - MIN_EPOCH_SECOND));
+            final int nanos = random.nextInt(1_000_000_000);
+            assertDecodesLikeJavaTime(Instant.ofEpochSecond(epochSecond, nanos));
+        }
+    }
+
+    @Test
+    public void shouldDecodeRandomTimestampsWithinTheSameDay()
+    {
+        final long startOfDay = 1_700_006_400L;
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final long epochSecond = startOfDay + random.nextInt(2 * 86_400);
+            assertDecodesLikeJavaTime(Instant.ofEpochSecond(epochSecond, random.nextInt(1_000_000_000)));
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidDateAfterCachingValidDate()
+    {
+        final int length = buffer.putAscii(0, "20231115-10:11:12.123");
+        decoder.decode(buffer, 0, length);
+
+        buffer.putAscii(0, "20231315-10:11:12.123");
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(buffer, 0, length));
+
+        buffer.putAscii(0, "2023111x-10:11:12.123");
+        assertThrows(NumberFormatException.class, () -> decoder.decode(buffer, 0, length));
+    }
+
+    @Test
+    public void shouldRejectInvalidTimeOfDay()
+    {
+        final int length = buffer.putAscii(0, "20231115-24:11:12.123");
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(buffer, 0, length));
+        assertThrows(IllegalArgumentException.class, () -> UtcTimestampDecoder.decode(buffer, 0, length, true));
+    }
+
+    private void assertDecodesLikeJavaTime(final Instant instant)
+    {
+        final String nanosTimestamp = FORMATTER.format(instant);
+        final long epochNanos = instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        final long epochMicros = Math.floorDiv(epochNanos, 1_000L);
+        final long epochMillis = Math.floorDiv(epochNanos, 1_000_000L);
+
+        final int offset = random.nextInt(8);
+        final String millisTimestamp = nanosTimestamp.substring(0, UtcTimestampDecoder.LENGTH_WITH_MILLISECONDS);
+        final int millisLength = buffer.putAscii(offset, millisTimestamp);
+        assertEquals(epochMillis, decoder.decode(buffer, offset, millisLength), millisTimestamp);
+        assertEquals(epochMillis, UtcTimestampDecoder.decode(buffer, offset, millisLength, true), millisTimestamp);
+        assertEquals(epochMillis, decoder.decode(millisTimestamp.getBytes(US_ASCII)), millisTimestamp);
+
+        final String microsTimestamp = nanosTimestamp.substring(0, UtcTimestampDecoder.LENGTH_WITH_MICROSECONDS);
+        final int microsLength = buffer.putAscii(offset, microsTimestamp);
+        assertEquals(epochMicros, decoder.decodeMicros(buffer, offset, microsLength), microsTimestamp);
+        assertEquals(
+            epochMicros, UtcTimestampDecoder.decodeMicros(buffer, offset, microsLength, true), microsTimestamp);
+
+        final int nanosLength = buffer.putAscii(offset, nanosTimestamp);
+        assertEquals(epochNanos, decoder.decodeNanos(buffer, offset, nanosLength), nanosTimestamp);
+        assertEquals(epochNanos, UtcTimestampDecoder.decodeNanos(buffer, offset, nanosLength, true), nanosTimestamp);
+    }
+}
@@ -52,4 +52,53 @@ public class UtcTimestampEncoderDateRollTest
         assertEquals(newTimestamp, new String(encoder.buffer(), 0, length, US_ASCII));
     }
 
+    @Test
+    public void shouldOnlyUpdateFractionWithinSameSecond()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder();
+        encoder.initialise(toEpochMillis("20150914-12:34:56.789"));
+
+        assertUpdates(encoder, "20150914-12:34:56.001");
+        assertUpdates(encoder, "20150914-12:34:56.999");
+    }
+
+    @Test
+    public void shouldHandleSecondRoll()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder();
+        encoder.initialise(toEpochMillis("20150914-12:34:56.789"));
+
+        assertUpdates(encoder, "20150914-12:34:57.000");
+        assertUpdates(encoder, "20150914-12:34:57.123");
+        assertUpdates(encoder, "20150914-12:34:56.999");
+    }
+
+    @Test
+    public void shouldHandleSecondRollAfterDateRoll()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder();
+        encoder.initialise(toEpochMillis("20150914-23:59:59.999"));
+
+        assertUpdates(encoder, "20150915-00:00:00.000");
+        assertUpdates(encoder, "20150915-00:00:00.500");
+        assertUpdates(encoder, "20150915-00:00:01.000");
+    }
+
+    @Test
+    public void shouldReencodeWholeTimestampAfterEncode()
+    {
+        final UtcTimestampEncoder encoder = new UtcTimestampEncoder();
+        encoder.initialise(toEpochMillis("20150914-12:34:56.789"));
+        encoder.encode(toEpochMillis("20160101-01:02:03.004"));
+
+        assertUpdates(encoder, "20150914-12:34:56.790");
+    }
+
+    private void assertUpdates(final UtcTimestampEncoder encoder, final String newTimestamp)
+    {
+        final int length = encoder.update(toEpochMillis(newTimestamp));
+
+        assertEquals(newTimestamp.length(), length, "encoded wrong length");
+        assertEquals(newTimestamp, new String(encoder.buffer(), 0, length, US_ASCII));
+    }
 }
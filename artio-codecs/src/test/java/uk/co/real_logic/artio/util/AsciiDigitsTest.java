@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.util;
+
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.fields.DecimalFloat;
+import uk.co.real_logic.artio.util.float_parsing.AsciiBufferCharReader;
+import uk.co.real_logic.artio.util.float_parsing.DecimalFloatParser;
+
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Randomised checks of the eight digit at a time parsing against the existing one character at a time parsers.
+ */
+public class AsciiDigitsTest
+{
+    private static final int ITERATIONS = 100_000;
+    private static final String DECIMAL_CHARACTERS = "0123456789.-+eE x";
+
+    private final Random random = new Random(7);
+    private final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[64]);
+
+    @Test
+    public void shouldValidateAndParseEightDigits()
+    {
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final byte[] bytes = new byte[AsciiDigits.DIGITS_PER_WORD];
+            boolean allDigits = true;
+            for (int j = 0; j < bytes.length; j++)
+            {
+                bytes[j] = random.nextInt(16) == 0 ? (byte)random.nextInt(256) : (byte)('0' + random.nextInt(10));
+                allDigits &= bytes[j] >= '0' && bytes[j] <= '9';
+            }
+            buffer.putBytes(0, bytes);
+            final long word = buffer.getLong(0, ByteOrder.LITTLE_ENDIAN);
+            final String value = new String(bytes, US_ASCII);
+
+            assertEquals(allDigits, AsciiDigits.isEightDigits(word), value);
+            if (allDigits)
+            {
+                assertEquals(Integer.parseInt(value), AsciiDigits.parseEightDigits(word), value);
+
+                final long pairs = AsciiDigits.foldDigitPairs(word);
+                for (int position = 0; position < bytes.length - 1; position++)
+                {
+                    assertEquals(
+                        Integer.parseInt(value.substring(position, position + 2)),
+                        AsciiDigits.digitPair(pairs, position),
+                        value);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldParsePlainDecimalsLikeGeneralParser()
+    {
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final int integerDigits = random.nextInt(12);
+            final int fractionDigits = random.nextInt(12);
+            final StringBuilder value = new StringBuilder();
+            if (random.nextBoolean())
+            {
+                value.append('-');
+            }
+            appendDigits(value, integerDigits);
+            if (fractionDigits > 0 || random.nextBoolean())
+            {
+                value.append('.');
+            }
+            appendDigits(value, fractionDigits);
+
+            assertParsesLikeGeneralParser(value.toString());
+        }
+    }
+
+    @Test
+    public void shouldParseArbitraryCharactersLikeGeneralParser()
+    {
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final int length = 1 + random.nextInt(24);
+            final StringBuilder value = new StringBuilder();
+            for (int j = 0; j < length; j++)
+            {
+                value.append(random.nextInt(4) == 0 ?
+                    DECIMAL_CHARACTERS.charAt(random.nextInt(DECIMAL_CHARACTERS.length())) :
+                    (char)('0' + random.nextInt(10)));
+            }
+
+            assertParsesLikeGeneralParser(value.toString());
+        }
+    }
+
+    private void appendDigits(final StringBuilder value, final int digits)
+    {
+        for (int i = 0; i < digits; i++)
+        {
+            value.append((char)('0' + random.nextInt(10)));
+        }
+    }
+
+    private void assertParsesLikeGeneralParser(final String value)
+    {
+        final int offset = 1 + random.nextInt(8);
+        final int length = buffer.putAscii(offset, value);
+
+        final DecimalFloat expected = new DecimalFloat();
+        Class<? extends Throwable> expectedException = null;
+        try
+        {
+            DecimalFloatParser.extract(
+                expected, AsciiBufferCharReader.INSTANCE, buffer, offset, length, -1, null);
+        }
+        catch (final RuntimeException e)
+        {
+            expectedException = e.getClass();
+        }
+
+        final DecimalFloat actual = new DecimalFloat();
+        Class<? extends Throwable> actualException = null;
+        try
+        {
+            buffer.getFloat(actual, offset, length, -1, null);
+        }
+        catch (final RuntimeException e)
+        {
+            actualException = e.getClass();
+        }
+
+        assertEquals(expectedException, actualException, value);
+        if (expectedException == null)
+        {
+            assertEquals(expected, actual, value);
+        }
+    }
+}
@@ -19,16 +19,23 @@ import io.aeron.Aeron;
 import io.aeron.Counter;
 import io.aeron.driver.DutyCycleTracker;
 import io.aeron.driver.status.DutyCycleStallTracker;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.collections.IntHashSet;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.status.AtomicCounter;
 import org.agrona.concurrent.status.CountersReader;
 import uk.co.real_logic.artio.dictionary.generation.Exceptions;
+import uk.co.real_logic.artio.engine.ConnectionTrafficCounters;
 import uk.co.real_logic.artio.session.Session;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.concurrent.status.CountersReader.NULL_COUNTER_ID;
 import static uk.co.real_logic.artio.FixCounters.FixCountersId.*;
 import static uk.co.real_logic.artio.GatewayProcess.NO_CONNECTION_ID;
 
@@ -36,6 +43,12 @@ public class FixCounters implements AutoCloseable
 {
     private static final int MINIMUM_ARTIO_TYPE_ID = 10_000;
 
+    /**
+     * Offset within the key of a per-connection traffic counter at which the connection id is stored.
+     */
+    public static final int CONNECTION_ID_KEY_OFFSET = 0;
+    public static final int CONNECTION_KEY_LENGTH = CONNECTION_ID_KEY_OFFSET + SIZE_OF_LONG;
+
     public enum FixCountersId
     {
         FAILED_INBOUND_TYPE_ID(MINIMUM_ARTIO_TYPE_ID),
@@ -55,7 +68,26 @@ public class FixCounters implements AutoCloseable
         INDEXER_MAX_CYCLE_TIME_TYPE_ID(10_014),
         INDEXER_CYCLE_TIME_THRESHOLD_EXCEEDED_TYPE_ID(10_015),
         LIBRARY_MAX_CYCLE_TIME_TYPE_ID(10_016),
-        LIBRARY_CYCLE_TIME_THRESHOLD_EXCEEDED_TYPE_ID(10_017);
+        LIBRARY_CYCLE_TIME_THRESHOLD_EXCEEDED_TYPE_ID(10_017),
+        BYTES_READ_TYPE_ID(10_018),
+        BYTES_WRITTEN_TYPE_ID(10_019),
+        MESSAGES_WRITTEN_TYPE_ID(10_020),
+        RESEND_REQUESTS_SERVED_TYPE_ID(10_021),
+        GAP_FILLS_SENT_TYPE_ID(10_022),
+        THROTTLE_REJECTS_TYPE_ID(10_023),
+        REPLAY_INDEX_SESSION_OPENS_TYPE_ID(10_024),
+        REPLAY_INDEX_SESSION_EVICTIONS_TYPE_ID(10_025),
+        CATCHUP_SESSIONS_PENDING_TYPE_ID(10_026),
+        CATCHUP_REPLAYS_ACTIVE_TYPE_ID(10_027),
+        CATCHUP_SESSIONS_COMPLETED_TYPE_ID(10_028),
+        CATCHUP_RANGES_COALESCED_TYPE_ID(10_029),
+        FIXP_RETRANSMIT_WINDOW_HITS_TYPE_ID(10_030),
+        FIXP_RETRANSMIT_WINDOW_MISSES_TYPE_ID(10_031),
+        CONNECTED_SESSIONS_TYPE_ID(10_032),
+        IDLE_SPIN_TRANSITIONS_TYPE_ID(10_033),
+        IDLE_YIELD_TRANSITIONS_TYPE_ID(10_034),
+        IDLE_PARK_TRANSITIONS_TYPE_ID(10_035),
+        GAP_FILLED_MESSAGES_TYPE_ID(10_036);
 
         final int id;
 
@@ -77,6 +109,9 @@ public class FixCounters implements AutoCloseable
     private final AtomicCounter failedAdminReplyPublications;
     private final AtomicCounter currentReplayCount;
     private final AtomicCounter negativeTimestamps;
+    private final AtomicCounter connectedSessions;
+    private final UnsafeBuffer connectionKeyBuffer = new UnsafeBuffer(new byte[CONNECTION_KEY_LENGTH]);
+    private final ExpandableArrayBuffer connectionLabelBuffer = new ExpandableArrayBuffer();
     private final Aeron aeron;
 
     public static IntHashSet lookupCounterIds(
@@ -100,6 +135,96 @@ public class FixCounters implements AutoCloseable
         return counterIds;
     }
 
+    /**
+     * Find the id of a per-connection traffic counter, such as {@link FixCountersId#BYTES_READ_TYPE_ID} or
+     * {@link FixCountersId#MESSAGES_READ_TYPE_ID}.
+     *
+     * @param counterTypeId the type of the counter to lookup.
+     * @param countersReader the counters reader to search.
+     * @param connectionId the connection id of the connection that the counter belongs to.
+     * @return the counter id or {@link CountersReader#NULL_COUNTER_ID} if the counter can't be found.
+     */
+    public static int findConnectionCounterId(
+        final FixCountersId counterTypeId, final CountersReader countersReader, final long connectionId)
+    {
+        final int requiredTypeId = counterTypeId.id();
+        for (int counterId = 0, maxCounterId = countersReader.maxCounterId(); counterId < maxCounterId; counterId++)
+        {
+            if (countersReader.getCounterState(counterId) == CountersReader.RECORD_ALLOCATED &&
+                countersReader.getCounterTypeId(counterId) == requiredTypeId &&
+                connectionId(countersReader, counterId) == connectionId)
+            {
+                return counterId;
+            }
+        }
+
+        return NULL_COUNTER_ID;
+    }
+
+    /**
+     * Find the ids of several per-connection traffic counters in a single pass over the counters.
+     *
+     * @param counterTypeIds the types of the counters to lookup.
+     * @param countersReader the counters reader to search.
+     * @param connectionId the connection id of the connection that the counters belong to.
+     * @param counterIds the array that the counter ids are written to, indexed in the same order as
+     *                   counterTypeIds. Counters that can't be found are set to {@link CountersReader#NULL_COUNTER_ID}.
+     */
+    public static void findConnectionCounterIds(
+        final FixCountersId[] counterTypeIds,
+        final CountersReader countersReader,
+        final long connectionId,
+        final int[] counterIds)
+    {
+        Arrays.fill(counterIds, 0, counterTypeIds.length, NULL_COUNTER_ID);
+
+        for (int counterId = 0, maxCounterId = countersReader.maxCounterId(); counterId < maxCounterId; counterId++)
+        {
+            if (countersReader.getCounterState(counterId) == CountersReader.RECORD_ALLOCATED &&
+                connectionId(countersReader, counterId) == connectionId)
+            {
+                final int typeId = countersReader.getCounterTypeId(counterId);
+                for (int i = 0; i < counterTypeIds.length; i++)
+                {
+                    if (counterTypeIds[i].id() == typeId)
+                    {
+                        counterIds[i] = counterId;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check that a previously looked up counter id still refers to the given per-connection counter, counter ids are
+     * reused once a connection disconnects.
+     *
+     * @param counterTypeId the type of the counter.
+     * @param countersReader the counters reader to check.
+     * @param counterId the counter id to check.
+     * @param connectionId the connection id of the connection that the counter should belong to.
+     * @return true if the counter is still allocated to the connection, false otherwise.
+     */
+    public static boolean isConnectionCounter(
+        final FixCountersId counterTypeId,
+        final CountersReader countersReader,
+        final int counterId,
+        final long connectionId)
+    {
+        return counterId != NULL_COUNTER_ID &&
+            countersReader.getCounterState(counterId) == CountersReader.RECORD_ALLOCATED &&
+            countersReader.getCounterTypeId(counterId) == counterTypeId.id() &&
+            connectionId(countersReader, counterId) == connectionId;
+    }
+
+    private static long connectionId(final CountersReader countersReader, final int counterId)
+    {
+        final DirectBuffer metaDataBuffer = countersReader.metaDataBuffer();
+        final int keyOffset = CountersReader.metaDataOffset(counterId) + CountersReader.KEY_OFFSET;
+        return metaDataBuffer.getLong(keyOffset + CONNECTION_ID_KEY_OFFSET);
+    }
+
     FixCounters(final Aeron aeron, final boolean isEngine, final int libraryId)
     {
         this.aeron = aeron;
@@ -120,10 +245,12 @@ public class FixCounters implements AutoCloseable
         {
             currentReplayCount = newCounter(FixCountersId.CURRENT_REPLAY_COUNT_TYPE_ID.id(),
                 "Current Replay Count");
+            connectedSessions = newCounter(CONNECTED_SESSIONS_TYPE_ID.id(), "Connected Sessions");
         }
         else
         {
             currentReplayCount = null;
+            connectedSessions = null;
         }
     }
 
@@ -152,6 +279,72 @@ public class FixCounters implements AutoCloseable
         return currentReplayCount;
     }
 
+    /**
+     * Gets the number of connections that the engine's framer is currently polling, only available on the engine.
+     *
+     * @return the number of connected sessions.
+     */
+    public AtomicCounter connectedSessions()
+    {
+        return connectedSessions;
+    }
+
+    public AtomicCounter idleSpinTransitions(final String agentName)
+    {
+        return newCounter(IDLE_SPIN_TRANSITIONS_TYPE_ID.id(), agentName + " idle transitions to spinning");
+    }
+
+    public AtomicCounter idleYieldTransitions(final String agentName)
+    {
+        return newCounter(IDLE_YIELD_TRANSITIONS_TYPE_ID.id(), agentName + " idle transitions to yielding");
+    }
+
+    public AtomicCounter idleParkTransitions(final String agentName)
+    {
+        return newCounter(IDLE_PARK_TRANSITIONS_TYPE_ID.id(), agentName + " idle transitions to parking");
+    }
+
+    public AtomicCounter replayIndexSessionOpens(final int streamId)
+    {
+        return newCounter(REPLAY_INDEX_SESSION_OPENS_TYPE_ID.id(), "Replay Index Session Opens stream=" + streamId);
+    }
+
+    public AtomicCounter replayIndexSessionEvictions(final int streamId)
+    {
+        return newCounter(
+            REPLAY_INDEX_SESSION_EVICTIONS_TYPE_ID.id(), "Replay Index Session Evictions stream=" + streamId);
+    }
+
+    public AtomicCounter catchupSessionsPending()
+    {
+        return newCounter(CATCHUP_SESSIONS_PENDING_TYPE_ID.id(), "Catchup Sessions Pending");
+    }
+
+    public AtomicCounter catchupReplaysActive()
+    {
+        return newCounter(CATCHUP_REPLAYS_ACTIVE_TYPE_ID.id(), "Catchup Replays Active");
+    }
+
+    public AtomicCounter catchupSessionsCompleted()
+    {
+        return newCounter(CATCHUP_SESSIONS_COMPLETED_TYPE_ID.id(), "Catchup Sessions Completed");
+    }
+
+    public AtomicCounter catchupRangesCoalesced()
+    {
+        return newCounter(CATCHUP_RANGES_COALESCED_TYPE_ID.id(), "Catchup Recording Ranges Coalesced");
+    }
+
+    public AtomicCounter fixPRetransmitWindowHits()
+    {
+        return newCounter(FIXP_RETRANSMIT_WINDOW_HITS_TYPE_ID.id(), "FIXP Retransmits Served From Window");
+    }
+
+    public AtomicCounter fixPRetransmitWindowMisses()
+    {
+        return newCounter(FIXP_RETRANSMIT_WINDOW_MISSES_TYPE_ID.id(), "FIXP Retransmits Replayed From Archive");
+    }
+
     public AtomicCounter negativeTimestamps()
     {
         return negativeTimestamps;
@@ -204,8 +397,8 @@ public class FixCounters implements AutoCloseable
 
     public AtomicCounter messagesRead(final long connectionId, final String address)
     {
-        return newCounter(FixCountersId.MESSAGES_READ_TYPE_ID.id(),
-                "Messages Read from " + address + " id = " + connectionId);
+        return newConnectionCounter(FixCountersId.MESSAGES_READ_TYPE_ID.id(),
+                "Messages Read from " + address + " id = " + connectionId, connectionId);
     }
 
     public AtomicCounter bytesInBuffer(final long connectionId, final String address)
@@ -232,6 +425,20 @@ public class FixCounters implements AutoCloseable
             FixCountersId.RECV_MSG_SEQ_NO_TYPE_ID.id(), msgSeqNoLabel("Received", connectionId, sessionId));
     }
 
+    public ConnectionTrafficCounters connectionTrafficCounters(final long connectionId, final String address)
+    {
+        final String suffix = " for " + address + " id = " + connectionId;
+        return new ConnectionTrafficCounters(
+            newConnectionCounter(BYTES_READ_TYPE_ID.id(), "Bytes Read" + suffix, connectionId),
+            newConnectionCounter(BYTES_WRITTEN_TYPE_ID.id(), "Bytes Written" + suffix, connectionId),
+            newConnectionCounter(MESSAGES_WRITTEN_TYPE_ID.id(), "Messages Written" + suffix, connectionId),
+            newConnectionCounter(
+                RESEND_REQUESTS_SERVED_TYPE_ID.id(), "Resend Requests Served" + suffix, connectionId),
+            newConnectionCounter(GAP_FILLS_SENT_TYPE_ID.id(), "Gap Fills Sent" + suffix, connectionId),
+            newConnectionCounter(GAP_FILLED_MESSAGES_TYPE_ID.id(), "Gap Filled Messages" + suffix, connectionId),
+            newConnectionCounter(THROTTLE_REJECTS_TYPE_ID.id(), "Throttle Rejects" + suffix, connectionId));
+    }
+
     private String msgSeqNoLabel(final String type, final long connectionId, final long sessionId)
     {
         final StringBuilder sb = new StringBuilder();
@@ -266,6 +473,18 @@ public class FixCounters implements AutoCloseable
         return counter;
     }
 
+    private AtomicCounter newConnectionCounter(final int typeId, final String label, final long connectionId)
+    {
+        final UnsafeBuffer keyBuffer = connectionKeyBuffer;
+        keyBuffer.putLong(CONNECTION_ID_KEY_OFFSET, connectionId);
+        final ExpandableArrayBuffer labelBuffer = connectionLabelBuffer;
+        final int labelLength = labelBuffer.putStringWithoutLengthAscii(0, label);
+        final Counter counter = aeron.addCounter(
+            typeId, keyBuffer, 0, CONNECTION_KEY_LENGTH, labelBuffer, 0, labelLength);
+        counters.add(counter);
+        return counter;
+    }
+
     public void close()
     {
         Exceptions.closeAll(counters);
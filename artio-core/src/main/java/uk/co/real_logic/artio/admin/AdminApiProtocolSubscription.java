@@ -18,7 +18,10 @@ package uk.co.real_logic.artio.admin;
 import io.aeron.logbuffer.FragmentHandler;
 import io.aeron.logbuffer.Header;
 import org.agrona.DirectBuffer;
+import uk.co.real_logic.artio.messages.AdminBulkReplyDecoder;
 import uk.co.real_logic.artio.messages.AllFixSessionsReplyDecoder;
+import uk.co.real_logic.artio.messages.Bool;
+import uk.co.real_logic.artio.messages.FixSessionsQueryReplyDecoder;
 import uk.co.real_logic.artio.messages.GenericAdminReplyDecoder;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 
@@ -27,6 +30,8 @@ class AdminApiProtocolSubscription implements FragmentHandler
     private final MessageHeaderDecoder messageHeader = new MessageHeaderDecoder();
     private final AllFixSessionsReplyDecoder allFixSessionsReply = new AllFixSessionsReplyDecoder();
     private final GenericAdminReplyDecoder genericAdminReply = new GenericAdminReplyDecoder();
+    private final AdminBulkReplyDecoder adminBulkReply = new AdminBulkReplyDecoder();
+    private final FixSessionsQueryReplyDecoder fixSessionsQueryReply = new FixSessionsQueryReplyDecoder();
 
     private final AdminEndPointHandler handler;
 
@@ -58,6 +63,18 @@ class AdminApiProtocolSubscription implements FragmentHandler
                 onGenericAdminReply(buffer, offset, blockLength, version);
                 return;
             }
+
+            case AdminBulkReplyDecoder.TEMPLATE_ID:
+            {
+                onAdminBulkReply(buffer, offset, blockLength, version);
+                return;
+            }
+
+            case FixSessionsQueryReplyDecoder.TEMPLATE_ID:
+            {
+                onFixSessionsQueryReply(buffer, offset, blockLength, version);
+                return;
+            }
         }
     }
 
@@ -89,4 +106,34 @@ class AdminApiProtocolSubscription implements FragmentHandler
             genericAdminReply.errorType(),
             genericAdminReply.message());
     }
+
+    private void onAdminBulkReply(
+        final DirectBuffer buffer,
+        final int offset,
+        final int blockLength,
+        final int version)
+    {
+        final AdminBulkReplyDecoder adminBulkReply = this.adminBulkReply;
+        adminBulkReply.wrap(buffer, offset, blockLength, version);
+
+        handler.onAdminBulkReply(
+            adminBulkReply.correlationId(),
+            adminBulkReply.lastReply() == Bool.TRUE,
+            adminBulkReply.failures());
+    }
+
+    private void onFixSessionsQueryReply(
+        final DirectBuffer buffer,
+        final int offset,
+        final int blockLength,
+        final int version)
+    {
+        final FixSessionsQueryReplyDecoder fixSessionsQueryReply = this.fixSessionsQueryReply;
+        fixSessionsQueryReply.wrap(buffer, offset, blockLength, version);
+
+        handler.onFixSessionsQueryReply(
+            fixSessionsQueryReply.correlationId(),
+            fixSessionsQueryReply.nextCursor(),
+            fixSessionsQueryReply.sessions());
+    }
 }
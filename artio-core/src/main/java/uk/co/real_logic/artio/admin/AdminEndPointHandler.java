@@ -16,12 +16,16 @@
 package uk.co.real_logic.artio.admin;
 
 import uk.co.real_logic.artio.FixGatewayException;
+import uk.co.real_logic.artio.messages.AdminBulkReplyDecoder;
 import uk.co.real_logic.artio.messages.AllFixSessionsReplyDecoder;
+import uk.co.real_logic.artio.messages.FixSessionsQueryReplyDecoder;
 import uk.co.real_logic.artio.messages.GatewayError;
 import uk.co.real_logic.artio.messages.SlowStatus;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 class AdminEndPointHandler
 {
@@ -29,6 +33,8 @@ class AdminEndPointHandler
     private boolean hasReceivedReply;
 
     private List<FixAdminSession> allFixSessions;
+    private Map<Long, String> bulkFailures;
+    private FixAdminSessionPage fixSessionsPage;
 
     private GatewayError errorType;
     private String errorMessage;
@@ -77,6 +83,73 @@ class AdminEndPointHandler
         }
     }
 
+    public FixAdminSessionPage fixSessionsPage()
+    {
+        return fixSessionsPage;
+    }
+
+    public void onFixSessionsQueryReply(
+        final long correlationId,
+        final long nextCursor,
+        final FixSessionsQueryReplyDecoder.SessionsDecoder sessions)
+    {
+        if (correlationId == expectedCorrelationId)
+        {
+            final List<FixAdminSession> pageSessions = new ArrayList<>(sessions.count());
+
+            while (sessions.hasNext())
+            {
+                sessions.next();
+                pageSessions.add(new FixAdminSession(
+                    sessions.sessionId(),
+                    sessions.connectionId(),
+                    sessions.lastReceivedSequenceNumber(),
+                    sessions.lastSentSequenceNumber(),
+                    sessions.lastLogonTime(),
+                    sessions.sequenceIndex(),
+                    sessions.slowStatus() == SlowStatus.SLOW,
+                    sessions.address(),
+                    new AdminCompositeKey(
+                    sessions.localCompId(),
+                    sessions.localSubId(),
+                    sessions.localLocationId(),
+                    sessions.remoteCompId(),
+                    sessions.remoteSubId(),
+                    sessions.remoteLocationId())
+                ));
+            }
+
+            fixSessionsPage = new FixAdminSessionPage(pageSessions, nextCursor);
+            hasReceivedReply = true;
+        }
+    }
+
+    public Map<Long, String> bulkFailures()
+    {
+        return bulkFailures;
+    }
+
+    public void startBulkOperation()
+    {
+        bulkFailures = new HashMap<>();
+    }
+
+    // The failures of a bulk request can be split over several replies
+    public void onAdminBulkReply(
+        final long correlationId, final boolean lastReply, final AdminBulkReplyDecoder.FailuresDecoder failures)
+    {
+        if (correlationId == expectedCorrelationId)
+        {
+            while (failures.hasNext())
+            {
+                failures.next();
+                bulkFailures.put(failures.sessionId(), failures.message());
+            }
+
+            hasReceivedReply = lastReply;
+        }
+    }
+
     public void expectedCorrelationId(final long correlationId)
     {
         expectedCorrelationId = correlationId;
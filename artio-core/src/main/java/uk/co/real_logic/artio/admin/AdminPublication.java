@@ -16,14 +16,21 @@
 package uk.co.real_logic.artio.admin;
 
 import io.aeron.ExclusivePublication;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.status.AtomicCounter;
+import uk.co.real_logic.artio.messages.AdminBulkDisconnectSessionsRequestEncoder;
+import uk.co.real_logic.artio.messages.AdminBulkResetSequenceNumbersRequestEncoder;
 import uk.co.real_logic.artio.messages.AdminResetSequenceNumbersRequestEncoder;
 import uk.co.real_logic.artio.messages.AllFixSessionsRequestEncoder;
+import uk.co.real_logic.artio.messages.Bool;
 import uk.co.real_logic.artio.messages.DisconnectSessionRequestEncoder;
+import uk.co.real_logic.artio.messages.FixSessionsQueryRequestEncoder;
 import uk.co.real_logic.artio.protocol.ClaimablePublication;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * A proxy for publishing messages fix related messages
  */
@@ -35,11 +42,20 @@ class AdminPublication extends ClaimablePublication
         HEADER_LENGTH + DisconnectSessionRequestEncoder.BLOCK_LENGTH;
     private static final int RESET_SEQUENCE_NUMBERS_REQUEST_LENGTH =
         HEADER_LENGTH + AdminResetSequenceNumbersRequestEncoder.BLOCK_LENGTH;
+    private static final int FIX_SESSIONS_QUERY_REQUEST_LENGTH =
+        HEADER_LENGTH + FixSessionsQueryRequestEncoder.BLOCK_LENGTH +
+        FixSessionsQueryRequestEncoder.remoteCompIdPrefixHeaderLength();
 
     private final AllFixSessionsRequestEncoder allFixSessionsRequest = new AllFixSessionsRequestEncoder();
     private final DisconnectSessionRequestEncoder disconnectSessionRequest = new DisconnectSessionRequestEncoder();
     private final AdminResetSequenceNumbersRequestEncoder adminResetSequenceNumbersRequest =
         new AdminResetSequenceNumbersRequestEncoder();
+    private final FixSessionsQueryRequestEncoder fixSessionsQueryRequest = new FixSessionsQueryRequestEncoder();
+    private final ExpandableArrayBuffer bulkRequestBuffer = new ExpandableArrayBuffer();
+    private final AdminBulkResetSequenceNumbersRequestEncoder adminBulkResetSequenceNumbersRequest =
+        new AdminBulkResetSequenceNumbersRequestEncoder();
+    private final AdminBulkDisconnectSessionsRequestEncoder adminBulkDisconnectSessionsRequest =
+        new AdminBulkDisconnectSessionsRequestEncoder();
 
     AdminPublication(
         final ExclusivePublication dataPublication,
@@ -111,4 +127,76 @@ class AdminPublication extends ClaimablePublication
 
         return position;
     }
+
+    long saveFixSessionsQuery(final long correlationId, final long cursor, final FixAdminSessionQuery query)
+    {
+        final String remoteCompIdPrefix = query.remoteCompIdPrefix();
+        final byte[] remoteCompIdPrefixBytes = remoteCompIdPrefix.getBytes(StandardCharsets.UTF_8);
+        final long position = claim(FIX_SESSIONS_QUERY_REQUEST_LENGTH + remoteCompIdPrefixBytes.length);
+        if (position < 0)
+        {
+            return position;
+        }
+
+        final MutableDirectBuffer buffer = bufferClaim.buffer();
+        final int offset = bufferClaim.offset();
+
+        fixSessionsQueryRequest
+            .wrapAndApplyHeader(buffer, offset, header)
+            .correlationId(correlationId)
+            .cursor(cursor)
+            .pageSize(query.pageSize())
+            .connectedOnly(query.connectedOnly() ? Bool.TRUE : Bool.FALSE)
+            .libraryId(query.libraryId())
+            .putRemoteCompIdPrefix(remoteCompIdPrefixBytes, 0, remoteCompIdPrefixBytes.length);
+
+        bufferClaim.commit();
+
+        return position;
+    }
+
+    // Both bulk requests have the same layout
+    int maxBulkSessionCount()
+    {
+        final int fixedLength = HEADER_LENGTH + AdminBulkResetSequenceNumbersRequestEncoder.BLOCK_LENGTH +
+            AdminBulkResetSequenceNumbersRequestEncoder.SessionsEncoder.sbeHeaderSize();
+        final int sessionsThatFit = (dataPublication.maxMessageLength() - fixedLength) /
+            AdminBulkResetSequenceNumbersRequestEncoder.SessionsEncoder.sbeBlockLength();
+
+        return Math.min(sessionsThatFit, AdminBulkResetSequenceNumbersRequestEncoder.SessionsEncoder.countMaxValue());
+    }
+
+    long saveBulkResetSequenceNumbers(
+        final long correlationId, final long[] sessionIds, final int offset, final int count)
+    {
+        final AdminBulkResetSequenceNumbersRequestEncoder.SessionsEncoder sessions =
+            adminBulkResetSequenceNumbersRequest
+            .wrapAndApplyHeader(bulkRequestBuffer, 0, header)
+            .correlationId(correlationId)
+            .sessionsCount(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            sessions.next().sessionId(sessionIds[offset + i]);
+        }
+
+        return offer(bulkRequestBuffer, 0, adminBulkResetSequenceNumbersRequest.limit());
+    }
+
+    long saveBulkDisconnectSessions(
+        final long correlationId, final long[] sessionIds, final int offset, final int count)
+    {
+        final AdminBulkDisconnectSessionsRequestEncoder.SessionsEncoder sessions =
+            adminBulkDisconnectSessionsRequest
+            .wrapAndApplyHeader(bulkRequestBuffer, 0, header)
+            .correlationId(correlationId)
+            .sessionsCount(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            sessions.next().sessionId(sessionIds[offset + i]);
+        }
+
+        return offer(bulkRequestBuffer, 0, adminBulkDisconnectSessionsRequest.limit());
+    }
 }
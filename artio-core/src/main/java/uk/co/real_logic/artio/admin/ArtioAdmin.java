@@ -18,11 +18,16 @@ package uk.co.real_logic.artio.admin;
 import io.aeron.Aeron;
 import io.aeron.Counter;
 import io.aeron.ExclusivePublication;
+import io.aeron.FragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.exceptions.TimeoutException;
 import org.agrona.CloseHelper;
+import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.EpochNanoClock;
 import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.status.CountersReader;
+import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.FixCounters.FixCountersId;
 import uk.co.real_logic.artio.FixGatewayException;
 
 import java.util.List;
@@ -30,9 +35,12 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
-import static uk.co.real_logic.artio.FixCounters.FixCountersId.FAILED_ADMIN_TYPE_ID;
+import static org.agrona.concurrent.status.CountersReader.NULL_COUNTER_ID;
+import static uk.co.real_logic.artio.FixCounters.FixCountersId.*;
 
 /**
  * Provides a blocking wrapper for Artio API operations that can be used from a different process. Every API operation
@@ -47,10 +55,25 @@ public final class ArtioAdmin implements AutoCloseable
 {
     private static final int MAX_CLAIM_ATTEMPTS = 10_000;
     private static final int FRAGMENT_LIMIT = 10;
+    private static final int MAX_CACHED_TRAFFIC_CONNECTIONS = 1024;
+    // In the order that FixAdminConnectionTraffic reads the counter values.
+    private static final FixCountersId[] TRAFFIC_COUNTER_TYPE_IDS = {
+        MESSAGES_READ_TYPE_ID,
+        BYTES_READ_TYPE_ID,
+        MESSAGES_WRITTEN_TYPE_ID,
+        BYTES_WRITTEN_TYPE_ID,
+        RESEND_REQUESTS_SERVED_TYPE_ID,
+        GAP_FILLS_SENT_TYPE_ID,
+        GAP_FILLED_MESSAGES_TYPE_ID,
+        THROTTLE_REJECTS_TYPE_ID
+    };
+    private static final int BYTES_READ_INDEX = 1;
 
     private final Lock lock = new ReentrantLock();
     private final AdminEndPointHandler handler = new AdminEndPointHandler();
-    private final AdminApiProtocolSubscription protocolSubscription = new AdminApiProtocolSubscription(handler);
+    // Bulk replies can be larger than a single fragment
+    private final FragmentAssembler protocolSubscription =
+        new FragmentAssembler(new AdminApiProtocolSubscription(handler));
 
     private final AdminPublication outboundPublication;
     private final Subscription inboundSubscription;
@@ -62,6 +85,9 @@ public final class ArtioAdmin implements AutoCloseable
     private final BooleanSupplier checkReplyFunc = this::checkReply;
     private final BooleanSupplier saveRequestAllFixSessionsFunc = this::saveRequestAllFixSessionsFunc;
     private final Supplier<List<FixAdminSession>> allFixSessionsResultFunc = handler::allFixSessions;
+    private final Supplier<FixAdminSessionPage> fixSessionsPageResultFunc = this::fixSessionsPageResult;
+
+    private final Long2ObjectHashMap<int[]> connectionIdToTrafficCounterIds = new Long2ObjectHashMap<>();
 
     private volatile boolean closed = false;
 
@@ -102,6 +128,51 @@ public final class ArtioAdmin implements AutoCloseable
         return exchangeMessage(saveRequestAllFixSessionsFunc, allFixSessionsResultFunc);
     }
 
+    /**
+     * Queries a page of the FIX sessions associated with this FixEngine that match a query. Unlike
+     * {@link #allFixSessions()} the FixEngine answers this incrementally, scanning a bounded number of sessions per
+     * duty cycle, so it can be used to poll an engine with a large number of historical sessions without stalling it
+     * or producing huge messages. Queries that are restricted to connected sessions, or the sessions of a library,
+     * only look at the connected sessions. The same snapshot caveats as {@link #allFixSessions()} apply to each page.
+     *
+     * @param query the filters and page size of the query.
+     * @param cursor {@link FixAdminSessionPage#START_CURSOR} for the first page or
+     *               {@link FixAdminSessionPage#nextCursor()} of the previous page.
+     * @return the page of FIX sessions.
+     * @throws TimeoutException      if the operation times out.
+     * @throws IllegalStateException if the instance has been closed.
+     * @throws FixGatewayException   if the FixEngine has too many queries in progress to accept another one.
+     * @see uk.co.real_logic.artio.engine.EngineConfiguration#sessionQueryScanLimit(int)
+     */
+    public FixAdminSessionPage querySessions(final FixAdminSessionQuery query, final long cursor)
+    {
+        return exchangeMessage(
+            () -> outboundPublication.saveFixSessionsQuery(correlationId, cursor, query) > 0,
+            fixSessionsPageResultFunc);
+    }
+
+    /**
+     * Streams all the FIX sessions that match a query to a consumer, querying the FixEngine one page at a time, see
+     * {@link #querySessions(FixAdminSessionQuery, long)}.
+     *
+     * @param query the filters and page size of the query.
+     * @param consumer the consumer that is passed each session in turn.
+     * @throws TimeoutException      if the operation times out.
+     * @throws IllegalStateException if the instance has been closed.
+     * @throws FixGatewayException   if the FixEngine has too many queries in progress to accept another one.
+     */
+    public void forEachFixSession(final FixAdminSessionQuery query, final Consumer<FixAdminSession> consumer)
+    {
+        long cursor = FixAdminSessionPage.START_CURSOR;
+        do
+        {
+            final FixAdminSessionPage page = querySessions(query, cursor);
+            page.sessions().forEach(consumer);
+            cursor = page.nextCursor();
+        }
+        while (cursor != FixAdminSessionPage.NO_MORE_SESSIONS);
+    }
+
     /**
      * Disconnects a currently connected FIX session.
      *
@@ -135,6 +206,106 @@ public final class ArtioAdmin implements AutoCloseable
             handler::checkError);
     }
 
+    /**
+     * Disconnects a set of currently connected FIX sessions. This is equivalent to calling
+     * {@link #disconnectSession(long)} for each session, but the sessions are sent to the FixEngine in bulk and it
+     * replies once with the aggregated result, rather than performing a round trip per session.
+     *
+     * @param sessionIds the ids of the sessions to disconnect.
+     * @return the aggregated result, sessions that are unknown or not currently connected are reported as failures.
+     * @throws TimeoutException      if the operation times out.
+     * @throws IllegalStateException if the instance has been closed.
+     */
+    public FixAdminBulkResult disconnectSessions(final long[] sessionIds)
+    {
+        return bulkExchange(sessionIds, outboundPublication::saveBulkDisconnectSessions);
+    }
+
+    /**
+     * Disconnects all currently connected FIX sessions that match a filter, see {@link #disconnectSessions(long[])}.
+     *
+     * @param filter the predicate that selects which sessions to disconnect, it is evaluated against a snapshot of
+     *               {@link #allFixSessions()}.
+     * @return the aggregated result.
+     * @throws TimeoutException      if the operation times out.
+     * @throws IllegalStateException if the instance has been closed.
+     */
+    public FixAdminBulkResult disconnectSessions(final Predicate<FixAdminSession> filter)
+    {
+        return disconnectSessions(sessionIds(filter));
+    }
+
+    /**
+     * Resets the sequence numbers of a set of sessions back to 1. This has the same semantics as
+     * {@link #resetSequenceNumbers(long)} for each session, but all the resets are performed by the FixEngine
+     * concurrently as a single batched operation. Their sequence index updates are indexed and flushed together and
+     * the FixEngine replies once, when every reset has completed or failed. This is intended for operations such as
+     * end of day resets over thousands of sessions.
+     *
+     * @param sessionIds the ids of the sessions to perform the reset operation on.
+     * @return the aggregated result, unknown sessions and resets that time out are reported as failures.
+     * @throws TimeoutException      if the operation times out.
+     * @throws IllegalStateException if the instance has been closed.
+     */
+    public FixAdminBulkResult resetSequenceNumbers(final long[] sessionIds)
+    {
+        return bulkExchange(sessionIds, outboundPublication::saveBulkResetSequenceNumbers);
+    }
+
+    /**
+     * Resets the sequence numbers of all sessions that match a filter, see {@link #resetSequenceNumbers(long[])}.
+     *
+     * @param filter the predicate that selects which sessions to reset, it is evaluated against a snapshot of
+     *               {@link #allFixSessions()}.
+     * @return the aggregated result.
+     * @throws TimeoutException      if the operation times out.
+     * @throws IllegalStateException if the instance has been closed.
+     */
+    public FixAdminBulkResult resetSequenceNumbers(final Predicate<FixAdminSession> filter)
+    {
+        return resetSequenceNumbers(sessionIds(filter));
+    }
+
+    /**
+     * Reads the traffic counters of a connected FIX session. These are read directly from the Aeron counters that the
+     * FixEngine updates so, unlike other operations, this doesn't require a round trip to the FixEngine. The engine
+     * and this instance must share the same Aeron media driver. The counters are only allocated when the FixEngine is
+     * configured with
+     * {@link uk.co.real_logic.artio.engine.EngineConfiguration#connectionTrafficCountersEnabled(boolean)}.
+     *
+     * @param connectionId the id of the connection, see {@link FixAdminSession#connectionId()}.
+     * @return a snapshot of the connection's traffic counters or null if the connection is not currently connected
+     *         or the FixEngine doesn't allocate connection traffic counters.
+     * @throws IllegalStateException if the instance has been closed.
+     */
+    public FixAdminConnectionTraffic connectionTraffic(final long connectionId)
+    {
+        lock.lock();
+        try
+        {
+            checkOpen();
+
+            final CountersReader countersReader = aeron.countersReader();
+            final int[] counterIds = trafficCounterIds(countersReader, connectionId);
+            if (counterIds == null)
+            {
+                return null;
+            }
+
+            final long[] counterValues = new long[counterIds.length];
+            for (int i = 0; i < counterIds.length; i++)
+            {
+                counterValues[i] = counterValue(countersReader, counterIds[i]);
+            }
+
+            return new FixAdminConnectionTraffic(connectionId, counterValues);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
     /**
      * Close the Admin API instance, releasing underlying resources.
      */
@@ -219,6 +390,12 @@ public final class ArtioAdmin implements AutoCloseable
         return outboundPublication.saveRequestAllFixSessions(correlationId) > 0;
     }
 
+    private FixAdminSessionPage fixSessionsPageResult()
+    {
+        handler.checkError();
+        return handler.fixSessionsPage();
+    }
+
     private <T> T exchangeMessage(final BooleanSupplier sendMessage, final Supplier<T> getResult)
     {
         lock.lock();
@@ -240,6 +417,46 @@ public final class ArtioAdmin implements AutoCloseable
         }
     }
 
+    private long[] sessionIds(final Predicate<FixAdminSession> filter)
+    {
+        return allFixSessions()
+            .stream()
+            .filter(filter)
+            .mapToLong(FixAdminSession::sessionId)
+            .toArray();
+    }
+
+    // The sessions are split into as few requests as fit into the publication's max message length.
+    private FixAdminBulkResult bulkExchange(final long[] sessionIds, final BulkRequest bulkRequest)
+    {
+        lock.lock();
+        try
+        {
+            checkOpen();
+
+            handler.startBulkOperation();
+            final int maxBulkSessionCount = outboundPublication.maxBulkSessionCount();
+            final int sessionCount = sessionIds.length;
+            int offset = 0;
+            do
+            {
+                final int requestOffset = offset;
+                final int requestCount = Math.min(maxBulkSessionCount, sessionCount - offset);
+                exchangeMessage(
+                    () -> bulkRequest.save(correlationId, sessionIds, requestOffset, requestCount) > 0,
+                    handler::checkError);
+                offset += requestCount;
+            }
+            while (offset < sessionCount);
+
+            return new FixAdminBulkResult(sessionCount, handler.bulkFailures());
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
     private boolean checkReply()
     {
         inboundSubscription.poll(protocolSubscription, FRAGMENT_LIMIT);
@@ -269,6 +486,44 @@ public final class ArtioAdmin implements AutoCloseable
         }
     }
 
+    // All of a connection's counters are allocated and freed together, so checking that the bytes read counter still
+    // belongs to the connection is enough to validate the cached ids.
+    private int[] trafficCounterIds(final CountersReader countersReader, final long connectionId)
+    {
+        final Long2ObjectHashMap<int[]> connectionIdToTrafficCounterIds = this.connectionIdToTrafficCounterIds;
+        int[] counterIds = connectionIdToTrafficCounterIds.get(connectionId);
+        if (counterIds != null && FixCounters.isConnectionCounter(
+            BYTES_READ_TYPE_ID, countersReader, counterIds[BYTES_READ_INDEX], connectionId))
+        {
+            return counterIds;
+        }
+
+        if (counterIds == null)
+        {
+            counterIds = new int[TRAFFIC_COUNTER_TYPE_IDS.length];
+        }
+
+        FixCounters.findConnectionCounterIds(TRAFFIC_COUNTER_TYPE_IDS, countersReader, connectionId, counterIds);
+        if (counterIds[BYTES_READ_INDEX] == NULL_COUNTER_ID)
+        {
+            connectionIdToTrafficCounterIds.remove(connectionId);
+            return null;
+        }
+
+        if (connectionIdToTrafficCounterIds.size() >= MAX_CACHED_TRAFFIC_CONNECTIONS)
+        {
+            connectionIdToTrafficCounterIds.clear();
+        }
+        connectionIdToTrafficCounterIds.put(connectionId, counterIds);
+
+        return counterIds;
+    }
+
+    private static long counterValue(final CountersReader countersReader, final int counterId)
+    {
+        return counterId == NULL_COUNTER_ID ? 0 : countersReader.getCounterValue(counterId);
+    }
+
     private long nanoTime()
     {
         return epochNanoClock.nanoTime();
@@ -281,4 +536,10 @@ public final class ArtioAdmin implements AutoCloseable
             throw new IllegalStateException("client is closed");
         }
     }
+
+    @FunctionalInterface
+    private interface BulkRequest
+    {
+        long save(long correlationId, long[] sessionIds, int offset, int count);
+    }
 }
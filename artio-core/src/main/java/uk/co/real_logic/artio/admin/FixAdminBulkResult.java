@@ -0,0 +1,84 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.admin;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The aggregated result of a bulk Admin API operation, for example
+ * {@link ArtioAdmin#resetSequenceNumbers(long[])}. The operation is applied to every session independently so some
+ * sessions can fail whilst others succeed.
+ */
+public class FixAdminBulkResult
+{
+    private final int sessionCount;
+    private final Map<Long, String> failures;
+
+    public FixAdminBulkResult(final int sessionCount, final Map<Long, String> failures)
+    {
+        this.sessionCount = sessionCount;
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Gets the number of sessions that the operation was requested for.
+     *
+     * @return the number of sessions that the operation was requested for.
+     */
+    public int sessionCount()
+    {
+        return sessionCount;
+    }
+
+    /**
+     * Gets the number of sessions that the operation succeeded for.
+     *
+     * @return the number of sessions that the operation succeeded for.
+     */
+    public int successCount()
+    {
+        return sessionCount - failures.size();
+    }
+
+    /**
+     * Gets the sessions that the operation failed for.
+     *
+     * @return a map from the session id of each failed session to a description of why it failed.
+     */
+    public Map<Long, String> failures()
+    {
+        return failures;
+    }
+
+    /**
+     * Gets whether the operation succeeded for every session.
+     *
+     * @return true if the operation succeeded for every session, false otherwise.
+     */
+    public boolean isSuccess()
+    {
+        return failures.isEmpty();
+    }
+
+    public String toString()
+    {
+        return "FixAdminBulkResult{" +
+            "sessionCount=" + sessionCount +
+            ", failures=" + failures +
+            '}';
+    }
+}
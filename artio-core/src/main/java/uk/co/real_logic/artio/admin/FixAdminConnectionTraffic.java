@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.admin;
+
+/**
+ * A snapshot of the traffic counters for a connected FIX session, see {@link ArtioAdmin#connectionTraffic(long)}.
+ * Sampling this twice can be used to calculate message rates.
+ */
+public class FixAdminConnectionTraffic
+{
+    private final long connectionId;
+    private final long messagesRead;
+    private final long bytesRead;
+    private final long messagesWritten;
+    private final long bytesWritten;
+    private final long resendRequestsServed;
+    private final long gapFillsSent;
+    private final long gapFilledMessages;
+    private final long throttleRejects;
+
+    /**
+     * Create a snapshot without a count of gap filled messages, {@link #gapFilledMessages()} returns 0.
+     *
+     * @param connectionId the id of the connection.
+     * @param messagesRead the number of messages read.
+     * @param bytesRead the number of bytes read.
+     * @param messagesWritten the number of messages written.
+     * @param bytesWritten the number of bytes written.
+     * @param resendRequestsServed the number of resend requests served.
+     * @param gapFillsSent the number of gap fills sent.
+     * @param throttleRejects the number of messages rejected by throttling.
+     */
+    public FixAdminConnectionTraffic(
+        final long connectionId,
+        final long messagesRead,
+        final long bytesRead,
+        final long messagesWritten,
+        final long bytesWritten,
+        final long resendRequestsServed,
+        final long gapFillsSent,
+        final long throttleRejects)
+    {
+        this(
+            connectionId,
+            messagesRead,
+            bytesRead,
+            messagesWritten,
+            bytesWritten,
+            resendRequestsServed,
+            gapFillsSent,
+            0,
+            throttleRejects);
+    }
+
+    // counterValues holds a value per counter type in the order that ArtioAdmin looks the counters up, so that adding
+    // a counter doesn't change the signature of the public constructor.
+    FixAdminConnectionTraffic(final long connectionId, final long[] counterValues)
+    {
+        this(
+            connectionId,
+            counterValues[0],
+            counterValues[1],
+            counterValues[2],
+            counterValues[3],
+            counterValues[4],
+            counterValues[5],
+            counterValues[6],
+            counterValues[7]);
+    }
+
+    private FixAdminConnectionTraffic(
+        final long connectionId,
+        final long messagesRead,
+        final long bytesRead,
+        final long messagesWritten,
+        final long bytesWritten,
+        final long resendRequestsServed,
+        final long gapFillsSent,
+        final long gapFilledMessages,
+        final long throttleRejects)
+    {
+        this.connectionId = connectionId;
+        this.messagesRead = messagesRead;
+        this.bytesRead = bytesRead;
+        this.messagesWritten = messagesWritten;
+        this.bytesWritten = bytesWritten;
+        this.resendRequestsServed = resendRequestsServed;
+        this.gapFillsSent = gapFillsSent;
+        this.gapFilledMessages = gapFilledMessages;
+        this.throttleRejects = throttleRejects;
+    }
+
+    public long connectionId()
+    {
+        return connectionId;
+    }
+
+    public long messagesRead()
+    {
+        return messagesRead;
+    }
+
+    public long bytesRead()
+    {
+        return bytesRead;
+    }
+
+    public long messagesWritten()
+    {
+        return messagesWritten;
+    }
+
+    public long bytesWritten()
+    {
+        return bytesWritten;
+    }
+
+    public long resendRequestsServed()
+    {
+        return resendRequestsServed;
+    }
+
+    public long gapFillsSent()
+    {
+        return gapFillsSent;
+    }
+
+    /**
+     * Gets the number of messages replaced by the gap fills sent, compared with {@link #gapFillsSent()} this shows
+     * how many messages were collapsed into each gap fill.
+     *
+     * @return the number of messages replaced by the gap fills sent.
+     */
+    public long gapFilledMessages()
+    {
+        return gapFilledMessages;
+    }
+
+    public long throttleRejects()
+    {
+        return throttleRejects;
+    }
+
+    public String toString()
+    {
+        return "FixAdminConnectionTraffic{" +
+            "connectionId=" + connectionId +
+            ", messagesRead=" + messagesRead +
+            ", bytesRead=" + bytesRead +
+            ", messagesWritten=" + messagesWritten +
+            ", bytesWritten=" + bytesWritten +
+            ", resendRequestsServed=" + resendRequestsServed +
+            ", gapFillsSent=" + gapFillsSent +
+            ", gapFilledMessages=" + gapFilledMessages +
+            ", throttleRejects=" + throttleRejects +
+            '}';
+    }
+}
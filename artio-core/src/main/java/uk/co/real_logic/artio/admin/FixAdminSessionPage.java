@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.admin;
+
+import java.util.List;
+
+/**
+ * A page of the results of a session query, see {@link ArtioAdmin#querySessions(FixAdminSessionQuery, long)}.
+ */
+public class FixAdminSessionPage
+{
+    /** The cursor to pass in order to query the first page. */
+    public static final long START_CURSOR = 0;
+    /** The next cursor when there are no more pages. */
+    public static final long NO_MORE_SESSIONS = -1;
+
+    private final List<FixAdminSession> sessions;
+    private final long nextCursor;
+
+    public FixAdminSessionPage(final List<FixAdminSession> sessions, final long nextCursor)
+    {
+        this.sessions = sessions;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the sessions in this page.
+     *
+     * @return the sessions in this page.
+     */
+    public List<FixAdminSession> sessions()
+    {
+        return sessions;
+    }
+
+    /**
+     * Gets the cursor to pass in order to query the next page.
+     *
+     * @return the cursor of the next page or {@link #NO_MORE_SESSIONS}.
+     */
+    public long nextCursor()
+    {
+        return nextCursor;
+    }
+
+    /**
+     * Gets whether there are more pages after this one.
+     *
+     * @return true if there are more pages after this one, false otherwise.
+     */
+    public boolean hasMore()
+    {
+        return nextCursor != NO_MORE_SESSIONS;
+    }
+
+    public String toString()
+    {
+        return "FixAdminSessionPage{" +
+            "sessions=" + sessions +
+            ", nextCursor=" + nextCursor +
+            '}';
+    }
+}
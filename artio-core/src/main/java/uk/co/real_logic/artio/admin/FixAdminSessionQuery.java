@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.admin;
+
+import java.util.Objects;
+
+/**
+ * Filters and page size for a session query, see {@link ArtioAdmin#querySessions(FixAdminSessionQuery, long)}. By
+ * default all sessions, both connected and offline, are returned.
+ */
+public class FixAdminSessionQuery
+{
+    public static final int ANY_LIBRARY_ID = Integer.MIN_VALUE;
+    public static final int DEFAULT_PAGE_SIZE = 256;
+    public static final int MAX_PAGE_SIZE = 65_535;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private boolean connectedOnly = false;
+    private int libraryId = ANY_LIBRARY_ID;
+    private String remoteCompIdPrefix = "";
+
+    /**
+     * Sets the max number of sessions returned in each page. Pages can contain fewer sessions than this if they
+     * would otherwise be larger than the max message length of the admin stream.
+     *
+     * @param pageSize the max number of sessions returned in each page.
+     * @return this
+     */
+    public FixAdminSessionQuery pageSize(final int pageSize)
+    {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE)
+        {
+            throw new IllegalArgumentException("pageSize must be between 1 and " + MAX_PAGE_SIZE + ": " + pageSize);
+        }
+
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Sets whether to only return sessions that are currently connected.
+     *
+     * @param connectedOnly true to only return sessions that are currently connected, false otherwise.
+     * @return this
+     */
+    public FixAdminSessionQuery connectedOnly(final boolean connectedOnly)
+    {
+        this.connectedOnly = connectedOnly;
+        return this;
+    }
+
+    /**
+     * Sets the library whose sessions should be returned. Only connected sessions are owned by a library, use
+     * {@link uk.co.real_logic.artio.engine.FixEngine#ENGINE_LIBRARY_ID} for sessions owned by the engine.
+     *
+     * @param libraryId the library whose sessions should be returned or {@link #ANY_LIBRARY_ID}.
+     * @return this
+     */
+    public FixAdminSessionQuery libraryId(final int libraryId)
+    {
+        this.libraryId = libraryId;
+        return this;
+    }
+
+    /**
+     * Sets a prefix that the remote comp id of returned sessions must start with.
+     *
+     * @param remoteCompIdPrefix the prefix that the remote comp id of returned sessions must start with.
+     * @return this
+     */
+    public FixAdminSessionQuery remoteCompIdPrefix(final String remoteCompIdPrefix)
+    {
+        Objects.requireNonNull(remoteCompIdPrefix, "remoteCompIdPrefix");
+        this.remoteCompIdPrefix = remoteCompIdPrefix;
+        return this;
+    }
+
+    public int pageSize()
+    {
+        return pageSize;
+    }
+
+    public boolean connectedOnly()
+    {
+        return connectedOnly;
+    }
+
+    public int libraryId()
+    {
+        return libraryId;
+    }
+
+    public String remoteCompIdPrefix()
+    {
+        return remoteCompIdPrefix;
+    }
+
+    public String toString()
+    {
+        return "FixAdminSessionQuery{" +
+            "pageSize=" + pageSize +
+            ", connectedOnly=" + connectedOnly +
+            ", libraryId=" + libraryId +
+            ", remoteCompIdPrefix='" + remoteCompIdPrefix + '\'' +
+            '}';
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import io.aeron.Aeron;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.EpochNanoClock;
+import org.agrona.concurrent.status.AtomicCounter;
+import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.dictionary.generation.Exceptions;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BooleanSupplier;
+
+import static java.util.concurrent.TimeUnit.*;
+import static org.agrona.concurrent.AgentRunner.startOnThread;
+
+/**
+ * Schedules the framer and archiver onto their own threads, like the {@link DefaultEngineScheduler}, but with an
+ * {@link AdaptiveIdleStrategy} for each of them instead of the configured idle strategies. They spin whilst there
+ * are connected sessions, during trading hours or whilst busy and back off when the engine is idle, so that more
+ * engines can share a host without losing latency in bursts.
+ * <p>
+ * The transitions between spinning, yielding and parking of each agent are exposed as counters.
+ * <p>
+ * NB: Ensure that a new instance is created for each engine.
+ */
+public class AdaptiveEngineScheduler implements EngineScheduler
+{
+    public static final long DEFAULT_SPIN_PERIOD_NS = MILLISECONDS.toNanos(1);
+    public static final long DEFAULT_YIELD_PERIOD_NS = MILLISECONDS.toNanos(10);
+    public static final long DEFAULT_MIN_PARK_PERIOD_NS = MICROSECONDS.toNanos(1);
+    public static final long DEFAULT_MAX_PARK_PERIOD_NS = MILLISECONDS.toNanos(1);
+
+    private static final long TRADING_HOURS_CHECK_INTERVAL_NS = SECONDS.toNanos(1);
+
+    private long spinPeriodNs = DEFAULT_SPIN_PERIOD_NS;
+    private long yieldPeriodNs = DEFAULT_YIELD_PERIOD_NS;
+    private long minParkPeriodNs = DEFAULT_MIN_PARK_PERIOD_NS;
+    private long maxParkPeriodNs = DEFAULT_MAX_PARK_PERIOD_NS;
+    private boolean spinWhileSessionsConnected = true;
+    private LocalTime tradingHoursStart;
+    private LocalTime tradingHoursEnd;
+    private ZoneId tradingHoursZone;
+
+    private FixCounters fixCounters;
+    private AgentRunner framerRunner;
+    private AgentRunner archivingRunner;
+    private AgentRunner monitoringRunner;
+    private RecordingCoordinator recordingCoordinator;
+
+    /**
+     * Sets how long an agent keeps spinning after it was last busy.
+     *
+     * @param spinPeriodNs the spin period in nanoseconds.
+     * @return this
+     */
+    public AdaptiveEngineScheduler spinPeriodNs(final long spinPeriodNs)
+    {
+        this.spinPeriodNs = spinPeriodNs;
+        return this;
+    }
+
+    /**
+     * Sets how long an agent yields for after it has stopped spinning, before parking.
+     *
+     * @param yieldPeriodNs the yield period in nanoseconds.
+     * @return this
+     */
+    public AdaptiveEngineScheduler yieldPeriodNs(final long yieldPeriodNs)
+    {
+        this.yieldPeriodNs = yieldPeriodNs;
+        return this;
+    }
+
+    /**
+     * Sets the range of the park period, which doubles each time an idle agent parks.
+     *
+     * @param minParkPeriodNs the first park period in nanoseconds.
+     * @param maxParkPeriodNs the longest park period in nanoseconds.
+     * @return this
+     */
+    public AdaptiveEngineScheduler parkPeriodNs(final long minParkPeriodNs, final long maxParkPeriodNs)
+    {
+        this.minParkPeriodNs = minParkPeriodNs;
+        this.maxParkPeriodNs = maxParkPeriodNs;
+        return this;
+    }
+
+    /**
+     * Sets whether agents should keep spinning whilst the engine has any connected sessions, even quiet ones.
+     * Defaults to true.
+     *
+     * @param spinWhileSessionsConnected true to spin whilst sessions are connected.
+     * @return this
+     */
+    public AdaptiveEngineScheduler spinWhileSessionsConnected(final boolean spinWhileSessionsConnected)
+    {
+        this.spinWhileSessionsConnected = spinWhileSessionsConnected;
+        return this;
+    }
+
+    /**
+     * Sets the trading hours during which agents keep spinning. If the start is after the end then the trading
+     * hours span midnight.
+     *
+     * @param start the start of the trading hours.
+     * @param end the end of the trading hours.
+     * @param zone the time zone of the trading hours.
+     * @return this
+     */
+    public AdaptiveEngineScheduler tradingHours(final LocalTime start, final LocalTime end, final ZoneId zone)
+    {
+        this.tradingHoursStart = start;
+        this.tradingHoursEnd = end;
+        this.tradingHoursZone = zone;
+        return this;
+    }
+
+    public void fixCounters(final FixCounters fixCounters)
+    {
+        this.fixCounters = fixCounters;
+    }
+
+    public void launch(
+        final EngineConfiguration configuration,
+        final ErrorHandler errorHandler,
+        final Agent framer,
+        final Agent indexingAgent,
+        final Agent monitoringAgent,
+        final Agent conductorAgent,
+        final RecordingCoordinator recordingCoordinator)
+    {
+        this.recordingCoordinator = recordingCoordinator;
+        if (framerRunner != null)
+        {
+            EngineScheduler.fail();
+        }
+
+        framerRunner = new AgentRunner(
+            newIdleStrategy("framer", configuration.framerCycleThresholdNs(), configuration),
+            errorHandler,
+            null,
+            framer);
+        archivingRunner = new AgentRunner(
+            newIdleStrategy("archiver", configuration.indexerCycleThresholdNs(), configuration),
+            errorHandler,
+            null,
+            indexingAgent);
+
+        final ThreadFactory threadFactory = configuration.threadFactory();
+        startOnThread(framerRunner, threadFactory);
+        startOnThread(archivingRunner, threadFactory);
+
+        if (monitoringAgent != null)
+        {
+            monitoringRunner = new AgentRunner(
+                configuration.monitoringThreadIdleStrategy(),
+                errorHandler,
+                null,
+                monitoringAgent);
+            startOnThread(monitoringRunner, configuration.threadFactory());
+        }
+    }
+
+    AdaptiveIdleStrategy newIdleStrategy(
+        final String agentName, final long busyCycleThresholdNs, final EngineConfiguration configuration)
+    {
+        final EpochNanoClock clock = configuration.epochNanoClock();
+        final FixCounters fixCounters = this.fixCounters;
+        final AtomicCounter connectedSessions = fixCounters != null ? fixCounters.connectedSessions() : null;
+
+        return new AdaptiveIdleStrategy(
+            spinPeriodNs,
+            yieldPeriodNs,
+            minParkPeriodNs,
+            maxParkPeriodNs,
+            busyCycleThresholdNs,
+            clock,
+            keepSpinning(clock, connectedSessions),
+            fixCounters != null ? fixCounters.idleSpinTransitions(agentName) : null,
+            fixCounters != null ? fixCounters.idleYieldTransitions(agentName) : null,
+            fixCounters != null ? fixCounters.idleParkTransitions(agentName) : null);
+    }
+
+    private BooleanSupplier keepSpinning(final EpochNanoClock clock, final AtomicCounter connectedSessions)
+    {
+        final boolean checkSessions = spinWhileSessionsConnected && connectedSessions != null;
+        final TradingHours tradingHours = tradingHoursStart != null ?
+            new TradingHours(tradingHoursStart, tradingHoursEnd, tradingHoursZone, clock) : null;
+
+        return () -> (checkSessions && connectedSessions.get() > 0) ||
+            (tradingHours != null && tradingHours.getAsBoolean());
+    }
+
+    public void close()
+    {
+        EngineScheduler.awaitRunnerStart(framerRunner);
+        EngineScheduler.awaitRunnerStart(archivingRunner);
+        EngineScheduler.awaitRunnerStart(monitoringRunner);
+
+        Exceptions.closeAll(framerRunner, archivingRunner, recordingCoordinator, monitoringRunner);
+    }
+
+    public int pollFramer()
+    {
+        return 0;
+    }
+
+    public void configure(final Aeron.Context aeronContext)
+    {
+    }
+
+    // Not thread safe, one instance per agent. Only looks up the time of day once per check interval.
+    static final class TradingHours implements BooleanSupplier
+    {
+        private final LocalTime start;
+        private final LocalTime end;
+        private final ZoneId zone;
+        private final EpochNanoClock clock;
+
+        private long nextCheckTimeNs = Long.MIN_VALUE;
+        private boolean inTradingHours;
+
+        TradingHours(final LocalTime start, final LocalTime end, final ZoneId zone, final EpochNanoClock clock)
+        {
+            this.start = start;
+            this.end = end;
+            this.zone = zone;
+            this.clock = clock;
+        }
+
+        public boolean getAsBoolean()
+        {
+            final long timeInNs = clock.nanoTime();
+            if (timeInNs >= nextCheckTimeNs)
+            {
+                nextCheckTimeNs = timeInNs + TRADING_HOURS_CHECK_INTERVAL_NS;
+                final LocalTime time = Instant.ofEpochMilli(NANOSECONDS.toMillis(timeInNs)).atZone(zone).toLocalTime();
+                inTradingHours = isWithin(time);
+            }
+
+            return inTradingHours;
+        }
+
+        boolean isWithin(final LocalTime time)
+        {
+            if (start.isAfter(end))
+            {
+                return !time.isBefore(start) || time.isBefore(end);
+            }
+
+            return !time.isBefore(start) && time.isBefore(end);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import org.agrona.concurrent.EpochNanoClock;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Idle strategy that spins whilst its agent is busy and backs off progressively, first by yielding then by parking
+ * for exponentially longer periods, once the agent has been idle for a while.
+ * <p>
+ * An agent counts as busy when it reports work or when a duty cycle takes longer than the busy cycle threshold, this
+ * is the same threshold that the engine's duty cycle trackers use. The keep spinning condition lets the engine stay
+ * hot whilst it has connected sessions or is within trading hours even if they're quiet.
+ * <p>
+ * Each transition into a state increments that state's counter so that the back off can be monitored.
+ */
+public class AdaptiveIdleStrategy implements IdleStrategy
+{
+    public static final String ALIAS = "adaptive";
+
+    enum State
+    {
+        SPINNING,
+        YIELDING,
+        PARKING
+    }
+
+    private final long spinPeriodNs;
+    private final long yieldPeriodNs;
+    private final long minParkPeriodNs;
+    private final long maxParkPeriodNs;
+    private final long busyCycleThresholdNs;
+    private final EpochNanoClock clock;
+    private final BooleanSupplier keepSpinning;
+    private final AtomicCounter spinTransitions;
+    private final AtomicCounter yieldTransitions;
+    private final AtomicCounter parkTransitions;
+
+    private State state = State.SPINNING;
+    private long lastBusyTimeNs;
+    private long lastIdleExitTimeNs;
+    private long parkPeriodNs;
+
+    /**
+     * Create the idle strategy.
+     *
+     * @param spinPeriodNs how long to keep spinning after the agent was last busy.
+     * @param yieldPeriodNs how long to yield for once spinning has finished, before parking.
+     * @param minParkPeriodNs the first park period.
+     * @param maxParkPeriodNs the park period that backing off is capped at.
+     * @param busyCycleThresholdNs duty cycles that take longer than this are busy, 0 to only use work counts.
+     * @param clock the clock used to time the idle periods.
+     * @param keepSpinning the condition under which the agent never backs off from spinning.
+     * @param spinTransitions the counter of transitions into spinning, may be null.
+     * @param yieldTransitions the counter of transitions into yielding, may be null.
+     * @param parkTransitions the counter of transitions into parking, may be null.
+     */
+    public AdaptiveIdleStrategy(
+        final long spinPeriodNs,
+        final long yieldPeriodNs,
+        final long minParkPeriodNs,
+        final long maxParkPeriodNs,
+        final long busyCycleThresholdNs,
+        final EpochNanoClock clock,
+        final BooleanSupplier keepSpinning,
+        final AtomicCounter spinTransitions,
+        final AtomicCounter yieldTransitions,
+        final AtomicCounter parkTransitions)
+    {
+        if (minParkPeriodNs <= 0 || maxParkPeriodNs < minParkPeriodNs)
+        {
+            throw new IllegalArgumentException(
+                "Invalid park periods: min=" + minParkPeriodNs + ", max=" + maxParkPeriodNs);
+        }
+
+        this.spinPeriodNs = spinPeriodNs;
+        this.yieldPeriodNs = yieldPeriodNs;
+        this.minParkPeriodNs = minParkPeriodNs;
+        this.maxParkPeriodNs = maxParkPeriodNs;
+        this.busyCycleThresholdNs = busyCycleThresholdNs;
+        this.clock = clock;
+        this.keepSpinning = keepSpinning;
+        this.spinTransitions = spinTransitions;
+        this.yieldTransitions = yieldTransitions;
+        this.parkTransitions = parkTransitions;
+        parkPeriodNs = minParkPeriodNs;
+
+        final long timeInNs = clock.nanoTime();
+        lastBusyTimeNs = timeInNs;
+        lastIdleExitTimeNs = timeInNs;
+    }
+
+    public void idle(final int workCount)
+    {
+        final long timeInNs = clock.nanoTime();
+        final long busyCycleThresholdNs = this.busyCycleThresholdNs;
+        if (workCount > 0 ||
+            (busyCycleThresholdNs > 0 && timeInNs - lastIdleExitTimeNs > busyCycleThresholdNs))
+        {
+            lastBusyTimeNs = timeInNs;
+            transitionTo(State.SPINNING);
+        }
+        else
+        {
+            checkBackOff(timeInNs);
+        }
+
+        idle();
+
+        if (busyCycleThresholdNs > 0)
+        {
+            lastIdleExitTimeNs = clock.nanoTime();
+        }
+    }
+
+    public void idle()
+    {
+        switch (state)
+        {
+            case SPINNING:
+                Thread.onSpinWait();
+                break;
+
+            case YIELDING:
+                Thread.yield();
+                break;
+
+            case PARKING:
+                LockSupport.parkNanos(parkPeriodNs);
+                parkPeriodNs = Math.min(parkPeriodNs << 1, maxParkPeriodNs);
+                break;
+        }
+    }
+
+    public void reset()
+    {
+        lastBusyTimeNs = clock.nanoTime();
+        transitionTo(State.SPINNING);
+    }
+
+    public String alias()
+    {
+        return ALIAS;
+    }
+
+    State state()
+    {
+        return state;
+    }
+
+    private void checkBackOff(final long timeInNs)
+    {
+        final long idleTimeNs = timeInNs - lastBusyTimeNs;
+        switch (state)
+        {
+            case SPINNING:
+                if (idleTimeNs > spinPeriodNs)
+                {
+                    if (keepSpinning.getAsBoolean())
+                    {
+                        // Re-check the condition after another spin period rather than every cycle
+                        lastBusyTimeNs = timeInNs;
+                    }
+                    else
+                    {
+                        transitionTo(State.YIELDING);
+                    }
+                }
+                break;
+
+            case YIELDING:
+                if (keepSpinning.getAsBoolean())
+                {
+                    lastBusyTimeNs = timeInNs;
+                    transitionTo(State.SPINNING);
+                }
+                else if (idleTimeNs > spinPeriodNs + yieldPeriodNs)
+                {
+                    transitionTo(State.PARKING);
+                }
+                break;
+
+            case PARKING:
+                if (keepSpinning.getAsBoolean())
+                {
+                    lastBusyTimeNs = timeInNs;
+                    transitionTo(State.SPINNING);
+                }
+                break;
+        }
+    }
+
+    private void transitionTo(final State newState)
+    {
+        if (state == newState)
+        {
+            return;
+        }
+
+        state = newState;
+        parkPeriodNs = minParkPeriodNs;
+        final AtomicCounter counter;
+        switch (newState)
+        {
+            case SPINNING:
+                counter = spinTransitions;
+                break;
+
+            case YIELDING:
+                counter = yieldTransitions;
+                break;
+
+            default:
+                counter = parkTransitions;
+                break;
+        }
+
+        if (counter != null)
+        {
+            counter.incrementOrdered();
+        }
+    }
+
+    public String toString()
+    {
+        return "AdaptiveIdleStrategy{" +
+            "state=" + state +
+            ", spinPeriodNs=" + spinPeriodNs +
+            ", yieldPeriodNs=" + yieldPeriodNs +
+            ", minParkPeriodNs=" + minParkPeriodNs +
+            ", maxParkPeriodNs=" + maxParkPeriodNs +
+            ", busyCycleThresholdNs=" + busyCycleThresholdNs +
+            '}';
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.status.AtomicCounter;
+
+/**
+ * Traffic counters for a single FIX connection. Allocated by the Framer when the connection is setup and closed when
+ * it disconnects. Each counter has a single writer: bytes read, bytes written, messages written and throttle rejects
+ * are updated on the Framer thread whilst resend requests served, gap fills sent and the messages that they fill are
+ * updated on the replayer.
+ *
+ * Counters are keyed by connection id, see {@link uk.co.real_logic.artio.FixCounters#findConnectionCounterId}.
+ * When they're not enabled every connection shares {@link #DISABLED}, which doesn't allocate any counters, see
+ * {@link EngineConfiguration#connectionTrafficCountersEnabled(boolean)}.
+ */
+public final class ConnectionTrafficCounters implements AutoCloseable
+{
+    public static final ConnectionTrafficCounters DISABLED = new ConnectionTrafficCounters();
+
+    private final boolean enabled;
+    private final AtomicCounter bytesRead;
+    private final AtomicCounter bytesWritten;
+    private final AtomicCounter messagesWritten;
+    private final AtomicCounter resendRequestsServed;
+    private final AtomicCounter gapFillsSent;
+    private final AtomicCounter gapFilledMessages;
+    private final AtomicCounter throttleRejects;
+
+    public ConnectionTrafficCounters(
+        final AtomicCounter bytesRead,
+        final AtomicCounter bytesWritten,
+        final AtomicCounter messagesWritten,
+        final AtomicCounter resendRequestsServed,
+        final AtomicCounter gapFillsSent,
+        final AtomicCounter gapFilledMessages,
+        final AtomicCounter throttleRejects)
+    {
+        this.enabled = true;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.messagesWritten = messagesWritten;
+        this.resendRequestsServed = resendRequestsServed;
+        this.gapFillsSent = gapFillsSent;
+        this.gapFilledMessages = gapFilledMessages;
+        this.throttleRejects = throttleRejects;
+    }
+
+    private ConnectionTrafficCounters()
+    {
+        this.enabled = false;
+        this.bytesRead = null;
+        this.bytesWritten = null;
+        this.messagesWritten = null;
+        this.resendRequestsServed = null;
+        this.gapFillsSent = null;
+        this.gapFilledMessages = null;
+        this.throttleRejects = null;
+    }
+
+    // Called on Framer Thread
+    public void onBytesRead(final int bytesRead)
+    {
+        if (enabled)
+        {
+            this.bytesRead.getAndAddOrdered(bytesRead);
+        }
+    }
+
+    // Called on Framer Thread
+    public void onBytesWritten(final int bytesWritten)
+    {
+        if (enabled)
+        {
+            this.bytesWritten.getAndAddOrdered(bytesWritten);
+        }
+    }
+
+    // Called on Framer Thread
+    public void onMessageWritten()
+    {
+        if (enabled)
+        {
+            messagesWritten.incrementOrdered();
+        }
+    }
+
+    // Called on Framer Thread
+    public void onThrottleReject()
+    {
+        if (enabled)
+        {
+            throttleRejects.incrementOrdered();
+        }
+    }
+
+    // Called on Replayer Thread
+    public void onResendRequestServed()
+    {
+        if (enabled)
+        {
+            resendRequestsServed.incrementOrdered();
+        }
+    }
+
+    // Called on Replayer Thread, gapFilledMessages is the number of messages that the gap fill replaced
+    public void onGapFillSent(final int gapFilledMessages)
+    {
+        if (enabled)
+        {
+            gapFillsSent.incrementOrdered();
+            this.gapFilledMessages.getAndAddOrdered(gapFilledMessages);
+        }
+    }
+
+    public long bytesRead()
+    {
+        return enabled ? bytesRead.get() : 0;
+    }
+
+    public long bytesWritten()
+    {
+        return enabled ? bytesWritten.get() : 0;
+    }
+
+    public long messagesWritten()
+    {
+        return enabled ? messagesWritten.get() : 0;
+    }
+
+    public long resendRequestsServed()
+    {
+        return enabled ? resendRequestsServed.get() : 0;
+    }
+
+    public long gapFillsSent()
+    {
+        return enabled ? gapFillsSent.get() : 0;
+    }
+
+    public long gapFilledMessages()
+    {
+        return enabled ? gapFilledMessages.get() : 0;
+    }
+
+    public long throttleRejects()
+    {
+        return enabled ? throttleRejects.get() : 0;
+    }
+
+    public void close()
+    {
+        // Closing DISABLED is a no-op as closeAll skips nulls
+        CloseHelper.closeAll(
+            bytesRead, bytesWritten, messagesWritten, resendRequestsServed, gapFillsSent, gapFilledMessages,
+            throttleRejects);
+    }
+}
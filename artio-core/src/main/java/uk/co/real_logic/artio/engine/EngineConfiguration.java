@@ -38,6 +38,7 @@ import uk.co.real_logic.artio.engine.framer.DefaultTcpChannelSupplier;
 import uk.co.real_logic.artio.engine.framer.TcpChannelSupplier;
 import uk.co.real_logic.artio.engine.logger.FixArchiveScanner;
 import uk.co.real_logic.artio.engine.logger.ReplayIndexDescriptor;
+import uk.co.real_logic.artio.engine.logger.SequenceNumberIndexOffsets;
 import uk.co.real_logic.artio.fields.EpochFractionFormat;
 import uk.co.real_logic.artio.fixp.FixPCancelOnDisconnectTimeoutHandler;
 import uk.co.real_logic.artio.fixp.FixPProtocolFactory;
@@ -60,6 +61,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
 import static java.lang.System.getProperty;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.agrona.BitUtil.findNextPositivePowerOfTwo;
@@ -137,10 +139,23 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
      * Property name for the max number of bytes to read from all TCP Connections.
      */
     public static final String INBOUND_BYTES_RECEIVED_LIMIT_PROP = "fix.core.inbound_bytes_limit";
+    /**
+     * Property name for the max number of sessions that the Framer scans per duty cycle to answer a session query.
+     */
+    public static final String SESSION_QUERY_SCAN_LIMIT_PROP = "fix.core.session_query_scan_limit";
     /**
      * Property name for the size in bytes of the receiver end point's framing buffer.
      */
     public static final String RECEIVER_BUFFER_SIZE_PROP = "fix.core.receiver_buffer_size";
+    /**
+     * Property name for whether the receiver end point's framing buffer is compacted lazily.
+     */
+    public static final String LAZY_RECEIVER_BUFFER_COMPACTION_PROP = "fix.core.lazy_receiver_buffer_compaction";
+    /**
+     * Property name for whether per-connection traffic counters are allocated.
+     */
+    public static final String CONNECTION_TRAFFIC_COUNTERS_ENABLED_PROP =
+        "fix.core.connection_traffic_counters_enabled";
     /**
      * Property name for the size in bytes of the TCP socket's receive buffer.
      */
@@ -165,6 +180,44 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
      * Property name for the timeout before a connection that hasn't sent a logon is disconnected
      */
     public static final String NO_LOGON_DISCONNECT_TIMEOUT_PROP = "fix.core.no_logon_disconnect";
+    /**
+     * Property name for the maximum number of sessions whose replay index files are kept mapped by each replay index
+     */
+    public static final String REPLAY_INDEX_MAX_OPEN_SESSIONS_PROP = "fix.core.replay_index_max_open_sessions";
+    /**
+     * Property name for the time after which an idle session's replay index files are unmapped
+     */
+    public static final String REPLAY_INDEX_IDLE_SESSION_TIMEOUT_PROP = "fix.core.replay_index_idle_session_timeout";
+    /**
+     * Property name for the maximum number of catch up replays that the Framer runs concurrently
+     */
+    public static final String CATCHUP_MAX_CONCURRENT_REPLAYS_PROP = "fix.core.catchup_max_concurrent_replays";
+    /**
+     * Property name for the maximum number of sessions that are caught up by a single coalesced replay
+     */
+    public static final String CATCHUP_MAX_SESSIONS_PER_REPLAY_PROP = "fix.core.catchup_max_sessions_per_replay";
+    /**
+     * Property name for the number of recently sent business messages kept per FIXP session for retransmits
+     */
+    public static final String FIXP_RETRANSMIT_WINDOW_MESSAGES_PROP = "fix.core.fixp_retransmit_window_messages";
+    /**
+     * Property name for the number of bytes of recently sent business messages kept per FIXP session for retransmits
+     */
+    public static final String FIXP_RETRANSMIT_WINDOW_BYTES_PROP = "fix.core.fixp_retransmit_window_bytes";
+    /**
+     * Property name for the maximum number of FIXP sessions that retransmit windows are kept for
+     */
+    public static final String FIXP_RETRANSMIT_WINDOW_MAX_SESSIONS_PROP =
+        "fix.core.fixp_retransmit_window_max_sessions";
+    /**
+     * Property name for the capacity of the queue of logons waiting to be authenticated off the Framer thread
+     */
+    public static final String LOGON_AUTHENTICATION_QUEUE_CAPACITY_PROP =
+        "fix.core.logon_authentication_queue_capacity";
+    /**
+     * Property name for the maximum number of authenticated logons that the Framer admits per duty cycle
+     */
+    public static final String LOGON_ADMISSIONS_PER_CYCLE_PROP = "fix.core.logon_admissions_per_cycle";
 
     // ------------------------------------------------
     //          Configuration Defaults
@@ -179,7 +232,10 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
     public static final int DEFAULT_OUTBOUND_LIBRARY_FRAGMENT_LIMIT = 20;
     public static final int DEFAULT_REPLAY_FRAGMENT_LIMIT = 5;
     public static final int DEFAULT_INBOUND_BYTES_RECEIVED_LIMIT = 8 * 1024;
+    public static final int DEFAULT_SESSION_QUERY_SCAN_LIMIT = 1024;
     public static final int DEFAULT_RECEIVER_BUFFER_SIZE = 16 * 1024;
+    public static final boolean DEFAULT_LAZY_RECEIVER_BUFFER_COMPACTION = false;
+    public static final boolean DEFAULT_CONNECTION_TRAFFIC_COUNTERS_ENABLED = false;
     public static final int DEFAULT_RECEIVER_SOCKET_BUFFER_SIZE = 1024 * 1024;
     public static final int DEFAULT_SENDER_SOCKET_BUFFER_SIZE = 1024 * 1024;
     public static final int DEFAULT_SEQUENCE_NUMBER_INDEX_SIZE = 8 * 1024 * 1024;
@@ -214,6 +270,15 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
     public static final long MAX_COD_TIMEOUT_IN_MS = 60_000L;
 
     public static final long DEFAULT_TIME_INDEX_FLUSH_INTERVAL_IN_NS = TimeUnit.SECONDS.toNanos(1);
+    public static final int DEFAULT_REPLAY_INDEX_MAX_OPEN_SESSIONS = 1024;
+    public static final long DEFAULT_REPLAY_INDEX_IDLE_SESSION_TIMEOUT_IN_MS = SECONDS.toMillis(60);
+    public static final int DEFAULT_CATCHUP_MAX_CONCURRENT_REPLAYS = 4;
+    public static final int DEFAULT_CATCHUP_MAX_SESSIONS_PER_REPLAY = 64;
+    public static final int DEFAULT_FIXP_RETRANSMIT_WINDOW_MESSAGES = 0;
+    public static final int DEFAULT_FIXP_RETRANSMIT_WINDOW_BYTES = 256 * 1024;
+    public static final int DEFAULT_FIXP_RETRANSMIT_WINDOW_MAX_SESSIONS = 1024;
+    public static final int DEFAULT_LOGON_AUTHENTICATION_QUEUE_CAPACITY = 0;
+    public static final int DEFAULT_LOGON_ADMISSIONS_PER_CYCLE = Integer.MAX_VALUE;
 
     static
     {
@@ -251,6 +316,8 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
     private IdleStrategy archiverIdleStrategy = backoffIdleStrategy();
     private AtomicBuffer sentSequenceNumberBuffer;
     private AtomicBuffer receivedSequenceNumberBuffer;
+    private SequenceNumberIndexOffsets sentSequenceNumberRecordOffsets;
+    private SequenceNumberIndexOffsets receivedSequenceNumberRecordOffsets;
     private MappedFile sentSequenceNumberIndex;
     private MappedFile receivedSequenceNumberIndex;
     private MappedFile sessionIdBuffer;
@@ -267,8 +334,14 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         getInteger(REPLAY_FRAGMENT_LIMIT_PROP, DEFAULT_REPLAY_FRAGMENT_LIMIT);
     private int inboundBytesReceivedLimit =
         getInteger(INBOUND_BYTES_RECEIVED_LIMIT_PROP, DEFAULT_INBOUND_BYTES_RECEIVED_LIMIT);
+    private int sessionQueryScanLimit =
+        getInteger(SESSION_QUERY_SCAN_LIMIT_PROP, DEFAULT_SESSION_QUERY_SCAN_LIMIT);
     private int receiverBufferSize =
         getInteger(RECEIVER_BUFFER_SIZE_PROP, DEFAULT_RECEIVER_BUFFER_SIZE);
+    private boolean lazyReceiverBufferCompaction =
+        getBoolean(LAZY_RECEIVER_BUFFER_COMPACTION_PROP, DEFAULT_LAZY_RECEIVER_BUFFER_COMPACTION);
+    private boolean connectionTrafficCountersEnabled =
+        getBoolean(CONNECTION_TRAFFIC_COUNTERS_ENABLED_PROP, DEFAULT_CONNECTION_TRAFFIC_COUNTERS_ENABLED);
     private int receiverSocketBufferSize =
         getInteger(RECEIVER_SOCKET_BUFFER_SIZE_PROP, DEFAULT_RECEIVER_SOCKET_BUFFER_SIZE);
     private int senderSocketBufferSize =
@@ -322,6 +395,25 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
     private int throttleWindowInMs = NO_THROTTLE_WINDOW;
     private int throttleLimitOfMessages = NO_THROTTLE_WINDOW;
     private long timeIndexReplayFlushIntervalInNs = DEFAULT_TIME_INDEX_FLUSH_INTERVAL_IN_NS;
+    private int replayIndexMaxOpenSessions =
+        getInteger(REPLAY_INDEX_MAX_OPEN_SESSIONS_PROP, DEFAULT_REPLAY_INDEX_MAX_OPEN_SESSIONS);
+    private long replayIndexIdleSessionTimeoutInMs =
+        getLong(REPLAY_INDEX_IDLE_SESSION_TIMEOUT_PROP, DEFAULT_REPLAY_INDEX_IDLE_SESSION_TIMEOUT_IN_MS);
+    private int catchupMaxConcurrentReplays =
+        getInteger(CATCHUP_MAX_CONCURRENT_REPLAYS_PROP, DEFAULT_CATCHUP_MAX_CONCURRENT_REPLAYS);
+    private int catchupMaxSessionsPerReplay =
+        getInteger(CATCHUP_MAX_SESSIONS_PER_REPLAY_PROP, DEFAULT_CATCHUP_MAX_SESSIONS_PER_REPLAY);
+    private int fixPRetransmitWindowMessages =
+        getInteger(FIXP_RETRANSMIT_WINDOW_MESSAGES_PROP, DEFAULT_FIXP_RETRANSMIT_WINDOW_MESSAGES);
+    private int fixPRetransmitWindowBytes =
+        getInteger(FIXP_RETRANSMIT_WINDOW_BYTES_PROP, DEFAULT_FIXP_RETRANSMIT_WINDOW_BYTES);
+    private int fixPRetransmitWindowMaxSessions =
+        getInteger(FIXP_RETRANSMIT_WINDOW_MAX_SESSIONS_PROP, DEFAULT_FIXP_RETRANSMIT_WINDOW_MAX_SESSIONS);
+    private int logonAuthenticationQueueCapacity =
+        getInteger(LOGON_AUTHENTICATION_QUEUE_CAPACITY_PROP, DEFAULT_LOGON_AUTHENTICATION_QUEUE_CAPACITY);
+    private int logonAdmissionsPerCycle =
+        getInteger(LOGON_ADMISSIONS_PER_CYCLE_PROP, DEFAULT_LOGON_ADMISSIONS_PER_CYCLE);
+    private IdleStrategy logonAuthenticatorIdleStrategy = backoffIdleStrategy();
     private CancelOnDisconnectOption cancelOnDisconnectOption = DO_NOT_CANCEL_ON_DISCONNECT_OR_LOGOUT;
     private int cancelOnDisconnectTimeoutWindowInMs = DEFAULT_CANCEL_ON_DISCONNECT_TIMEOUT_WINDOW_IN_MS;
     private long framerCycleThresholdNs = DEFAULT_CYCLE_THRESHOLD_NS;
@@ -410,6 +502,40 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets whether the receiver buffer is compacted lazily. By default any partially received message left over once
+     * the framed messages in a read have been published is copied back to the start of the receiver buffer. When
+     * lazy compaction is enabled the remaining data stays where it is and the next read appends to it, data is only
+     * copied back once the free space at the end of the buffer falls below a quarter of its size. This avoids a copy
+     * per read when messages are routinely split across TCP reads, for example under bursty market data flows.
+     *
+     * @param lazyReceiverBufferCompaction true to compact the receiver buffer lazily, false otherwise.
+     * @return this
+     * @see EngineConfiguration#receiverBufferSize(int)
+     * @see EngineConfiguration#LAZY_RECEIVER_BUFFER_COMPACTION_PROP
+     */
+    public EngineConfiguration lazyReceiverBufferCompaction(final boolean lazyReceiverBufferCompaction)
+    {
+        this.lazyReceiverBufferCompaction = lazyReceiverBufferCompaction;
+        return this;
+    }
+
+    /**
+     * Sets whether each connection gets its own set of traffic counters, read by
+     * {@link uk.co.real_logic.artio.admin.ArtioAdmin#connectionTraffic(long)}. These are Aeron counters so enabling
+     * them uses several slots of the media driver's counters file per connection, which can run out if there are
+     * many connections. Disabled by default.
+     *
+     * @param connectionTrafficCountersEnabled true to allocate per-connection traffic counters, false otherwise.
+     * @return this
+     * @see EngineConfiguration#CONNECTION_TRAFFIC_COUNTERS_ENABLED_PROP
+     */
+    public EngineConfiguration connectionTrafficCountersEnabled(final boolean connectionTrafficCountersEnabled)
+    {
+        this.connectionTrafficCountersEnabled = connectionTrafficCountersEnabled;
+        return this;
+    }
+
     /**
      * Sets the receiver socket buffer size.
      *
@@ -630,6 +756,21 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets the max number of sessions that the Framer scans per duty cycle when answering a session query from
+     * {@link uk.co.real_logic.artio.admin.ArtioAdmin#querySessions}. Queries over many historical sessions are
+     * answered incrementally across duty cycles so that they don't stall the Framer.
+     *
+     * @param sessionQueryScanLimit the max number of sessions scanned per duty cycle for each session query.
+     * @return this
+     * @see EngineConfiguration#SESSION_QUERY_SCAN_LIMIT_PROP
+     */
+    public EngineConfiguration sessionQueryScanLimit(final int sessionQueryScanLimit)
+    {
+        this.sessionQueryScanLimit = sessionQueryScanLimit;
+        return this;
+    }
+
     /**
      * Sets the bytes limit for receiving inbound messages.
      *
@@ -661,6 +802,15 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Set the factory for the supplier of TCP channels that the engine accepts and opens connections through. Defaults
+     * to the {@link DefaultTcpChannelSupplier}, {@code BusyPollTcpChannelSupplier::new} polls for new connections
+     * without iterating a selector's selected keys.
+     *
+     * @param value the factory for the supplier of TCP channels.
+     * @return this
+     * @see uk.co.real_logic.artio.engine.framer.BusyPollTcpChannelSupplier
+     */
     public EngineConfiguration channelSupplierFactory(final Function<EngineConfiguration, TcpChannelSupplier> value)
     {
         this.channelSupplierFactory = value;
@@ -1170,6 +1320,210 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return this;
     }
 
+    /**
+     * Sets the maximum number of sessions whose replay index files are kept mapped by each replay index. When a
+     * message is indexed for a session that isn't open and this limit has been reached then the least recently used
+     * session is unmapped in order to make room. The session index objects are preallocated up front so this bounds
+     * both the number of mapped files and the memory used by the indexer.
+     *
+     * @param replayIndexMaxOpenSessions the maximum number of open sessions per replay index.
+     * @throws IllegalArgumentException if replayIndexMaxOpenSessions isn't positive.
+     * @return this
+     * @see EngineConfiguration#REPLAY_INDEX_MAX_OPEN_SESSIONS_PROP
+     */
+    public EngineConfiguration replayIndexMaxOpenSessions(final int replayIndexMaxOpenSessions)
+    {
+        if (replayIndexMaxOpenSessions <= 0)
+        {
+            throw new IllegalArgumentException(
+                "replayIndexMaxOpenSessions must be positive but is set to " + replayIndexMaxOpenSessions);
+        }
+        this.replayIndexMaxOpenSessions = replayIndexMaxOpenSessions;
+        return this;
+    }
+
+    /**
+     * Sets the time after which a session that hasn't had any messages indexed has its replay index files unmapped.
+     * Idle sessions are unmapped on the indexer's duty cycle. A value of 0 or less disables idle unmapping, so
+     * sessions are only unmapped when {@link #replayIndexMaxOpenSessions(int)} is reached.
+     *
+     * @param replayIndexIdleSessionTimeoutInMs the idle timeout in milliseconds.
+     * @return this
+     * @see EngineConfiguration#REPLAY_INDEX_IDLE_SESSION_TIMEOUT_PROP
+     */
+    public EngineConfiguration replayIndexIdleSessionTimeoutInMs(final long replayIndexIdleSessionTimeoutInMs)
+    {
+        this.replayIndexIdleSessionTimeoutInMs = replayIndexIdleSessionTimeoutInMs;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of catch up replays that the Framer runs at once. When a library requests sessions with
+     * a replay of their received messages, for example when a standby library takes over, the sessions are queued and
+     * replayed in batches so that the number of archive replays in flight is bounded.
+     *
+     * @param catchupMaxConcurrentReplays the maximum number of concurrent catch up replays.
+     * @throws IllegalArgumentException if catchupMaxConcurrentReplays isn't positive.
+     * @return this
+     * @see EngineConfiguration#CATCHUP_MAX_CONCURRENT_REPLAYS_PROP
+     */
+    public EngineConfiguration catchupMaxConcurrentReplays(final int catchupMaxConcurrentReplays)
+    {
+        if (catchupMaxConcurrentReplays <= 0)
+        {
+            throw new IllegalArgumentException(
+                "catchupMaxConcurrentReplays must be positive but is set to " + catchupMaxConcurrentReplays);
+        }
+        this.catchupMaxConcurrentReplays = catchupMaxConcurrentReplays;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of sessions that are caught up by a single replay. The recording ranges of the sessions
+     * within a batch are merged where they overlap or are adjacent, so one archive replay serves all of them.
+     *
+     * @param catchupMaxSessionsPerReplay the maximum number of sessions per catch up replay.
+     * @throws IllegalArgumentException if catchupMaxSessionsPerReplay isn't positive.
+     * @return this
+     * @see EngineConfiguration#CATCHUP_MAX_SESSIONS_PER_REPLAY_PROP
+     */
+    public EngineConfiguration catchupMaxSessionsPerReplay(final int catchupMaxSessionsPerReplay)
+    {
+        if (catchupMaxSessionsPerReplay <= 0)
+        {
+            throw new IllegalArgumentException(
+                "catchupMaxSessionsPerReplay must be positive but is set to " + catchupMaxSessionsPerReplay);
+        }
+        this.catchupMaxSessionsPerReplay = catchupMaxSessionsPerReplay;
+        return this;
+    }
+
+    /**
+     * Sets the number of recently sent business messages that the engine keeps for each FIXP session. Retransmit
+     * requests that fall entirely within these messages are served from memory rather than replayed from the
+     * archive. When enabled the replayer also subscribes to the outbound library stream. Defaults to 0, which
+     * disables the window.
+     *
+     * @param fixPRetransmitWindowMessages the number of messages kept per FIXP session, or 0 to disable.
+     * @throws IllegalArgumentException if fixPRetransmitWindowMessages is negative.
+     * @return this
+     * @see EngineConfiguration#FIXP_RETRANSMIT_WINDOW_MESSAGES_PROP
+     * @see EngineConfiguration#fixPRetransmitWindowBytes(int)
+     */
+    public EngineConfiguration fixPRetransmitWindowMessages(final int fixPRetransmitWindowMessages)
+    {
+        if (fixPRetransmitWindowMessages < 0)
+        {
+            throw new IllegalArgumentException(
+                "fixPRetransmitWindowMessages must not be negative but is set to " + fixPRetransmitWindowMessages);
+        }
+        this.fixPRetransmitWindowMessages = fixPRetransmitWindowMessages;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes of recently sent business messages that the engine keeps for each FIXP
+     * session, older messages are evicted once it is reached.
+     *
+     * @param fixPRetransmitWindowBytes the number of bytes kept per FIXP session.
+     * @throws IllegalArgumentException if fixPRetransmitWindowBytes isn't positive.
+     * @return this
+     * @see EngineConfiguration#FIXP_RETRANSMIT_WINDOW_BYTES_PROP
+     * @see EngineConfiguration#fixPRetransmitWindowMessages(int)
+     */
+    public EngineConfiguration fixPRetransmitWindowBytes(final int fixPRetransmitWindowBytes)
+    {
+        if (fixPRetransmitWindowBytes <= 0)
+        {
+            throw new IllegalArgumentException(
+                "fixPRetransmitWindowBytes must be positive but is set to " + fixPRetransmitWindowBytes);
+        }
+        this.fixPRetransmitWindowBytes = fixPRetransmitWindowBytes;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of FIXP sessions that retransmit windows are kept for. Windows are kept after a session
+     * disconnects so that they can serve retransmits after it reconnects, once this limit is reached the window of
+     * the least recently used session is evicted.
+     *
+     * @param fixPRetransmitWindowMaxSessions the maximum number of FIXP sessions that windows are kept for.
+     * @throws IllegalArgumentException if fixPRetransmitWindowMaxSessions isn't positive.
+     * @return this
+     * @see EngineConfiguration#FIXP_RETRANSMIT_WINDOW_MAX_SESSIONS_PROP
+     * @see EngineConfiguration#fixPRetransmitWindowMessages(int)
+     */
+    public EngineConfiguration fixPRetransmitWindowMaxSessions(final int fixPRetransmitWindowMaxSessions)
+    {
+        if (fixPRetransmitWindowMaxSessions <= 0)
+        {
+            throw new IllegalArgumentException(
+                "fixPRetransmitWindowMaxSessions must be positive but is set to " + fixPRetransmitWindowMaxSessions);
+        }
+        this.fixPRetransmitWindowMaxSessions = fixPRetransmitWindowMaxSessions;
+        return this;
+    }
+
+    /**
+     * Enables authenticating acceptor logons on a dedicated thread rather than on the Framer thread. The Framer
+     * offers each logon's {@link uk.co.real_logic.artio.validation.AuthenticationStrategy#authenticateAsync}
+     * call to a bounded queue that is drained by the authentication thread, when the queue is full the logon stays
+     * pending and is offered again on the next duty cycle. The authentication strategy must be thread safe when
+     * this is enabled. Defaults to 0, which authenticates on the Framer thread.
+     *
+     * @param logonAuthenticationQueueCapacity the capacity of the authentication queue, or 0 to disable.
+     * @throws IllegalArgumentException if logonAuthenticationQueueCapacity is negative.
+     * @return this
+     * @see EngineConfiguration#LOGON_AUTHENTICATION_QUEUE_CAPACITY_PROP
+     * @see EngineConfiguration#logonAuthenticatorIdleStrategy(IdleStrategy)
+     */
+    public EngineConfiguration logonAuthenticationQueueCapacity(final int logonAuthenticationQueueCapacity)
+    {
+        if (logonAuthenticationQueueCapacity < 0)
+        {
+            throw new IllegalArgumentException(
+                "logonAuthenticationQueueCapacity must not be negative but is set to " +
+                logonAuthenticationQueueCapacity);
+        }
+        this.logonAuthenticationQueueCapacity = logonAuthenticationQueueCapacity;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of authenticated logons that the Framer admits per duty cycle. Admitting a logon
+     * allocates its session context and hands it over to a library, so bounding it stops a burst of logons from
+     * delaying messages for sessions that are already logged on. Logons over the budget are admitted on later
+     * duty cycles.
+     *
+     * @param logonAdmissionsPerCycle the maximum number of logons admitted per duty cycle.
+     * @throws IllegalArgumentException if logonAdmissionsPerCycle isn't positive.
+     * @return this
+     * @see EngineConfiguration#LOGON_ADMISSIONS_PER_CYCLE_PROP
+     */
+    public EngineConfiguration logonAdmissionsPerCycle(final int logonAdmissionsPerCycle)
+    {
+        if (logonAdmissionsPerCycle <= 0)
+        {
+            throw new IllegalArgumentException(
+                "logonAdmissionsPerCycle must be positive but is set to " + logonAdmissionsPerCycle);
+        }
+        this.logonAdmissionsPerCycle = logonAdmissionsPerCycle;
+        return this;
+    }
+
+    /**
+     * Sets the idle strategy of the logon authentication thread.
+     *
+     * @param logonAuthenticatorIdleStrategy the idle strategy of the logon authentication thread.
+     * @return this
+     * @see EngineConfiguration#logonAuthenticationQueueCapacity(int)
+     */
+    public EngineConfiguration logonAuthenticatorIdleStrategy(final IdleStrategy logonAuthenticatorIdleStrategy)
+    {
+        this.logonAuthenticatorIdleStrategy = logonAuthenticatorIdleStrategy;
+        return this;
+    }
+
     /**
      * Allows disabling of the checksum calculation and validation of index files. Note: this does not affect the
      * checksum calculation for AeronArchiver - only artio itself.
@@ -1689,6 +2043,26 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return receiverBufferSize;
     }
 
+    /**
+     * See {@link #lazyReceiverBufferCompaction(boolean)} for details.
+     *
+     * @return true if the receiver buffer is compacted lazily, false otherwise.
+     */
+    public boolean lazyReceiverBufferCompaction()
+    {
+        return lazyReceiverBufferCompaction;
+    }
+
+    /**
+     * See {@link #connectionTrafficCountersEnabled(boolean)} for details.
+     *
+     * @return true if per-connection traffic counters are allocated, false otherwise.
+     */
+    public boolean connectionTrafficCountersEnabled()
+    {
+        return connectionTrafficCountersEnabled;
+    }
+
     /**
      * See {@link #receiverSocketBufferSize(int)} for details.
      *
@@ -1809,6 +2183,11 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return replayFragmentLimit;
     }
 
+    public int sessionQueryScanLimit()
+    {
+        return sessionQueryScanLimit;
+    }
+
     public int inboundBytesReceivedLimit()
     {
         return inboundBytesReceivedLimit;
@@ -1834,6 +2213,16 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return receivedSequenceNumberBuffer;
     }
 
+    public SequenceNumberIndexOffsets sentSequenceNumberRecordOffsets()
+    {
+        return sentSequenceNumberRecordOffsets;
+    }
+
+    public SequenceNumberIndexOffsets receivedSequenceNumberRecordOffsets()
+    {
+        return receivedSequenceNumberRecordOffsets;
+    }
+
     public MappedFile sessionIdBuffer()
     {
         return sessionIdBuffer;
@@ -2043,6 +2432,56 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
         return timeIndexReplayFlushIntervalInNs;
     }
 
+    public int replayIndexMaxOpenSessions()
+    {
+        return replayIndexMaxOpenSessions;
+    }
+
+    public long replayIndexIdleSessionTimeoutInMs()
+    {
+        return replayIndexIdleSessionTimeoutInMs;
+    }
+
+    public int catchupMaxConcurrentReplays()
+    {
+        return catchupMaxConcurrentReplays;
+    }
+
+    public int catchupMaxSessionsPerReplay()
+    {
+        return catchupMaxSessionsPerReplay;
+    }
+
+    public int fixPRetransmitWindowMessages()
+    {
+        return fixPRetransmitWindowMessages;
+    }
+
+    public int fixPRetransmitWindowBytes()
+    {
+        return fixPRetransmitWindowBytes;
+    }
+
+    public int fixPRetransmitWindowMaxSessions()
+    {
+        return fixPRetransmitWindowMaxSessions;
+    }
+
+    public int logonAuthenticationQueueCapacity()
+    {
+        return logonAuthenticationQueueCapacity;
+    }
+
+    public int logonAdmissionsPerCycle()
+    {
+        return logonAdmissionsPerCycle;
+    }
+
+    public IdleStrategy logonAuthenticatorIdleStrategy()
+    {
+        return logonAuthenticatorIdleStrategy;
+    }
+
     public CancelOnDisconnectOption cancelOnDisconnectOption()
     {
         return cancelOnDisconnectOption;
@@ -2166,6 +2605,9 @@ public final class EngineConfiguration extends CommonConfiguration implements Au
             receivedSequenceNumberBuffer = new UnsafeBuffer(new byte[sequenceNumberIndexSize]);
         }
 
+        sentSequenceNumberRecordOffsets = new SequenceNumberIndexOffsets();
+        receivedSequenceNumberRecordOffsets = new SequenceNumberIndexOffsets();
+
         if (sessionIdBuffer() == null)
         {
             sessionIdBuffer = mapFile(DEFAULT_SESSION_ID_FILE, sessionIdBufferSize);
@@ -122,7 +122,8 @@ public class EngineContext implements AutoCloseable
                 connectionIdToFixPSessionId,
                 fixPProtocolType,
                 indexChecksumEnabled,
-                configuration.logOutboundMessages());
+                configuration.logOutboundMessages(),
+                configuration.sentSequenceNumberRecordOffsets());
             receivedSequenceNumberIndex = new SequenceNumberIndexWriter(
                 recvSequenceNumberExtractor,
                 configuration.receivedSequenceNumberBuffer(),
@@ -136,7 +137,8 @@ public class EngineContext implements AutoCloseable
                 connectionIdToFixPSessionId,
                 fixPProtocolType,
                 indexChecksumEnabled,
-                configuration.logInboundMessages());
+                configuration.logInboundMessages(),
+                configuration.receivedSequenceNumberRecordOffsets());
 
             newStreams();
             newArchivingAgent();
@@ -201,7 +203,12 @@ public class EngineContext implements AutoCloseable
             reader,
             configuration.timeIndexReplayFlushIntervalInNs(),
             indexChecksumEnabled,
-            evictionHandler);
+            evictionHandler,
+            configuration.replayIndexMaxOpenSessions(),
+            configuration.replayIndexIdleSessionTimeoutInMs(),
+            clock,
+            fixCounters.replayIndexSessionOpens(streamId),
+            fixCounters.replayIndexSessionEvictions(streamId));
     }
 
     private ReplayQuery newReplayQuery(final IdleStrategy idleStrategy, final int streamId)
@@ -230,6 +237,7 @@ public class EngineContext implements AutoCloseable
         final ExclusivePublication replayPublication, final ReplayQuery replayQuery)
     {
         final EpochFractionFormat epochFractionFormat = configuration.sessionEpochFractionFormat();
+        final FixPRetransmitWindows retransmitWindows = newRetransmitWindows();
         return new Replayer(
             replayQuery,
             replayPublication,
@@ -253,7 +261,25 @@ public class EngineContext implements AutoCloseable
             clock,
             configuration.supportedFixPProtocolType(),
             configuration,
-            fixCounters.getIndexerDutyCycleTracker(configuration.indexerCycleThresholdNs()));
+            fixCounters.getIndexerDutyCycleTracker(configuration.indexerCycleThresholdNs()),
+            retransmitWindows == null ? null : outboundLibrarySubscription("replayer-retransmit-window", null),
+            retransmitWindows);
+    }
+
+    private FixPRetransmitWindows newRetransmitWindows()
+    {
+        final int messages = configuration.fixPRetransmitWindowMessages();
+        if (messages == 0)
+        {
+            return null;
+        }
+
+        return new FixPRetransmitWindows(
+            messages,
+            configuration.fixPRetransmitWindowBytes(),
+            configuration.fixPRetransmitWindowMaxSessions(),
+            fixCounters.fixPRetransmitWindowHits(),
+            fixCounters.fixPRetransmitWindowMisses());
     }
 
     private void newIndexers()
@@ -19,6 +19,7 @@ import io.aeron.Aeron;
 import org.agrona.ErrorHandler;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.AgentRunner;
+import uk.co.real_logic.artio.FixCounters;
 
 /**
  * Interface for determining how an Engine's Agents are allocated to threads.
@@ -45,6 +46,16 @@ public interface EngineScheduler extends AutoCloseable
         Agent conductorAgent,
         RecordingCoordinator recordingCoordinator);
 
+    /**
+     * Invoked by the FIX Engine before {@link #launch} with its counters, so that a scheduler can react to the
+     * engine's load and expose its own state.
+     *
+     * @param fixCounters the engine's counters.
+     */
+    default void fixCounters(final FixCounters fixCounters)
+    {
+    }
+
     /**
      * Invoked by the FIX Engine to stop the threads. Should only return once they are completed stopped.
      */
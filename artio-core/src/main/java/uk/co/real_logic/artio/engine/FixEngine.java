@@ -229,7 +229,10 @@ public final class FixEngine extends GatewayProcess
     /**
      * Gets session info for all FIX sessions the FixEngine is aware of including offline ones.
      * Can be used to acquire offline sessions or for administration purposes.
-     * The returned list is updated in a thread-safe manner when new sessions are created.
+     * The returned list is a live view that is updated in a thread-safe manner when new sessions are created, rather
+     * than a copy. Iterating it, including with streams, sees a snapshot of the list taken when the iteration starts
+     * and is safe whilst sessions are added or session ids are reset. Indexed access with {@link List#get(int)} can
+     * throw {@link IndexOutOfBoundsException} if the session ids are reset concurrently.
      *
      * @return the list of session infos.
      */
@@ -395,6 +398,7 @@ public final class FixEngine extends GatewayProcess
 
     private FixEngine launch()
     {
+        scheduler.fixCounters(fixCounters);
         scheduler.launch(
             configuration,
             errorHandler,
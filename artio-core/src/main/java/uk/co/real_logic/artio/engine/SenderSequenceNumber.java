@@ -29,14 +29,19 @@ public class SenderSequenceNumber implements ReplayerCommand
 {
     private final long connectionId;
     private final AtomicCounter bytesInBuffer;
+    private final ConnectionTrafficCounters trafficCounters;
     private final SenderSequenceNumbers senderSequenceNumbers;
     private final AtomicInteger lastSentSequenceNumber = new AtomicInteger();
 
     SenderSequenceNumber(
-        final long connectionId, final AtomicCounter bytesInBuffer, final SenderSequenceNumbers senderSequenceNumbers)
+        final long connectionId,
+        final AtomicCounter bytesInBuffer,
+        final ConnectionTrafficCounters trafficCounters,
+        final SenderSequenceNumbers senderSequenceNumbers)
     {
         this.connectionId = connectionId;
         this.bytesInBuffer = bytesInBuffer;
+        this.trafficCounters = trafficCounters;
         this.senderSequenceNumbers = senderSequenceNumbers;
     }
 
@@ -60,6 +65,11 @@ public class SenderSequenceNumber implements ReplayerCommand
         return bytesInBuffer;
     }
 
+    public ConnectionTrafficCounters trafficCounters()
+    {
+        return trafficCounters;
+    }
+
     public void close()
     {
         senderSequenceNumbers.onSenderClosed(this);
@@ -41,9 +41,16 @@ public class SenderSequenceNumbers
 
     // Called on Framer Thread
     public SenderSequenceNumber onNewSender(final long connectionId, final AtomicCounter bytesInBuffer)
+    {
+        return onNewSender(connectionId, bytesInBuffer, null);
+    }
+
+    // Called on Framer Thread
+    public SenderSequenceNumber onNewSender(
+        final long connectionId, final AtomicCounter bytesInBuffer, final ConnectionTrafficCounters trafficCounters)
     {
         final SenderSequenceNumber position = new SenderSequenceNumber(
-            connectionId, bytesInBuffer, this);
+            connectionId, bytesInBuffer, trafficCounters, this);
         enqueue(position);
         return position;
     }
@@ -79,6 +86,13 @@ public class SenderSequenceNumbers
         return senderSequenceNumber == null ? null : senderSequenceNumber.bytesInBuffer();
     }
 
+    // Called on Indexer Thread, null for unknown or FIXP connections
+    public ConnectionTrafficCounters trafficCounters(final long connectionId)
+    {
+        final SenderSequenceNumber senderSequenceNumber = connectionIdToSequencePosition.get(connectionId);
+        return senderSequenceNumber == null ? null : senderSequenceNumber.trafficCounters();
+    }
+
     // Called on Indexer Thread
     public boolean hasDisconnected(final long connectionId)
     {
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.CloseHelper;
+import org.agrona.LangUtil;
+import uk.co.real_logic.artio.dictionary.generation.Exceptions;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+import static java.net.StandardSocketOptions.*;
+import static uk.co.real_logic.artio.messages.InitialAcceptedSessionOwner.SOLE_LIBRARY;
+
+/**
+ * Binding, socket configuration and closing shared by the {@link TcpChannelSupplier}s that make real TCP connections,
+ * subclasses decide how the listening channel and outbound connections are polled.
+ */
+public abstract class AbstractTcpChannelSupplier extends TcpChannelSupplier
+{
+    protected static final Consumer<SelectionKey> IGNORE_KEY = (key) -> {};
+
+    protected final EngineConfiguration configuration;
+    protected final boolean hasBindAddress;
+    protected final Selector selector;
+
+    protected ServerSocketChannel listeningChannel;
+
+    protected AbstractTcpChannelSupplier(final EngineConfiguration configuration)
+    {
+        hasBindAddress = configuration.hasBindAddress();
+        this.configuration = configuration;
+        selector = openSelector();
+        try
+        {
+            if (configuration.bindAtStartup() && configuration.initialAcceptedSessionOwner() != SOLE_LIBRARY)
+            {
+                bind();
+            }
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+    }
+
+    private static Selector openSelector()
+    {
+        try
+        {
+            return Selector.open();
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return null;
+        }
+    }
+
+    public void bind() throws IOException
+    {
+        if (hasBindAddress && listeningChannel == null)
+        {
+            final ServerSocketChannel listeningChannel = ServerSocketChannel.open();
+            try
+            {
+                listeningChannel.bind(configuration.bindAddress()).configureBlocking(false);
+                onBind(listeningChannel);
+            }
+            catch (final IOException e)
+            {
+                CloseHelper.quietClose(listeningChannel);
+                throw e;
+            }
+            this.listeningChannel = listeningChannel;
+        }
+    }
+
+    /**
+     * Called when the listening channel has been bound, before new connections are accepted from it.
+     *
+     * @param listeningChannel the non-blocking listening channel.
+     * @throws IOException if the channel can't be polled.
+     */
+    protected void onBind(final ServerSocketChannel listeningChannel) throws IOException
+    {
+    }
+
+    public void unbind() throws IOException
+    {
+        if (listeningChannel != null)
+        {
+            listeningChannel.close();
+            // Deregisters the listening channel, a channel isn't really closed whilst it's still registered.
+            selector.selectNow(IGNORE_KEY);
+            listeningChannel = null;
+        }
+    }
+
+    protected void configure(final SocketChannel channel) throws IOException
+    {
+        channel.setOption(TCP_NODELAY, true);
+        if (configuration.receiverSocketBufferSize() > 0)
+        {
+            channel.setOption(SO_RCVBUF, configuration.receiverSocketBufferSize());
+        }
+        if (configuration.senderSocketBufferSize() > 0)
+        {
+            channel.setOption(SO_SNDBUF, configuration.senderSocketBufferSize());
+        }
+    }
+
+    protected TcpChannel newTcpChannel(final SocketChannel channel) throws IOException
+    {
+        return new DefaultTcpChannel(channel);
+    }
+
+    public void close()
+    {
+        Exceptions.closeAll(
+            selector,
+            () ->
+            {
+                if (listeningChannel != null)
+                {
+                    listeningChannel.configureBlocking(true);
+                }
+            },
+            listeningChannel);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.collections.ArrayListUtil;
+import org.agrona.collections.LongArrayList;
+import uk.co.real_logic.artio.Pressure;
+import uk.co.real_logic.artio.Reply;
+import uk.co.real_logic.artio.messages.AdminBulkReplyEncoder.FailuresEncoder;
+import uk.co.real_logic.artio.messages.GatewayError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bulk Admin API operation. The per session operations are all in flight at the same time, so their sequence
+ * index updates get indexed and flushed together, and the Admin API gets notified once they have all finished.
+ * <p>
+ * The failures are sent in as many replies as it takes to keep each one within the publication's max message length,
+ * the last one being flagged so the Admin API knows when it has them all.
+ */
+class AdminBulkOperation
+{
+    static final int MAX_FAILURE_MESSAGE_LENGTH = 1024;
+
+    private static final int MAX_UTF8_BYTES_PER_CHAR = 3;
+    private static final int MAX_FAILURE_LENGTH = FailuresEncoder.sbeBlockLength() +
+        FailuresEncoder.messageHeaderLength() + MAX_FAILURE_MESSAGE_LENGTH * MAX_UTF8_BYTES_PER_CHAR;
+
+    private final long correlationId;
+    private final AdminReplyPublication adminReplyPublication;
+
+    private final List<ResetSequenceNumberCommand> resets = new ArrayList<>();
+    private final LongArrayList failedSessionIds = new LongArrayList();
+    private final List<GatewayError> errorTypes = new ArrayList<>();
+    private final List<String> messages = new ArrayList<>();
+    private final int maxFailuresPerReply;
+
+    private int sentFailureCount;
+
+    AdminBulkOperation(final long correlationId, final AdminReplyPublication adminReplyPublication)
+    {
+        this.correlationId = correlationId;
+        this.adminReplyPublication = adminReplyPublication;
+
+        final int maxReplyLength = adminReplyPublication.dataPublication().maxMessageLength();
+        maxFailuresPerReply = Math.max(1, Math.min(
+            FailuresEncoder.countMaxValue(),
+            (maxReplyLength - adminReplyPublication.adminBulkReplyHeaderLength()) / MAX_FAILURE_LENGTH));
+    }
+
+    void add(final ResetSequenceNumberCommand reset)
+    {
+        resets.add(reset);
+    }
+
+    void onFailure(final long sessionId, final GatewayError errorType, final String message)
+    {
+        failedSessionIds.addLong(sessionId);
+        errorTypes.add(errorType);
+        messages.add(message.length() > MAX_FAILURE_MESSAGE_LENGTH ?
+            message.substring(0, MAX_FAILURE_MESSAGE_LENGTH) : message);
+    }
+
+    // Only to be called on the Framer thread, returns true once the Admin API has been notified or the reply can't
+    // be sent because the publication has been closed or disconnected.
+    boolean poll()
+    {
+        final List<ResetSequenceNumberCommand> resets = this.resets;
+        for (int i = resets.size() - 1; i >= 0; i--)
+        {
+            final ResetSequenceNumberCommand reset = resets.get(i);
+            if (reset.poll())
+            {
+                onResetDone(reset);
+                ArrayListUtil.fastUnorderedRemove(resets, i);
+            }
+        }
+
+        if (!resets.isEmpty())
+        {
+            return false;
+        }
+
+        return sendReplies();
+    }
+
+    private boolean sendReplies()
+    {
+        final int failureCount = failedSessionIds.size();
+        do
+        {
+            final int replyFailureCount = Math.min(maxFailuresPerReply, failureCount - sentFailureCount);
+            final boolean lastReply = sentFailureCount + replyFailureCount == failureCount;
+            final long position = adminReplyPublication.saveAdminBulkReply(
+                correlationId, lastReply, failedSessionIds, errorTypes, messages, sentFailureCount, replyFailureCount);
+
+            if (position < 0)
+            {
+                return !Pressure.isBackPressured(position);
+            }
+
+            sentFailureCount += replyFailureCount;
+        }
+        while (sentFailureCount < failureCount);
+
+        return true;
+    }
+
+    private void onResetDone(final ResetSequenceNumberCommand reset)
+    {
+        final Reply.State state = reset.state();
+        if (state == Reply.State.ERRORED)
+        {
+            onFailure(reset.sessionId(), GatewayError.EXCEPTION, reset.error().getMessage());
+        }
+        else if (state == Reply.State.TIMED_OUT)
+        {
+            onFailure(reset.sessionId(), GatewayError.EXCEPTION,
+                reset.sessionId() + " sequence numbers not reset before timing out");
+        }
+    }
+}
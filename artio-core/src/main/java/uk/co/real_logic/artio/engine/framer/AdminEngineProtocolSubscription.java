@@ -18,9 +18,13 @@ package uk.co.real_logic.artio.engine.framer;
 import io.aeron.logbuffer.FragmentHandler;
 import io.aeron.logbuffer.Header;
 import org.agrona.DirectBuffer;
+import uk.co.real_logic.artio.messages.AdminBulkDisconnectSessionsRequestDecoder;
+import uk.co.real_logic.artio.messages.AdminBulkResetSequenceNumbersRequestDecoder;
 import uk.co.real_logic.artio.messages.AdminResetSequenceNumbersRequestDecoder;
 import uk.co.real_logic.artio.messages.AllFixSessionsRequestDecoder;
+import uk.co.real_logic.artio.messages.Bool;
 import uk.co.real_logic.artio.messages.DisconnectSessionRequestDecoder;
+import uk.co.real_logic.artio.messages.FixSessionsQueryRequestDecoder;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
 
 class AdminEngineProtocolSubscription implements FragmentHandler
@@ -30,6 +34,11 @@ class AdminEngineProtocolSubscription implements FragmentHandler
     private final DisconnectSessionRequestDecoder disconnectSessionRequest = new DisconnectSessionRequestDecoder();
     private final AdminResetSequenceNumbersRequestDecoder adminResetSequenceNumbersRequest =
         new AdminResetSequenceNumbersRequestDecoder();
+    private final AdminBulkResetSequenceNumbersRequestDecoder adminBulkResetSequenceNumbersRequest =
+        new AdminBulkResetSequenceNumbersRequestDecoder();
+    private final AdminBulkDisconnectSessionsRequestDecoder adminBulkDisconnectSessionsRequest =
+        new AdminBulkDisconnectSessionsRequestDecoder();
+    private final FixSessionsQueryRequestDecoder fixSessionsQueryRequest = new FixSessionsQueryRequestDecoder();
 
     private final Framer handler;
 
@@ -67,6 +76,24 @@ class AdminEngineProtocolSubscription implements FragmentHandler
                 onAdminResetSequenceNumbersRequest(buffer, offset, blockLength, version);
                 return;
             }
+
+            case AdminBulkResetSequenceNumbersRequestDecoder.TEMPLATE_ID:
+            {
+                onAdminBulkResetSequenceNumbersRequest(buffer, offset, blockLength, version);
+                return;
+            }
+
+            case AdminBulkDisconnectSessionsRequestDecoder.TEMPLATE_ID:
+            {
+                onAdminBulkDisconnectSessionsRequest(buffer, offset, blockLength, version);
+                return;
+            }
+
+            case FixSessionsQueryRequestDecoder.TEMPLATE_ID:
+            {
+                onFixSessionsQuery(buffer, offset, blockLength, version);
+                return;
+            }
         }
     }
 
@@ -107,4 +134,49 @@ class AdminEngineProtocolSubscription implements FragmentHandler
             adminResetSequenceNumbersRequest.correlationId(),
             adminResetSequenceNumbersRequest.sessionId());
     }
+
+    private void onAdminBulkResetSequenceNumbersRequest(
+        final DirectBuffer buffer,
+        final int offset,
+        final int blockLength,
+        final int version)
+    {
+        final AdminBulkResetSequenceNumbersRequestDecoder adminBulkResetSequenceNumbersRequest =
+            this.adminBulkResetSequenceNumbersRequest;
+        adminBulkResetSequenceNumbersRequest.wrap(buffer, offset, blockLength, version);
+        handler.onAdminBulkResetSequenceNumbersRequest(
+            adminBulkResetSequenceNumbersRequest.correlationId(),
+            adminBulkResetSequenceNumbersRequest.sessions());
+    }
+
+    private void onAdminBulkDisconnectSessionsRequest(
+        final DirectBuffer buffer,
+        final int offset,
+        final int blockLength,
+        final int version)
+    {
+        final AdminBulkDisconnectSessionsRequestDecoder adminBulkDisconnectSessionsRequest =
+            this.adminBulkDisconnectSessionsRequest;
+        adminBulkDisconnectSessionsRequest.wrap(buffer, offset, blockLength, version);
+        handler.onAdminBulkDisconnectSessionsRequest(
+            adminBulkDisconnectSessionsRequest.correlationId(),
+            adminBulkDisconnectSessionsRequest.sessions());
+    }
+
+    private void onFixSessionsQuery(
+        final DirectBuffer buffer,
+        final int offset,
+        final int blockLength,
+        final int version)
+    {
+        final FixSessionsQueryRequestDecoder fixSessionsQueryRequest = this.fixSessionsQueryRequest;
+        fixSessionsQueryRequest.wrap(buffer, offset, blockLength, version);
+        handler.onFixSessionsQuery(
+            fixSessionsQueryRequest.correlationId(),
+            fixSessionsQueryRequest.cursor(),
+            fixSessionsQueryRequest.pageSize(),
+            fixSessionsQueryRequest.connectedOnly() == Bool.TRUE,
+            fixSessionsQueryRequest.libraryId(),
+            fixSessionsQueryRequest.remoteCompIdPrefix());
+    }
 }
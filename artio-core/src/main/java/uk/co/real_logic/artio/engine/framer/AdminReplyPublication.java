@@ -18,14 +18,20 @@ package uk.co.real_logic.artio.engine.framer;
 import io.aeron.ExclusivePublication;
 import org.agrona.ExpandableArrayBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.LongArrayList;
 import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.status.AtomicCounter;
+import uk.co.real_logic.artio.messages.AdminBulkReplyEncoder;
 import uk.co.real_logic.artio.messages.AllFixSessionsReplyEncoder;
+import uk.co.real_logic.artio.messages.Bool;
+import uk.co.real_logic.artio.messages.FixSessionsQueryReplyEncoder;
 import uk.co.real_logic.artio.messages.GenericAdminReplyEncoder;
 import uk.co.real_logic.artio.messages.GatewayError;
 import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
 import uk.co.real_logic.artio.protocol.ClaimablePublication;
 
+import java.util.List;
+
 /**
  * A proxy for publishing messages fix related messages
  */
@@ -38,6 +44,8 @@ class AdminReplyPublication extends ClaimablePublication
     private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
     private final AllFixSessionsReplyEncoder allFixSessionsReply = new AllFixSessionsReplyEncoder();
     private final GenericAdminReplyEncoder genericAdminReply = new GenericAdminReplyEncoder();
+    private final AdminBulkReplyEncoder adminBulkReply = new AdminBulkReplyEncoder();
+    private final FixSessionsQueryReplyEncoder fixSessionsQueryReply = new FixSessionsQueryReplyEncoder();
 
     AdminReplyPublication(
         final ExclusivePublication dataPublication,
@@ -65,6 +73,31 @@ class AdminReplyPublication extends ClaimablePublication
         return dataPublication.offer(expandableArrayBuffer, 0, length);
     }
 
+    FixSessionsQueryReplyEncoder.SessionsEncoder startFixSessionsQueryReply(
+        final long correlationId,
+        final long nextCursor,
+        final int sessionsCount)
+    {
+        fixSessionsQueryReply.wrapAndApplyHeader(expandableArrayBuffer, 0, headerEncoder);
+
+        return fixSessionsQueryReply
+            .correlationId(correlationId)
+            .nextCursor(nextCursor)
+            .sessionsCount(sessionsCount);
+    }
+
+    int fixSessionsQueryReplyHeaderLength()
+    {
+        return MessageHeaderEncoder.ENCODED_LENGTH + FixSessionsQueryReplyEncoder.BLOCK_LENGTH +
+            FixSessionsQueryReplyEncoder.SessionsEncoder.sbeHeaderSize();
+    }
+
+    long saveFixSessionsQueryReply()
+    {
+        final int length = fixSessionsQueryReply.limit();
+        return dataPublication.offer(expandableArrayBuffer, 0, length);
+    }
+
     long saveGenericAdminReply(
         final long correlationId, final GatewayError gatewayError, final String message)
     {
@@ -87,4 +120,37 @@ class AdminReplyPublication extends ClaimablePublication
 
         return position;
     }
+
+    int adminBulkReplyHeaderLength()
+    {
+        return MessageHeaderEncoder.ENCODED_LENGTH + AdminBulkReplyEncoder.BLOCK_LENGTH +
+            AdminBulkReplyEncoder.FailuresEncoder.sbeHeaderSize();
+    }
+
+    long saveAdminBulkReply(
+        final long correlationId,
+        final boolean lastReply,
+        final LongArrayList failedSessionIds,
+        final List<GatewayError> errorTypes,
+        final List<String> messages,
+        final int failuresOffset,
+        final int failureCount)
+    {
+        final AdminBulkReplyEncoder.FailuresEncoder failures = adminBulkReply
+            .wrapAndApplyHeader(expandableArrayBuffer, 0, headerEncoder)
+            .correlationId(correlationId)
+            .lastReply(lastReply ? Bool.TRUE : Bool.FALSE)
+            .failuresCount(failureCount);
+
+        final int failuresEnd = failuresOffset + failureCount;
+        for (int i = failuresOffset; i < failuresEnd; i++)
+        {
+            failures.next()
+                .sessionId(failedSessionIds.getLong(i))
+                .errorType(errorTypes.get(i))
+                .message(messages.get(i));
+        }
+
+        return dataPublication.offer(expandableArrayBuffer, 0, adminBulkReply.limit());
+    }
 }
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.collections.Long2ObjectHashMap;
+import uk.co.real_logic.artio.Pressure;
+import uk.co.real_logic.artio.admin.FixAdminSessionPage;
+import uk.co.real_logic.artio.admin.FixAdminSessionQuery;
+import uk.co.real_logic.artio.engine.SessionInfo;
+import uk.co.real_logic.artio.engine.logger.SequenceNumberIndexReader;
+import uk.co.real_logic.artio.messages.FixSessionsQueryReplyEncoder.SessionsEncoder;
+import uk.co.real_logic.artio.messages.SlowStatus;
+import uk.co.real_logic.artio.session.CompositeKey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static uk.co.real_logic.artio.GatewayProcess.NO_CONNECTION_ID;
+
+/**
+ * Answers a page of an Admin API session query.
+ * <p>
+ * Queries for connected sessions, or the sessions of a library, only look at the connected sessions, which are paged
+ * in session id order with the cursor being the next session id. Other queries scan all the sessions in the order
+ * that they were created, the cursor being an index into that order. Either way at most a fixed number of sessions
+ * are scanned per Framer duty cycle.
+ * <p>
+ * The connected sessions are a map owned by the Framer that's refreshed when a query is received. Queries for
+ * connected sessions copy its values when they're created so that they can be scanned over several duty cycles, only
+ * keeping the lowest session ids seen so far.
+ */
+class AdminSessionQuery
+{
+    static final long NO_MORE_SESSIONS = FixAdminSessionPage.NO_MORE_SESSIONS;
+    static final int ANY_LIBRARY_ID = FixAdminSessionQuery.ANY_LIBRARY_ID;
+    static final int MAX_PENDING_QUERIES = 64;
+
+    private static final int MAX_UTF8_BYTES_PER_CHAR = 3;
+    private static final int VAR_DATA_FIELDS = 7;
+    private static final int FIXED_ENTRY_LENGTH = SessionsEncoder.sbeBlockLength() + VAR_DATA_FIELDS * SIZE_OF_INT;
+    private static final Comparator<FixGatewaySession> BY_SESSION_ID =
+        Comparator.comparingLong(FixGatewaySession::sessionId);
+
+    private final long correlationId;
+    private final int pageSize;
+    private final boolean connectedOnly;
+    private final int libraryId;
+    private final String remoteCompIdPrefix;
+    private final int scanLimit;
+    private final int maxReplyLength;
+    private final List<SessionInfo> allSessions;
+    private final Long2ObjectHashMap<FixGatewaySession> connectedSessions;
+    private final List<FixGatewaySession> connectedSessionsSnapshot;
+    private final FixSenderEndPoints fixSenderEndPoints;
+    private final SequenceNumberIndexReader receivedSequenceNumberIndex;
+    private final SequenceNumberIndexReader sentSequenceNumberIndex;
+    private final AdminReplyPublication adminReplyPublication;
+
+    // Connected sessions are captured when they're added to the page as they may disconnect before it's sent
+    private final List<SessionInfo> pageSessions = new ArrayList<>();
+    private final List<FixGatewaySession> pageGatewaySessions = new ArrayList<>();
+    private long cursor;
+    private long nextCursor = NO_MORE_SESSIONS;
+    private int connectedSessionsScanned;
+    private int replyLength;
+    private boolean pageComplete;
+
+    AdminSessionQuery(
+        final long correlationId,
+        final long cursor,
+        final int pageSize,
+        final boolean connectedOnly,
+        final int libraryId,
+        final String remoteCompIdPrefix,
+        final int scanLimit,
+        final List<SessionInfo> allSessions,
+        final Long2ObjectHashMap<FixGatewaySession> connectedSessions,
+        final FixSenderEndPoints fixSenderEndPoints,
+        final SequenceNumberIndexReader receivedSequenceNumberIndex,
+        final SequenceNumberIndexReader sentSequenceNumberIndex,
+        final AdminReplyPublication adminReplyPublication)
+    {
+        this.correlationId = correlationId;
+        this.cursor = Math.max(cursor, 0);
+        this.pageSize = Math.max(pageSize, 1);
+        this.connectedOnly = connectedOnly;
+        this.libraryId = libraryId;
+        this.remoteCompIdPrefix = remoteCompIdPrefix;
+        this.scanLimit = scanLimit;
+        this.allSessions = allSessions;
+        this.connectedSessions = connectedSessions;
+        this.fixSenderEndPoints = fixSenderEndPoints;
+        this.receivedSequenceNumberIndex = receivedSequenceNumberIndex;
+        this.sentSequenceNumberIndex = sentSequenceNumberIndex;
+        this.adminReplyPublication = adminReplyPublication;
+
+        connectedSessionsSnapshot = isConnectedSessionsQuery() ? new ArrayList<>(connectedSessions.values()) : null;
+        maxReplyLength = adminReplyPublication.dataPublication().maxMessageLength();
+        replyLength = adminReplyPublication.fixSessionsQueryReplyHeaderLength();
+    }
+
+    // Only to be called on the Framer thread, returns true once the page has been sent or the reply can't be sent
+    // because the publication has been closed or disconnected.
+    boolean poll()
+    {
+        if (!pageComplete)
+        {
+            if (connectedSessionsSnapshot != null)
+            {
+                pageConnectedSessions();
+            }
+            else
+            {
+                scanAllSessions();
+            }
+
+            if (!pageComplete)
+            {
+                return false;
+            }
+        }
+
+        return sendPage();
+    }
+
+    private boolean isConnectedSessionsQuery()
+    {
+        return connectedOnly || libraryId != ANY_LIBRARY_ID;
+    }
+
+    private void pageConnectedSessions()
+    {
+        final List<FixGatewaySession> connectedSessionsSnapshot = this.connectedSessionsSnapshot;
+        final int size = connectedSessionsSnapshot.size();
+        int scanned = connectedSessionsScanned;
+        final int scanEnd = (int)Math.min((long)scanned + scanLimit, size);
+
+        while (scanned < scanEnd)
+        {
+            final FixGatewaySession gatewaySession = connectedSessionsSnapshot.get(scanned);
+            if (gatewaySession.sessionId() >= cursor && matches(gatewaySession))
+            {
+                addPageCandidate(gatewaySession);
+            }
+            scanned++;
+        }
+
+        connectedSessionsScanned = scanned;
+        if (scanned < size)
+        {
+            return;
+        }
+
+        final List<FixGatewaySession> pageGatewaySessions = this.pageGatewaySessions;
+        final int candidateCount = pageGatewaySessions.size();
+        int pageEnd = 0;
+        while (pageEnd < candidateCount && pageEnd < pageSize)
+        {
+            final FixGatewaySession gatewaySession = pageGatewaySessions.get(pageEnd);
+            final int entryLength = entryLength(gatewaySession.sessionKey(), gatewaySession);
+            if (pageEnd > 0 && replyLength + entryLength > maxReplyLength)
+            {
+                break;
+            }
+
+            replyLength += entryLength;
+            pageSessions.add(null);
+            pageEnd++;
+        }
+
+        nextCursor = pageEnd < candidateCount ? pageGatewaySessions.get(pageEnd).sessionId() : NO_MORE_SESSIONS;
+        pageGatewaySessions.subList(pageEnd, candidateCount).clear();
+        pageComplete = true;
+    }
+
+    // Keeps the lowest pageSize + 1 session ids in order, the extra one being the cursor of the next page.
+    private void addPageCandidate(final FixGatewaySession gatewaySession)
+    {
+        final List<FixGatewaySession> pageGatewaySessions = this.pageGatewaySessions;
+        final int candidateCount = pageGatewaySessions.size();
+        final boolean full = candidateCount > pageSize;
+        final int searchResult = Collections.binarySearch(pageGatewaySessions, gatewaySession, BY_SESSION_ID);
+        final int index = searchResult >= 0 ? searchResult : -(searchResult + 1);
+        if (full && index == candidateCount)
+        {
+            return;
+        }
+
+        pageGatewaySessions.add(index, gatewaySession);
+        if (full)
+        {
+            pageGatewaySessions.remove(candidateCount);
+        }
+    }
+
+    private boolean matches(final FixGatewaySession gatewaySession)
+    {
+        final CompositeKey sessionKey = gatewaySession.sessionKey();
+        return sessionKey != null &&
+            sessionKey.remoteCompId().startsWith(remoteCompIdPrefix) &&
+            (libraryId == ANY_LIBRARY_ID || gatewaySession.libraryId() == libraryId);
+    }
+
+    private void scanAllSessions()
+    {
+        final List<SessionInfo> allSessions = this.allSessions;
+        final int size = allSessions.size();
+        int cursor = (int)Math.min(this.cursor, size);
+        final int scanEnd = (int)Math.min((long)cursor + scanLimit, size);
+
+        while (cursor < scanEnd)
+        {
+            final SessionInfo sessionInfo = allSessions.get(cursor);
+            final CompositeKey sessionKey = sessionInfo.sessionKey();
+            if (sessionKey != null && sessionKey.remoteCompId().startsWith(remoteCompIdPrefix))
+            {
+                final FixGatewaySession gatewaySession = connectedSessions.get(sessionInfo.sessionId());
+                final int entryLength = entryLength(sessionKey, gatewaySession);
+                if (!pageSessions.isEmpty() && replyLength + entryLength > maxReplyLength)
+                {
+                    pageComplete = true;
+                    break;
+                }
+
+                pageSessions.add(sessionInfo);
+                pageGatewaySessions.add(gatewaySession);
+                replyLength += entryLength;
+                cursor++;
+
+                if (pageSessions.size() == pageSize)
+                {
+                    pageComplete = true;
+                    break;
+                }
+            }
+            else
+            {
+                cursor++;
+            }
+        }
+
+        this.cursor = cursor;
+        if (cursor >= size)
+        {
+            pageComplete = true;
+        }
+
+        if (pageComplete)
+        {
+            nextCursor = cursor >= size ? NO_MORE_SESSIONS : cursor;
+        }
+    }
+
+    // Upper bound on the encoded length so that a page never exceeds the publication's max message length.
+    private static int entryLength(final CompositeKey sessionKey, final FixGatewaySession gatewaySession)
+    {
+        final int charCount = (gatewaySession == null ? 0 : gatewaySession.address().length()) +
+            sessionKey.localCompId().length() +
+            sessionKey.localSubId().length() +
+            sessionKey.localLocationId().length() +
+            sessionKey.remoteCompId().length() +
+            sessionKey.remoteSubId().length() +
+            sessionKey.remoteLocationId().length();
+
+        return FIXED_ENTRY_LENGTH + charCount * MAX_UTF8_BYTES_PER_CHAR;
+    }
+
+    private boolean sendPage()
+    {
+        final List<SessionInfo> pageSessions = this.pageSessions;
+        final List<FixGatewaySession> pageGatewaySessions = this.pageGatewaySessions;
+        final int pageSize = pageSessions.size();
+        final SessionsEncoder sessionsEncoder = adminReplyPublication.startFixSessionsQueryReply(
+            correlationId, nextCursor, pageSize);
+
+        for (int i = 0; i < pageSize; i++)
+        {
+            final FixGatewaySession gatewaySession = pageGatewaySessions.get(i);
+            if (gatewaySession != null)
+            {
+                encodeConnectedSession(sessionsEncoder, gatewaySession);
+            }
+            else
+            {
+                encodeOfflineSession(sessionsEncoder, pageSessions.get(i));
+            }
+        }
+
+        final long position = adminReplyPublication.saveFixSessionsQueryReply();
+        return position > 0 || !Pressure.isBackPressured(position);
+    }
+
+    private void encodeConnectedSession(final SessionsEncoder sessionsEncoder, final FixGatewaySession gatewaySession)
+    {
+        final long connectionId = gatewaySession.connectionId();
+        encodeSession(
+            sessionsEncoder,
+            gatewaySession.sessionId(),
+            gatewaySession.sessionKey(),
+            gatewaySession.sequenceIndex(),
+            connectionId,
+            gatewaySession.address(),
+            gatewaySession.lastLogonTime(),
+            fixSenderEndPoints.isSlowConsumer(connectionId));
+    }
+
+    private void encodeOfflineSession(final SessionsEncoder sessionsEncoder, final SessionInfo sessionInfo)
+    {
+        encodeSession(
+            sessionsEncoder,
+            sessionInfo.sessionId(),
+            sessionInfo.sessionKey(),
+            sessionInfo.sequenceIndex(),
+            NO_CONNECTION_ID,
+            "",
+            ((SessionContext)sessionInfo).lastLogonTimeInNs(),
+            false);
+    }
+
+    private void encodeSession(
+        final SessionsEncoder sessionsEncoder,
+        final long sessionId,
+        final CompositeKey sessionKey,
+        final int sequenceIndex,
+        final long connectionId,
+        final String address,
+        final long lastLogonTime,
+        final boolean isSlowConsumer)
+    {
+        sessionsEncoder.next()
+            .sessionId(sessionId)
+            .connectionId(connectionId)
+            .lastReceivedSequenceNumber(receivedSequenceNumberIndex.lastKnownSequenceNumber(sessionId))
+            .lastSentSequenceNumber(sentSequenceNumberIndex.lastKnownSequenceNumber(sessionId))
+            .lastLogonTime(lastLogonTime)
+            .sequenceIndex(sequenceIndex)
+            .slowStatus(isSlowConsumer ? SlowStatus.SLOW : SlowStatus.NOT_SLOW)
+            .address(address)
+            .localCompId(sessionKey.localCompId())
+            .localSubId(sessionKey.localSubId())
+            .localLocationId(sessionKey.localLocationId())
+            .remoteCompId(sessionKey.remoteCompId())
+            .remoteSubId(sessionKey.remoteSubId())
+            .remoteLocationId(sessionKey.remoteLocationId());
+    }
+}
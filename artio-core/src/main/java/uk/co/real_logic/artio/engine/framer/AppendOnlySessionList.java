@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import uk.co.real_logic.artio.engine.SessionInfo;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Append only list of sessions with a single writer, the Framer thread, and any number of reader threads.
+ *
+ * Replaces a {@link java.util.concurrent.CopyOnWriteArrayList} so that adding a session doesn't copy the whole list,
+ * the backing array is only copied when it needs to grow. Elements are published by the volatile write of the size
+ * after they've been stored so readers never see a partially added session. The backing array never shrinks, so a
+ * reader racing with {@link #clear()} sees a stale session rather than null.
+ *
+ * Iteration, including streams and {@link #forEach(Consumer)}, works on a snapshot of the size and backing array
+ * taken when it starts, like {@link java.util.concurrent.CopyOnWriteArrayList}, so it never throws if the list is
+ * cleared part way through. Indexed access can throw {@link IndexOutOfBoundsException} if it races with a clear.
+ */
+final class AppendOnlySessionList extends AbstractList<SessionInfo> implements RandomAccess
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private volatile SessionInfo[] elements = new SessionInfo[INITIAL_CAPACITY];
+    private volatile int size;
+
+    public SessionInfo get(final int index)
+    {
+        final int size = this.size;
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+        }
+
+        return elements[index];
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public Iterator<SessionInfo> iterator()
+    {
+        // Read the size before the elements so that the snapshot's array contains every element within its size
+        final int size = this.size;
+        return new SnapshotIterator(elements, size);
+    }
+
+    public Spliterator<SessionInfo> spliterator()
+    {
+        final int size = this.size;
+        return Spliterators.spliterator(elements, 0, size, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    public void forEach(final Consumer<? super SessionInfo> action)
+    {
+        final int size = this.size;
+        final SessionInfo[] elements = this.elements;
+        for (int i = 0; i < size; i++)
+        {
+            action.accept(elements[i]);
+        }
+    }
+
+    // Called on Framer Thread
+    public boolean add(final SessionInfo sessionInfo)
+    {
+        final int size = this.size;
+        SessionInfo[] elements = this.elements;
+        if (size == elements.length)
+        {
+            elements = Arrays.copyOf(elements, size << 1);
+            this.elements = elements;
+        }
+
+        elements[size] = sessionInfo;
+        this.size = size + 1;
+
+        return true;
+    }
+
+    // Called on Framer Thread, only when the session ids are reset whilst no sessions are authenticated.
+    // The backing array is kept rather than replaced so that a reader that read the size before it was cleared
+    // still gets a session, not null. Stale entries are overwritten as sessions are added again.
+    public void clear()
+    {
+        size = 0;
+    }
+
+    private static final class SnapshotIterator implements Iterator<SessionInfo>
+    {
+        private final SessionInfo[] elements;
+        private final int size;
+        private int index;
+
+        SnapshotIterator(final SessionInfo[] elements, final int size)
+        {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        public boolean hasNext()
+        {
+            return index < size;
+        }
+
+        public SessionInfo next()
+        {
+            if (index >= size)
+            {
+                throw new NoSuchElementException();
+            }
+
+            return elements[index++];
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.CloseHelper;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static java.nio.channels.SelectionKey.OP_CONNECT;
+import static uk.co.real_logic.artio.engine.framer.ReceiverEndPoints.ARTIO_ITERATION_THRESHOLD;
+
+/**
+ * A {@link TcpChannelSupplier} that polls for new connections without iterating the selected key set of a
+ * {@link Selector}. Use it by setting
+ * {@code engineConfiguration.channelSupplierFactory(BusyPollTcpChannelSupplier::new)}.
+ * <p>
+ * The non-blocking listening channel is accepted from directly, up to {@link #ACCEPT_BATCH_SIZE} connections per
+ * poll. Whilst there are no more than {@link ReceiverEndPoints#ARTIO_ITERATION_THRESHOLD} outbound connections being
+ * opened each one is checked with {@link SocketChannel#finishConnect()}, which avoids a select call on every duty
+ * cycle. Beyond that a single {@link Selector#selectNow(Consumer)} marks the connections that are ready in a bitmap
+ * which is then processed in order, without allocating or iterating a selected key set.
+ */
+public class BusyPollTcpChannelSupplier extends AbstractTcpChannelSupplier
+{
+    public static final int ACCEPT_BATCH_SIZE = 16;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Consumer<SelectionKey> onConnectReady = this::onConnectReady;
+
+    private Opening[] openings = new Opening[INITIAL_CAPACITY];
+    private long[] readyBitmap = new long[bitmapLength(INITIAL_CAPACITY)];
+    private int openingCount;
+    private boolean keysCancelled;
+
+    public BusyPollTcpChannelSupplier(final EngineConfiguration configuration)
+    {
+        super(configuration);
+    }
+
+    public int pollSelector(final long timeInMs, final NewChannelHandler handler) throws IOException
+    {
+        int work = 0;
+        if (listeningChannel != null)
+        {
+            work += pollAccept(timeInMs, handler);
+        }
+
+        if (openingCount > 0)
+        {
+            work += openingCount <= ARTIO_ITERATION_THRESHOLD ? pollOpenings() : selectOpenings();
+        }
+
+        if (keysCancelled)
+        {
+            // Deregisters cancelled keys, a channel isn't really closed whilst it's still registered.
+            keysCancelled = false;
+            selector.selectNow(IGNORE_KEY);
+        }
+
+        return work;
+    }
+
+    private int pollAccept(final long timeInMs, final NewChannelHandler handler) throws IOException
+    {
+        int accepted = 0;
+        ServerSocketChannel listeningChannel;
+        // the handler can unbind
+        while (accepted < ACCEPT_BATCH_SIZE && (listeningChannel = this.listeningChannel) != null)
+        {
+            final SocketChannel channel = listeningChannel.accept();
+            if (channel == null)
+            {
+                break;
+            }
+
+            configure(channel);
+            channel.configureBlocking(false);
+            accepted++;
+
+            handler.onNewChannel(timeInMs, newTcpChannel(channel));
+        }
+
+        return accepted;
+    }
+
+    private int pollOpenings()
+    {
+        int work = 0;
+        // Iterate backwards as completed connections are removed by swapping in the last one
+        for (int i = openingCount - 1; i >= 0; i--)
+        {
+            if (i < openingCount)
+            {
+                work += finishConnect(i);
+            }
+        }
+        return work;
+    }
+
+    private int selectOpenings() throws IOException
+    {
+        selector.selectNow(onConnectReady);
+
+        int work = 0;
+        final long[] readyBitmap = this.readyBitmap;
+        // Highest index first, so that the opening swapped into a removed index has always been processed already
+        for (int wordIndex = bitmapLength(openingCount) - 1; wordIndex >= 0; wordIndex--)
+        {
+            long word = readyBitmap[wordIndex];
+            readyBitmap[wordIndex] = 0;
+            while (word != 0)
+            {
+                final int bit = Long.SIZE - 1 - Long.numberOfLeadingZeros(word);
+                word &= ~(1L << bit);
+
+                final int index = (wordIndex << 6) + bit;
+                if (index < openingCount)
+                {
+                    work += finishConnect(index);
+                }
+            }
+        }
+        return work;
+    }
+
+    private void onConnectReady(final SelectionKey key)
+    {
+        final int index = ((Opening)key.attachment()).index;
+        readyBitmap[index >> 6] |= 1L << (index & 63);
+    }
+
+    private int finishConnect(final int index)
+    {
+        final Opening opening = openings[index];
+        final SocketChannel channel = opening.channel;
+        try
+        {
+            if (channel.finishConnect())
+            {
+                remove(index);
+                opening.key.cancel();
+                keysCancelled = true;
+
+                onFinishConnect(opening.channelHandler, channel);
+                return 1;
+            }
+        }
+        catch (final IOException e)
+        {
+            remove(index);
+            CloseHelper.quietClose(channel);
+            keysCancelled = true;
+
+            opening.channelHandler.onInitiatedChannel(null, e);
+            return 1;
+        }
+
+        return 0;
+    }
+
+    protected void onFinishConnect(
+        final InitiatedChannelHandler channelHandler, final SocketChannel channel) throws IOException
+    {
+        channelHandler.onInitiatedChannel(newTcpChannel(channel), null);
+    }
+
+    public void open(final InetSocketAddress address, final InitiatedChannelHandler channelHandler)
+        throws IOException
+    {
+        final SocketChannel channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        configure(channel);
+        final Opening opening = new Opening(address, channel, channelHandler);
+        try
+        {
+            channel.connect(address);
+            // Registered even when busy polling, in case the number of connections crosses the threshold
+            opening.key = channel.register(selector, OP_CONNECT, opening);
+        }
+        catch (final Exception e)
+        {
+            try
+            {
+                channel.close();
+            }
+            catch (final IOException ce)
+            {
+                e.addSuppressed(ce);
+            }
+            throw e;
+        }
+        add(opening);
+    }
+
+    public void stopConnecting(final InetSocketAddress address) throws IOException
+    {
+        for (int i = openingCount - 1; i >= 0; i--)
+        {
+            final Opening opening = openings[i];
+            if (opening.address.equals(address))
+            {
+                remove(i);
+                CloseHelper.quietClose(opening.channel);
+                keysCancelled = true;
+                break;
+            }
+        }
+    }
+
+    int openingCount()
+    {
+        return openingCount;
+    }
+
+    private void add(final Opening opening)
+    {
+        if (openingCount == openings.length)
+        {
+            final int capacity = openingCount << 1;
+            openings = Arrays.copyOf(openings, capacity);
+            readyBitmap = Arrays.copyOf(readyBitmap, bitmapLength(capacity));
+        }
+
+        opening.index = openingCount;
+        openings[openingCount++] = opening;
+    }
+
+    private void remove(final int index)
+    {
+        final int last = --openingCount;
+        if (index != last)
+        {
+            final Opening moved = openings[last];
+            moved.index = index;
+            openings[index] = moved;
+        }
+        openings[last] = null;
+    }
+
+    private static int bitmapLength(final int capacity)
+    {
+        return (capacity + Long.SIZE - 1) >> 6;
+    }
+
+    static final class Opening
+    {
+        private final InetSocketAddress address;
+        private final SocketChannel channel;
+        private final InitiatedChannelHandler channelHandler;
+        private SelectionKey key;
+        private int index;
+
+        Opening(
+            final InetSocketAddress address, final SocketChannel channel, final InitiatedChannelHandler channelHandler)
+        {
+            this.address = address;
+            this.channel = channel;
+            this.channelHandler = channelHandler;
+        }
+    }
+}
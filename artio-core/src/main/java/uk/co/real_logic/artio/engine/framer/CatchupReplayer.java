@@ -27,6 +27,7 @@ import uk.co.real_logic.artio.builder.AbstractSequenceResetEncoder;
 import uk.co.real_logic.artio.builder.Encoder;
 import uk.co.real_logic.artio.builder.SessionHeaderEncoder;
 import uk.co.real_logic.artio.decoder.SessionHeaderDecoder;
+import uk.co.real_logic.artio.engine.logger.CoalescedReplayQuery;
 import uk.co.real_logic.artio.engine.logger.FixMessageTracker;
 import uk.co.real_logic.artio.engine.logger.ReplayOperation;
 import uk.co.real_logic.artio.engine.logger.ReplayQuery;
@@ -148,6 +149,7 @@ public class CatchupReplayer implements ControlledFragmentHandler, Continuation
         AWAITING_INDEX,
         REPLAY_QUERY,
         REPLAYING,
+        COALESCED_REPLAYING,
         SEND_MISSING,
         SEND_OK
     }
@@ -247,6 +249,12 @@ public class CatchupReplayer implements ControlledFragmentHandler, Continuation
         final int srcLength,
         final Header header)
     {
+        // A coalesced replay can still be running after this session has timed out
+        if (state != State.REPLAYING && state != State.COALESCED_REPLAYING)
+        {
+            return CONTINUE;
+        }
+
         messageHeaderDecoder.wrap(srcBuffer, srcOffset);
 
         final int version = messageHeaderDecoder.version();
@@ -405,9 +413,7 @@ public class CatchupReplayer implements ControlledFragmentHandler, Continuation
                     return switchToMissingMessages("Not logging inbound messages");
                 }
 
-                DebugLogger.log(CATCHUP,
-                    formatters.replayQueryingFormatter,
-                    session.sessionId(), replayToSequenceNumber, replayToSequenceIndex);
+                logQuerying();
 
                 replayOperation = inboundMessages.query(
                     session.sessionId(),
@@ -450,6 +456,12 @@ public class CatchupReplayer implements ControlledFragmentHandler, Continuation
                 }
             }
 
+            case COALESCED_REPLAYING:
+            {
+                // Polled by the CatchupScheduler
+                return BACK_PRESSURED;
+            }
+
             case SEND_MISSING:
             {
                 return sendMissingMessages();
@@ -468,10 +480,95 @@ public class CatchupReplayer implements ControlledFragmentHandler, Continuation
         }
     }
 
-    private long switchToMissingMessages(final String reason)
+    private void logQuerying()
+    {
+        DebugLogger.log(CATCHUP,
+            formatters.replayQueryingFormatter,
+            session.sessionId(), replayToSequenceNumber, replayToSequenceIndex);
+    }
+
+    long requiredPosition()
+    {
+        return requiredPosition;
+    }
+
+    // Called on Framer Thread once the index has caught up, if this session can't be added to the shared replay
+    // then it falls back to querying and replaying on its own when attempted.
+    boolean addTo(final CoalescedReplayQuery query)
+    {
+        state = State.REPLAY_QUERY;
+        if (notLoggingInboundMessages())
+        {
+            return false;
+        }
+
+        logQuerying();
+
+        if (query.addSession(
+            session.sessionId(),
+            replayFromSequenceNumber,
+            replayFromSequenceIndex,
+            replayToSequenceNumber,
+            replayToSequenceIndex,
+            CATCHUP,
+            this))
+        {
+            state = State.COALESCED_REPLAYING;
+            return true;
+        }
+
+        return false;
+    }
+
+    boolean isCoalescedReplaying()
+    {
+        return state == State.COALESCED_REPLAYING;
+    }
+
+    // Called on Framer Thread whilst the session is pending, returns true once it has timed out waiting for the index
+    // and needs to be attempted until its missing messages reply is sent.
+    boolean checkIndexTimeout(final long timeInMs)
+    {
+        if (state == State.AWAITING_INDEX && timeInMs > catchupEndTimeInMs)
+        {
+            onMissingMessages("Catchup operation timed out waiting for the index");
+        }
+
+        return state == State.SEND_MISSING;
+    }
+
+    void checkTimeout(final long timeInMs)
+    {
+        if (state == State.COALESCED_REPLAYING && timeInMs > catchupEndTimeInMs)
+        {
+            onMissingMessages("Catchup operation timed out");
+        }
+    }
+
+    void onCoalescedReplayComplete()
+    {
+        if (state == State.COALESCED_REPLAYING)
+        {
+            if (hasMissingMessages())
+            {
+                onMissingMessages("Is missing messages from replay index query");
+            }
+            else
+            {
+                state = State.SEND_OK;
+            }
+        }
+    }
+
+    private void onMissingMessages(final String reason)
     {
         state = State.SEND_MISSING;
         missingMessagesReason = reason;
+    }
+
+    private long switchToMissingMessages(final String reason)
+    {
+        onMissingMessages(reason);
         return sendMissingMessages();
     }
 
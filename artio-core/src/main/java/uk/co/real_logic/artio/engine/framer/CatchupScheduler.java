@@ -0,0 +1,299 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.CloseHelper;
+import org.agrona.collections.ArrayListUtil;
+import org.agrona.concurrent.status.AtomicCounter;
+import uk.co.real_logic.artio.Pressure;
+import uk.co.real_logic.artio.engine.logger.CoalescedReplayQuery;
+import uk.co.real_logic.artio.engine.logger.ReplayOperation;
+import uk.co.real_logic.artio.engine.logger.ReplayQuery;
+import uk.co.real_logic.artio.engine.logger.SequenceNumberIndexReader;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+
+import java.util.ArrayList;
+
+import static uk.co.real_logic.artio.LogTag.CATCHUP;
+
+/**
+ * Schedules the catch up replays of sessions that are handed over to a library with a replay of their received
+ * messages, see {@link CatchupReplayer}. When a library fails over to a standby thousands of sessions can be requested
+ * at once, so rather than each session waiting on the index and starting its own archive replay:
+ *
+ * <ul>
+ *     <li>Every pending session is compared with a single read of the received sequence number index each duty
+ *     cycle, so a session waiting on a later position doesn't hold up the sessions queued behind it.</li>
+ *     <li>Sessions that are still waiting on the index when their catchup times out are replied to with missing
+ *     messages rather than waiting forever.</li>
+ *     <li>Up to {@code maxSessionsPerReplay} sessions are caught up by a single coalesced replay that merges their
+ *     overlapping or adjacent recording ranges and demultiplexes messages back to each session.</li>
+ *     <li>At most {@code maxConcurrentReplays} replays are in flight, bounding the work per duty cycle.</li>
+ * </ul>
+ *
+ * Progress is reported through counters of pending sessions, active replays, completed sessions and merged recording
+ * ranges.
+ *
+ * Called on Framer Thread.
+ */
+class CatchupScheduler implements AutoCloseable
+{
+    private final ArrayList<CatchupReplayer> pendingReplayers = new ArrayList<>();
+    private final ArrayList<CatchupReplay> activeReplays = new ArrayList<>();
+
+    private final SequenceNumberIndexReader receivedSequenceNumberIndex;
+    private final ReplayQuery inboundMessages;
+    private final GatewayPublication inboundPublication;
+    private final int maxConcurrentReplays;
+    private final int maxSessionsPerReplay;
+    private final AtomicCounter sessionsPending;
+    private final AtomicCounter replaysActive;
+    private final AtomicCounter sessionsCompleted;
+    private final AtomicCounter rangesCoalesced;
+
+    CatchupScheduler(
+        final SequenceNumberIndexReader receivedSequenceNumberIndex,
+        final ReplayQuery inboundMessages,
+        final GatewayPublication inboundPublication,
+        final int maxConcurrentReplays,
+        final int maxSessionsPerReplay,
+        final AtomicCounter sessionsPending,
+        final AtomicCounter replaysActive,
+        final AtomicCounter sessionsCompleted,
+        final AtomicCounter rangesCoalesced)
+    {
+        this.receivedSequenceNumberIndex = receivedSequenceNumberIndex;
+        this.inboundMessages = inboundMessages;
+        this.inboundPublication = inboundPublication;
+        this.maxConcurrentReplays = maxConcurrentReplays;
+        this.maxSessionsPerReplay = maxSessionsPerReplay;
+        this.sessionsPending = sessionsPending;
+        this.replaysActive = replaysActive;
+        this.sessionsCompleted = sessionsCompleted;
+        this.rangesCoalesced = rangesCoalesced;
+    }
+
+    void enqueue(final CatchupReplayer replayer)
+    {
+        pendingReplayers.add(replayer);
+        sessionsPending.setOrdered(pendingReplayers.size());
+    }
+
+    int poll(final long timeInMs)
+    {
+        int work = 0;
+        if (!activeReplays.isEmpty())
+        {
+            work += pollActiveReplays(timeInMs);
+        }
+
+        if (!pendingReplayers.isEmpty())
+        {
+            work += pollPendingReplayers(timeInMs);
+        }
+
+        return work;
+    }
+
+    private int pollActiveReplays(final long timeInMs)
+    {
+        int work = 0;
+        final ArrayList<CatchupReplay> activeReplays = this.activeReplays;
+        for (int i = activeReplays.size() - 1; i >= 0; i--)
+        {
+            final CatchupReplay replay = activeReplays.get(i);
+            work += replay.poll(timeInMs);
+            if (replay.isComplete())
+            {
+                ArrayListUtil.fastUnorderedRemove(activeReplays, i);
+                replaysActive.setOrdered(activeReplays.size());
+            }
+        }
+
+        return work;
+    }
+
+    private int pollPendingReplayers(final long timeInMs)
+    {
+        final long indexedPosition = receivedSequenceNumberIndex.indexedPosition(inboundPublication.sessionId());
+        final ArrayList<CatchupReplayer> pendingReplayers = this.pendingReplayers;
+        final int size = pendingReplayers.size();
+
+        CatchupReplay replay = null;
+        CoalescedReplayQuery query = null;
+        int remaining = 0;
+        int work = 0;
+        for (int i = 0; i < size; i++)
+        {
+            final CatchupReplayer replayer = pendingReplayers.get(i);
+            if (replayer.checkIndexTimeout(timeInMs))
+            {
+                if (Pressure.isBackPressured(replayer.attempt()))
+                {
+                    pendingReplayers.set(remaining++, replayer);
+                }
+                else
+                {
+                    sessionsCompleted.incrementOrdered();
+                    work++;
+                }
+                continue;
+            }
+
+            if (replayer.requiredPosition() > indexedPosition)
+            {
+                pendingReplayers.set(remaining++, replayer);
+                continue;
+            }
+
+            if (replay != null && replay.replayers.size() == maxSessionsPerReplay)
+            {
+                startReplay(replay, query);
+                replay = null;
+            }
+
+            if (replay == null)
+            {
+                if (activeReplays.size() >= maxConcurrentReplays)
+                {
+                    pendingReplayers.set(remaining++, replayer);
+                    continue;
+                }
+
+                replay = new CatchupReplay();
+                query = inboundMessages == null ? null : inboundMessages.coalescedQuery();
+            }
+
+            final ArrayList<CatchupReplayer> replayers = replay.replayers;
+            if (query != null && replayer.addTo(query))
+            {
+                replayers.add(replayer);
+                work++;
+            }
+            else if (activeReplays.size() + (replayers.isEmpty() ? 1 : 2) <= maxConcurrentReplays)
+            {
+                // Sessions that can't be coalesced query and replay on their own
+                final CatchupReplay soloReplay = new CatchupReplay();
+                soloReplay.replayers.add(replayer);
+                activeReplays.add(soloReplay);
+                work++;
+            }
+            else
+            {
+                pendingReplayers.set(remaining++, replayer);
+            }
+        }
+
+        if (replay != null && !replay.replayers.isEmpty())
+        {
+            startReplay(replay, query);
+        }
+
+        pendingReplayers.subList(remaining, size).clear();
+        sessionsPending.setOrdered(pendingReplayers.size());
+        replaysActive.setOrdered(activeReplays.size());
+
+        return work;
+    }
+
+    private void startReplay(final CatchupReplay replay, final CoalescedReplayQuery query)
+    {
+        replay.operation = query.build(CATCHUP);
+        rangesCoalesced.getAndAddOrdered(query.coalescedRanges());
+        activeReplays.add(replay);
+    }
+
+    public void close()
+    {
+        pendingReplayers.forEach(CatchupReplayer::close);
+        pendingReplayers.clear();
+        activeReplays.forEach(CatchupReplay::close);
+        activeReplays.clear();
+        CloseHelper.closeAll(sessionsPending, replaysActive, sessionsCompleted, rangesCoalesced);
+    }
+
+    /**
+     * Either a coalesced replay shared by several sessions, or a single session that replays itself.
+     */
+    private final class CatchupReplay
+    {
+        private final ArrayList<CatchupReplayer> replayers = new ArrayList<>();
+        private ReplayOperation operation;
+        private boolean closing;
+
+        int poll(final long timeInMs)
+        {
+            final ArrayList<CatchupReplayer> replayers = this.replayers;
+            final ReplayOperation operation = this.operation;
+            int work = 0;
+
+            if (operation != null)
+            {
+                boolean anyReplaying = false;
+                for (int i = 0, size = replayers.size(); i < size; i++)
+                {
+                    final CatchupReplayer replayer = replayers.get(i);
+                    replayer.checkTimeout(timeInMs);
+                    anyReplaying |= replayer.isCoalescedReplaying();
+                }
+
+                if (!anyReplaying && !closing)
+                {
+                    operation.startClose();
+                    closing = true;
+                }
+
+                if (operation.pollReplay())
+                {
+                    for (int i = 0, size = replayers.size(); i < size; i++)
+                    {
+                        replayers.get(i).onCoalescedReplayComplete();
+                    }
+                    this.operation = null;
+                }
+                work++;
+            }
+
+            // Send the replies of sessions that are no longer waiting on the coalesced replay
+            for (int i = replayers.size() - 1; i >= 0; i--)
+            {
+                final CatchupReplayer replayer = replayers.get(i);
+                if (!replayer.isCoalescedReplaying() && !Pressure.isBackPressured(replayer.attempt()))
+                {
+                    ArrayListUtil.fastUnorderedRemove(replayers, i);
+                    sessionsCompleted.incrementOrdered();
+                    work++;
+                }
+            }
+
+            return work;
+        }
+
+        boolean isComplete()
+        {
+            return replayers.isEmpty() && operation == null;
+        }
+
+        void close()
+        {
+            if (operation != null)
+            {
+                operation.closeNow();
+            }
+            replayers.forEach(CatchupReplayer::close);
+        }
+    }
+}
@@ -1,49 +1,26 @@
 package uk.co.real_logic.artio.engine.framer;
 
 import org.agrona.CloseHelper;
-import org.agrona.LangUtil;
-import uk.co.real_logic.artio.dictionary.generation.Exceptions;
 import uk.co.real_logic.artio.engine.EngineConfiguration;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 
-import static java.net.StandardSocketOptions.*;
 import static java.nio.channels.SelectionKey.OP_CONNECT;
-import static uk.co.real_logic.artio.messages.InitialAcceptedSessionOwner.SOLE_LIBRARY;
 
-public class DefaultTcpChannelSupplier extends TcpChannelSupplier
+public class DefaultTcpChannelSupplier extends AbstractTcpChannelSupplier
 {
-    private final EngineConfiguration configuration;
-    private final boolean hasBindAddress;
     private final Set<SocketChannel> openingSocketChannels = new HashSet<>();
 
-    private Selector selector;
-    private ServerSocketChannel listeningChannel;
-
     public DefaultTcpChannelSupplier(final EngineConfiguration configuration)
     {
-        hasBindAddress = configuration.hasBindAddress();
-        this.configuration = configuration;
-        try
-        {
-            selector = Selector.open();
-            if (configuration.bindAtStartup() && configuration.initialAcceptedSessionOwner() != SOLE_LIBRARY)
-            {
-                bind();
-            }
-        }
-        catch (final IOException ex)
-        {
-            LangUtil.rethrowUnchecked(ex);
-        }
+        super(configuration);
     }
 
     public int pollSelector(final long timeInMs, final TcpChannelSupplier.NewChannelHandler handler) throws IOException
@@ -111,51 +88,9 @@ public class DefaultTcpChannelSupplier extends TcpChannelSupplier
         openingSocketChannels.remove(channel);
     }
 
-    public void unbind() throws IOException
-    {
-        if (listeningChannel != null)
-        {
-            listeningChannel.close();
-            selector.selectNow();
-            listeningChannel = null;
-        }
-    }
-
-    public void bind() throws IOException
-    {
-        if (hasBindAddress && listeningChannel == null)
-        {
-            listeningChannel = ServerSocketChannel.open();
-            listeningChannel.bind(configuration.bindAddress()).configureBlocking(false);
-            listeningChannel.register(selector, SelectionKey.OP_ACCEPT);
-        }
-    }
-
-    private void configure(final SocketChannel channel) throws IOException
-    {
-        channel.setOption(TCP_NODELAY, true);
-        if (configuration.receiverSocketBufferSize() > 0)
-        {
-            channel.setOption(SO_RCVBUF, configuration.receiverSocketBufferSize());
-        }
-        if (configuration.senderSocketBufferSize() > 0)
-        {
-            channel.setOption(SO_SNDBUF, configuration.senderSocketBufferSize());
-        }
-    }
-
-    public void close()
+    protected void onBind(final ServerSocketChannel listeningChannel) throws IOException
     {
-        Exceptions.closeAll(
-            selector,
-            () ->
-            {
-                if (listeningChannel != null)
-                {
-                    listeningChannel.configureBlocking(true);
-                }
-            },
-            listeningChannel);
+        listeningChannel.register(selector, SelectionKey.OP_ACCEPT);
     }
 
     public void open(final InetSocketAddress address, final TcpChannelSupplier.InitiatedChannelHandler channelHandler)
@@ -184,11 +119,6 @@ public class DefaultTcpChannelSupplier extends TcpChannelSupplier
         openingSocketChannels.add(channel);
     }
 
-    protected TcpChannel newTcpChannel(final SocketChannel channel) throws IOException
-    {
-        return new DefaultTcpChannel(channel);
-    }
-
     public void stopConnecting(final InetSocketAddress address) throws IOException
     {
         final Iterator<SocketChannel> iterator = openingSocketChannels.iterator();
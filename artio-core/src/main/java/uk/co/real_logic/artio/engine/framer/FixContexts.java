@@ -39,7 +39,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.zip.CRC32;
 
 import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_INITIAL_SEQUENCE_INDEX;
@@ -93,7 +92,7 @@ public class FixContexts implements SessionContexts
     private final int actingVersion = sessionIdEncoder.sbeSchemaVersion();
 
     private final LongHashSet currentlyAuthenticatedSessionIds = new LongHashSet();
-    private final CopyOnWriteArrayList<SessionInfo> allSessions = new CopyOnWriteArrayList<>();
+    private final AppendOnlySessionList allSessions = new AppendOnlySessionList();
     private final Map<CompositeKey, SessionContext> compositeToContext = new HashMap<>();
 
     private final CRC32 crc32 = new CRC32();
@@ -18,6 +18,7 @@ package uk.co.real_logic.artio.engine.framer;
 import org.agrona.ErrorHandler;
 import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.engine.ConnectionTrafficCounters;
 import uk.co.real_logic.artio.engine.EngineConfiguration;
 import uk.co.real_logic.artio.engine.MessageTimingHandler;
 import uk.co.real_logic.artio.engine.SenderSequenceNumbers;
@@ -61,23 +62,36 @@ class FixEndPointFactory
         this.messageTimingHandler = messageTimingHandler;
     }
 
+    ConnectionTrafficCounters trafficCounters(final TcpChannel channel, final long connectionId)
+    {
+        if (!configuration.connectionTrafficCountersEnabled())
+        {
+            return ConnectionTrafficCounters.DISABLED;
+        }
+
+        return fixCounters.connectionTrafficCounters(connectionId, channel.remoteAddr());
+    }
+
     FixReceiverEndPoint receiverEndPoint(
         final TcpChannel channel,
         final long connectionId,
         final long sessionId,
         final int sequenceIndex,
         final int libraryId,
-        final Framer framer)
+        final Framer framer,
+        final ConnectionTrafficCounters trafficCounters)
     {
         return new FixReceiverEndPoint(
             channel,
             configuration.receiverBufferSize(),
+            configuration.lazyReceiverBufferCompaction(),
             inboundLibraryPublication,
             connectionId,
             sessionId,
             sequenceIndex,
             fixContexts,
             fixCounters.messagesRead(connectionId, channel.remoteAddr()),
+            trafficCounters,
             framer,
             errorHandler,
             libraryId,
@@ -95,7 +109,8 @@ class FixEndPointFactory
         final long connectionId,
         final int libraryId,
         final Framer framer,
-        final FixReceiverEndPoint receiverEndPoint)
+        final FixReceiverEndPoint receiverEndPoint,
+        final ConnectionTrafficCounters trafficCounters)
     {
         final String remoteAddress = channel.remoteAddr();
         final AtomicCounter bytesInBuffer = fixCounters.bytesInBuffer(connectionId, remoteAddress);
@@ -112,7 +127,8 @@ class FixEndPointFactory
             configuration.senderMaxBytesInBuffer(),
             configuration.slowConsumerTimeoutInMs(),
             System.currentTimeMillis(),
-            senderSequenceNumbers.onNewSender(connectionId, bytesInBuffer),
+            senderSequenceNumbers.onNewSender(connectionId, bytesInBuffer, trafficCounters),
+            trafficCounters,
             messageTimingHandler,
             receiverEndPoint,
             senderFormatters);
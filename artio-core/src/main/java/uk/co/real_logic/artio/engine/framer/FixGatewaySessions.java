@@ -15,6 +15,7 @@
  */
 package uk.co.real_logic.artio.engine.framer;
 
+import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
 import org.agrona.concurrent.EpochClock;
@@ -91,9 +92,7 @@ public class FixGatewaySessions extends GatewaySessions
     private final boolean isReproductionEnabled;
     private final CancelOnDisconnectOption cancelOnDisconnectOption;
     private final int cancelOnDisconnectTimeoutWindowInMs;
-
-    // Initialised after logon processed.
-    private SessionContext sessionContext;
+    private final LogonAuthenticator logonAuthenticator;
 
     FixGatewaySessions(
         final EpochClock epochClock,
@@ -108,7 +107,8 @@ public class FixGatewaySessions extends GatewaySessions
         final SessionPersistenceStrategy sessionPersistenceStrategy,
         final SequenceNumberIndexReader sentSequenceNumberIndex,
         final SequenceNumberIndexReader receivedSequenceNumberIndex,
-        final EpochFractionFormat epochFractionPrecision)
+        final EpochFractionFormat epochFractionPrecision,
+        final LogonAuthenticator logonAuthenticator)
     {
         super(
             epochClock,
@@ -116,7 +116,8 @@ public class FixGatewaySessions extends GatewaySessions
             outboundPublication,
             errorHandler,
             sentSequenceNumberIndex,
-            receivedSequenceNumberIndex);
+            receivedSequenceNumberIndex,
+            configuration.logonAdmissionsPerCycle());
 
         this.sessionIdStrategy = sessionIdStrategy;
         this.customisationStrategy = customisationStrategy;
@@ -141,6 +142,7 @@ public class FixGatewaySessions extends GatewaySessions
         this.disableHeartbeatRepliesToTestRequests = configuration.disableHeartbeatRepliesToTestRequests();
         this.cancelOnDisconnectOption = configuration.cancelOnDisconnectOption();
         this.cancelOnDisconnectTimeoutWindowInMs = configuration.cancelOnDisconnectTimeoutWindowInMs();
+        this.logonAuthenticator = logonAuthenticator;
 
         sendingTimeEncoder = new UtcTimestampEncoder(epochFractionPrecision);
     }
@@ -279,7 +281,13 @@ public class FixGatewaySessions extends GatewaySessions
 
     protected void setLastSequenceResetTime(final GatewaySession session)
     {
-        ((FixGatewaySession)session).lastSequenceResetTime(sessionContext.lastSequenceResetTime());
+        final FixGatewaySession fixSession = (FixGatewaySession)session;
+        fixSession.lastSequenceResetTime(fixSession.context().lastSequenceResetTime());
+    }
+
+    public void close()
+    {
+        CloseHelper.close(logonAuthenticator);
     }
 
     final class FixPendingAcceptorLogon extends GatewaySessions.PendingAcceptorLogon implements AuthenticationProxy
@@ -299,6 +307,7 @@ public class FixGatewaySessions extends GatewaySessions
         private Encoder encoder;
         private Class<? extends FixDictionary> fixDictionaryClass;
         private long rejectEncodeResult;
+        private boolean awaitingAuthenticator;
 
         FixPendingAcceptorLogon(
             final SessionIdStrategy sessionIdStrategy,
@@ -341,7 +350,26 @@ public class FixGatewaySessions extends GatewaySessions
                 return;
             }
 
-            authenticate(logon, connectionId);
+            if (logonAuthenticator == null)
+            {
+                authenticate();
+            }
+            else
+            {
+                awaitingAuthenticator = !logonAuthenticator.offer(this);
+            }
+        }
+
+        public boolean poll()
+        {
+            // Admission control: the authentication queue was full so retry rather than authenticate on the Framer
+            if (awaitingAuthenticator)
+            {
+                awaitingAuthenticator = !logonAuthenticator.offer(this);
+                return false;
+            }
+
+            return super.poll();
         }
 
         private PersistenceLevel getPersistenceLevel(final AbstractLogonDecoder logon, final long connectionId)
@@ -358,7 +386,8 @@ public class FixGatewaySessions extends GatewaySessions
             }
         }
 
-        private void authenticate(final AbstractLogonDecoder logon, final long connectionId)
+        // Called on the Framer Thread or the logon authentication thread
+        void authenticate()
         {
             try
             {
@@ -410,7 +439,7 @@ public class FixGatewaySessions extends GatewaySessions
                 return;
             }
 
-            sessionContext = fixContexts.onLogon(compositeKey, fixDictionary);
+            final SessionContext sessionContext = fixContexts.onLogon(compositeKey, fixDictionary);
 
             if (sessionContext == DUPLICATE_SESSION)
             {
@@ -446,8 +475,7 @@ public class FixGatewaySessions extends GatewaySessions
             }
             else
             {
-                requiredPosition = outboundPublication.position();
-                setState(AuthenticationState.INDEXER_CATCHUP);
+                awaitIndexerCatchup(outboundPublication.position());
             }
 
             framer.onGatewaySessionSetup(session, isOfflineReconnect);
@@ -27,6 +27,7 @@ import uk.co.real_logic.artio.dictionary.FixDictionary;
 import uk.co.real_logic.artio.dictionary.SessionConstants;
 import uk.co.real_logic.artio.dictionary.generation.Exceptions;
 import uk.co.real_logic.artio.engine.ByteBufferUtil;
+import uk.co.real_logic.artio.engine.ConnectionTrafficCounters;
 import uk.co.real_logic.artio.messages.DisconnectReason;
 import uk.co.real_logic.artio.protocol.GatewayPublication;
 import uk.co.real_logic.artio.session.CompositeKey;
@@ -155,6 +156,7 @@ class FixReceiverEndPoint extends ReceiverEndPoint
 
     private final FixContexts fixContexts;
     private final AtomicCounter messagesRead;
+    private final ConnectionTrafficCounters trafficCounters;
     private final PasswordCleaner passwordCleaner = new PasswordCleaner();
     private final BusinessRejectRefIdExtractor businessRejectRefIdExtractor = new BusinessRejectRefIdExtractor();
     private final FixGatewaySessions gatewaySessions;
@@ -162,6 +164,8 @@ class FixReceiverEndPoint extends ReceiverEndPoint
     private final AcceptorFixDictionaryLookup acceptorFixDictionaryLookup;
     private final FixReceiverEndPointFormatters formatters;
     private final boolean reproductionEnabled;
+    private final boolean lazyCompaction;
+    private final int compactionThreshold;
 
     private FixGatewaySession gatewaySession;
     private long sessionId;
@@ -178,16 +182,20 @@ class FixReceiverEndPoint extends ReceiverEndPoint
     private long lastReadTimestampInNs;
     private String address;
     private boolean requiresProxyCheck = true;
+    // Start of the unprocessed data in the buffer, always 0 unless lazyCompaction is enabled
+    private int dataOffset;
 
     FixReceiverEndPoint(
         final TcpChannel channel,
         final int bufferSize,
+        final boolean lazyCompaction,
         final GatewayPublication publication,
         final long connectionId,
         final long sessionId,
         final int sequenceIndex,
         final FixContexts fixContexts,
         final AtomicCounter messagesRead,
+        final ConnectionTrafficCounters trafficCounters,
         final Framer framer,
         final ErrorHandler errorHandler,
         final int libraryId,
@@ -210,22 +218,31 @@ class FixReceiverEndPoint extends ReceiverEndPoint
         this.sequenceIndex = sequenceIndex - 1; // Incremented on first logon
         this.fixContexts = fixContexts;
         this.messagesRead = messagesRead;
+        this.trafficCounters = trafficCounters;
         this.gatewaySessions = gatewaySessions;
         this.clock = clock;
         this.acceptorFixDictionaryLookup = acceptorFixDictionaryLookup;
         this.reproductionEnabled = reproductionEnabled;
+        this.lazyCompaction = lazyCompaction;
+        compactionThreshold = bufferSize >> 2;
 
         address = channel.remoteAddr();
     }
 
     private int readData() throws IOException
     {
+        if (dataOffset > 0 && byteBuffer.remaining() < compactionThreshold)
+        {
+            moveRemainingDataToBufferStart(dataOffset);
+        }
+
         final int dataRead = channel.read(byteBuffer);
         if (dataRead != SOCKET_DISCONNECTED)
         {
             if (dataRead > 0)
             {
                 DebugLogger.log(FIX_MESSAGE_TCP, "Read     ", buffer, usedBufferData, dataRead);
+                trafficCounters.onBytesRead(dataRead);
             }
             usedBufferData += dataRead;
         }
@@ -358,7 +375,8 @@ class FixReceiverEndPoint extends ReceiverEndPoint
         // the new session in initialAcceptedSessionOwner=SOLE_LIBRARY
         if (isPaused)
         {
-            moveRemainingDataToBufferStart(offset);
+            consumeBufferData(offset);
+            pendingAcceptorLogonMsgOffset = dataOffset;
             return offset;
         }
 
@@ -380,7 +398,7 @@ class FixReceiverEndPoint extends ReceiverEndPoint
 
             // Move any data received after the logon message.
             offset += length;
-            moveRemainingDataToBufferStart(offset);
+            consumeBufferData(offset);
             return offset;
         }
         else
@@ -401,7 +419,7 @@ class FixReceiverEndPoint extends ReceiverEndPoint
     private boolean frameMessages(final long readTimestampInNs)
     {
         final MutableAsciiBuffer buffer = this.buffer;
-        int offset = checkProxyLine(buffer);
+        int offset = requiresProxyCheck ? checkProxyLine(buffer) : dataOffset;
 
         while (true)
         {
@@ -519,7 +537,7 @@ class FixReceiverEndPoint extends ReceiverEndPoint
             }
         }
 
-        moveRemainingDataToBufferStart(offset);
+        consumeBufferData(offset);
         return true;
     }
 
@@ -754,7 +772,7 @@ class FixReceiverEndPoint extends ReceiverEndPoint
             return offset;
         }
 
-        moveRemainingDataToBufferStart(endOfMessage);
+        consumeBufferData(endOfMessage);
         return offset;
     }
 
@@ -846,7 +864,7 @@ class FixReceiverEndPoint extends ReceiverEndPoint
         final boolean backPressured = Pressure.isBackPressured(position);
         if (backPressured)
         {
-            moveRemainingDataToBufferStart(offset);
+            consumeBufferData(offset);
         }
 
         return backPressured;
@@ -916,7 +934,7 @@ class FixReceiverEndPoint extends ReceiverEndPoint
 
             if (Pressure.isBackPressured(position))
             {
-                moveRemainingDataToBufferStart(messageOffset);
+                consumeBufferData(messageOffset);
                 return false;
             }
             else
@@ -949,6 +967,7 @@ class FixReceiverEndPoint extends ReceiverEndPoint
 
         if (position > 0)
         {
+            trafficCounters.onThrottleReject();
             return gatewaySession.onThrottleNotification(
                 messageType,
                 refSeqNum,
@@ -956,7 +975,7 @@ class FixReceiverEndPoint extends ReceiverEndPoint
         }
         else
         {
-            moveRemainingDataToBufferStart(messageOffset);
+            consumeBufferData(messageOffset);
             return false;
         }
     }
@@ -1092,11 +1111,32 @@ class FixReceiverEndPoint extends ReceiverEndPoint
 
     private void clearBuffer()
     {
-        moveRemainingDataToBufferStart(usedBufferData);
+        consumeBufferData(usedBufferData);
+    }
+
+    // Marks the data before offset as processed, the remaining data is only moved if it needs to be.
+    private void consumeBufferData(final int offset)
+    {
+        if (offset >= usedBufferData)
+        {
+            usedBufferData = 0;
+            dataOffset = 0;
+            ByteBufferUtil.position(byteBuffer, 0);
+        }
+        else if (lazyCompaction && !requiresProxyCheck)
+        {
+            // Compacted before the next read if there isn't enough space left to read into.
+            dataOffset = offset;
+        }
+        else
+        {
+            moveRemainingDataToBufferStart(offset);
+        }
     }
 
     private void moveRemainingDataToBufferStart(final int offset)
     {
+        dataOffset = 0;
         usedBufferData -= offset;
         buffer.putBytes(0, buffer, offset, usedBufferData);
         // position set to ensure that back pressure is applied to TCP when read(byteBuffer) called.
@@ -25,6 +25,7 @@ import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.LogTag;
 import uk.co.real_logic.artio.dictionary.FixDictionary;
 import uk.co.real_logic.artio.engine.ByteBufferUtil;
+import uk.co.real_logic.artio.engine.ConnectionTrafficCounters;
 import uk.co.real_logic.artio.engine.EngineConfiguration;
 import uk.co.real_logic.artio.engine.MessageTimingHandler;
 import uk.co.real_logic.artio.engine.SenderSequenceNumber;
@@ -84,6 +85,7 @@ class FixSenderEndPoint extends SenderEndPoint
 
     private final long connectionId;
     private final AtomicCounter invalidLibraryAttempts;
+    private final ConnectionTrafficCounters trafficCounters;
     private final long slowConsumerTimeoutInMs;
     private final SenderSequenceNumber senderSequenceNumber;
     private final MessageTimingHandler messageTimingHandler;
@@ -108,6 +110,9 @@ class FixSenderEndPoint extends SenderEndPoint
 
     private boolean disconnected;
 
+    private FixSenderEndPointTable table;
+    private int tableIndex = FixSenderEndPointTable.NO_INDEX;
+
     FixSenderEndPoint(
         final long connectionId,
         final int libraryId,
@@ -122,6 +127,7 @@ class FixSenderEndPoint extends SenderEndPoint
         final long slowConsumerTimeoutInMs,
         final long timeInMs,
         final SenderSequenceNumber senderSequenceNumber,
+        final ConnectionTrafficCounters trafficCounters,
         final MessageTimingHandler messageTimingHandler,
         final FixReceiverEndPoint receiverEndPoint,
         final Formatters formatters)
@@ -134,6 +140,7 @@ class FixSenderEndPoint extends SenderEndPoint
 
         this.slowConsumerTimeoutInMs = slowConsumerTimeoutInMs;
         this.senderSequenceNumber = senderSequenceNumber;
+        this.trafficCounters = trafficCounters;
 
         this.messageTimingHandler = messageTimingHandler;
         this.receiverEndPoint = receiverEndPoint;
@@ -277,6 +284,7 @@ class FixSenderEndPoint extends SenderEndPoint
             else
             {
                 this.reattemptBytesWritten = NO_REATTEMPT;
+                trafficCounters.onMessageWritten();
 
                 final MessageTimingHandler messageTimingHandler = this.messageTimingHandler;
                 if (messageTimingHandler != null && !replay)
@@ -334,6 +342,7 @@ class FixSenderEndPoint extends SenderEndPoint
         ByteBufferUtil.position(buffer, writePosition);
 
         final int written = channel.write(buffer, seqNum, replay);
+        trafficCounters.onBytesWritten(written);
         DebugLogger.log(FIX_MESSAGE_TCP, "Written  ", directBuffer, offset + reattemptBytesWritten, written);
 
         buffer.limit(startLimit).position(startPosition);
@@ -422,8 +431,9 @@ class FixSenderEndPoint extends SenderEndPoint
                 disconnectEndpoint(SLOW_CONSUMER);
             }
 
-            bytesInBuffer.setOrdered(bufferUsage);
+            bytesInBuffer(bufferUsage);
         }
+        updateReattemptRequired();
         return reattemptState;
     }
 
@@ -499,7 +509,7 @@ class FixSenderEndPoint extends SenderEndPoint
                     {
                         replaying(false, correlationId);
                         reattemptState.shuffleWritten(endOfReplayEntry);
-                        bytesInBuffer.setOrdered(normalBuffer.usage);
+                        bytesInBuffer(normalBuffer.usage);
                         return true;
                     }
                 }
@@ -523,7 +533,7 @@ class FixSenderEndPoint extends SenderEndPoint
         }
 
         final int usage = reattemptState.shuffleWritten(offset);
-        bytesInBuffer.setOrdered(usage);
+        bytesInBuffer(usage);
         return usage == 0;
     }
 
@@ -536,6 +546,8 @@ class FixSenderEndPoint extends SenderEndPoint
         final int bodyOffset,
         final int totalWritten)
     {
+        trafficCounters.onMessageWritten();
+
         final int metaDataLengthOffset = bodyOffset + bodyLength;
         final int metaDataLength = buffer.getInt(metaDataLengthOffset);
 
@@ -577,10 +589,11 @@ class FixSenderEndPoint extends SenderEndPoint
                 else
                 {
                     this.replaying(!replaying, replayCorrelationId);
-                    bytesInBuffer.setOrdered(usage);
+                    bytesInBuffer(usage);
                 }
             }
         }
+        updateReattemptRequired();
         return caughtUp;
     }
 
@@ -600,7 +613,13 @@ class FixSenderEndPoint extends SenderEndPoint
     {
         if (written > 0)
         {
-            sendingTimeoutTimeInMs = timeInMs + slowConsumerTimeoutInMs;
+            final long sendingTimeoutTimeInMs = timeInMs + slowConsumerTimeoutInMs;
+            this.sendingTimeoutTimeInMs = sendingTimeoutTimeInMs;
+            final FixSenderEndPointTable table = this.table;
+            if (table != null)
+            {
+                table.sendingTimeoutTimeInMs(tableIndex, sendingTimeoutTimeInMs);
+            }
         }
     }
 
@@ -615,6 +634,7 @@ class FixSenderEndPoint extends SenderEndPoint
     {
         senderSequenceNumber.close();
         invalidLibraryAttempts.close();
+        trafficCounters.close();
         super.close();
     }
 
@@ -642,6 +662,62 @@ class FixSenderEndPoint extends SenderEndPoint
     void sessionId(final long sessionId)
     {
         this.sessionId = sessionId;
+        if (table != null)
+        {
+            table.sessionId(tableIndex, sessionId);
+        }
+    }
+
+    void libraryId(final int libraryId)
+    {
+        super.libraryId(libraryId);
+        if (table != null)
+        {
+            table.libraryId(tableIndex, libraryId);
+        }
+    }
+
+    // Called by the table when the end point is added, moved within or removed from it.
+    void table(final FixSenderEndPointTable table, final int tableIndex)
+    {
+        this.table = table;
+        this.tableIndex = tableIndex;
+        if (table != null)
+        {
+            table.sessionId(tableIndex, sessionId);
+            table.libraryId(tableIndex, libraryId);
+            table.bytesInBuffer(tableIndex, bytesInBuffer.getWeak());
+            table.sendingTimeoutTimeInMs(tableIndex, sendingTimeoutTimeInMs);
+            table.reattemptRequired(tableIndex, isReattemptRequired());
+        }
+    }
+
+    int tableIndex()
+    {
+        return tableIndex;
+    }
+
+    private void bytesInBuffer(final int usage)
+    {
+        bytesInBuffer.setOrdered(usage);
+        if (table != null)
+        {
+            table.bytesInBuffer(tableIndex, usage);
+        }
+    }
+
+    // Reattempting is a no-op unless a retry is required or there's something buffered
+    private boolean isReattemptRequired()
+    {
+        return requiresRetry || normalBuffer.usage > 0 || replayBuffer.usage > 0;
+    }
+
+    private void updateReattemptRequired()
+    {
+        if (table != null)
+        {
+            table.reattemptRequired(tableIndex, isReattemptRequired());
+        }
     }
 
     long sessionId()
@@ -655,16 +731,7 @@ class FixSenderEndPoint extends SenderEndPoint
 
         if (isSlowConsumer() && timeInMs > sendingTimeoutTimeInMs)
         {
-            if (IS_SLOW_CONSUMER_LOG_TAG_ENABLED)
-            {
-                DebugLogger.log(LogTag.SLOW_CONSUMER, formatters.timeoutSlowDisconnect.clear()
-                    .with(connectionId)
-                    .with(sessionId)
-                    .with(timeInMs)
-                    .with(maxBytesInBuffer)
-                    .with(sendingTimeoutTimeInMs - slowConsumerTimeoutInMs));
-            }
-            disconnectEndpoint(SLOW_CONSUMER);
+            onSendingTimeout(timeInMs);
 
             return true;
         }
@@ -672,6 +739,20 @@ class FixSenderEndPoint extends SenderEndPoint
         return false;
     }
 
+    void onSendingTimeout(final long timeInMs)
+    {
+        if (IS_SLOW_CONSUMER_LOG_TAG_ENABLED)
+        {
+            DebugLogger.log(LogTag.SLOW_CONSUMER, formatters.timeoutSlowDisconnect.clear()
+                .with(connectionId)
+                .with(sessionId)
+                .with(timeInMs)
+                .with(maxBytesInBuffer)
+                .with(sendingTimeoutTimeInMs - slowConsumerTimeoutInMs));
+        }
+        disconnectEndpoint(SLOW_CONSUMER);
+    }
+
     private void disconnectEndpoint(final DisconnectReason reason)
     {
         receiverEndPoint.completeDisconnect(reason);
@@ -765,6 +846,7 @@ class FixSenderEndPoint extends SenderEndPoint
         }
 
         this.requiresRetry = requiresRetry;
+        updateReattemptRequired();
     }
 
     public String toString()
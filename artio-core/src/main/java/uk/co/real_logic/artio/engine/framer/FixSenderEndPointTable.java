@@ -0,0 +1,167 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import java.util.Arrays;
+
+import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
+
+/**
+ * The hot per-connection state of the {@link FixSenderEndPoint}s, packed into primitive arrays that are indexed by a
+ * dense end point index, so that the per duty cycle scans of the framer don't need to touch each end point object.
+ * <p>
+ * End points write through to their row when their state changes. Removal moves the last row into the gap so that
+ * the rows stay dense, the end point whose row moved is told its new index.
+ * <p>
+ * Only accessed on the Framer thread.
+ */
+final class FixSenderEndPointTable
+{
+    static final int NO_INDEX = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private FixSenderEndPoint[] endPoints = new FixSenderEndPoint[INITIAL_CAPACITY];
+    private long[] sessionIds = new long[INITIAL_CAPACITY];
+    private int[] libraryIds = new int[INITIAL_CAPACITY];
+    private long[] bytesInBuffer = new long[INITIAL_CAPACITY];
+    private long[] sendingTimeoutTimesInMs = new long[INITIAL_CAPACITY];
+    private boolean[] reattemptRequired = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    void add(final FixSenderEndPoint endPoint)
+    {
+        if (size == endPoints.length)
+        {
+            resize(size << 1);
+        }
+
+        final int index = size++;
+        endPoints[index] = endPoint;
+        endPoint.table(this, index);
+    }
+
+    void remove(final FixSenderEndPoint endPoint)
+    {
+        final int index = endPoint.tableIndex();
+        if (index == NO_INDEX)
+        {
+            return;
+        }
+
+        final int last = --size;
+        if (index != last)
+        {
+            final FixSenderEndPoint moved = endPoints[last];
+            endPoints[index] = moved;
+            sessionIds[index] = sessionIds[last];
+            libraryIds[index] = libraryIds[last];
+            bytesInBuffer[index] = bytesInBuffer[last];
+            sendingTimeoutTimesInMs[index] = sendingTimeoutTimesInMs[last];
+            reattemptRequired[index] = reattemptRequired[last];
+            moved.table(this, index);
+        }
+
+        endPoints[last] = null;
+        endPoint.table(null, NO_INDEX);
+    }
+
+    void sessionId(final int index, final long sessionId)
+    {
+        sessionIds[index] = sessionId;
+    }
+
+    void libraryId(final int index, final int libraryId)
+    {
+        libraryIds[index] = libraryId;
+    }
+
+    void bytesInBuffer(final int index, final long bytesInBuffer)
+    {
+        this.bytesInBuffer[index] = bytesInBuffer;
+    }
+
+    void sendingTimeoutTimeInMs(final int index, final long sendingTimeoutTimeInMs)
+    {
+        sendingTimeoutTimesInMs[index] = sendingTimeoutTimeInMs;
+    }
+
+    void reattemptRequired(final int index, final boolean reattemptRequired)
+    {
+        this.reattemptRequired[index] = reattemptRequired;
+    }
+
+    /**
+     * Retries buffered messages and disconnects slow consumers that have timed out.
+     *
+     * @param timeInMs the current time.
+     * @return the number of end points disconnected.
+     */
+    int poll(final long timeInMs)
+    {
+        final FixSenderEndPoint[] endPoints = this.endPoints;
+        final long[] bytesInBuffer = this.bytesInBuffer;
+        final long[] sendingTimeoutTimesInMs = this.sendingTimeoutTimesInMs;
+        final boolean[] reattemptRequired = this.reattemptRequired;
+
+        int count = 0;
+        // Iterate backwards so that end points can be removed whilst polling
+        for (int i = size - 1; i >= 0; i--)
+        {
+            if (reattemptRequired[i])
+            {
+                endPoints[i].reattempt();
+            }
+
+            if (i < size && bytesInBuffer[i] > 0 && timeInMs > sendingTimeoutTimesInMs[i])
+            {
+                endPoints[i].onSendingTimeout(timeInMs);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    int libraryLookup(final long sessionId)
+    {
+        final long[] sessionIds = this.sessionIds;
+        for (int i = 0, size = this.size; i < size; i++)
+        {
+            if (sessionIds[i] == sessionId)
+            {
+                return libraryIds[i];
+            }
+        }
+
+        return ENGINE_LIBRARY_ID;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    private void resize(final int capacity)
+    {
+        endPoints = Arrays.copyOf(endPoints, capacity);
+        sessionIds = Arrays.copyOf(sessionIds, capacity);
+        libraryIds = Arrays.copyOf(libraryIds, capacity);
+        bytesInBuffer = Arrays.copyOf(bytesInBuffer, capacity);
+        sendingTimeoutTimesInMs = Arrays.copyOf(sendingTimeoutTimesInMs, capacity);
+        reattemptRequired = Arrays.copyOf(reattemptRequired, capacity);
+    }
+}
@@ -20,7 +20,6 @@ import org.agrona.DirectBuffer;
 import org.agrona.collections.Long2ObjectHashMap;
 import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.LogTag;
-import uk.co.real_logic.artio.engine.FixEngine;
 import uk.co.real_logic.artio.util.CharFormatter;
 
 import java.util.function.LongToIntFunction;
@@ -34,26 +33,21 @@ class FixSenderEndPoints implements AutoCloseable
         "SEPs.missReplayComplete, connId=%s, corrId=%s, slow=%s");
 
     private final Long2ObjectHashMap<FixSenderEndPoint> connectionIdToSenderEndpoint = new Long2ObjectHashMap<>();
-    private final LongToIntFunction libraryLookup = this::libraryLookup;
-
-    private int libraryLookup(final long sessionId)
-    {
-        for (final FixSenderEndPoint senderEndPoint : connectionIdToSenderEndpoint.values())
-        {
-            if (senderEndPoint.sessionId() == sessionId)
-            {
-                return senderEndPoint.libraryId();
-            }
-        }
-
-        return FixEngine.ENGINE_LIBRARY_ID;
-    }
+    // Per cycle scans go through the table rather than the end point objects
+    private final FixSenderEndPointTable table = new FixSenderEndPointTable();
+    private final LongToIntFunction libraryLookup = table::libraryLookup;
 
     private long timeInMs;
 
     public void add(final FixSenderEndPoint senderEndPoint)
     {
-        connectionIdToSenderEndpoint.put(senderEndPoint.connectionId(), senderEndPoint);
+        final FixSenderEndPoint oldEndPoint = connectionIdToSenderEndpoint.put(
+            senderEndPoint.connectionId(), senderEndPoint);
+        if (oldEndPoint != null)
+        {
+            table.remove(oldEndPoint);
+        }
+        table.add(senderEndPoint);
     }
 
     void removeConnection(final long connectionId)
@@ -61,6 +55,7 @@ class FixSenderEndPoints implements AutoCloseable
         final FixSenderEndPoint senderEndPoint = connectionIdToSenderEndpoint.remove(connectionId);
         if (senderEndPoint != null)
         {
+            table.remove(senderEndPoint);
             senderEndPoint.close();
         }
     }
@@ -169,16 +164,7 @@ class FixSenderEndPoints implements AutoCloseable
 
     int poll(final long timeInMs)
     {
-        int count = 0;
-        for (final FixSenderEndPoint senderEndPoint : connectionIdToSenderEndpoint.values())
-        {
-            if (senderEndPoint.poll(timeInMs))
-            {
-                count++;
-            }
-        }
-
-        return count;
+        return table.poll(timeInMs);
     }
 
     LongToIntFunction libraryLookup()
@@ -43,6 +43,7 @@ import org.agrona.ErrorHandler;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.Long2LongHashMap;
 import org.agrona.collections.Long2LongHashMap.KeyIterator;
+import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.*;
 import org.agrona.concurrent.status.AtomicCounter;
@@ -57,6 +58,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.IntSupplier;
 import java.util.function.LongConsumer;
+import java.util.function.LongToIntFunction;
 import java.util.function.Predicate;
 
 import static io.aeron.Publication.BACK_PRESSURED;
@@ -122,7 +124,11 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
         "Connecting to %s:%s from library %s");
 
     private final RetryManager retryManager = new RetryManager();
+    private final CatchupScheduler catchupScheduler;
     private final List<ResetSequenceNumberCommand> replies = new ArrayList<>();
+    private final List<AdminBulkOperation> adminBulkOperations = new ArrayList<>();
+    private final List<AdminSessionQuery> adminSessionQueries = new ArrayList<>();
+    private final Long2ObjectHashMap<FixGatewaySession> connectedFixSessions = new Long2ObjectHashMap<>();
     private final Int2ObjectHashMap<LiveLibraryInfo> idToLibrary = new Int2ObjectHashMap<>();
     private final List<LiveLibraryInfo> librariesBeingAcquired = new ArrayList<>();
     private final Consumer<AdminCommand> onAdminCommand = command -> command.execute(this);
@@ -142,10 +148,12 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
     private final Timer outboundTimer;
     private final Timer sendTimer;
     private final DutyCycleTracker dutyCycleTracker;
+    private final AtomicCounter connectedSessions;
+    private int lastConnectedSessions;
 
     private final ControlledFragmentHandler librarySubscriber;
     private final ControlledFragmentHandler replaySubscriber;
-    private final AdminEngineProtocolSubscription adminEngineProtocolSubscription;
+    private final FragmentAssembler adminEngineProtocolSubscription;
     private final Subscription adminEngineSubscription;
     private final ReceiverEndPoints receiverEndPoints;
     private final FixSenderEndPoints fixSenderEndPoints;
@@ -283,6 +291,17 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
         this.fixPContexts = fixPContexts;
         this.fixCounters = fixCounters;
         this.dutyCycleTracker = fixCounters.getFramerDutyCycleTracker(configuration.framerCycleThresholdNs());
+        this.connectedSessions = fixCounters.connectedSessions();
+        this.catchupScheduler = new CatchupScheduler(
+            receivedSequenceNumberIndex,
+            inboundMessages,
+            inboundPublication,
+            configuration.catchupMaxConcurrentReplays(),
+            configuration.catchupMaxSessionsPerReplay(),
+            fixCounters.catchupSessionsPending(),
+            fixCounters.catchupReplaysActive(),
+            fixCounters.catchupSessionsCompleted(),
+            fixCounters.catchupRangesCoalesced());
 
         replyTimeoutInNs = TimeUnit.MILLISECONDS.toNanos(configuration.replyTimeoutInMs());
         timerEventHandler = new TimerEventHandler(errorHandler);
@@ -340,7 +359,8 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
             0,
             true);
 
-        adminEngineProtocolSubscription = new AdminEngineProtocolSubscription(this);
+        // Bulk admin requests can be larger than a single fragment
+        adminEngineProtocolSubscription = new FragmentAssembler(new AdminEngineProtocolSubscription(this));
 
         final EngineReproductionConfiguration reproductionConfiguration = configuration.reproductionConfiguration();
         final boolean isReproducing = reproductionConfiguration != null;
@@ -396,7 +416,8 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
 
         checkOutboundTimestampSender(timeInNs);
 
-        return retryManager.attemptSteps() +
+        final int workCount = retryManager.attemptSteps() +
+            catchupScheduler.poll(timeInMs) +
             sendOutboundMessages() +
             sendReplayMessages() +
             pollEndPoints() +
@@ -406,6 +427,25 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
             fixSenderEndPoints.poll(timeInMs) +
             adminCommands.drain(onAdminCommand) +
             checkDutyCycle(timeInMs);
+
+        updateConnectedSessions();
+
+        return workCount;
+    }
+
+    // Read by load aware idle strategies on other threads, so only published when it changes
+    private void updateConnectedSessions()
+    {
+        final AtomicCounter connectedSessions = this.connectedSessions;
+        if (connectedSessions != null)
+        {
+            final int count = receiverEndPoints.size();
+            if (count != lastConnectedSessions)
+            {
+                lastConnectedSessions = count;
+                connectedSessions.setOrdered(count);
+            }
+        }
     }
 
     private void checkOutboundTimestampSender(final long timeInNs)
@@ -426,6 +466,8 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
     private int checkDutyCycle(final long timeInMs)
     {
         return removeIf(replies, ResetSequenceNumberCommand::poll) +
+            removeIf(adminBulkOperations, AdminBulkOperation::poll) +
+            pollAdminSessionQueries() +
             resendSaveNotifications(resendSlowStatus, SlowStatus.SLOW) +
             resendSaveNotifications(resendNotSlowStatus, SlowStatus.NOT_SLOW) +
             timerWheel.poll(timeInMs, timerEventHandler, 10);
@@ -1073,8 +1115,9 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
                 replyConnectedSessions(seenSessions, sessionsEncoder, libraryInfo.gatewaySessions());
             }
 
-            for (final SessionInfo sessionInfo : allSessions)
+            for (int i = 0; i < sessionsCount; i++)
             {
+                final SessionInfo sessionInfo = allSessions.get(i);
                 if (!seenSessions.contains(sessionInfo.sessionId()))
                 {
                     final SessionContext context = (SessionContext)sessionInfo;
@@ -1091,18 +1134,136 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
         }
     }
 
+    private int pollAdminSessionQueries()
+    {
+        if (adminSessionQueries.isEmpty())
+        {
+            return 0;
+        }
+
+        final int removed = removeIf(adminSessionQueries, AdminSessionQuery::poll);
+        if (adminSessionQueries.isEmpty())
+        {
+            // Don't hold on to disconnected sessions until the next query.
+            connectedFixSessions.clear();
+        }
+        return removed;
+    }
+
+    public void onFixSessionsQuery(
+        final long correlationId,
+        final long cursor,
+        final int pageSize,
+        final boolean connectedOnly,
+        final int libraryId,
+        final String remoteCompIdPrefix)
+    {
+        if (adminSessionQueries.size() >= AdminSessionQuery.MAX_PENDING_QUERIES)
+        {
+            schedule(() -> saveTooManySessionQueriesAdminReply(correlationId));
+            return;
+        }
+
+        refreshConnectedFixSessions();
+        final AdminSessionQuery query = new AdminSessionQuery(
+            correlationId,
+            cursor,
+            pageSize,
+            connectedOnly,
+            libraryId,
+            remoteCompIdPrefix,
+            configuration.sessionQueryScanLimit(),
+            fixContexts.allSessions(),
+            connectedFixSessions,
+            fixSenderEndPoints,
+            receivedSequenceNumberIndex,
+            sentSequenceNumberIndex,
+            adminReplyPublication);
+
+        if (!query.poll())
+        {
+            adminSessionQueries.add(query);
+        }
+        else if (adminSessionQueries.isEmpty())
+        {
+            connectedFixSessions.clear();
+        }
+    }
+
+    private void refreshConnectedFixSessions()
+    {
+        final Long2ObjectHashMap<FixGatewaySession> connectedSessions = this.connectedFixSessions;
+        connectedSessions.clear();
+        addConnectedFixSessions(connectedSessions, gatewaySessions.sessions());
+        for (final LiveLibraryInfo libraryInfo : idToLibrary.values())
+        {
+            addConnectedFixSessions(connectedSessions, libraryInfo.gatewaySessions());
+        }
+    }
+
+    private static void addConnectedFixSessions(
+        final Long2ObjectHashMap<FixGatewaySession> connectedSessions, final List<GatewaySession> gatewaySessions)
+    {
+        final int gatewaySessionsSize = gatewaySessions.size();
+        for (int i = 0; i < gatewaySessionsSize; i++)
+        {
+            final GatewaySession gatewaySession = gatewaySessions.get(i);
+            if (gatewaySession instanceof FixGatewaySession)
+            {
+                connectedSessions.put(gatewaySession.sessionId(), (FixGatewaySession)gatewaySession);
+            }
+        }
+    }
+
     public void onDisconnectSession(final long correlationId, final long sessionId)
     {
-        if (!fixContexts.isKnownSessionId(sessionId))
+        final GatewayError error = adminDisconnectSession(sessionId);
+        if (error == GatewayError.UNKNOWN_SESSION)
         {
             schedule(() -> saveUnknownSessionAdminReply(correlationId, sessionId));
-            return;
+        }
+        else if (error == GatewayError.EXCEPTION)
+        {
+            schedule(() -> saveNotAuthenticatedAdminReply(correlationId, sessionId));
+        }
+        else
+        {
+            schedule(() -> saveOkAdminReply(correlationId));
+        }
+    }
+
+    public void onAdminBulkDisconnectSessionsRequest(
+        final long correlationId, final AdminBulkDisconnectSessionsRequestDecoder.SessionsDecoder sessions)
+    {
+        final AdminBulkOperation operation = new AdminBulkOperation(correlationId, adminReplyPublication);
+
+        while (sessions.hasNext())
+        {
+            final long sessionId = sessions.next().sessionId();
+            final GatewayError error = adminDisconnectSession(sessionId);
+            if (error == GatewayError.UNKNOWN_SESSION)
+            {
+                operation.onFailure(sessionId, error, unknownSessionMessage(sessionId));
+            }
+            else if (error == GatewayError.EXCEPTION)
+            {
+                operation.onFailure(sessionId, error, notAuthenticatedMessage(sessionId));
+            }
+        }
+
+        onAdminBulkOperation(operation);
+    }
+
+    private GatewayError adminDisconnectSession(final long sessionId)
+    {
+        if (!fixContexts.isKnownSessionId(sessionId))
+        {
+            return GatewayError.UNKNOWN_SESSION;
         }
 
         if (!fixContexts.isAuthenticated(sessionId))
         {
-            schedule(() -> saveNotAuthenticatedAdminReply(correlationId, sessionId));
-            return;
+            return GatewayError.EXCEPTION;
         }
 
         GatewaySession gatewaySession = gatewaySessions.sessionById(sessionId);
@@ -1113,8 +1274,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
 
         if (gatewaySession == null)
         {
-            schedule(() -> saveNotAuthenticatedAdminReply(correlationId, sessionId));
-            return;
+            return GatewayError.EXCEPTION;
         }
 
         final int libraryId = gatewaySession.libraryId();
@@ -1122,7 +1282,15 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
 
         onDisconnect(libraryId, connectionId, DisconnectReason.ADMIN_API_DISCONNECT);
 
-        schedule(() -> saveOkAdminReply(correlationId));
+        return GatewayError.NULL_VAL;
+    }
+
+    private void onAdminBulkOperation(final AdminBulkOperation operation)
+    {
+        if (!operation.poll())
+        {
+            adminBulkOperations.add(operation);
+        }
     }
 
     private long saveOkAdminReply(final long correlationId)
@@ -1133,13 +1301,29 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
     private long saveUnknownSessionAdminReply(final long correlationId, final long sessionId)
     {
         return adminReplyPublication.saveGenericAdminReply(
-            correlationId, GatewayError.UNKNOWN_SESSION, sessionId + " is an unknown session");
+            correlationId, GatewayError.UNKNOWN_SESSION, unknownSessionMessage(sessionId));
     }
 
     private long saveNotAuthenticatedAdminReply(final long correlationId, final long sessionId)
     {
         return adminReplyPublication.saveGenericAdminReply(
-            correlationId, GatewayError.EXCEPTION, sessionId + " is not currently authenticated");
+            correlationId, GatewayError.EXCEPTION, notAuthenticatedMessage(sessionId));
+    }
+
+    private long saveTooManySessionQueriesAdminReply(final long correlationId)
+    {
+        return adminReplyPublication.saveGenericAdminReply(
+            correlationId, GatewayError.EXCEPTION, "Too many session queries in progress, try again later");
+    }
+
+    private static String unknownSessionMessage(final long sessionId)
+    {
+        return sessionId + " is an unknown session";
+    }
+
+    private static String notAuthenticatedMessage(final long sessionId)
+    {
+        return sessionId + " is not currently authenticated";
     }
 
     private void replyConnectedSessions(
@@ -1207,7 +1391,41 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
 
         // Delegate to the existing ResetSequenceNumberCommand with an additional step at the end in order
         // to notify the admin API
-        final ResetSequenceNumberCommand resetSequenceNumberCommand = new ResetSequenceNumberCommand(
+        final ResetSequenceNumberCommand resetSequenceNumberCommand = newResetSequenceNumberCommand(sessionId);
+
+        resetSequenceNumberCommand.setupAdminReset(correlationId, adminReplyPublication);
+
+        onResetSequenceNumber(resetSequenceNumberCommand);
+    }
+
+    public void onAdminBulkResetSequenceNumbersRequest(
+        final long correlationId, final AdminBulkResetSequenceNumbersRequestDecoder.SessionsDecoder sessions)
+    {
+        final AdminBulkOperation operation = new AdminBulkOperation(correlationId, adminReplyPublication);
+        final LongToIntFunction libraryLookup = fixSenderEndPoints.libraryLookup();
+
+        // All the resets are started in this duty cycle so the indexer picks up their updates together
+        while (sessions.hasNext())
+        {
+            final long sessionId = sessions.next().sessionId();
+            if (fixContexts.isKnownSessionId(sessionId))
+            {
+                final ResetSequenceNumberCommand resetSequenceNumberCommand = newResetSequenceNumberCommand(sessionId);
+                resetSequenceNumberCommand.libraryLookup(libraryLookup);
+                operation.add(resetSequenceNumberCommand);
+            }
+            else
+            {
+                operation.onFailure(sessionId, GatewayError.UNKNOWN_SESSION, unknownSessionMessage(sessionId));
+            }
+        }
+
+        onAdminBulkOperation(operation);
+    }
+
+    private ResetSequenceNumberCommand newResetSequenceNumberCommand(final long sessionId)
+    {
+        return new ResetSequenceNumberCommand(
             sessionId,
             gatewaySessions,
             fixContexts,
@@ -1217,10 +1435,6 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
             outboundPublication,
             clock,
             replyTimeoutInNs);
-
-        resetSequenceNumberCommand.setupAdminReset(correlationId, adminReplyPublication);
-
-        onResetSequenceNumber(resetSequenceNumberCommand);
     }
 
     public void startLingering(
@@ -1781,17 +1995,19 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
         final boolean enableLastMsgSeqNumProcessed,
         final FixDictionary fixDictionary)
     {
+        final ConnectionTrafficCounters trafficCounters = endPointFactory.trafficCounters(channel, connectionId);
         final FixReceiverEndPoint receiverEndPoint = endPointFactory.receiverEndPoint(
             channel,
             connectionId,
             context.sessionId(),
             context.sequenceIndex(),
             libraryId,
-            this);
+            this,
+            trafficCounters);
         receiverEndPoints.add(receiverEndPoint);
 
         final FixSenderEndPoint senderEndPoint = endPointFactory.senderEndPoint(
-            channel, connectionId, libraryId, this, receiverEndPoint);
+            channel, connectionId, libraryId, this, receiverEndPoint, trafficCounters);
         fixSenderEndPoints.add(senderEndPoint);
 
         final FixGatewaySession gatewaySession = new FixGatewaySession(
@@ -2679,7 +2895,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
                 ReplayMessagesStatus.INVALID_CONFIGURATION_NOT_LOGGING_MESSAGES);
         }
 
-        schedule(new CatchupReplayer(
+        catchupScheduler.enqueue(new CatchupReplayer(
             receivedSequenceNumberIndex,
             inboundMessages,
             inboundPublication,
@@ -2956,7 +3172,7 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
                     replayFromSequenceIndex = requestedReplayFromSequenceIndex;
                 }
 
-                schedule(new CatchupReplayer(
+                catchupScheduler.enqueue(new CatchupReplayer(
                     receivedSequenceNumberIndex,
                     inboundMessages,
                     inboundPublication,
@@ -3332,6 +3548,8 @@ class Framer implements Agent, EngineEndPointHandler, ProtocolHandler
     {
         closeAll(
             this::quiesce,
+            gatewaySessions,
+            catchupScheduler,
             retryManager,
             inboundMessages,
             receiverEndPoints,
@@ -96,10 +96,10 @@ public class FramerContext
 
         sentSequenceNumberIndex = new SequenceNumberIndexReader(
             configuration.sentSequenceNumberBuffer(), errorHandler, recordingCoordinator.framerOutboundLookup(),
-            configuration.logFileDir());
+            configuration.logFileDir(), configuration.sentSequenceNumberRecordOffsets());
         receivedSequenceNumberIndex = new SequenceNumberIndexReader(
             configuration.receivedSequenceNumberBuffer(), errorHandler, recordingCoordinator.framerInboundLookup(),
-            null);
+            null, configuration.receivedSequenceNumberRecordOffsets());
 
         final ReproductionLogWriter reproductionLogWriter = reproductionLogWriter(outboundLibraryStreams);
 
@@ -133,7 +133,8 @@ public class FramerContext
                 configuration.sessionPersistenceStrategy(),
                 sentSequenceNumberIndex,
                 receivedSequenceNumberIndex,
-                configuration.sessionEpochFractionFormat());
+                configuration.sessionEpochFractionFormat(),
+                newLogonAuthenticator(errorHandler));
 
             endPointFactory = new FixEndPointFactory(
                 configuration,
@@ -185,6 +186,22 @@ public class FramerContext
             reproductionLogWriter);
     }
 
+    private LogonAuthenticator newLogonAuthenticator(final ErrorHandler errorHandler)
+    {
+        final int queueCapacity = configuration.logonAuthenticationQueueCapacity();
+        if (queueCapacity == 0)
+        {
+            return null;
+        }
+
+        return new LogonAuthenticator(
+            queueCapacity,
+            configuration.logonAuthenticatorIdleStrategy(),
+            errorHandler,
+            configuration.threadFactory(),
+            configuration.agentNamePrefix());
+    }
+
     private ReproductionLogWriter reproductionLogWriter(final Streams outboundLibraryStreams)
     {
         if (configuration.writeReproductionLog())
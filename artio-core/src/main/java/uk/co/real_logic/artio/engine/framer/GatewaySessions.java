@@ -37,8 +37,10 @@ import static uk.co.real_logic.artio.engine.ConnectedSessionInfo.UNK_SESSION;
 /**
  * Keeps track of which sessions managed by the gateway
  */
-abstract class GatewaySessions
+abstract class GatewaySessions implements AutoCloseable
 {
+    private static final int INITIAL_INDEXER_CATCHUP_BATCH_SIZE = 16;
+
     protected final Long2LongHashMap sessionIdToLastLibraryId = new Long2LongHashMap(UNK_SESSION);
     protected final LongHashSet disconnectedSessionIds = new LongHashSet();
     protected final CharFormatter acquiredConnection = new CharFormatter("Gateway Acquired Connection %s");
@@ -50,13 +52,24 @@ abstract class GatewaySessions
     protected final SequenceNumberIndexReader receivedSequenceNumberIndex;
     protected ErrorHandler errorHandler;
 
+    // Logons waiting for the sequence number index to catch up, resolved as a batch by pollIndexerCatchups()
+    private final List<PendingAcceptorLogon> indexerCatchupLogons = new ArrayList<>();
+    private final List<PendingAcceptorLogon> indexedLogons = new ArrayList<>();
+    private long[] indexedSessionIds = new long[INITIAL_INDEXER_CATCHUP_BATCH_SIZE];
+    private int[] lastSentSequenceNumbers = new int[INITIAL_INDEXER_CATCHUP_BATCH_SIZE];
+    private int[] lastReceivedSequenceNumbers = new int[INITIAL_INDEXER_CATCHUP_BATCH_SIZE];
+
+    private final int logonAdmissionsPerCycle;
+    private int remainingLogonAdmissions;
+
     GatewaySessions(
         final EpochClock epochClock,
         final GatewayPublication inboundPublication,
         final GatewayPublication outboundPublication,
         final ErrorHandler errorHandler,
         final SequenceNumberIndexReader sentSequenceNumberIndex,
-        final SequenceNumberIndexReader receivedSequenceNumberIndex)
+        final SequenceNumberIndexReader receivedSequenceNumberIndex,
+        final int logonAdmissionsPerCycle)
     {
         this.epochClock = epochClock;
         this.inboundPublication = inboundPublication;
@@ -64,6 +77,8 @@ abstract class GatewaySessions
         this.errorHandler = errorHandler;
         this.sentSequenceNumberIndex = sentSequenceNumberIndex;
         this.receivedSequenceNumberIndex = receivedSequenceNumberIndex;
+        this.logonAdmissionsPerCycle = logonAdmissionsPerCycle;
+        this.remainingLogonAdmissions = logonAdmissionsPerCycle;
     }
 
     static GatewaySession removeSessionByConnectionId(final long connectionId, final List<GatewaySession> sessions)
@@ -144,7 +159,9 @@ abstract class GatewaySessions
     {
         final List<GatewaySession> sessions = this.sessions;
 
-        int eventsProcessed = 0;
+        remainingLogonAdmissions = logonAdmissionsPerCycle;
+
+        int eventsProcessed = pollIndexerCatchups();
         for (int i = 0, size = sessions.size(); i < size;)
         {
             final GatewaySession session = sessions.get(i);
@@ -166,29 +183,102 @@ abstract class GatewaySessions
         return sessions;
     }
 
-    private boolean lookupSequenceNumbers(final GatewaySession gatewaySession, final long requiredPosition)
+    // Looks up the sequence numbers of every logon whose required position has been indexed with one pass over
+    // each sequence number index, rather than one pass per logon. Logons whose connection has disconnected whilst
+    // waiting are dropped.
+    private int pollIndexerCatchups()
     {
-        final int aeronSessionId = outboundPublication.sessionId();
+        final List<PendingAcceptorLogon> indexerCatchupLogons = this.indexerCatchupLogons;
+        final int size = indexerCatchupLogons.size();
+        if (size == 0)
+        {
+            return 0;
+        }
+
         final long initialPosition = outboundPublication.initialPosition();
-        // At requiredPosition=initialPosition there won't be anything indexed, so indexedPosition will be -1
-        if (requiredPosition > initialPosition)
+        final long indexedPosition = sentSequenceNumberIndex.indexedPosition(outboundPublication.sessionId());
+        final List<PendingAcceptorLogon> indexedLogons = this.indexedLogons;
+        ensureIndexerCatchupCapacity(size);
+        final long[] indexedSessionIds = this.indexedSessionIds;
+
+        int remaining = 0;
+        for (int i = 0; i < size; i++)
         {
-            final long indexedPosition = sentSequenceNumberIndex.indexedPosition(aeronSessionId);
-            if (indexedPosition < requiredPosition)
+            final PendingAcceptorLogon logon = indexerCatchupLogons.get(i);
+            if (logon.receiverEndPoint.hasDisconnected())
+            {
+                continue;
+            }
+
+            final long requiredPosition = logon.requiredPosition;
+            // At requiredPosition=initialPosition there won't be anything indexed, so indexedPosition will be -1
+            if (requiredPosition <= initialPosition || indexedPosition >= requiredPosition)
             {
-                return false;
+                indexedSessionIds[indexedLogons.size()] = logon.session.sessionId();
+                indexedLogons.add(logon);
             }
+            else
+            {
+                indexerCatchupLogons.set(remaining, logon);
+                remaining++;
+            }
+        }
+
+        indexerCatchupLogons.subList(remaining, size).clear();
+
+        final int count = indexedLogons.size();
+        if (count == 0)
+        {
+            return 0;
         }
 
-        final long sessionId = gatewaySession.sessionId();
-        final int lastSentSequenceNumber = sentSequenceNumberIndex.lastKnownSequenceNumber(sessionId);
-        final int lastReceivedSequenceNumber = receivedSequenceNumberIndex.lastKnownSequenceNumber(sessionId);
-        gatewaySession.acceptorSequenceNumbers(lastSentSequenceNumber, lastReceivedSequenceNumber);
-        if (lastReceivedSequenceNumber != UNK_SESSION)
+        final int[] lastSentSequenceNumbers = this.lastSentSequenceNumbers;
+        final int[] lastReceivedSequenceNumbers = this.lastReceivedSequenceNumbers;
+        sentSequenceNumberIndex.lastKnownSequenceNumbers(indexedSessionIds, lastSentSequenceNumbers, count);
+        receivedSequenceNumberIndex.lastKnownSequenceNumbers(indexedSessionIds, lastReceivedSequenceNumbers, count);
+
+        for (int i = 0; i < count; i++)
         {
-            setLastSequenceResetTime(gatewaySession);
+            final PendingAcceptorLogon logon = indexedLogons.get(i);
+            final GatewaySession gatewaySession = logon.session;
+            final int lastReceivedSequenceNumber = lastReceivedSequenceNumbers[i];
+            gatewaySession.acceptorSequenceNumbers(lastSentSequenceNumbers[i], lastReceivedSequenceNumber);
+            if (lastReceivedSequenceNumber != UNK_SESSION)
+            {
+                setLastSequenceResetTime(gatewaySession);
+            }
+            logon.setState(AuthenticationState.ACCEPTED);
         }
-        return true;
+        indexedLogons.clear();
+
+        return count;
+    }
+
+    private void ensureIndexerCatchupCapacity(final int size)
+    {
+        if (indexedSessionIds.length < size)
+        {
+            final int newLength = Math.max(size, indexedSessionIds.length * 2);
+            indexedSessionIds = new long[newLength];
+            lastSentSequenceNumbers = new int[newLength];
+            lastReceivedSequenceNumbers = new int[newLength];
+        }
+    }
+
+    // Returns false if this duty cycle's budget of logon admissions has been used up.
+    private boolean tryAdmitLogon()
+    {
+        if (remainingLogonAdmissions > 0)
+        {
+            remainingLogonAdmissions--;
+            return true;
+        }
+
+        return false;
+    }
+
+    public void close()
+    {
     }
 
     protected abstract void setLastSequenceResetTime(GatewaySession gatewaySession);
@@ -229,7 +319,7 @@ abstract class GatewaySessions
         /** Initial State -> AUTHENTICATED, SAVING_REJECTED_LOGON_WITH_REPLY */
         PENDING,
 
-        /** -> INDEXER_CATCHUP, ACCEPTED */
+        /** -> INDEXER_CATCHUP, ACCEPTED, once admitted within the duty cycle's logon budget */
         AUTHENTICATED,
         /** -> ACCEPTED */
         INDEXER_CATCHUP,
@@ -351,6 +441,11 @@ abstract class GatewaySessions
             switch (state)
             {
                 case AUTHENTICATED:
+                    if (!tryAdmitLogon())
+                    {
+                        return false;
+                    }
+
                     session.onAuthenticationResult();
 
                     onAuthenticated();
@@ -381,7 +476,7 @@ abstract class GatewaySessions
                     return onSendingRejectMessage();
 
                 case INDEXER_CATCHUP:
-                    onIndexerCatchup();
+                    // Resolved in a batch by pollIndexerCatchups()
                     return false;
 
                 case ACCEPTED:
@@ -446,12 +541,11 @@ abstract class GatewaySessions
 
         protected abstract SendRejectResult sendReject();
 
-        private void onIndexerCatchup()
+        protected void awaitIndexerCatchup(final long requiredPosition)
         {
-            if (lookupSequenceNumbers(session, requiredPosition))
-            {
-                setState(AuthenticationState.ACCEPTED);
-            }
+            this.requiredPosition = requiredPosition;
+            setState(AuthenticationState.INDEXER_CATCHUP);
+            indexerCatchupLogons.add(this);
         }
 
         public abstract void reject();
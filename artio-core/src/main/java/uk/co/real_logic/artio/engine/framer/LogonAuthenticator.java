@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.CloseHelper;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import uk.co.real_logic.artio.engine.framer.FixGatewaySessions.FixPendingAcceptorLogon;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * Runs acceptor logon authentication on its own thread so that a burst of logons doesn't hold up the Framer. The
+ * Framer offers pending logons to a bounded queue, a full queue leaves the logon pending on the Framer until a later
+ * duty cycle.
+ */
+class LogonAuthenticator implements Agent, AutoCloseable
+{
+    private final Consumer<FixPendingAcceptorLogon> authenticate = FixPendingAcceptorLogon::authenticate;
+    private final OneToOneConcurrentArrayQueue<FixPendingAcceptorLogon> pendingLogons;
+    private final String agentNamePrefix;
+    private final AgentRunner runner;
+
+    LogonAuthenticator(
+        final int queueCapacity,
+        final IdleStrategy idleStrategy,
+        final ErrorHandler errorHandler,
+        final ThreadFactory threadFactory,
+        final String agentNamePrefix)
+    {
+        this.pendingLogons = new OneToOneConcurrentArrayQueue<>(queueCapacity);
+        this.agentNamePrefix = agentNamePrefix;
+        this.runner = new AgentRunner(idleStrategy, errorHandler, null, this);
+        AgentRunner.startOnThread(runner, threadFactory);
+    }
+
+    // Called on Framer Thread
+    boolean offer(final FixPendingAcceptorLogon logon)
+    {
+        return pendingLogons.offer(logon);
+    }
+
+    public int doWork()
+    {
+        return pendingLogons.drain(authenticate);
+    }
+
+    public String roleName()
+    {
+        return agentNamePrefix + "LogonAuthenticator";
+    }
+
+    public void close()
+    {
+        CloseHelper.close(runner);
+    }
+}
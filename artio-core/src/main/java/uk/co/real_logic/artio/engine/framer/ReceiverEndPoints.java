@@ -22,10 +22,9 @@ import org.agrona.nio.TransportPoller;
 import uk.co.real_logic.artio.messages.DisconnectReason;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.util.Arrays;
+import java.util.function.Consumer;
 import java.util.function.LongConsumer;
 import java.util.stream.Stream;
 
@@ -39,41 +38,10 @@ class ReceiverEndPoints extends TransportPoller
     public static final int ARTIO_ITERATION_THRESHOLD = Integer.getInteger(
         ARTIO_ITERATION_THRESHOLD_PROP_NAME, ITERATION_THRESHOLD_DEFAULT);
 
-    // FIXME: >> A temporary workaround to the recursive poll problem
-    private static final Field SELECTED_KEYS_FIELD;
-    private static final Field PUBLIC_SELECTED_KEYS_FIELD;
-    static
-    {
-        Field selectKeysField = null;
-        Field publicSelectKeysField = null;
-
-        try (Selector selector = Selector.open())
-        {
-            final Class<?> clazz = Class.forName("sun.nio.ch.SelectorImpl", false, ClassLoader.getSystemClassLoader());
-
-            if (clazz.isAssignableFrom(selector.getClass()))
-            {
-                selectKeysField = clazz.getDeclaredField("selectedKeys");
-                selectKeysField.setAccessible(true);
-
-                publicSelectKeysField = clazz.getDeclaredField("publicSelectedKeys");
-                publicSelectKeysField.setAccessible(true);
-            }
-        }
-        catch (final Exception ex)
-        {
-            LangUtil.rethrowUnchecked(ex);
-        }
-        finally
-        {
-            SELECTED_KEYS_FIELD = selectKeysField;
-            PUBLIC_SELECTED_KEYS_FIELD = publicSelectKeysField;
-        }
-    }
-
-    private final NioSelectedKeySet selectedKeySet = new NioSelectedKeySet();
-    // FIXME: << temporary workaround
+    private static final int INITIAL_READY_CAPACITY = 16;
+    private static final Consumer<SelectionKey> IGNORE_KEY = (key) -> {};
 
+    private final Consumer<SelectionKey> onReadReady = this::onReadReady;
     private final ErrorHandler errorHandler;
 
     // Authentication flow requires periodic polling of the receiver end points until the authentication is
@@ -84,20 +52,15 @@ class ReceiverEndPoints extends TransportPoller
     // the data into the Aeron stream.
     private ReceiverEndPoint backpressuredEndPoint = null;
 
+    // Endpoints found readable by the last select, filled by a select callback rather than through the selector's
+    // selected key set. Any left over after back pressure are polled before selecting again.
+    private ReceiverEndPoint[] readyEndPoints = new ReceiverEndPoint[0];
+    private int readyCount;
+    private int readyIndex;
+
     ReceiverEndPoints(final ErrorHandler errorHandler)
     {
         this.errorHandler = errorHandler;
-
-        // FIXME: A temporary workaround using legacy Selector hacks
-        try
-        {
-            SELECTED_KEYS_FIELD.set(selector, selectedKeySet);
-            PUBLIC_SELECTED_KEYS_FIELD.set(selector, selectedKeySet);
-        }
-        catch (final Exception ex)
-        {
-            throw new RuntimeException(ex);
-        }
     }
 
     void add(final ReceiverEndPoint endPoint)
@@ -217,11 +180,14 @@ class ReceiverEndPoints extends TransportPoller
         return index;
     }
 
+    // Deregisters cancelled keys, endpoints left over from the last select are dropped as they may have been closed,
+    // readiness is level triggered so those that are still readable are selected again.
     private void selectNowToForceProcessing()
     {
+        discardReadyEndPoints();
         try
         {
-            selector.selectNow();
+            selector.selectNow(IGNORE_KEY);
         }
         catch (final IOException ex)
         {
@@ -274,47 +240,51 @@ class ReceiverEndPoints extends TransportPoller
         }
         else
         {
-            selector.selectNow();
-
-            final SelectionKey[] keys = selectedKeySet.keys();
-            final int size = selectedKeySet.size();
-            int i;
-            for (i = 0; i < size; i++)
+            if (readyIndex == readyCount)
             {
-                final SelectionKey key = keys[i];
-                // key could be null if a ReceiverEndPoint was removed during the processing of a previous key in the
-                // current poll iteration
-                if (key != null)
-                {
-                    final ReceiverEndPoint endPoint = (ReceiverEndPoint)key.attachment();
-                    final int polledBytes = endPoint.poll();
-                    if (polledBytes < 0)
-                    {
-                        backpressuredEndPoint = endPoint;
-                        bytesReceived -= polledBytes;
-                        break;
-                    }
-
-                    bytesReceived += polledBytes;
-                }
+                readyIndex = 0;
+                readyCount = 0;
+                selector.selectNow(onReadReady);
             }
 
-            if (i != 0)
+            final ReceiverEndPoint[] readyEndPoints = this.readyEndPoints;
+            // readyIndex is re-read as polling an endpoint can remove endpoints, which discards the ready ones
+            while (readyIndex < readyCount)
             {
-                if (i == size)
-                {
-                    selectedKeySet.reset();
-                }
-                else
+                final ReceiverEndPoint endPoint = readyEndPoints[readyIndex];
+                readyEndPoints[readyIndex++] = null;
+
+                final int polledBytes = endPoint.poll();
+                if (polledBytes < 0)
                 {
-                    final int skipCount = Math.min(i, selectedKeySet.size());
-                    selectedKeySet.reset(skipCount);
+                    backpressuredEndPoint = endPoint;
+                    bytesReceived -= polledBytes;
+                    break;
                 }
+
+                bytesReceived += polledBytes;
             }
         }
         return bytesReceived;
     }
 
+    private void onReadReady(final SelectionKey key)
+    {
+        if (readyCount == readyEndPoints.length)
+        {
+            readyEndPoints = Arrays.copyOf(readyEndPoints, Math.max(INITIAL_READY_CAPACITY, readyCount << 1));
+        }
+
+        readyEndPoints[readyCount++] = (ReceiverEndPoint)key.attachment();
+    }
+
+    private void discardReadyEndPoints()
+    {
+        Arrays.fill(readyEndPoints, readyIndex, readyCount, null);
+        readyIndex = 0;
+        readyCount = 0;
+    }
+
     private int pollArray(
         final int bytesAlreadyReceived, final ReceiverEndPoint[] endPoints, final int numRequiredPollingEndPoints)
     {
@@ -124,6 +124,11 @@ class ResetSequenceNumberCommand implements Reply<Void>, AdminCommand
         this.timeoutInNs = TimeUnit.MILLISECONDS.toNanos(timeoutInMs);
     }
 
+    long sessionId()
+    {
+        return sessionId;
+    }
+
     public Exception error()
     {
         return error;
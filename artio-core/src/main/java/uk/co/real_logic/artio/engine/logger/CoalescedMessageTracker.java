@@ -0,0 +1,163 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Long2ObjectHashMap;
+import uk.co.real_logic.artio.DebugLogger;
+import uk.co.real_logic.artio.LogTag;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
+import uk.co.real_logic.artio.messages.ThrottleNotificationDecoder;
+import uk.co.real_logic.artio.messages.ThrottleRejectDecoder;
+import uk.co.real_logic.artio.util.CharFormatter;
+
+import java.util.Arrays;
+
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+
+/**
+ * Demultiplexes the messages of a {@link CoalescedReplayQuery} to the handler of each session. A message is only
+ * delivered if it ends within one of its own session's recording ranges, so each handler sees the same messages that
+ * a replay of its session's ranges alone would have delivered.
+ */
+final class CoalescedMessageTracker extends MessageTracker
+{
+    private final ThrottleNotificationDecoder throttleNotification = new ThrottleNotificationDecoder();
+    private final ThrottleRejectDecoder throttleReject = new ThrottleRejectDecoder();
+    private final FixMessageDecoder messageDecoder = new FixMessageDecoder();
+    private final Long2ObjectHashMap<SessionRanges> sessionIdToRanges;
+
+    CoalescedMessageTracker(final LogTag logTag, final Long2ObjectHashMap<SessionRanges> sessionIdToRanges)
+    {
+        super(logTag, null);
+        this.sessionIdToRanges = sessionIdToRanges;
+    }
+
+    public Action onFragment(
+        final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final MessageHeaderDecoder messageHeaderDecoder = this.messageHeaderDecoder;
+        messageHeaderDecoder.wrap(buffer, offset);
+
+        final int messageOffset = offset + MessageHeaderDecoder.ENCODED_LENGTH;
+        final int templateId = messageHeaderDecoder.templateId();
+        final int blockLength = messageHeaderDecoder.blockLength();
+        final int version = messageHeaderDecoder.version();
+
+        final long sessionId;
+        if (templateId == FixMessageDecoder.TEMPLATE_ID)
+        {
+            messageDecoder.wrap(buffer, messageOffset, blockLength, version);
+            sessionId = messageDecoder.session();
+        }
+        else if (templateId == ThrottleNotificationDecoder.TEMPLATE_ID)
+        {
+            throttleNotification.wrap(buffer, messageOffset, blockLength, version);
+            sessionId = throttleNotification.session();
+        }
+        else if (templateId == ThrottleRejectDecoder.TEMPLATE_ID)
+        {
+            throttleReject.wrap(buffer, messageOffset, blockLength, version);
+            sessionId = throttleReject.session();
+        }
+        else
+        {
+            return CONTINUE;
+        }
+
+        final SessionRanges ranges = sessionIdToRanges.get(sessionId);
+        if (ranges == null || !ranges.contains(recordingId, header.position()))
+        {
+            return CONTINUE;
+        }
+
+        if (templateId == FixMessageDecoder.TEMPLATE_ID && DebugLogger.isEnabled(logTag))
+        {
+            messageDecoder.skipMetaData();
+            final int bodyLength = messageDecoder.bodyLength();
+            final int bodyOffset = messageDecoder.limit() + FixMessageDecoder.bodyHeaderLength();
+            final CharFormatter formatter = FOUND_REPLAY_MESSAGE.get();
+            formatter.clear();
+            DebugLogger.log(logTag, formatter, buffer, bodyOffset, bodyLength);
+        }
+
+        final Action action = ranges.handler.onFragment(buffer, offset, length, header);
+        if (action != ABORT)
+        {
+            count++;
+        }
+        return action;
+    }
+
+    /**
+     * The recording ranges that a single session's query found, before they were merged with other sessions' ranges.
+     */
+    static final class SessionRanges
+    {
+        private final ControlledFragmentHandler handler;
+
+        private long[] recordingIds = new long[1];
+        private long[] startPositions = new long[1];
+        private long[] endPositions = new long[1];
+        private int size;
+
+        SessionRanges(final ControlledFragmentHandler handler)
+        {
+            this.handler = handler;
+        }
+
+        void add(final long recordingId, final long startPosition, final long endPosition)
+        {
+            final int size = this.size;
+            if (size == recordingIds.length)
+            {
+                final int newLength = size * 2;
+                recordingIds = Arrays.copyOf(recordingIds, newLength);
+                startPositions = Arrays.copyOf(startPositions, newLength);
+                endPositions = Arrays.copyOf(endPositions, newLength);
+            }
+
+            recordingIds[size] = recordingId;
+            startPositions[size] = startPosition;
+            endPositions[size] = endPosition;
+            this.size = size + 1;
+        }
+
+        long lastRecordingId()
+        {
+            return size == 0 ? Long.MIN_VALUE : recordingIds[size - 1];
+        }
+
+        boolean contains(final long recordingId, final long messageEndPosition)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                if (recordingIds[i] == recordingId &&
+                    messageEndPosition > startPositions[i] &&
+                    messageEndPosition <= endPositions[i])
+                {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import org.agrona.collections.Long2ObjectHashMap;
+import uk.co.real_logic.artio.LogTag;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Builds a single {@link ReplayOperation} that replays the messages of several sessions. The recording ranges of each
+ * session are looked up from its replay index and ranges within the same recording that overlap or are adjacent are
+ * merged, so that one archive replay serves every session whose messages it contains. Messages are demultiplexed to
+ * the handler of their session.
+ *
+ * Obtained from {@link ReplayQuery#coalescedQuery()} and, like its query, this object isn't thread-safe.
+ */
+public final class CoalescedReplayQuery
+{
+    private static final Comparator<RecordingRange> REPLAY_ORDER = (left, right) ->
+    {
+        final int byRecording = Long.compare(left.recordingId, right.recordingId);
+        return byRecording != 0 ? byRecording : Long.compare(left.position, right.position);
+    };
+
+    private final ArrayList<RecordingRange> ranges = new ArrayList<>();
+    private final ReplayQuery replayQuery;
+    private final RecordingRangePool recordingRangePool;
+
+    private Long2ObjectHashMap<CoalescedMessageTracker.SessionRanges> sessionIdToRanges = new Long2ObjectHashMap<>();
+    private int coalescedRanges;
+
+    CoalescedReplayQuery(final ReplayQuery replayQuery, final RecordingRangePool recordingRangePool)
+    {
+        this.replayQuery = replayQuery;
+        this.recordingRangePool = recordingRangePool;
+    }
+
+    /**
+     * Add a session's messages to the next replay built by {@link #build(LogTag)}.
+     *
+     * Sessions that can't be coalesced aren't added: ones without a replay index, ones that have already been added
+     * and ones whose ranges don't span their recordings in order. These should be replayed using
+     * {@link ReplayQuery#query(long, int, int, int, int, LogTag, MessageTracker)} instead.
+     *
+     * @param sessionId the FIX session id of the stream to replay.
+     * @param beginSequenceNumber sequence number to begin replay at (inclusive).
+     * @param beginSequenceIndex the sequence index to begin replay at (inclusive).
+     * @param endSequenceNumber sequence number to end replay at (inclusive).
+     * @param endSequenceIndex the sequence index to end replay at (inclusive).
+     * @param logTag the operation to tag log entries with.
+     * @param handler the handler to which this session's messages are replayed.
+     * @return true if the session has been added, false otherwise.
+     */
+    public boolean addSession(
+        final long sessionId,
+        final int beginSequenceNumber,
+        final int beginSequenceIndex,
+        final int endSequenceNumber,
+        final int endSequenceIndex,
+        final LogTag logTag,
+        final ControlledFragmentHandler handler)
+    {
+        if (sessionIdToRanges.containsKey(sessionId) || !replayQuery.hasSessionIndex(sessionId))
+        {
+            return false;
+        }
+
+        final RecordingRange firstRange = replayQuery.queryRanges(
+            sessionId, beginSequenceNumber, beginSequenceIndex, endSequenceNumber, endSequenceIndex, logTag);
+
+        // Ranges are merged in recording id order, which is only safe if it's this session's replay order
+        final CoalescedMessageTracker.SessionRanges sessionRanges = new CoalescedMessageTracker.SessionRanges(handler);
+        for (RecordingRange range = firstRange; range != null; range = range.next)
+        {
+            if (range.recordingId <= sessionRanges.lastRecordingId())
+            {
+                recordingRangePool.releaseAll(firstRange);
+                return false;
+            }
+
+            sessionRanges.add(range.recordingId, range.position, range.position + range.length);
+        }
+
+        RecordingRange range = firstRange;
+        while (range != null)
+        {
+            final RecordingRange next = range.next;
+            range.next = null;
+            ranges.add(range);
+            range = next;
+        }
+
+        sessionIdToRanges.put(sessionId, sessionRanges);
+        return true;
+    }
+
+    /**
+     * Gets the number of sessions added since the last {@link #build(LogTag)}.
+     *
+     * @return the number of sessions added since the last {@link #build(LogTag)}.
+     */
+    public int sessionCount()
+    {
+        return sessionIdToRanges.size();
+    }
+
+    /**
+     * Build a replay of the messages of all the sessions that have been added and reset this query for the next
+     * batch of sessions.
+     *
+     * @param logTag the operation to tag log entries with.
+     * @return the replay operation, which completes immediately if none of the sessions have messages to replay.
+     */
+    public ReplayOperation build(final LogTag logTag)
+    {
+        final ArrayList<RecordingRange> ranges = this.ranges;
+        ranges.sort(REPLAY_ORDER);
+
+        int coalescedRanges = 0;
+        RecordingRange firstRange = null;
+        RecordingRange lastRange = null;
+        for (int i = 0, size = ranges.size(); i < size; i++)
+        {
+            final RecordingRange range = ranges.get(i);
+            if (lastRange == null)
+            {
+                firstRange = range;
+                lastRange = range;
+            }
+            else if (lastRange.recordingId == range.recordingId &&
+                range.position <= lastRange.position + lastRange.length)
+            {
+                final long end = Math.max(lastRange.position + lastRange.length, range.position + range.length);
+                lastRange.length = end - lastRange.position;
+                lastRange.count += range.count;
+                recordingRangePool.releaseAll(range);
+                coalescedRanges++;
+            }
+            else
+            {
+                lastRange.next = range;
+                lastRange = range;
+            }
+        }
+        ranges.clear();
+        this.coalescedRanges = coalescedRanges;
+
+        final CoalescedMessageTracker tracker = new CoalescedMessageTracker(logTag, sessionIdToRanges);
+        sessionIdToRanges = new Long2ObjectHashMap<>();
+
+        return replayQuery.newReplayOperation(firstRange, logTag, tracker);
+    }
+
+    /**
+     * Gets the number of recording ranges that were merged into another session's range by the last
+     * {@link #build(LogTag)}, each of which is an archive replay saved.
+     *
+     * @return the number of recording ranges that were merged by the last build.
+     */
+    public int coalescedRanges()
+    {
+        return coalescedRanges;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.BitUtil;
+
+import java.nio.ByteOrder;
+
+/**
+ * Describes the layout of the columnar export files written by {@link ColumnarFixMessageWriter} and read by
+ * {@link ColumnarFixMessageReader}. All values are little endian.
+ *
+ * <pre>
+ *   0: int    magic
+ *   4: int    version
+ *   8: int    column count
+ *  12: int    row group count
+ *  16: long   row count
+ *  24: long   offset of the string dictionary
+ *  32: long   offset of the row group index
+ *  40: int    number of strings in the dictionary
+ *  44: int    maximum number of rows in a row group
+ *  48: column descriptors: int tag, int column type
+ *      row groups, each starting 8 byte aligned and holding every column's data for its rows in column order,
+ *      each column's data starts 8 byte aligned within the row group:
+ *        INT       - int[rows in group]
+ *        LONG      - long[rows in group]
+ *        TIMESTAMP - long[rows in group] of nanoseconds since the epoch
+ *        DECIMAL   - long[rows in group] of mantissas followed by int[rows in group] of scales
+ *        STRING    - int[rows in group] of codes into the string dictionary
+ *      string dictionary: int[number of strings] offsets of entries relative to the start of the dictionary, then
+ *      each entry as an int length and bytes.
+ *      row group index: long offset of the row group, int rows in group, int padding for each row group.
+ * </pre>
+ *
+ * Every row group apart from the last one holds the maximum number of rows. Missing values are
+ * {@link uk.co.real_logic.artio.dictionary.generation.CodecUtil#MISSING_INT},
+ * {@link uk.co.real_logic.artio.dictionary.generation.CodecUtil#MISSING_LONG} or {@link #MISSING_STRING_CODE}.
+ */
+public final class ColumnarExportDescriptor
+{
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final int MAGIC = 0x43584641; // "AFXC" in little endian
+    public static final int VERSION = 2;
+
+    public static final int MAGIC_OFFSET = 0;
+    public static final int VERSION_OFFSET = MAGIC_OFFSET + BitUtil.SIZE_OF_INT;
+    public static final int COLUMN_COUNT_OFFSET = VERSION_OFFSET + BitUtil.SIZE_OF_INT;
+    public static final int ROW_GROUP_COUNT_OFFSET = COLUMN_COUNT_OFFSET + BitUtil.SIZE_OF_INT;
+    public static final int ROW_COUNT_OFFSET = ROW_GROUP_COUNT_OFFSET + BitUtil.SIZE_OF_INT;
+    public static final int DICTIONARY_OFFSET_OFFSET = ROW_COUNT_OFFSET + BitUtil.SIZE_OF_LONG;
+    public static final int ROW_GROUP_INDEX_OFFSET_OFFSET = DICTIONARY_OFFSET_OFFSET + BitUtil.SIZE_OF_LONG;
+    public static final int DICTIONARY_SIZE_OFFSET = ROW_GROUP_INDEX_OFFSET_OFFSET + BitUtil.SIZE_OF_LONG;
+    public static final int MAX_ROW_GROUP_ROWS_OFFSET = DICTIONARY_SIZE_OFFSET + BitUtil.SIZE_OF_INT;
+    public static final int HEADER_LENGTH = MAX_ROW_GROUP_ROWS_OFFSET + BitUtil.SIZE_OF_INT;
+
+    public static final int COLUMN_TAG_OFFSET = 0;
+    public static final int COLUMN_TYPE_OFFSET = COLUMN_TAG_OFFSET + BitUtil.SIZE_OF_INT;
+    public static final int COLUMN_DESCRIPTOR_LENGTH = COLUMN_TYPE_OFFSET + BitUtil.SIZE_OF_INT;
+
+    public static final int ROW_GROUP_OFFSET_OFFSET = 0;
+    public static final int ROW_GROUP_ROWS_OFFSET = ROW_GROUP_OFFSET_OFFSET + BitUtil.SIZE_OF_LONG;
+    public static final int ROW_GROUP_DESCRIPTOR_LENGTH = ROW_GROUP_ROWS_OFFSET + 2 * BitUtil.SIZE_OF_INT;
+
+    public static final int COLUMN_ALIGNMENT = BitUtil.SIZE_OF_LONG;
+
+    public static final int MISSING_STRING_CODE = -1;
+
+    /**
+     * Pseudo-tag of the column holding the time that the message was archived, in the precision of the engine's
+     * configured clock.
+     */
+    public static final int ARCHIVE_TIMESTAMP_TAG = -1;
+
+    /**
+     * Pseudo-tag of the column holding the Artio session id of the message.
+     */
+    public static final int SESSION_ID_TAG = -2;
+
+    /**
+     * Pseudo-tag of the column holding the {@link uk.co.real_logic.artio.messages.MessageStatus} value.
+     */
+    public static final int STATUS_TAG = -3;
+
+    public static final int MSG_SEQ_NUM_TAG = 34;
+    public static final int MSG_TYPE_TAG = 35;
+
+    public enum ColumnType
+    {
+        INT(1, BitUtil.SIZE_OF_INT),
+        LONG(2, BitUtil.SIZE_OF_LONG),
+        TIMESTAMP(3, BitUtil.SIZE_OF_LONG),
+        DECIMAL(4, BitUtil.SIZE_OF_LONG + BitUtil.SIZE_OF_INT),
+        STRING(5, BitUtil.SIZE_OF_INT);
+
+        private final int id;
+        private final int bytesPerRow;
+
+        ColumnType(final int id, final int bytesPerRow)
+        {
+            this.id = id;
+            this.bytesPerRow = bytesPerRow;
+        }
+
+        public int id()
+        {
+            return id;
+        }
+
+        public int bytesPerRow()
+        {
+            return bytesPerRow;
+        }
+
+        public static ColumnType get(final int id)
+        {
+            for (final ColumnType type : values())
+            {
+                if (type.id == id)
+                {
+                    return type;
+                }
+            }
+
+            throw new IllegalArgumentException("Unknown column type: " + id);
+        }
+    }
+
+    static int columnDescriptorOffset(final int columnIndex)
+    {
+        return HEADER_LENGTH + columnIndex * COLUMN_DESCRIPTOR_LENGTH;
+    }
+
+    static long columnDataLength(final ColumnType type, final int rowCount)
+    {
+        return (long)rowCount * type.bytesPerRow();
+    }
+
+    /**
+     * Computes the offsets of each column's data relative to the start of a row group.
+     *
+     * @param types the types of the columns.
+     * @param rowCount the number of rows in the row group.
+     * @param columnOffsets the array that the offsets are written to.
+     * @return the length of the row group, including padding after the last column.
+     */
+    static long rowGroupColumnOffsets(final ColumnType[] types, final int rowCount, final long[] columnOffsets)
+    {
+        long position = 0;
+        for (int i = 0; i < types.length; i++)
+        {
+            columnOffsets[i] = position;
+            position = BitUtil.align(position + columnDataLength(types[i], rowCount), COLUMN_ALIGNMENT);
+        }
+        return position;
+    }
+}
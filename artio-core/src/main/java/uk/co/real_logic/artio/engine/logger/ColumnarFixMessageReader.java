@@ -0,0 +1,418 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.BitUtil;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.artio.fields.DecimalFloat;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_LONG;
+import static uk.co.real_logic.artio.engine.logger.ColumnarExportDescriptor.*;
+
+/**
+ * Reads a columnar export file written by {@link ColumnarFixMessageWriter}. The file is memory mapped read only
+ * one row group at a time and values are read directly out of the mapping without copying, so scanning rows in
+ * order only keeps a single row group mapped.
+ *
+ * For scans that want to process a whole column at a time {@link #rowGroupBuffer(int)} and
+ * {@link #columnDataOffset(int)} expose the raw little endian arrays of a row group, see
+ * {@link ColumnarExportDescriptor} for their layout.
+ *
+ * Not thread safe, but separate readers can map the same file concurrently.
+ */
+public class ColumnarFixMessageReader implements AutoCloseable
+{
+    public static final int MISSING_COLUMN = -1;
+    public static final int NO_ROW_GROUP = -1;
+
+    private final File file;
+    private final long rowCount;
+    private final int columnCount;
+    private final int rowGroupCount;
+    private final int maxRowGroupRows;
+    private final int dictionarySize;
+    private final int[] tags;
+    private final ColumnType[] types;
+    private final long[] rowGroupOffsets;
+    private final int[] rowGroupRows;
+    private final long[] columnOffsets;
+    private final MappedByteBuffer dictionaryMappedBuffer;
+    private final UnsafeBuffer dictionaryBuffer;
+    private final UnsafeBuffer rowGroupBuffer = new UnsafeBuffer(0, 0);
+
+    private MappedByteBuffer rowGroupMappedBuffer;
+    private int currentRowGroup = NO_ROW_GROUP;
+    private int currentRowGroupRows;
+
+    public ColumnarFixMessageReader(final File file)
+    {
+        this.file = file;
+
+        final MappedByteBuffer headerMappedBuffer = map(0, Math.min(file.length(), HEADER_LENGTH));
+        try
+        {
+            final UnsafeBuffer header = new UnsafeBuffer(headerMappedBuffer);
+            validateHeader(header);
+
+            columnCount = header.getInt(COLUMN_COUNT_OFFSET, BYTE_ORDER);
+            rowGroupCount = header.getInt(ROW_GROUP_COUNT_OFFSET, BYTE_ORDER);
+            rowCount = header.getLong(ROW_COUNT_OFFSET, BYTE_ORDER);
+            dictionarySize = header.getInt(DICTIONARY_SIZE_OFFSET, BYTE_ORDER);
+            maxRowGroupRows = header.getInt(MAX_ROW_GROUP_ROWS_OFFSET, BYTE_ORDER);
+            final long dictionaryOffset = header.getLong(DICTIONARY_OFFSET_OFFSET, BYTE_ORDER);
+            final long rowGroupIndexOffset = header.getLong(ROW_GROUP_INDEX_OFFSET_OFFSET, BYTE_ORDER);
+
+            tags = new int[columnCount];
+            types = new ColumnType[columnCount];
+            columnOffsets = new long[columnCount];
+            readColumnDescriptors();
+
+            rowGroupOffsets = new long[rowGroupCount];
+            rowGroupRows = new int[rowGroupCount];
+            readRowGroupIndex(rowGroupIndexOffset);
+
+            final long dictionaryLength = rowGroupIndexOffset - dictionaryOffset;
+            dictionaryMappedBuffer = dictionaryLength > 0 ? map(dictionaryOffset, dictionaryLength) : null;
+            dictionaryBuffer = dictionaryMappedBuffer != null ?
+                new UnsafeBuffer(dictionaryMappedBuffer) : new UnsafeBuffer(0, 0);
+        }
+        finally
+        {
+            IoUtil.unmap(headerMappedBuffer);
+        }
+    }
+
+    private MappedByteBuffer map(final long offset, final long length)
+    {
+        return IoUtil.mapExistingFile(file, FileChannel.MapMode.READ_ONLY, "columnar export", offset, length);
+    }
+
+    private void validateHeader(final UnsafeBuffer header)
+    {
+        if (header.capacity() < HEADER_LENGTH)
+        {
+            throw new IllegalArgumentException(file + " is too short to be a columnar export");
+        }
+
+        final int magic = header.getInt(MAGIC_OFFSET, BYTE_ORDER);
+        if (magic != MAGIC)
+        {
+            throw new IllegalArgumentException(file + " is not a columnar export, magic = " + magic);
+        }
+
+        final int version = header.getInt(VERSION_OFFSET, BYTE_ORDER);
+        if (version != VERSION)
+        {
+            throw new IllegalArgumentException(
+                "Unsupported columnar export version " + version + ", expected " + VERSION);
+        }
+    }
+
+    private void readColumnDescriptors()
+    {
+        if (columnCount == 0)
+        {
+            return;
+        }
+
+        final MappedByteBuffer mappedBuffer = map(HEADER_LENGTH, (long)columnCount * COLUMN_DESCRIPTOR_LENGTH);
+        try
+        {
+            final UnsafeBuffer buffer = new UnsafeBuffer(mappedBuffer);
+            for (int i = 0; i < columnCount; i++)
+            {
+                final int descriptorOffset = columnDescriptorOffset(i) - HEADER_LENGTH;
+                tags[i] = buffer.getInt(descriptorOffset + COLUMN_TAG_OFFSET, BYTE_ORDER);
+                types[i] = ColumnType.get(buffer.getInt(descriptorOffset + COLUMN_TYPE_OFFSET, BYTE_ORDER));
+            }
+        }
+        finally
+        {
+            IoUtil.unmap(mappedBuffer);
+        }
+    }
+
+    private void readRowGroupIndex(final long rowGroupIndexOffset)
+    {
+        if (rowGroupCount == 0)
+        {
+            return;
+        }
+
+        final MappedByteBuffer mappedBuffer = map(
+            rowGroupIndexOffset, (long)rowGroupCount * ROW_GROUP_DESCRIPTOR_LENGTH);
+        try
+        {
+            final UnsafeBuffer buffer = new UnsafeBuffer(mappedBuffer);
+            for (int i = 0; i < rowGroupCount; i++)
+            {
+                final int descriptorOffset = i * ROW_GROUP_DESCRIPTOR_LENGTH;
+                rowGroupOffsets[i] = buffer.getLong(descriptorOffset + ROW_GROUP_OFFSET_OFFSET, BYTE_ORDER);
+                rowGroupRows[i] = buffer.getInt(descriptorOffset + ROW_GROUP_ROWS_OFFSET, BYTE_ORDER);
+            }
+        }
+        finally
+        {
+            IoUtil.unmap(mappedBuffer);
+        }
+    }
+
+    public long rowCount()
+    {
+        return rowCount;
+    }
+
+    public int columnCount()
+    {
+        return columnCount;
+    }
+
+    public int rowGroupCount()
+    {
+        return rowGroupCount;
+    }
+
+    public int rowGroupRows(final int rowGroup)
+    {
+        return rowGroupRows[rowGroup];
+    }
+
+    /**
+     * Find the column that a tag was exported into.
+     *
+     * @param tag the FIX tag or one of the pseudo-tags defined in {@link ColumnarExportDescriptor}.
+     * @return the index of the column or {@link #MISSING_COLUMN} if the tag wasn't exported.
+     */
+    public int columnIndex(final int tag)
+    {
+        final int[] tags = this.tags;
+        for (int i = 0; i < tags.length; i++)
+        {
+            if (tags[i] == tag)
+            {
+                return i;
+            }
+        }
+
+        return MISSING_COLUMN;
+    }
+
+    public int columnTag(final int column)
+    {
+        return tags[column];
+    }
+
+    public ColumnType columnType(final int column)
+    {
+        return types[column];
+    }
+
+    public int getInt(final int column, final long row)
+    {
+        final int rowInGroup = selectRow(row);
+        return rowGroupBuffer.getInt(columnDataOffset(column) + rowInGroup * BitUtil.SIZE_OF_INT, BYTE_ORDER);
+    }
+
+    public long getLong(final int column, final long row)
+    {
+        final int rowInGroup = selectRow(row);
+        return rowGroupBuffer.getLong(columnDataOffset(column) + rowInGroup * BitUtil.SIZE_OF_LONG, BYTE_ORDER);
+    }
+
+    /**
+     * Read a value from a {@link ColumnType#DECIMAL} column.
+     *
+     * @param column the index of the column.
+     * @param row the index of the row.
+     * @param value the decimal to read the value into.
+     * @return false if the value is missing, in which case value isn't updated, true otherwise.
+     */
+    public boolean getDecimal(final int column, final long row, final DecimalFloat value)
+    {
+        final long mantissa = getLong(column, row);
+        if (mantissa == MISSING_LONG)
+        {
+            return false;
+        }
+
+        final int rowInGroup = selectRow(row);
+        value.set(
+            mantissa,
+            rowGroupBuffer.getInt(decimalScalesOffset(column) + rowInGroup * BitUtil.SIZE_OF_INT, BYTE_ORDER));
+        return true;
+    }
+
+    /**
+     * Read the dictionary code from a {@link ColumnType#STRING} column. Equal strings have equal codes so
+     * codes can be compared or grouped on without looking them up.
+     *
+     * @param column the index of the column.
+     * @param row the index of the row.
+     * @return the dictionary code or {@link ColumnarExportDescriptor#MISSING_STRING_CODE}.
+     */
+    public int getStringCode(final int column, final long row)
+    {
+        return getInt(column, row);
+    }
+
+    /**
+     * Read a value from a {@link ColumnType#STRING} column. This allocates, use {@link #getStringCode(int, long)}
+     * when scanning large exports.
+     *
+     * @param column the index of the column.
+     * @param row the index of the row.
+     * @return the value or null if it's missing.
+     */
+    public String getString(final int column, final long row)
+    {
+        final int code = getStringCode(column, row);
+        return code == MISSING_STRING_CODE ? null : dictionaryString(code);
+    }
+
+    public int dictionarySize()
+    {
+        return dictionarySize;
+    }
+
+    public String dictionaryString(final int code)
+    {
+        final int entryOffset = dictionaryEntryOffset(code);
+        return dictionaryBuffer.getStringWithoutLengthAscii(
+            entryOffset + BitUtil.SIZE_OF_INT, dictionaryBuffer.getInt(entryOffset, BYTE_ORDER));
+    }
+
+    /**
+     * Gets the offset within {@link #dictionaryBuffer()} of a dictionary entry. Each entry is an int length followed
+     * by the ascii bytes of the string.
+     *
+     * @param code the dictionary code.
+     * @return the offset within {@link #dictionaryBuffer()} of a dictionary entry.
+     */
+    public int dictionaryEntryOffset(final int code)
+    {
+        if (code < 0 || code >= dictionarySize)
+        {
+            throw new IndexOutOfBoundsException("Invalid dictionary code: " + code + ", size = " + dictionarySize);
+        }
+
+        return dictionaryBuffer.getInt(code * BitUtil.SIZE_OF_INT, BYTE_ORDER);
+    }
+
+    /**
+     * Gets the buffer that the string dictionary is mapped into.
+     *
+     * @return the buffer that the string dictionary is mapped into.
+     */
+    public UnsafeBuffer dictionaryBuffer()
+    {
+        return dictionaryBuffer;
+    }
+
+    /**
+     * Maps a row group, unmapping the previously mapped row group, and gets the buffer that it's mapped into. The
+     * buffer is only valid until a different row group is mapped, either by this method or by reading a row that
+     * belongs to a different row group.
+     *
+     * @param rowGroup the index of the row group.
+     * @return the buffer that the row group is mapped into.
+     */
+    public UnsafeBuffer rowGroupBuffer(final int rowGroup)
+    {
+        if (rowGroup != currentRowGroup)
+        {
+            mapRowGroup(rowGroup);
+        }
+
+        return rowGroupBuffer;
+    }
+
+    /**
+     * Gets the offset within the buffer of the currently mapped row group, see {@link #rowGroupBuffer(int)}, that
+     * the column's array of values starts at. Offsets are 8 byte aligned.
+     *
+     * @param column the index of the column.
+     * @return the offset within the row group's buffer that the column's array of values starts at.
+     */
+    public int columnDataOffset(final int column)
+    {
+        return (int)columnOffsets[column];
+    }
+
+    /**
+     * Gets the offset within the buffer of the currently mapped row group, see {@link #rowGroupBuffer(int)}, that
+     * a {@link ColumnType#DECIMAL} column's array of int scales starts at.
+     *
+     * @param column the index of the column.
+     * @return the offset within the row group's buffer that the column's array of scales starts at.
+     */
+    public int decimalScalesOffset(final int column)
+    {
+        return columnDataOffset(column) + currentRowGroupRows * BitUtil.SIZE_OF_LONG;
+    }
+
+    private int selectRow(final long row)
+    {
+        if (row < 0 || row >= rowCount)
+        {
+            throw new IndexOutOfBoundsException("Invalid row: " + row + ", row count = " + rowCount);
+        }
+
+        final int rowGroup = (int)(row / maxRowGroupRows);
+        if (rowGroup != currentRowGroup)
+        {
+            mapRowGroup(rowGroup);
+        }
+
+        return (int)(row - (long)rowGroup * maxRowGroupRows);
+    }
+
+    private void mapRowGroup(final int rowGroup)
+    {
+        final int rows = rowGroupRows[rowGroup];
+        final long length = rowGroupColumnOffsets(types, rows, columnOffsets);
+
+        unmapRowGroup();
+        rowGroupMappedBuffer = map(rowGroupOffsets[rowGroup], length);
+        rowGroupBuffer.wrap(rowGroupMappedBuffer);
+        currentRowGroup = rowGroup;
+        currentRowGroupRows = rows;
+    }
+
+    private void unmapRowGroup()
+    {
+        if (rowGroupMappedBuffer != null)
+        {
+            IoUtil.unmap(rowGroupMappedBuffer);
+            rowGroupMappedBuffer = null;
+            rowGroupBuffer.wrap(0, 0);
+            currentRowGroup = NO_ROW_GROUP;
+        }
+    }
+
+    public void close()
+    {
+        unmapRowGroup();
+        if (dictionaryMappedBuffer != null)
+        {
+            IoUtil.unmap(dictionaryMappedBuffer);
+        }
+    }
+}
@@ -0,0 +1,532 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.BitUtil;
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.LangUtil;
+import org.agrona.collections.Int2IntHashMap;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.Object2IntHashMap;
+import uk.co.real_logic.artio.ArtioLogHeader;
+import uk.co.real_logic.artio.fields.DecimalFloat;
+import uk.co.real_logic.artio.fields.UtcTimestampDecoder;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+import uk.co.real_logic.artio.util.AsciiBuffer;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+import static uk.co.real_logic.artio.dictionary.SessionConstants.START_OF_HEADER;
+import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_INT;
+import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_LONG;
+import static uk.co.real_logic.artio.engine.logger.ColumnarExportDescriptor.*;
+
+/**
+ * A {@link FixMessageConsumer} that extracts a selected set of tags from every message that it is given and writes
+ * them out as a columnar export file, see {@link ColumnarExportDescriptor} for the format.
+ *
+ * The archive timestamp, session id, message status, MsgSeqNum and MsgType columns are always exported. Column
+ * values are buffered in memory one row group at a time and each row group is written out once it's full, the
+ * string dictionary and row group index are written when the writer is closed. The writer is intended for offline
+ * use, for example from {@link FixArchiveColumnarExporter}. Values that can't be parsed as the configured type are
+ * recorded as missing.
+ */
+public class ColumnarFixMessageWriter implements FixMessageConsumer, AutoCloseable
+{
+    private static final int MISSING_COLUMN = -1;
+    private static final int INITIAL_ROW_CAPACITY = 1024;
+    private static final byte[] PADDING = new byte[COLUMN_ALIGNMENT];
+
+    public static final int DEFAULT_MAX_ROW_GROUP_ROWS = 64 * 1024;
+    public static final int MAX_ROW_GROUP_ROWS = 16 * 1024 * 1024;
+
+    private final MutableAsciiBuffer asciiBuffer = new MutableAsciiBuffer();
+    private final DecimalFloat decimalFloat = new DecimalFloat();
+    private final UtcTimestampDecoder timestampDecoder = new UtcTimestampDecoder(false);
+    private final Int2IntHashMap tagToColumn = new Int2IntHashMap(MISSING_COLUMN);
+    private final List<Column> columns = new ArrayList<>();
+    private final Object2IntHashMap<String> stringToCode = new Object2IntHashMap<>(MISSING_STRING_CODE);
+    private final ExpandableArrayBuffer dictionaryEntries = new ExpandableArrayBuffer();
+    private final IntArrayList dictionaryEntryOffsets = new IntArrayList();
+    private final ExpandableArrayBuffer rowGroupIndex = new ExpandableArrayBuffer();
+    private final int maxRowGroupRows;
+    private final FileChannel channel;
+
+    private int dictionaryEntriesLength;
+    private int rowGroupRows;
+    private int rowGroupCount;
+    private long rowCount;
+    private long position;
+    private boolean closed;
+
+    /**
+     * Create the writer with {@link #DEFAULT_MAX_ROW_GROUP_ROWS} rows per row group.
+     *
+     * @param file the file to write the export into.
+     * @param tags the FIX tags to export, in addition to the columns that are always exported.
+     * @param types the type that each of the corresponding tags are exported as.
+     */
+    public ColumnarFixMessageWriter(final File file, final int[] tags, final ColumnType[] types)
+    {
+        this(file, tags, types, DEFAULT_MAX_ROW_GROUP_ROWS);
+    }
+
+    /**
+     * Create the writer.
+     *
+     * @param file the file to write the export into.
+     * @param tags the FIX tags to export, in addition to the columns that are always exported.
+     * @param types the type that each of the corresponding tags are exported as.
+     * @param maxRowGroupRows the number of rows buffered in memory before they're written out as a row group.
+     */
+    public ColumnarFixMessageWriter(
+        final File file, final int[] tags, final ColumnType[] types, final int maxRowGroupRows)
+    {
+        if (tags.length != types.length)
+        {
+            throw new IllegalArgumentException(
+                "Must provide a type for each tag: " + tags.length + " tags but " + types.length + " types");
+        }
+
+        if (maxRowGroupRows <= 0 || maxRowGroupRows > MAX_ROW_GROUP_ROWS)
+        {
+            throw new IllegalArgumentException(
+                "maxRowGroupRows must be between 1 and " + MAX_ROW_GROUP_ROWS + " but was " + maxRowGroupRows);
+        }
+
+        this.maxRowGroupRows = maxRowGroupRows;
+
+        addColumn(ARCHIVE_TIMESTAMP_TAG, ColumnType.LONG);
+        addColumn(SESSION_ID_TAG, ColumnType.LONG);
+        addColumn(STATUS_TAG, ColumnType.INT);
+        addColumn(MSG_SEQ_NUM_TAG, ColumnType.INT);
+        addColumn(MSG_TYPE_TAG, ColumnType.LONG);
+
+        for (int i = 0; i < tags.length; i++)
+        {
+            final int tag = tags[i];
+            if (tag <= 0)
+            {
+                throw new IllegalArgumentException("Invalid tag: " + tag);
+            }
+
+            if (tagToColumn.get(tag) == MISSING_COLUMN)
+            {
+                addColumn(tag, types[i]);
+            }
+        }
+
+        position = BitUtil.align((long)columnDescriptorOffset(columns.size()), COLUMN_ALIGNMENT);
+        channel = open(file);
+    }
+
+    private void addColumn(final int tag, final ColumnType type)
+    {
+        tagToColumn.put(tag, columns.size());
+        columns.add(new Column(tag, type, Math.min(INITIAL_ROW_CAPACITY, maxRowGroupRows)));
+    }
+
+    private static FileChannel open(final File file)
+    {
+        try
+        {
+            return FileChannel.open(file.toPath(), WRITE, CREATE, TRUNCATE_EXISTING);
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+            return null;
+        }
+    }
+
+    public void onMessage(
+        final FixMessageDecoder message,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final ArtioLogHeader header)
+    {
+        addRow(message.timestamp(), message.session(), message.status().value(), buffer, offset, length);
+    }
+
+    void addRow(
+        final long timestamp,
+        final long sessionId,
+        final int status,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length)
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Writer already closed");
+        }
+
+        final int row = rowGroupRows;
+        final List<Column> columns = this.columns;
+        for (int i = 0, size = columns.size(); i < size; i++)
+        {
+            columns.get(i).putMissing(row);
+        }
+
+        columns.get(0).putLong(row, timestamp);
+        columns.get(1).putLong(row, sessionId);
+        columns.get(2).putInt(row, status);
+
+        final MutableAsciiBuffer asciiBuffer = this.asciiBuffer;
+        asciiBuffer.wrap(buffer);
+
+        final int end = offset + length;
+        int tagStart = offset;
+        while (tagStart < end)
+        {
+            final int equalsIndex = asciiBuffer.scan(tagStart, end, '=');
+            if (equalsIndex == AsciiBuffer.UNKNOWN_INDEX)
+            {
+                break;
+            }
+
+            int valueEnd = asciiBuffer.scan(equalsIndex + 1, end, START_OF_HEADER);
+            if (valueEnd == AsciiBuffer.UNKNOWN_INDEX)
+            {
+                valueEnd = end;
+            }
+
+            final int tag = parseTag(asciiBuffer, tagStart, equalsIndex);
+            if (tag != MISSING_INT)
+            {
+                final int columnIndex = tagToColumn.get(tag);
+                if (columnIndex != MISSING_COLUMN)
+                {
+                    final int valueOffset = equalsIndex + 1;
+                    putValue(columns.get(columnIndex), row, valueOffset, valueEnd - valueOffset);
+                }
+            }
+
+            tagStart = valueEnd + 1;
+        }
+
+        rowGroupRows = row + 1;
+        rowCount++;
+        if (rowGroupRows == maxRowGroupRows)
+        {
+            writeRowGroup();
+        }
+    }
+
+    private static int parseTag(final MutableAsciiBuffer asciiBuffer, final int start, final int end)
+    {
+        if (start == end)
+        {
+            return MISSING_INT;
+        }
+
+        int tag = 0;
+        for (int i = start; i < end; i++)
+        {
+            if (!asciiBuffer.isDigit(i) || tag > Integer.MAX_VALUE / 10)
+            {
+                return MISSING_INT;
+            }
+            tag = tag * 10 + asciiBuffer.getDigit(i);
+        }
+
+        return tag;
+    }
+
+    private void putValue(final Column column, final int row, final int valueOffset, final int valueLength)
+    {
+        if (valueLength <= 0)
+        {
+            return;
+        }
+
+        final MutableAsciiBuffer asciiBuffer = this.asciiBuffer;
+        try
+        {
+            switch (column.type)
+            {
+                case INT:
+                    column.putInt(row, asciiBuffer.getInt(valueOffset, valueOffset + valueLength));
+                    break;
+
+                case LONG:
+                    if (column.tag == MSG_TYPE_TAG)
+                    {
+                        column.putLong(row, asciiBuffer.getMessageType(valueOffset, valueLength));
+                    }
+                    else
+                    {
+                        column.putLong(row, asciiBuffer.parseLongAscii(valueOffset, valueLength));
+                    }
+                    break;
+
+                case TIMESTAMP:
+                    column.putLong(row, timestampDecoder.decodeNanos(asciiBuffer, valueOffset, valueLength));
+                    break;
+
+                case DECIMAL:
+                    asciiBuffer.getFloat(decimalFloat, valueOffset, valueLength);
+                    column.putDecimal(row, decimalFloat.value(), decimalFloat.scale());
+                    break;
+
+                case STRING:
+                    column.putInt(row, stringCode(asciiBuffer.getAscii(valueOffset, valueLength)));
+                    break;
+            }
+        }
+        catch (final IllegalArgumentException | ArithmeticException | IndexOutOfBoundsException e)
+        {
+            // Invalid value for the column type, leave it marked as missing.
+        }
+    }
+
+    private int stringCode(final String value)
+    {
+        int code = stringToCode.getValue(value);
+        if (code == MISSING_STRING_CODE)
+        {
+            code = dictionaryEntryOffsets.size();
+            stringToCode.put(value, code);
+
+            final int entryOffset = dictionaryEntriesLength;
+            final int length = value.length();
+            final long dictionaryLength =
+                (long)(code + 1) * BitUtil.SIZE_OF_INT + entryOffset + BitUtil.SIZE_OF_INT + length;
+            if (dictionaryLength > Integer.MAX_VALUE - COLUMN_ALIGNMENT)
+            {
+                throw new IllegalStateException(
+                    "String dictionary of " + dictionaryLength + " bytes exceeds the maximum single mapping size, " +
+                    "export fewer STRING columns or a smaller time range");
+            }
+
+            dictionaryEntries.putInt(entryOffset, length, BYTE_ORDER);
+            dictionaryEntries.putStringWithoutLengthAscii(entryOffset + BitUtil.SIZE_OF_INT, value);
+            dictionaryEntryOffsets.addInt(entryOffset);
+            dictionaryEntriesLength = entryOffset + BitUtil.SIZE_OF_INT + length;
+        }
+
+        return code;
+    }
+
+    public long rowCount()
+    {
+        return rowCount;
+    }
+
+    private void writeRowGroup()
+    {
+        final int rows = rowGroupRows;
+        if (rows == 0)
+        {
+            return;
+        }
+
+        final long rowGroupOffset = position;
+        final List<Column> columns = this.columns;
+        for (int i = 0, size = columns.size(); i < size; i++)
+        {
+            columns.get(i).writeTo(this, rows);
+            pad();
+        }
+
+        final int indexOffset = rowGroupCount * ROW_GROUP_DESCRIPTOR_LENGTH;
+        rowGroupIndex.putLong(indexOffset + ROW_GROUP_OFFSET_OFFSET, rowGroupOffset, BYTE_ORDER);
+        rowGroupIndex.putInt(indexOffset + ROW_GROUP_ROWS_OFFSET, rows, BYTE_ORDER);
+        rowGroupIndex.putInt(indexOffset + ROW_GROUP_ROWS_OFFSET + BitUtil.SIZE_OF_INT, 0, BYTE_ORDER);
+        rowGroupCount++;
+        rowGroupRows = 0;
+    }
+
+    private void write(final ExpandableArrayBuffer buffer, final int length)
+    {
+        write(ByteBuffer.wrap(buffer.byteArray(), 0, length));
+    }
+
+    private void write(final ByteBuffer buffer)
+    {
+        try
+        {
+            while (buffer.hasRemaining())
+            {
+                position += channel.write(buffer, position);
+            }
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+    }
+
+    private void pad()
+    {
+        final int paddingLength = (int)(BitUtil.align(position, COLUMN_ALIGNMENT) - position);
+        if (paddingLength > 0)
+        {
+            write(ByteBuffer.wrap(PADDING, 0, paddingLength));
+        }
+    }
+
+    /**
+     * Writes out the last row group, the string dictionary, the row group index and the header. The writer can't
+     * be used after it has been closed.
+     */
+    public void close()
+    {
+        if (closed)
+        {
+            return;
+        }
+        closed = true;
+
+        try
+        {
+            writeRowGroup();
+
+            final long dictionaryOffset = position;
+            final int dictionarySize = dictionaryEntryOffsets.size();
+            final int dictionaryHeaderLength = dictionarySize * BitUtil.SIZE_OF_INT;
+            final ExpandableArrayBuffer dictionaryHeader = new ExpandableArrayBuffer(
+                Math.max(dictionaryHeaderLength, BitUtil.SIZE_OF_INT));
+            for (int code = 0; code < dictionarySize; code++)
+            {
+                dictionaryHeader.putInt(
+                    code * BitUtil.SIZE_OF_INT,
+                    dictionaryHeaderLength + dictionaryEntryOffsets.getInt(code),
+                    BYTE_ORDER);
+            }
+            write(dictionaryHeader, dictionaryHeaderLength);
+            write(dictionaryEntries, dictionaryEntriesLength);
+            pad();
+
+            final long rowGroupIndexOffset = position;
+            write(rowGroupIndex, rowGroupCount * ROW_GROUP_DESCRIPTOR_LENGTH);
+
+            final List<Column> columns = this.columns;
+            final int columnCount = columns.size();
+            final ExpandableArrayBuffer header = new ExpandableArrayBuffer(columnDescriptorOffset(columnCount));
+            header.putInt(MAGIC_OFFSET, MAGIC, BYTE_ORDER);
+            header.putInt(VERSION_OFFSET, VERSION, BYTE_ORDER);
+            header.putInt(COLUMN_COUNT_OFFSET, columnCount, BYTE_ORDER);
+            header.putInt(ROW_GROUP_COUNT_OFFSET, rowGroupCount, BYTE_ORDER);
+            header.putLong(ROW_COUNT_OFFSET, rowCount, BYTE_ORDER);
+            header.putLong(DICTIONARY_OFFSET_OFFSET, dictionaryOffset, BYTE_ORDER);
+            header.putLong(ROW_GROUP_INDEX_OFFSET_OFFSET, rowGroupIndexOffset, BYTE_ORDER);
+            header.putInt(DICTIONARY_SIZE_OFFSET, dictionarySize, BYTE_ORDER);
+            header.putInt(MAX_ROW_GROUP_ROWS_OFFSET, maxRowGroupRows, BYTE_ORDER);
+            for (int i = 0; i < columnCount; i++)
+            {
+                final Column column = columns.get(i);
+                final int descriptorOffset = columnDescriptorOffset(i);
+                header.putInt(descriptorOffset + COLUMN_TAG_OFFSET, column.tag, BYTE_ORDER);
+                header.putInt(descriptorOffset + COLUMN_TYPE_OFFSET, column.type.id(), BYTE_ORDER);
+            }
+
+            position = 0;
+            write(header, columnDescriptorOffset(columnCount));
+
+            channel.force(true);
+        }
+        catch (final IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+        finally
+        {
+            CloseHelper.close(channel);
+        }
+    }
+
+    private static final class Column
+    {
+        private final int tag;
+        private final ColumnType type;
+        private final ExpandableArrayBuffer values;
+        private final ExpandableArrayBuffer scales;
+
+        Column(final int tag, final ColumnType type, final int initialRowCapacity)
+        {
+            this.tag = tag;
+            this.type = type;
+            values = new ExpandableArrayBuffer(initialRowCapacity * type.bytesPerRow());
+            scales = type == ColumnType.DECIMAL ?
+                new ExpandableArrayBuffer(initialRowCapacity * BitUtil.SIZE_OF_INT) : null;
+        }
+
+        void putMissing(final int row)
+        {
+            switch (type)
+            {
+                case INT:
+                    putInt(row, MISSING_INT);
+                    break;
+
+                case LONG:
+                case TIMESTAMP:
+                    putLong(row, MISSING_LONG);
+                    break;
+
+                case DECIMAL:
+                    putDecimal(row, MISSING_LONG, 0);
+                    break;
+
+                case STRING:
+                    putInt(row, MISSING_STRING_CODE);
+                    break;
+            }
+        }
+
+        void putInt(final int row, final int value)
+        {
+            values.putInt(row * BitUtil.SIZE_OF_INT, value, BYTE_ORDER);
+        }
+
+        void putLong(final int row, final long value)
+        {
+            values.putLong(row * BitUtil.SIZE_OF_LONG, value, BYTE_ORDER);
+        }
+
+        void putDecimal(final int row, final long mantissa, final int scale)
+        {
+            values.putLong(row * BitUtil.SIZE_OF_LONG, mantissa, BYTE_ORDER);
+            scales.putInt(row * BitUtil.SIZE_OF_INT, scale, BYTE_ORDER);
+        }
+
+        // Rows are indexes within the current row group, which is bounded by MAX_ROW_GROUP_ROWS, so these lengths
+        // can't overflow.
+        void writeTo(final ColumnarFixMessageWriter writer, final int rowCount)
+        {
+            if (type == ColumnType.DECIMAL)
+            {
+                writer.write(values, rowCount * BitUtil.SIZE_OF_LONG);
+                writer.write(scales, rowCount * BitUtil.SIZE_OF_INT);
+            }
+            else
+            {
+                writer.write(values, rowCount * type.bytesPerRow());
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.collections.IntHashSet;
+import uk.co.real_logic.artio.CommonConfiguration;
+import uk.co.real_logic.artio.engine.logger.ColumnarExportDescriptor.ColumnType;
+
+import java.io.File;
+import java.io.PrintStream;
+
+import static java.lang.Long.parseLong;
+import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_OUTBOUND_LIBRARY_STREAM;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_ARCHIVE_SCANNER_STREAM;
+import static uk.co.real_logic.artio.engine.logger.FixMessagePredicates.*;
+
+/**
+ * Exports the FIX messages in an archive into a columnar binary file that can be read with
+ * {@link ColumnarFixMessageReader}.
+ *
+ * Eg:
+ * java uk.co.real_logic.artio.engine.logger.FixArchiveColumnarExporter \
+ *   --aeron-dir-name=/dev/shm/aeron \
+ *   --aeron-channel=aeron:ipc \
+ *   --output-file=fills.afxc \
+ *   --columns=52:timestamp,44:decimal,38:decimal,55:string,54:string
+ */
+public final class FixArchiveColumnarExporter
+{
+    public static void main(final String[] args)
+    {
+        new FixArchiveColumnarExporter(System.out, System.err).export(args);
+    }
+
+    private final IntHashSet queryStreamIds = new IntHashSet();
+    private String logFileDir = null;
+    private String aeronDirectoryName = null;
+    private String aeronChannel = null;
+    private String outputFile = null;
+    private int archiveScannerStreamId = DEFAULT_ARCHIVE_SCANNER_STREAM;
+    private FixMessagePredicate predicate = FixMessagePredicates.alwaysTrue();
+    private int[] tags = new int[0];
+    private ColumnType[] types = new ColumnType[0];
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public FixArchiveColumnarExporter(final PrintStream out, final PrintStream err)
+    {
+        this.out = out;
+        this.err = err;
+    }
+
+    public void export(final String[] args)
+    {
+        parseArgs(args);
+        validateArgs();
+
+        final FixArchiveScanner.Configuration configuration = new FixArchiveScanner.Configuration()
+            .aeronDirectoryName(aeronDirectoryName)
+            .idleStrategy(CommonConfiguration.backoffIdleStrategy());
+
+        if (logFileDir != null)
+        {
+            configuration.logFileDir(logFileDir);
+        }
+
+        final ColumnarFixMessageWriter writer = new ColumnarFixMessageWriter(new File(outputFile), tags, types);
+        try (FixArchiveScanner scanner = new FixArchiveScanner(configuration))
+        {
+            out.println("Starting Export ... ");
+            scanner.scan(
+                aeronChannel,
+                queryStreamIds,
+                filterBy(writer, predicate),
+                (fixPMessage, buffer, offset, header) -> {},
+                false,
+                archiveScannerStreamId);
+        }
+
+        writer.close();
+        out.printf("Exported %d messages to %s%n", writer.rowCount(), outputFile);
+    }
+
+    private void parseArgs(final String[] args)
+    {
+        for (final String arg : args)
+        {
+            final int eqIndex = arg.indexOf('=');
+            final String optionName = eqIndex != -1 ? arg.substring(2, eqIndex) : arg.substring(2);
+
+            if ("help".equals(optionName))
+            {
+                printHelp();
+                System.exit(0);
+            }
+
+            if (eqIndex == -1)
+            {
+                err.println("--help is the only option that doesn't take a value");
+                printHelp();
+                System.exit(-1);
+            }
+
+            final String optionValue = arg.substring(eqIndex + 1);
+
+            switch (optionName)
+            {
+                case "from":
+                    predicate = from(parseLong(optionValue)).and(predicate);
+                    break;
+                case "to":
+                    predicate = to(parseLong(optionValue)).and(predicate);
+                    break;
+                case "message-types":
+                    predicate = messageTypeOf(optionValue.split(",")).and(predicate);
+                    break;
+                case "columns":
+                    parseColumns(optionValue);
+                    break;
+                case "query-stream-id":
+                    queryStreamIds.add(Integer.parseInt(optionValue));
+                    break;
+                case "archive-scanner-stream-id":
+                    archiveScannerStreamId = Integer.parseInt(optionValue);
+                    break;
+                case "aeron-dir-name":
+                    aeronDirectoryName = optionValue;
+                    break;
+                case "aeron-channel":
+                    aeronChannel = optionValue;
+                    break;
+                case "output-file":
+                    outputFile = optionValue;
+                    break;
+                case "log-file-dir":
+                    logFileDir = optionValue;
+                    break;
+            }
+        }
+    }
+
+    private void parseColumns(final String optionValue)
+    {
+        final String[] columns = optionValue.split(",");
+        tags = new int[columns.length];
+        types = new ColumnType[columns.length];
+        for (int i = 0; i < columns.length; i++)
+        {
+            final String column = columns[i];
+            final int colonIndex = column.indexOf(':');
+            if (colonIndex == -1)
+            {
+                tags[i] = Integer.parseInt(column.trim());
+                types[i] = ColumnType.STRING;
+            }
+            else
+            {
+                tags[i] = Integer.parseInt(column.substring(0, colonIndex).trim());
+                types[i] = ColumnType.valueOf(column.substring(colonIndex + 1).trim().toUpperCase());
+            }
+        }
+    }
+
+    private void validateArgs()
+    {
+        if (queryStreamIds.isEmpty())
+        {
+            queryStreamIds.add(DEFAULT_OUTBOUND_LIBRARY_STREAM);
+        }
+
+        requiredArgument(aeronDirectoryName, "aeron-dir-name");
+        requiredArgument(aeronChannel, "aeron-channel");
+        requiredArgument(outputFile, "output-file");
+    }
+
+    private void requiredArgument(final String argument, final String description)
+    {
+        if (argument == null)
+        {
+            err.printf("Missing required --%s argument%n", description);
+            printHelp();
+            System.exit(-1);
+        }
+    }
+
+    private void printHelp()
+    {
+        out.println("FixArchiveColumnarExporter Options");
+        out.println("All options are specified in the form: --optionName=optionValue");
+
+        printOption(
+            "aeron-dir-name",
+            "Specifies the media driver directory, should be the same as your aeronContext.aeronDirectoryName()",
+            true);
+        printOption(
+            "aeron-channel",
+            "Specifies the aeron channel that was used by the engine",
+            true);
+        printOption(
+            "output-file",
+            "The file to write the export into",
+            true);
+        printOption(
+            "columns",
+            "Comma separated list of tag:type pairs to export, type is one of int, long, timestamp, decimal or " +
+            "string and defaults to string. The archive timestamp, session id, status, MsgSeqNum and MsgType are " +
+            "always exported",
+            false);
+        printOption(
+            "from",
+            "Time in precision of CommonConfiguration.clock() that messages are not earlier than",
+            false);
+        printOption(
+            "to",
+            "Time in precision of CommonConfiguration.clock() that messages are not later than",
+            false);
+        printOption(
+            "message-types",
+            "Comma separated list of the message types (35=) that are exported",
+            false);
+        printOption(
+            "query-stream-id",
+            "Only export messages where the query-stream-id matches this." +
+            " This should be your configuration.inboundLibraryStream() or configuration.outboundLibraryStream(). " +
+            "Defaults to outbound. Can be used twice in order to export both inbound and outbound streams.",
+            false);
+        printOption(
+            "archive-scanner-stream-id",
+            "The stream id used by the archive scanner, defaults to EngineConfiguration.DEFAULT_ARCHIVE_SCANNER_STREAM",
+            false);
+        printOption(
+            "log-file-dir",
+            "Specifies a logFileDir option, this should be the same as provided to your EngineConfiguration." +
+            " This can be used to optimize scans that are time based",
+            false);
+        printOption(
+            "help",
+            "Only prints this help message.",
+            false);
+    }
+
+    private void printOption(final String name, final String description, final boolean required)
+    {
+        out.printf("  --%-25s [%s] - %s%n", name, required ? "required" : "optional", description);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.collections.IntHashSet;
+import org.agrona.concurrent.OffsetEpochNanoClock;
+import uk.co.real_logic.artio.CommonConfiguration;
+
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+
+import static java.lang.Long.parseLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_INBOUND_LIBRARY_STREAM;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_ARCHIVE_SCANNER_STREAM;
+import static uk.co.real_logic.artio.engine.logger.FixMessagePredicates.*;
+import static uk.co.real_logic.artio.timing.HistogramLogReader.prettyPrint;
+
+/**
+ * Replays the inbound FIX messages from an archive against a running engine as a load test, see
+ * {@link ReproductionLoadGenerator}.
+ *
+ * Eg:
+ * java uk.co.real_logic.artio.engine.logger.FixArchiveLoadGenerator \
+ *   --aeron-dir-name=/dev/shm/aeron \
+ *   --aeron-channel=aeron:ipc \
+ *   --target-port=9999 \
+ *   --speed=10
+ */
+public final class FixArchiveLoadGenerator
+{
+    private static final double NANOS_TO_MICROS = 1000.0;
+
+    public static void main(final String[] args)
+    {
+        new FixArchiveLoadGenerator(System.out, System.err).generate(args);
+    }
+
+    private final IntHashSet queryStreamIds = new IntHashSet();
+    private String logFileDir = null;
+    private String aeronDirectoryName = null;
+    private String aeronChannel = null;
+    private String targetHost = "localhost";
+    private int targetPort = -1;
+    private double speed = 1;
+    private boolean rewriteSendingTime = true;
+    private long drainTimeoutInMs = 1000;
+    private int archiveScannerStreamId = DEFAULT_ARCHIVE_SCANNER_STREAM;
+    private FixMessagePredicate predicate = FixMessagePredicates.alwaysTrue();
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public FixArchiveLoadGenerator(final PrintStream out, final PrintStream err)
+    {
+        this.out = out;
+        this.err = err;
+    }
+
+    public void generate(final String[] args)
+    {
+        parseArgs(args);
+        validateArgs();
+
+        final FixArchiveScanner.Configuration configuration = new FixArchiveScanner.Configuration()
+            .aeronDirectoryName(aeronDirectoryName)
+            .idleStrategy(CommonConfiguration.backoffIdleStrategy());
+
+        if (logFileDir != null)
+        {
+            configuration.logFileDir(logFileDir);
+        }
+
+        final RecordedInboundMessages recordedMessages = new RecordedInboundMessages();
+        try (FixArchiveScanner scanner = new FixArchiveScanner(configuration))
+        {
+            out.println("Starting Scan ... ");
+            scanner.scan(
+                aeronChannel,
+                queryStreamIds,
+                filterBy(recordedMessages, predicate),
+                (fixPMessage, buffer, offset, header) -> {},
+                false,
+                archiveScannerStreamId);
+        }
+
+        out.printf("Replaying %d messages to %s:%d%n", recordedMessages.size(), targetHost, targetPort);
+
+        try (ReproductionLoadGenerator generator = new ReproductionLoadGenerator(
+            new InetSocketAddress(targetHost, targetPort),
+            speed,
+            rewriteSendingTime,
+            MILLISECONDS.toNanos(drainTimeoutInMs),
+            new OffsetEpochNanoClock()))
+        {
+            generator.replay(recordedMessages);
+
+            out.printf("Sent %d messages over %d connections in %d ms%n",
+                generator.messagesSent(),
+                generator.connectionCount(),
+                NANOSECONDS.toMillis(generator.durationInNs()));
+            if (generator.disconnectedConnectionCount() > 0)
+            {
+                out.printf("Skipped %d messages after %d connections disconnected%n",
+                    generator.messagesSkipped(),
+                    generator.disconnectedConnectionCount());
+            }
+
+            final long timestampInMs = System.currentTimeMillis();
+            prettyPrint(timestampInMs, generator.sendLagHistogram(), "Send Lag (us)", NANOS_TO_MICROS);
+            prettyPrint(
+                timestampInMs,
+                generator.timeToNextInboundBytesHistogram(),
+                "Time To Next Inbound Bytes (us)",
+                NANOS_TO_MICROS);
+        }
+    }
+
+    private void parseArgs(final String[] args)
+    {
+        for (final String arg : args)
+        {
+            final int eqIndex = arg.indexOf('=');
+            final String optionName = eqIndex != -1 ? arg.substring(2, eqIndex) : arg.substring(2);
+
+            if ("help".equals(optionName))
+            {
+                printHelp();
+                System.exit(0);
+            }
+
+            if (eqIndex == -1)
+            {
+                err.println("--help is the only option that doesn't take a value");
+                printHelp();
+                System.exit(-1);
+            }
+
+            final String optionValue = arg.substring(eqIndex + 1);
+
+            switch (optionName)
+            {
+                case "from":
+                    predicate = from(parseLong(optionValue)).and(predicate);
+                    break;
+                case "to":
+                    predicate = to(parseLong(optionValue)).and(predicate);
+                    break;
+                case "target-host":
+                    targetHost = optionValue;
+                    break;
+                case "target-port":
+                    targetPort = Integer.parseInt(optionValue);
+                    break;
+                case "speed":
+                    speed = "max".equals(optionValue) ?
+                        ReproductionLoadGenerator.MAXIMUM_SPEED : Double.parseDouble(optionValue);
+                    break;
+                case "rewrite-sending-time":
+                    rewriteSendingTime = Boolean.parseBoolean(optionValue);
+                    break;
+                case "drain-timeout-ms":
+                    drainTimeoutInMs = parseLong(optionValue);
+                    break;
+                case "query-stream-id":
+                    queryStreamIds.add(Integer.parseInt(optionValue));
+                    break;
+                case "archive-scanner-stream-id":
+                    archiveScannerStreamId = Integer.parseInt(optionValue);
+                    break;
+                case "aeron-dir-name":
+                    aeronDirectoryName = optionValue;
+                    break;
+                case "aeron-channel":
+                    aeronChannel = optionValue;
+                    break;
+                case "log-file-dir":
+                    logFileDir = optionValue;
+                    break;
+            }
+        }
+    }
+
+    private void validateArgs()
+    {
+        if (queryStreamIds.isEmpty())
+        {
+            queryStreamIds.add(DEFAULT_INBOUND_LIBRARY_STREAM);
+        }
+
+        requiredArgument(aeronDirectoryName, "aeron-dir-name");
+        requiredArgument(aeronChannel, "aeron-channel");
+
+        if (targetPort == -1)
+        {
+            err.println("Missing required --target-port argument");
+            printHelp();
+            System.exit(-1);
+        }
+    }
+
+    private void requiredArgument(final String argument, final String description)
+    {
+        if (argument == null)
+        {
+            err.printf("Missing required --%s argument%n", description);
+            printHelp();
+            System.exit(-1);
+        }
+    }
+
+    private void printHelp()
+    {
+        out.println("FixArchiveLoadGenerator Options");
+        out.println("All options are specified in the form: --optionName=optionValue");
+
+        printOption(
+            "aeron-dir-name",
+            "Specifies the media driver directory, should be the same as your aeronContext.aeronDirectoryName()",
+            true);
+        printOption(
+            "aeron-channel",
+            "Specifies the aeron channel that was used by the engine",
+            true);
+        printOption(
+            "target-port",
+            "The port that the engine under test accepts FIX connections on",
+            true);
+        printOption(
+            "target-host",
+            "The host that the engine under test accepts FIX connections on, defaults to localhost",
+            false);
+        printOption(
+            "speed",
+            "Multiple of the recorded message rate to replay at, eg: 1 or 10, or max to send as fast as possible. " +
+            "Defaults to 1",
+            false);
+        printOption(
+            "rewrite-sending-time",
+            "Whether to overwrite the SendingTime of each message with the time it is sent, defaults to true",
+            false);
+        printOption(
+            "drain-timeout-ms",
+            "How long to keep reading responses after the last message has been sent, defaults to 1000",
+            false);
+        printOption(
+            "from",
+            "Time in precision of CommonConfiguration.clock() that messages are not earlier than",
+            false);
+        printOption(
+            "to",
+            "Time in precision of CommonConfiguration.clock() that messages are not later than",
+            false);
+        printOption(
+            "query-stream-id",
+            "The stream id that recorded messages are read from, this should be your " +
+            "configuration.inboundLibraryStream(). Defaults to inbound.",
+            false);
+        printOption(
+            "archive-scanner-stream-id",
+            "The stream id used by the archive scanner, defaults to EngineConfiguration.DEFAULT_ARCHIVE_SCANNER_STREAM",
+            false);
+        printOption(
+            "log-file-dir",
+            "Specifies a logFileDir option, this should be the same as provided to your EngineConfiguration." +
+            " This can be used to optimize scans that are time based",
+            false);
+        printOption(
+            "help",
+            "Only prints this help message.",
+            false);
+    }
+
+    private void printOption(final String name, final String description, final boolean required)
+    {
+        out.printf("  --%-25s [%s] - %s%n", name, required ? "required" : "optional", description);
+    }
+}
@@ -52,6 +52,10 @@ public class FixPReplayerSession extends ReplayerSession
     private final AbstractFixPOffsets fixPOffsets;
     private final FixPRetransmitHandler fixPRetransmitHandler;
 
+    // Non-null when the retransmit is served from the engine's window of recently sent messages
+    private FixPRetransmitWindow retransmitWindow;
+    private long nextWindowSeqNo;
+
     private boolean mustSendSequenceMessage = false;
 
     private enum State
@@ -83,6 +87,33 @@ public class FixPReplayerSession extends ReplayerSession
         final FixPRetransmitHandler fixPRetransmitHandler,
         final AtomicCounter bytesInBuffer,
         final int maxBytesInBuffer)
+    {
+        this(connectionId, correlationId, bufferClaim, idleStrategy, maxClaimAttempts, publication, replayQuery,
+            beginSeqNo, endSeqNo, sessionId, replayer, gapfillOnRetransmitILinkTemplateIds, fixPMessageEncoder,
+            binaryParser, binaryProxy, fixPOffsets, fixPRetransmitHandler, bytesInBuffer, maxBytesInBuffer, null);
+    }
+
+    public FixPReplayerSession(
+        final long connectionId,
+        final long correlationId,
+        final BufferClaim bufferClaim,
+        final IdleStrategy idleStrategy,
+        final int maxClaimAttempts,
+        final ExclusivePublication publication,
+        final ReplayQuery replayQuery,
+        final int beginSeqNo,
+        final int endSeqNo,
+        final long sessionId,
+        final Replayer replayer,
+        final IntHashSet gapfillOnRetransmitILinkTemplateIds,
+        final FixPMessageEncoder fixPMessageEncoder,
+        final AbstractFixPParser binaryParser,
+        final AbstractFixPProxy binaryProxy,
+        final AbstractFixPOffsets fixPOffsets,
+        final FixPRetransmitHandler fixPRetransmitHandler,
+        final AtomicCounter bytesInBuffer,
+        final int maxBytesInBuffer,
+        final FixPRetransmitWindow retransmitWindow)
     {
         super(connectionId, correlationId, bufferClaim, idleStrategy, maxClaimAttempts, publication, replayQuery,
             beginSeqNo, endSeqNo,
@@ -94,11 +125,24 @@ public class FixPReplayerSession extends ReplayerSession
         this.binaryProxy = binaryProxy;
         this.fixPOffsets = fixPOffsets;
         this.fixPRetransmitHandler = fixPRetransmitHandler;
+        this.retransmitWindow = retransmitWindow;
 
         state = State.REPLAYING;
     }
 
     void query()
+    {
+        if (retransmitWindow != null)
+        {
+            nextWindowSeqNo = beginSeqNo;
+        }
+        else
+        {
+            queryArchive(beginSeqNo);
+        }
+    }
+
+    private void queryArchive(final int beginSeqNo)
     {
         replayOperation = replayQuery.query(
             sessionId,
@@ -110,6 +154,36 @@ public class FixPReplayerSession extends ReplayerSession
             new FixPMessageTracker(this, binaryParser, (endSeqNo - beginSeqNo) + 1));
     }
 
+    // returns true when all the messages have been replayed from the window
+    private boolean pollWindow()
+    {
+        final FixPRetransmitWindow retransmitWindow = this.retransmitWindow;
+        final long endSeqNo = this.endSeqNo;
+        long seqNo = nextWindowSeqNo;
+        while (seqNo <= endSeqNo)
+        {
+            if (!retransmitWindow.contains(seqNo))
+            {
+                // Newer messages have evicted the rest of the range whilst back-pressured, so fall back to the archive
+                this.retransmitWindow = null;
+                queryArchive((int)seqNo);
+                return false;
+            }
+
+            final Action action = onFragment(
+                retransmitWindow.buffer(), retransmitWindow.offset(seqNo), retransmitWindow.length(seqNo), null);
+            if (action == Action.ABORT)
+            {
+                break;
+            }
+
+            seqNo++;
+        }
+
+        nextWindowSeqNo = seqNo;
+        return seqNo > endSeqNo;
+    }
+
     public boolean attemptReplay()
     {
         switch (state)
@@ -133,7 +207,15 @@ public class FixPReplayerSession extends ReplayerSession
 
             case REPLAYING:
             {
-                if (replayOperation.pollReplay())
+                if (retransmitWindow != null)
+                {
+                    if (pollWindow())
+                    {
+                        DebugLogger.log(REPLAY_ATTEMPT, "ReplayerSession: REPLAYING step from window");
+                        state = State.SEND_COMPLETE_MESSAGE;
+                    }
+                }
+                else if (replayOperation.pollReplay())
                 {
                     DebugLogger.log(REPLAY_ATTEMPT, "ReplayerSession: REPLAYING step");
                     state = State.SEND_COMPLETE_MESSAGE;
@@ -143,7 +225,7 @@ public class FixPReplayerSession extends ReplayerSession
 
             case CLOSING:
             {
-                return replayOperation.pollReplay();
+                return replayOperation == null || replayOperation.pollReplay();
             }
 
             default:
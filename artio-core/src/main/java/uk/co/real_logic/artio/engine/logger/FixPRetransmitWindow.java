@@ -0,0 +1,153 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd., Monotonic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static org.agrona.BitUtil.findNextPositivePowerOfTwo;
+
+/**
+ * The most recently sent business messages of a single FIXP session, indexed by sequence number. Messages are held as
+ * they were written to the outbound library stream so that a retransmit can be served exactly as an archive replay
+ * would be.
+ *
+ * Messages are copied into a ring of bytes and each sequence number's slot records where its message was written.
+ * The window only ever holds a contiguous run of sequence numbers, the oldest messages are evicted when either the
+ * slots or the bytes run out.
+ */
+final class FixPRetransmitWindow
+{
+    static final long EMPTY = -1;
+
+    private final UnsafeBuffer buffer;
+    private final int byteCapacity;
+    private final long[] positions;
+    private final int[] lengths;
+    private final int mask;
+
+    private long writePosition;
+    private long minSeqNo = EMPTY;
+    private long maxSeqNo = EMPTY;
+
+    // Owned by FixPRetransmitWindows, which keeps its windows in least recently used order.
+    long sessionId;
+    FixPRetransmitWindow moreRecentlyUsed;
+    FixPRetransmitWindow lessRecentlyUsed;
+
+    FixPRetransmitWindow(final int messageCapacity, final int byteCapacity)
+    {
+        final int slots = findNextPositivePowerOfTwo(messageCapacity);
+        this.byteCapacity = byteCapacity;
+        buffer = new UnsafeBuffer(new byte[byteCapacity]);
+        positions = new long[slots];
+        lengths = new int[slots];
+        mask = slots - 1;
+    }
+
+    void onMessage(final long seqNo, final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        if (length > byteCapacity)
+        {
+            clear();
+            return;
+        }
+
+        // Only a contiguous run is held, a gap or a sequence reset starts the window again.
+        if (maxSeqNo != EMPTY && seqNo != maxSeqNo + 1)
+        {
+            clear();
+        }
+
+        long position = writePosition;
+        int offset = (int)(position % byteCapacity);
+        if (offset + length > byteCapacity)
+        {
+            position += byteCapacity - offset;
+            offset = 0;
+        }
+
+        buffer.putBytes(offset, srcBuffer, srcOffset, length);
+
+        final int slot = (int)seqNo & mask;
+        positions[slot] = position;
+        lengths[slot] = length;
+        writePosition = position + length;
+
+        if (minSeqNo == EMPTY)
+        {
+            minSeqNo = seqNo;
+        }
+        maxSeqNo = seqNo;
+
+        evict();
+    }
+
+    private void evict()
+    {
+        final long writePosition = this.writePosition;
+        final int slots = positions.length;
+        long minSeqNo = this.minSeqNo;
+        while (minSeqNo < maxSeqNo &&
+            (maxSeqNo - minSeqNo >= slots || writePosition > positions[(int)minSeqNo & mask] + byteCapacity))
+        {
+            minSeqNo++;
+        }
+        this.minSeqNo = minSeqNo;
+    }
+
+    boolean contains(final long seqNo)
+    {
+        return minSeqNo != EMPTY && seqNo >= minSeqNo && seqNo <= maxSeqNo;
+    }
+
+    boolean contains(final long beginSeqNo, final long endSeqNo)
+    {
+        return beginSeqNo <= endSeqNo && contains(beginSeqNo) && contains(endSeqNo);
+    }
+
+    DirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    int offset(final long seqNo)
+    {
+        return (int)(positions[(int)seqNo & mask] % byteCapacity);
+    }
+
+    int length(final long seqNo)
+    {
+        return lengths[(int)seqNo & mask];
+    }
+
+    long minSeqNo()
+    {
+        return minSeqNo;
+    }
+
+    long maxSeqNo()
+    {
+        return maxSeqNo;
+    }
+
+    void clear()
+    {
+        minSeqNo = EMPTY;
+        maxSeqNo = EMPTY;
+        writePosition = 0;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd., Monotonic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.concurrent.status.AtomicCounter;
+
+/**
+ * Keeps a {@link FixPRetransmitWindow} of recently sent business messages for each FIXP session so that the
+ * {@link Replayer} can serve retransmit requests that fall within it without replaying from the archive. Requests
+ * that aren't entirely within a session's window are misses and are replayed from the archive as before.
+ *
+ * Windows are kept by FIXP session id rather than connection so that they can serve the retransmit requests that
+ * clients make after reconnecting. Each session's window uses up to its configured number of bytes. At most
+ * {@link uk.co.real_logic.artio.engine.EngineConfiguration#fixPRetransmitWindowMaxSessions(int)} windows are kept,
+ * once that's reached the least recently used session's window is evicted and reused for the new session.
+ *
+ * Only accessed on the Replayer thread.
+ */
+public class FixPRetransmitWindows implements AutoCloseable
+{
+    private final Long2ObjectHashMap<FixPRetransmitWindow> sessionIdToWindow = new Long2ObjectHashMap<>();
+    private final int messageCapacity;
+    private final int byteCapacity;
+    private final int maxSessions;
+    private final AtomicCounter hits;
+    private final AtomicCounter misses;
+
+    private FixPRetransmitWindow mostRecentlyUsed;
+    private FixPRetransmitWindow leastRecentlyUsed;
+
+    public FixPRetransmitWindows(
+        final int messageCapacity,
+        final int byteCapacity,
+        final int maxSessions,
+        final AtomicCounter hits,
+        final AtomicCounter misses)
+    {
+        this.messageCapacity = messageCapacity;
+        this.byteCapacity = byteCapacity;
+        this.maxSessions = maxSessions;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    void onBusinessMessage(
+        final long sessionId, final long seqNo, final DirectBuffer buffer, final int offset, final int length)
+    {
+        FixPRetransmitWindow window = sessionIdToWindow.get(sessionId);
+        if (window == null)
+        {
+            window = openWindow(sessionId);
+        }
+        else
+        {
+            touch(window);
+        }
+
+        window.onMessage(seqNo, buffer, offset, length);
+    }
+
+    private FixPRetransmitWindow openWindow(final long sessionId)
+    {
+        final FixPRetransmitWindow window;
+        if (sessionIdToWindow.size() >= maxSessions)
+        {
+            window = leastRecentlyUsed;
+            unlink(window);
+            sessionIdToWindow.remove(window.sessionId);
+            window.clear();
+        }
+        else
+        {
+            window = new FixPRetransmitWindow(messageCapacity, byteCapacity);
+        }
+
+        window.sessionId = sessionId;
+        sessionIdToWindow.put(sessionId, window);
+        pushMostRecentlyUsed(window);
+
+        return window;
+    }
+
+    private void touch(final FixPRetransmitWindow window)
+    {
+        if (window != mostRecentlyUsed)
+        {
+            unlink(window);
+            pushMostRecentlyUsed(window);
+        }
+    }
+
+    private void pushMostRecentlyUsed(final FixPRetransmitWindow window)
+    {
+        final FixPRetransmitWindow mostRecentlyUsed = this.mostRecentlyUsed;
+        window.lessRecentlyUsed = mostRecentlyUsed;
+        window.moreRecentlyUsed = null;
+        if (mostRecentlyUsed != null)
+        {
+            mostRecentlyUsed.moreRecentlyUsed = window;
+        }
+        else
+        {
+            leastRecentlyUsed = window;
+        }
+        this.mostRecentlyUsed = window;
+    }
+
+    private void unlink(final FixPRetransmitWindow window)
+    {
+        final FixPRetransmitWindow moreRecentlyUsed = window.moreRecentlyUsed;
+        final FixPRetransmitWindow lessRecentlyUsed = window.lessRecentlyUsed;
+        if (moreRecentlyUsed != null)
+        {
+            moreRecentlyUsed.lessRecentlyUsed = lessRecentlyUsed;
+        }
+        else
+        {
+            mostRecentlyUsed = lessRecentlyUsed;
+        }
+
+        if (lessRecentlyUsed != null)
+        {
+            lessRecentlyUsed.moreRecentlyUsed = moreRecentlyUsed;
+        }
+        else
+        {
+            leastRecentlyUsed = moreRecentlyUsed;
+        }
+
+        window.moreRecentlyUsed = null;
+        window.lessRecentlyUsed = null;
+    }
+
+    /**
+     * Lookup the window that can serve a retransmit request and record it as a hit or a miss.
+     *
+     * @param sessionId the FIXP session id of the retransmit request.
+     * @param beginSeqNo the first sequence number to retransmit.
+     * @param endSeqNo the last sequence number to retransmit.
+     * @return the session's window if it holds every message in the range, null otherwise.
+     */
+    FixPRetransmitWindow lookup(final long sessionId, final long beginSeqNo, final long endSeqNo)
+    {
+        final FixPRetransmitWindow window = sessionIdToWindow.get(sessionId);
+        if (window != null && window.contains(beginSeqNo, endSeqNo))
+        {
+            touch(window);
+            hits.incrementOrdered();
+            return window;
+        }
+
+        misses.incrementOrdered();
+        return null;
+    }
+
+    public void close()
+    {
+        CloseHelper.closeAll(hits, misses);
+    }
+}
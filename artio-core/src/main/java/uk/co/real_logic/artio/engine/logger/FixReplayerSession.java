@@ -28,6 +28,7 @@ import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.LogTag;
 import uk.co.real_logic.artio.builder.Encoder;
+import uk.co.real_logic.artio.engine.ConnectionTrafficCounters;
 import uk.co.real_logic.artio.engine.PossDupEnabler;
 import uk.co.real_logic.artio.engine.ReplayHandler;
 import uk.co.real_logic.artio.engine.SequenceNumberExtractor;
@@ -72,6 +73,8 @@ class FixReplayerSession extends ReplayerSession
     private final ErrorHandler errorHandler;
     private final SequenceNumberExtractor sequenceNumberExtractor;
     private final FixThrottleRejectBuilder throttleRejectBuilder;
+    // null if the connection disconnected before the resend request was processed
+    private final ConnectionTrafficCounters trafficCounters;
     private final int overriddenBeginSeqNo;
 
     private int lastSeqNo;
@@ -104,7 +107,8 @@ class FixReplayerSession extends ReplayerSession
         final int maxBytesInBuffer,
         final UtcTimestampEncoder utcTimestampEncoder,
         final Replayer replayer,
-        final FixThrottleRejectBuilder throttleRejectBuilder)
+        final FixThrottleRejectBuilder throttleRejectBuilder,
+        final ConnectionTrafficCounters trafficCounters)
     {
         super(connectionId, correlationId, bufferClaim, idleStrategy, maxClaimAttempts, publication, replayQuery,
             beginSeqNo, endSeqNo,
@@ -131,6 +135,7 @@ class FixReplayerSession extends ReplayerSession
         }
 
         this.throttleRejectBuilder = throttleRejectBuilder;
+        this.trafficCounters = trafficCounters;
         this.possDupEnabler = new PossDupEnabler(
             utcTimestampEncoder,
             bufferClaim,
@@ -255,7 +260,10 @@ class FixReplayerSession extends ReplayerSession
             {
                 if (beginGapFillSeqNum != NONE)
                 {
-                    sendGapFill(beginGapFillSeqNum, msgSeqNum, false);
+                    if (sendGapFill(beginGapFillSeqNum, msgSeqNum, false) == ABORT)
+                    {
+                        return ABORT;
+                    }
                 }
                 else if (msgSeqNum > lastSeqNo + 1)
                 {
@@ -265,7 +273,10 @@ class FixReplayerSession extends ReplayerSession
                         // size the gap-fill at the beginning of the resend-request can hit this condition.
                         lastSeqNo = 1;
                     }
-                    sendGapFill(lastSeqNo, msgSeqNum, false);
+                    if (sendGapFill(lastSeqNo, msgSeqNum, false) == ABORT)
+                    {
+                        return ABORT;
+                    }
                 }
 
                 headerSeqNum = msgSeqNum == endSeqNo ? msgSeqNum : NOT_LAST_REPLAY_MSG;
@@ -308,11 +319,17 @@ class FixReplayerSession extends ReplayerSession
         {
             if (beginGapFillSeqNum != NONE)
             {
-                sendGapFill(beginGapFillSeqNum, msgSeqNum, false);
+                if (sendGapFill(beginGapFillSeqNum, msgSeqNum, false) == ABORT)
+                {
+                    return ABORT;
+                }
             }
             else if (msgSeqNum > lastSeqNo + 1)
             {
-                sendGapFill(lastSeqNo, msgSeqNum, false);
+                if (sendGapFill(lastSeqNo, msgSeqNum, false) == ABORT)
+                {
+                    return ABORT;
+                }
             }
 
             final int businessRejectRefIDOffset = throttleRejectDecoder.limit() +
@@ -340,6 +357,9 @@ class FixReplayerSession extends ReplayerSession
         }
     }
 
+    // A single gap fill covers the whole run of gap fillable or missing messages before newSeqNo, that run is only
+    // ended by a message that has to be resent, not by the recording range that the messages are read from. Aborts
+    // if back pressured so that the run stays open and the same fragment is retried.
     private Action sendGapFill(final int msgSeqNo, final int newSeqNo, final boolean lastMessage)
     {
         final long result = gapFillEncoder.encode(msgSeqNo, newSeqNo);
@@ -353,6 +373,14 @@ class FixReplayerSession extends ReplayerSession
         if (action == CONTINUE)
         {
             this.beginGapFillSeqNum(NONE);
+            // Stops a retry of the message that ended the run, if that's back pressured, from gap filling again
+            lastSeqNo = Math.max(lastSeqNo, newSeqNo - 1);
+
+            final ConnectionTrafficCounters trafficCounters = this.trafficCounters;
+            if (trafficCounters != null)
+            {
+                trafficCounters.onGapFillSent(newSeqNo - msgSeqNo);
+            }
         }
         return action;
     }
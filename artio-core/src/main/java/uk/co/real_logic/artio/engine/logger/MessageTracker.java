@@ -31,6 +31,7 @@ public abstract class MessageTracker implements ControlledFragmentHandler
 
     int maxCount;
     int count;
+    long recordingId;
 
     MessageTracker(final LogTag logTag, final ControlledFragmentHandler messageHandler)
     {
@@ -38,9 +39,10 @@ public abstract class MessageTracker implements ControlledFragmentHandler
         this.messageHandler = messageHandler;
     }
 
-    void reset(final int maxCount)
+    void reset(final int maxCount, final long recordingId)
     {
         this.maxCount = maxCount;
         this.count = 0;
+        this.recordingId = recordingId;
     }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import uk.co.real_logic.artio.ArtioLogHeader;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+import uk.co.real_logic.artio.messages.MessageStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link FixMessageConsumer} that accumulates the valid inbound FIX messages that it is given in archive order,
+ * along with the connection they were received on and the time that they were received, so that they can be sent
+ * again by a {@link ReproductionLoadGenerator}.
+ *
+ * Messages are held in memory in segments of {@link #SEGMENT_CAPACITY} bytes, a message never spans two segments, so
+ * when replaying a large archive it's worth narrowing the scan down with {@link FixMessagePredicates}. At most
+ * {@link #MAX_MESSAGES} messages can be recorded.
+ */
+public final class RecordedInboundMessages implements FixMessageConsumer
+{
+    public static final int SEGMENT_CAPACITY = 64 * 1024 * 1024;
+    public static final int MAX_MESSAGES = Integer.MAX_VALUE - 8;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final List<ExpandableArrayBuffer> segments = new ArrayList<>();
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] connectionIds = new long[INITIAL_CAPACITY];
+    private int[] segmentIndices = new int[INITIAL_CAPACITY];
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int size;
+    private int segmentIndex = -1;
+    private int segmentLength;
+    private int maxMessageLength;
+
+    public void onMessage(
+        final FixMessageDecoder message,
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final ArtioLogHeader header)
+    {
+        if (message.status() != MessageStatus.OK)
+        {
+            return;
+        }
+
+        if (size == timestamps.length)
+        {
+            growIndex();
+        }
+
+        final ExpandableArrayBuffer segment = segmentFor(length);
+        segment.putBytes(segmentLength, buffer, offset, length);
+        timestamps[size] = message.timestamp();
+        connectionIds[size] = message.connection();
+        segmentIndices[size] = segmentIndex;
+        offsets[size] = segmentLength;
+        lengths[size] = length;
+        size++;
+        segmentLength += length;
+        maxMessageLength = Math.max(maxMessageLength, length);
+    }
+
+    private void growIndex()
+    {
+        if (size == MAX_MESSAGES)
+        {
+            throw new IllegalStateException(
+                "Unable to record more than " + MAX_MESSAGES + " messages, narrow the scan with FixMessagePredicates");
+        }
+
+        final int newCapacity = (int)Math.min((long)size << 1, MAX_MESSAGES);
+        timestamps = Arrays.copyOf(timestamps, newCapacity);
+        connectionIds = Arrays.copyOf(connectionIds, newCapacity);
+        segmentIndices = Arrays.copyOf(segmentIndices, newCapacity);
+        offsets = Arrays.copyOf(offsets, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+    }
+
+    // Segments are reused after a reset rather than reallocated.
+    private ExpandableArrayBuffer segmentFor(final int length)
+    {
+        if (segmentIndex == -1 || (long)segmentLength + length > SEGMENT_CAPACITY)
+        {
+            segmentIndex++;
+            segmentLength = 0;
+            if (segmentIndex == segments.size())
+            {
+                segments.add(new ExpandableArrayBuffer(Math.max(INITIAL_CAPACITY, length)));
+            }
+        }
+
+        return segments.get(segmentIndex);
+    }
+
+    public void reset()
+    {
+        size = 0;
+        segmentIndex = -1;
+        segmentLength = 0;
+        maxMessageLength = 0;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public int maxMessageLength()
+    {
+        return maxMessageLength;
+    }
+
+    /**
+     * Gets the buffer that holds a recorded message, see {@link #offset(int)} for the message's offset within it.
+     *
+     * @param index the index of the message.
+     * @return the buffer that holds the message.
+     */
+    public DirectBuffer buffer(final int index)
+    {
+        return segments.get(segmentIndices[index]);
+    }
+
+    public long timestamp(final int index)
+    {
+        return timestamps[index];
+    }
+
+    public long connectionId(final int index)
+    {
+        return connectionIds[index];
+    }
+
+    /**
+     * Gets the offset of a recorded message within its {@link #buffer(int)}.
+     *
+     * @param index the index of the message.
+     * @return the offset of the message within its buffer.
+     */
+    public int offset(final int index)
+    {
+        return offsets[index];
+    }
+
+    public int length(final int index)
+    {
+        return lengths[index];
+    }
+}
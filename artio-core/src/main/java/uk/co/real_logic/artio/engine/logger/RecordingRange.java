@@ -26,17 +26,28 @@ public final class RecordingRange
     private static final ThreadLocal<CharFormatter> CURRENT_POSITION =
         ThreadLocal.withInitial(() -> new CharFormatter("currentPosition == addPosition, %s%n"));
 
-    final long recordingId;
-    final long sessionId;
+    long recordingId;
+    long sessionId;
     long position = MISSING_LONG;
     long length;
     int count;
 
+    // Links ranges in replay order within a query and free ranges within the RecordingRangePool.
+    RecordingRange next;
+
     RecordingRange(final long recordingId, final long sessionId)
+    {
+        init(recordingId, sessionId);
+    }
+
+    void init(final long recordingId, final long sessionId)
     {
         this.recordingId = recordingId;
         this.sessionId = sessionId;
+        this.position = MISSING_LONG;
+        this.length = 0;
         this.count = 0;
+        this.next = null;
     }
 
     void add(final long addPosition, final int addLength)
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+/**
+ * Free list of {@link RecordingRange} objects so that replay queries don't allocate in steady state.
+ *
+ * Single threaded, shared between a {@link ReplayQuery} and the {@link ReplayOperation}s that it creates, which are
+ * polled on the same thread.
+ */
+final class RecordingRangePool
+{
+    private RecordingRange free;
+
+    RecordingRange acquire(final long recordingId, final long sessionId)
+    {
+        final RecordingRange range = free;
+        if (range == null)
+        {
+            return new RecordingRange(recordingId, sessionId);
+        }
+
+        free = range.next;
+        range.init(recordingId, sessionId);
+        return range;
+    }
+
+    /**
+     * Return a chain of ranges linked through {@link RecordingRange#next} to the pool.
+     *
+     * @param head the first range in the chain, may be null.
+     */
+    void releaseAll(final RecordingRange head)
+    {
+        RecordingRange range = head;
+        while (range != null)
+        {
+            final RecordingRange next = range.next;
+            range.next = free;
+            free = range;
+            range = next;
+        }
+    }
+}
@@ -21,9 +21,12 @@ import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
 import org.agrona.IoUtil;
 import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Hashing;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.EpochNanoClock;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.dictionary.generation.Exceptions;
 import uk.co.real_logic.artio.engine.SequenceNumberExtractor;
 import uk.co.real_logic.artio.messages.*;
@@ -34,7 +37,7 @@ import java.io.IOException;
 import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.LongFunction;
+import java.util.concurrent.TimeUnit;
 
 import static io.aeron.archive.status.RecordingPos.NULL_RECORDING_ID;
 import static io.aeron.logbuffer.FrameDescriptor.*;
@@ -55,12 +58,16 @@ import static uk.co.real_logic.artio.messages.MessageStatus.OK;
  * Head position counter
  * Tail position counter
  * Multiple ReplayIndexRecord entries
+ *
+ * At most {@link uk.co.real_logic.artio.engine.EngineConfiguration#replayIndexMaxOpenSessions(int)} sessions have
+ * their index files mapped at any one time. Open sessions are kept in recency order and the least recently used one
+ * is unmapped when the limit is reached. Sessions that haven't been written to for the configured idle timeout are
+ * unmapped on the duty cycle. Unmapped sessions are reopened from their files on the next message.
  */
 public class ReplayIndex implements Index
 {
     private static final long NO_TIMESTAMP = -1;
-
-    private final LongFunction<SessionIndex> newSessionIndex = SessionIndex::new;
+    private static final int IDLE_EVICTIONS_PER_DUTY_CYCLE = 8;
     private final MessageHeaderDecoder frameHeaderDecoder = new MessageHeaderDecoder();
     private final FixMessageDecoder messageFrame = new FixMessageDecoder();
     private final ThrottleNotificationDecoder throttleNotification = new ThrottleNotificationDecoder();
@@ -92,6 +99,17 @@ public class ReplayIndex implements Index
     private final TimeIndexWriter timeIndex;
     private final SessionOwnershipTracker sessTracker;
 
+    private final SessionIndex[] freeSessionIndices;
+    private final long idleSessionTimeoutInNs;
+    private final EpochNanoClock clock;
+    private final AtomicCounter sessionOpens;
+    private final AtomicCounter sessionEvictions;
+    private int freeSessionIndexCount;
+    // Sessions in recency order, most recently used at the head
+    private SessionIndex mostRecentlyUsed;
+    private SessionIndex leastRecentlyUsed;
+    private long timeInNs;
+
     public ReplayIndex(
         final SequenceNumberExtractor sequenceNumberExtractor,
         final String logFileDir,
@@ -107,7 +125,12 @@ public class ReplayIndex implements Index
         final SequenceNumberIndexReader reader,
         final long timeIndexReplayFlushIntervalInNs,
         final boolean indexChecksumEnabled,
-        final ReplayEvictionHandler evictionHandler)
+        final ReplayEvictionHandler evictionHandler,
+        final int maxOpenSessions,
+        final long idleSessionTimeoutInMs,
+        final EpochNanoClock clock,
+        final AtomicCounter sessionOpens,
+        final AtomicCounter sessionEvictions)
     {
         this.sequenceNumberExtractor = sequenceNumberExtractor;
         this.logFileDir = logFileDir;
@@ -121,6 +144,10 @@ public class ReplayIndex implements Index
         this.positionBuffer = positionBuffer;
         this.errorHandler = errorHandler;
         this.recordingIdLookup = recordingIdLookup;
+        this.idleSessionTimeoutInNs = TimeUnit.MILLISECONDS.toNanos(idleSessionTimeoutInMs);
+        this.clock = clock;
+        this.sessionOpens = sessionOpens;
+        this.sessionEvictions = sessionEvictions;
 
         checkPowerOfTwo("segmentCount", segmentCount);
         checkPowerOfTwo("segmentSize", segmentSize);
@@ -132,7 +159,14 @@ public class ReplayIndex implements Index
             (sequenceNumber, uuid, messageSize, endPosition, aeronSessionId, possRetrans, timestamp, forNextSession) ->
                 onFixPSequenceUpdate(sequenceNumber, uuid, messageSize, endPosition, aeronSessionId, forNextSession));
         checkIndexRecordCapacity(indexFileCapacity);
-        fixSessionIdToIndex = new Long2ObjectHashMap<>();
+        fixSessionIdToIndex = new Long2ObjectHashMap<>(2 * maxOpenSessions, Hashing.DEFAULT_LOAD_FACTOR);
+        freeSessionIndices = new SessionIndex[maxOpenSessions];
+        for (int i = 0; i < maxOpenSessions; i++)
+        {
+            freeSessionIndices[i] = new SessionIndex();
+        }
+        freeSessionIndexCount = maxOpenSessions;
+        timeInNs = clock.nanoTime();
         final String replayPositionPath = replayPositionPath(logFileDir, requiredStreamId);
         positionWriter = new IndexedPositionWriter(
             positionBuffer, errorHandler, 0, replayPositionPath, recordingIdLookup, indexChecksumEnabled);
@@ -447,7 +481,9 @@ public class ReplayIndex implements Index
 
         if (index != null)
         {
+            unlink(index);
             index.reset();
+            freeSessionIndices[freeSessionIndexCount++] = index;
         }
         else
         {
@@ -471,13 +507,119 @@ public class ReplayIndex implements Index
 
     private SessionIndex sessionIndex(final long fixSessionId)
     {
-        return fixSessionIdToIndex
-            .computeIfAbsent(fixSessionId, newSessionIndex);
+        SessionIndex sessionIndex = fixSessionIdToIndex.get(fixSessionId);
+        if (sessionIndex == null)
+        {
+            sessionIndex = openSessionIndex(fixSessionId);
+        }
+        else if (sessionIndex != mostRecentlyUsed)
+        {
+            unlink(sessionIndex);
+            pushMostRecentlyUsed(sessionIndex);
+        }
+
+        sessionIndex.lastUsedTimeInNs = timeInNs;
+        return sessionIndex;
+    }
+
+    private SessionIndex openSessionIndex(final long fixSessionId)
+    {
+        if (freeSessionIndexCount == 0)
+        {
+            evict(leastRecentlyUsed);
+        }
+
+        final SessionIndex sessionIndex = freeSessionIndices[--freeSessionIndexCount];
+        freeSessionIndices[freeSessionIndexCount] = null;
+        sessionIndex.open(fixSessionId);
+        fixSessionIdToIndex.put(fixSessionId, sessionIndex);
+        pushMostRecentlyUsed(sessionIndex);
+        sessionOpens.incrementOrdered();
+
+        return sessionIndex;
+    }
+
+    private void evict(final SessionIndex sessionIndex)
+    {
+        unlink(sessionIndex);
+        fixSessionIdToIndex.remove(sessionIndex.fixSessionId);
+        sessionIndex.close();
+        freeSessionIndices[freeSessionIndexCount++] = sessionIndex;
+        sessionEvictions.incrementOrdered();
+    }
+
+    private void pushMostRecentlyUsed(final SessionIndex sessionIndex)
+    {
+        final SessionIndex mostRecentlyUsed = this.mostRecentlyUsed;
+        sessionIndex.lessRecentlyUsed = mostRecentlyUsed;
+        sessionIndex.moreRecentlyUsed = null;
+        if (mostRecentlyUsed != null)
+        {
+            mostRecentlyUsed.moreRecentlyUsed = sessionIndex;
+        }
+        else
+        {
+            leastRecentlyUsed = sessionIndex;
+        }
+        this.mostRecentlyUsed = sessionIndex;
+    }
+
+    private void unlink(final SessionIndex sessionIndex)
+    {
+        final SessionIndex moreRecentlyUsed = sessionIndex.moreRecentlyUsed;
+        final SessionIndex lessRecentlyUsed = sessionIndex.lessRecentlyUsed;
+        if (moreRecentlyUsed != null)
+        {
+            moreRecentlyUsed.lessRecentlyUsed = lessRecentlyUsed;
+        }
+        else
+        {
+            mostRecentlyUsed = lessRecentlyUsed;
+        }
+
+        if (lessRecentlyUsed != null)
+        {
+            lessRecentlyUsed.moreRecentlyUsed = moreRecentlyUsed;
+        }
+        else
+        {
+            leastRecentlyUsed = moreRecentlyUsed;
+        }
+
+        sessionIndex.moreRecentlyUsed = null;
+        sessionIndex.lessRecentlyUsed = null;
+    }
+
+    private int evictIdleSessions()
+    {
+        if (idleSessionTimeoutInNs <= 0)
+        {
+            return 0;
+        }
+
+        final long idleBeforeTimeInNs = timeInNs - idleSessionTimeoutInNs;
+        int evictions = 0;
+        SessionIndex sessionIndex;
+        while (evictions < IDLE_EVICTIONS_PER_DUTY_CYCLE &&
+            (sessionIndex = leastRecentlyUsed) != null &&
+            sessionIndex.lastUsedTimeInNs <= idleBeforeTimeInNs)
+        {
+            evict(sessionIndex);
+            evictions++;
+        }
+
+        return evictions;
     }
 
     public int doWork()
     {
-        return positionWriter.checkRecordings() + timeIndex.doWork();
+        timeInNs = clock.nanoTime();
+        return positionWriter.checkRecordings() + timeIndex.doWork() + evictIdleSessions();
+    }
+
+    int openSessionCount()
+    {
+        return fixSessionIdToIndex.size();
     }
 
     public void close()
@@ -485,7 +627,12 @@ public class ReplayIndex implements Index
         Exceptions.closeAll(
             timeIndex,
             positionWriter);
-        fixSessionIdToIndex.values().forEach(SessionIndex::close);
+        SessionIndex sessionIndex;
+        while ((sessionIndex = mostRecentlyUsed) != null)
+        {
+            unlink(sessionIndex);
+            sessionIndex.close();
+        }
         fixSessionIdToIndex.clear();
         IoUtil.unmap(positionBuffer.byteBuffer());
     }
@@ -497,29 +644,42 @@ public class ReplayIndex implements Index
 
     private final class SessionIndex implements AutoCloseable
     {
-        private final long fixSessionId;
         private final int segmentSize;
         private final int segmentSizeBitShift;
 
-        private final UnsafeBuffer headerBuffer;
-        private final File headerFile;
-
+        private final UnsafeBuffer headerBuffer = new UnsafeBuffer(0, 0);
         private final UnsafeBuffer[] segmentBuffers;
-        private final File[] segmentBufferFiles;
+        private final boolean[] segmentMapped;
+
+        private long fixSessionId;
+        private File headerFile;
+        private long lastUsedTimeInNs;
+        private SessionIndex moreRecentlyUsed;
+        private SessionIndex lessRecentlyUsed;
 
-        SessionIndex(final long fixSessionId)
+        SessionIndex()
         {
             final ReplayIndex replayIndex = ReplayIndex.this;
 
-            this.fixSessionId = fixSessionId;
             this.segmentSize = replayIndex.segmentSize;
             this.segmentSizeBitShift = replayIndex.segmentSizeBitShift;
             segmentBuffers = new UnsafeBuffer[segmentCount];
-            segmentBufferFiles = new File[segmentCount];
+            segmentMapped = new boolean[segmentCount];
+            for (int segmentIndex = 0; segmentIndex < segmentCount; segmentIndex++)
+            {
+                segmentBuffers[segmentIndex] = new UnsafeBuffer(0, 0);
+            }
+        }
+
+        void open(final long fixSessionId)
+        {
+            final ReplayIndex replayIndex = ReplayIndex.this;
+
+            this.fixSessionId = fixSessionId;
 
             headerFile = replayIndexHeaderFile(fixSessionId);
             final boolean exists = headerFile.exists();
-            this.headerBuffer = mapUnsafeBuffer(HEADER_FILE_SIZE, headerFile);
+            headerBuffer.wrap(bufferFactory.map(headerFile, HEADER_FILE_SIZE));
 
             if (!exists)
             {
@@ -604,13 +764,12 @@ public class ReplayIndex implements Index
 
         private UnsafeBuffer segmentBuffer(final int segmentIndex)
         {
-            UnsafeBuffer segmentBuffer = segmentBuffers[segmentIndex];
-            if (segmentBuffer == null)
+            final UnsafeBuffer segmentBuffer = segmentBuffers[segmentIndex];
+            if (!segmentMapped[segmentIndex])
             {
                 final File file = replayIndexSegmentFile(fixSessionId, segmentIndex);
-                segmentBufferFiles[segmentIndex] = file;
-                segmentBuffer = mapUnsafeBuffer(segmentSize, file);
-                segmentBuffers[segmentIndex] = segmentBuffer;
+                segmentBuffer.wrap(bufferFactory.map(file, segmentSize));
+                segmentMapped[segmentIndex] = true;
             }
             return segmentBuffer;
         }
@@ -634,7 +793,19 @@ public class ReplayIndex implements Index
 
         public void close()
         {
-            ReplayIndexDescriptor.unmapBuffers(headerBuffer, segmentBuffers);
+            IoUtil.unmap(headerBuffer.byteBuffer());
+            headerBuffer.wrap(0, 0);
+
+            for (int segmentIndex = 0; segmentIndex < segmentCount; segmentIndex++)
+            {
+                if (segmentMapped[segmentIndex])
+                {
+                    final UnsafeBuffer segmentBuffer = segmentBuffers[segmentIndex];
+                    IoUtil.unmap(segmentBuffer.byteBuffer());
+                    segmentBuffer.wrap(0, 0);
+                    segmentMapped[segmentIndex] = false;
+                }
+            }
         }
 
         public void checkForNextSession(final boolean forNextSession)
@@ -29,8 +29,6 @@ import uk.co.real_logic.artio.DebugLogger;
 import uk.co.real_logic.artio.LogTag;
 import uk.co.real_logic.artio.util.CharFormatter;
 
-import java.util.List;
-
 import static io.aeron.CommonContext.IPC_CHANNEL;
 
 /**
@@ -73,7 +71,7 @@ public class ReplayOperation
     private final MessageTracker messageTracker;
     private final ControlledFragmentAssembler assembler;
 
-    private final List<RecordingRange> ranges;
+    private final RecordingRangePool recordingRangePool;
     private final AeronArchive aeronArchive;
     private final ErrorHandler errorHandler;
     private final int archiveReplayStream;
@@ -101,8 +99,12 @@ public class ReplayOperation
 
     private State state = State.REPLAYING;
 
+    // Ranges that are yet to be replayed, linked in replay order.
+    private RecordingRange ranges;
+
     ReplayOperation(
-        final List<RecordingRange> ranges,
+        final RecordingRange ranges,
+        final RecordingRangePool recordingRangePool,
         final AeronArchive aeronArchive,
         final ErrorHandler errorHandler,
         final Subscription subscription,
@@ -114,6 +116,7 @@ public class ReplayOperation
         assembler = new ControlledFragmentAssembler(this.messageTracker);
 
         this.ranges = ranges;
+        this.recordingRangePool = recordingRangePool;
         this.aeronArchive = aeronArchive;
         this.errorHandler = errorHandler;
         this.archiveReplayStream = archiveReplayStream;
@@ -250,12 +253,12 @@ public class ReplayOperation
         if (recordingRange == null)
         {
             DebugLogger.log(logTag, "Acquiring Recording Range");
-            if (ranges.isEmpty())
+            if (ranges == null)
             {
                 return true;
             }
 
-            recordingRange = ranges.get(0);
+            recordingRange = ranges;
             logRange();
             final long beginPosition = recordingRange.position;
             final long length = recordingRange.length;
@@ -273,7 +276,8 @@ public class ReplayOperation
             }
             else
             {
-                ranges.remove(0);
+                ranges = recordingRange.next;
+                recordingRange.next = null;
             }
 
             try
@@ -286,7 +290,7 @@ public class ReplayOperation
                     archiveReplayStream);
                 aeronSessionId = (int)replaySessionId;
 
-                messageTracker.reset(count);
+                messageTracker.reset(count, recordingId);
 
                 logStart(count);
 
@@ -299,6 +303,7 @@ public class ReplayOperation
             catch (final Throwable exception)
             {
                 errorHandler.onError(exception);
+                releaseRanges();
 
                 return true;
             }
@@ -393,9 +398,9 @@ public class ReplayOperation
             recordingRangeCount);
 
         replayedMessages += recordingRangeCount;
-        recordingRange = null;
+        releaseRecordingRange();
 
-        return ranges.isEmpty();
+        return ranges == null;
     }
 
     private boolean onEndOfImage(final int recordingRangeCount, final boolean closed, final boolean endOfStream)
@@ -409,10 +414,10 @@ public class ReplayOperation
         aeronSessionId = 0;
         replaySessionId = 0;
         replayedMessages += recordingRangeCount;
-        recordingRange = null;
+        releaseRecordingRange();
         image = null;
 
-        return ranges.isEmpty();
+        return ranges == null;
     }
 
     int replayedMessages()
@@ -438,6 +443,20 @@ public class ReplayOperation
     public void startClose()
     {
         state = State.INIT_CLOSING;
+        releaseRanges();
+    }
+
+    private void releaseRecordingRange()
+    {
+        recordingRangePool.releaseAll(recordingRange);
+        recordingRange = null;
+    }
+
+    private void releaseRanges()
+    {
+        releaseRecordingRange();
+        recordingRangePool.releaseAll(ranges);
+        ranges = null;
     }
 
     // Close the session immediately. Can leave open images that will be cleaned up by it's parent.
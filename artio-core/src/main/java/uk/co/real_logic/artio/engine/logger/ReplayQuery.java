@@ -34,8 +34,6 @@ import uk.co.real_logic.artio.util.CharFormatter;
 
 import java.io.File;
 import java.lang.invoke.VarHandle;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.LongFunction;
 
 import static io.aeron.Aeron.NULL_VALUE;
@@ -61,6 +59,8 @@ public class ReplayQuery implements AutoCloseable
         "beginPosition=%s,recordingId=%s,sequenceNumber=%s,sequenceIndex=%s");
 
     private final LongFunction<SessionQuery> newSessionQuery = this::newSessionQuery;
+    private final RecordingRangePool recordingRangePool = new RecordingRangePool();
+    private final CoalescedReplayQuery coalescedReplayQuery = new CoalescedReplayQuery(this, recordingRangePool);
 
     private final Long2ObjectCache<SessionQuery> fixSessionToIndex;
     private final String logFileDir;
@@ -137,8 +137,61 @@ public class ReplayQuery implements AutoCloseable
             return null;
         }
 
-        return sessionQuery
-            .query(beginSequenceNumber, beginSequenceIndex, endSequenceNumber, endSequenceIndex, logTag, tracker);
+        final RecordingRange ranges = sessionQuery.queryRanges(
+            beginSequenceNumber, beginSequenceIndex, endSequenceNumber, endSequenceIndex, logTag);
+        return newReplayOperation(ranges, logTag, tracker);
+    }
+
+    /**
+     * Gets a query that replays the messages of several sessions using as few archive replays as possible.
+     *
+     * @return the coalesced replay query, this object is reused.
+     */
+    public CoalescedReplayQuery coalescedQuery()
+    {
+        return coalescedReplayQuery;
+    }
+
+    boolean hasSessionIndex(final long sessionId)
+    {
+        return lookupSessionQuery(sessionId) != null;
+    }
+
+    RecordingRange queryRanges(
+        final long sessionId,
+        final int beginSequenceNumber,
+        final int beginSequenceIndex,
+        final int endSequenceNumber,
+        final int endSequenceIndex,
+        final LogTag logTag)
+    {
+        return lookupSessionQuery(sessionId).queryRanges(
+            beginSequenceNumber, beginSequenceIndex, endSequenceNumber, endSequenceIndex, logTag);
+    }
+
+    void releaseRanges(final RecordingRange ranges)
+    {
+        recordingRangePool.releaseAll(ranges);
+    }
+
+    ReplayOperation newReplayOperation(
+        final RecordingRange firstRange, final LogTag logTag, final MessageTracker messageTracker)
+    {
+        if (replaySubscription == null)
+        {
+            replaySubscription = aeronArchive.context().aeron().addSubscription(
+                IPC_CHANNEL, archiveReplayStream);
+        }
+
+        return new ReplayOperation(
+            firstRange,
+            recordingRangePool,
+            aeronArchive,
+            errorHandler,
+            replaySubscription,
+            archiveReplayStream,
+            logTag,
+            messageTracker);
     }
 
     public void queryStartPositions(final Long2LongHashMap newStartPositions)
@@ -217,13 +270,12 @@ public class ReplayQuery implements AutoCloseable
         }
 
         @SuppressWarnings("MethodLength")
-        ReplayOperation query(
+        RecordingRange queryRanges(
             final int beginSequenceNumber,
             final int beginSequenceIndex,
             final int endSequenceNumber,
             final int endSequenceIndex,
-            final LogTag logTag,
-            final MessageTracker messageTracker)
+            final LogTag logTag)
         {
             final boolean log = IS_REPLAY_ATTEMPT_ENABLED && logTag == LogTag.REPLAY;
             if (log)
@@ -245,8 +297,9 @@ public class ReplayQuery implements AutoCloseable
             final boolean upToMostRecentMessage = endSequenceNumber == MOST_RECENT_MESSAGE;
 
             // LOOKUP THE RANGE FROM THE INDEX
-            // NB: this is a List as we are looking up recordings in the correct order to replay them.
-            final List<RecordingRange> ranges = new ArrayList<>();
+            // NB: this is a linked chain of pooled ranges as we are looking up recordings in the correct order to
+            // replay them.
+            RecordingRange firstRange = null;
             RecordingRange currentRange = null;
 
             long iteratorPosition = getIteratorPosition();
@@ -308,9 +361,13 @@ public class ReplayQuery implements AutoCloseable
                         (sequenceIndex == beginSequenceIndex && sequenceNumber >= beginSequenceNumber);
                     if (withinQueryRange)
                     {
-                        currentRange = addRange(
-                            ranges, currentRange, lastSequenceNumber, beginPosition, sequenceNumber,
-                            recordingId, readLength);
+                        final RecordingRange range = addRange(
+                            currentRange, lastSequenceNumber, beginPosition, sequenceNumber, recordingId, readLength);
+                        if (firstRange == null)
+                        {
+                            firstRange = range;
+                        }
+                        currentRange = range;
                         lastSequenceNumber = sequenceNumber;
                         iteratorPosition += RECORD_LENGTH;
                     }
@@ -325,12 +382,7 @@ public class ReplayQuery implements AutoCloseable
                 }
             }
 
-            if (currentRange != null)
-            {
-                ranges.add(currentRange);
-            }
-
-            return newReplayOperation(ranges, logTag, messageTracker);
+            return firstRange;
         }
 
         private UnsafeBuffer segmentBuffer(
@@ -372,27 +424,7 @@ public class ReplayQuery implements AutoCloseable
             return iteratorPosition + jumpInBytes;
         }
 
-        private ReplayOperation newReplayOperation(
-            final List<RecordingRange> ranges, final LogTag logTag, final MessageTracker messageTracker)
-        {
-            if (replaySubscription == null)
-            {
-                replaySubscription = aeronArchive.context().aeron().addSubscription(
-                    IPC_CHANNEL, archiveReplayStream);
-            }
-
-            return new ReplayOperation(
-                ranges,
-                aeronArchive,
-                errorHandler,
-                replaySubscription,
-                archiveReplayStream,
-                logTag,
-                messageTracker);
-        }
-
         private RecordingRange addRange(
-            final List<RecordingRange> ranges,
             final RecordingRange currentRange,
             final int lastSequenceNumber,
             final long beginPosition,
@@ -403,12 +435,13 @@ public class ReplayQuery implements AutoCloseable
             RecordingRange range = currentRange;
             if (range == null)
             {
-                range = new RecordingRange(recordingId, fixSessionId);
+                range = recordingRangePool.acquire(recordingId, fixSessionId);
             }
             else if (range.recordingId != recordingId)
             {
-                ranges.add(range);
-                range = new RecordingRange(recordingId, fixSessionId);
+                final RecordingRange nextRange = recordingRangePool.acquire(recordingId, fixSessionId);
+                range.next = nextRange;
+                range = nextRange;
             }
 
             range.add(
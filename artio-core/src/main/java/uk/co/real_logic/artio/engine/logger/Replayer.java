@@ -16,10 +16,12 @@
 package uk.co.real_logic.artio.engine.logger;
 
 import io.aeron.ExclusivePublication;
+import io.aeron.FragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.driver.DutyCycleTracker;
 import io.aeron.logbuffer.BufferClaim;
 import io.aeron.logbuffer.Header;
+import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
 import org.agrona.collections.CollectionUtil;
@@ -118,6 +120,13 @@ public class Replayer extends AbstractReplayer
     private final FixPRetransmitHandler fixPRetransmitHandler;
     private final UtcTimestampEncoder utcTimestampEncoder;
 
+    // Recently sent FIXP business messages, null when disabled
+    private final Subscription outboundSubscription;
+    private final FixPRetransmitWindows retransmitWindows;
+    private final FragmentAssembler outboundAssembler;
+    private final MessageHeaderDecoder outboundMessageHeader = new MessageHeaderDecoder();
+    private final FixPMessageDecoder outboundFixPMessage = new FixPMessageDecoder();
+
     public Replayer(
         final ReplayQuery outboundReplayQuery,
         final ExclusivePublication publication,
@@ -142,6 +151,40 @@ public class Replayer extends AbstractReplayer
         final FixPProtocolType fixPProtocolType,
         final EngineConfiguration configuration,
         final DutyCycleTracker dutyCycleTracker)
+    {
+        this(outboundReplayQuery, publication, bufferClaim, idleStrategy, errorHandler, maxClaimAttempts,
+            inboundSubscription, agentNamePrefix, gapfillOnReplayMessageTypes, gapfillOnRetransmitILinkTemplateIds,
+            replayHandler, fixPRetransmitHandler, senderSequenceNumbers, fixSessionCodecsFactory, maxBytesInBuffer,
+            replayerCommandQueue, epochFractionFormat, currentReplayCount, maxConcurrentSessionReplays, clock,
+            fixPProtocolType, configuration, dutyCycleTracker, null, null);
+    }
+
+    public Replayer(
+        final ReplayQuery outboundReplayQuery,
+        final ExclusivePublication publication,
+        final BufferClaim bufferClaim,
+        final IdleStrategy idleStrategy,
+        final ErrorHandler errorHandler,
+        final int maxClaimAttempts,
+        final Subscription inboundSubscription,
+        final String agentNamePrefix,
+        final Set<String> gapfillOnReplayMessageTypes,
+        final IntHashSet gapfillOnRetransmitILinkTemplateIds,
+        final ReplayHandler replayHandler,
+        final FixPRetransmitHandler fixPRetransmitHandler,
+        final SenderSequenceNumbers senderSequenceNumbers,
+        final FixSessionCodecsFactory fixSessionCodecsFactory,
+        final int maxBytesInBuffer,
+        final ReplayerCommandQueue replayerCommandQueue,
+        final EpochFractionFormat epochFractionFormat,
+        final AtomicCounter currentReplayCount,
+        final int maxConcurrentSessionReplays,
+        final EpochNanoClock clock,
+        final FixPProtocolType fixPProtocolType,
+        final EngineConfiguration configuration,
+        final DutyCycleTracker dutyCycleTracker,
+        final Subscription outboundSubscription,
+        final FixPRetransmitWindows retransmitWindows)
     {
         super(publication, fixSessionCodecsFactory, bufferClaim, senderSequenceNumbers, clock, dutyCycleTracker);
         this.outboundReplayQuery = outboundReplayQuery;
@@ -171,6 +214,41 @@ public class Replayer extends AbstractReplayer
         abstractBinaryFixPOffsets = new Lazy<>(() -> binaryFixPProtocol.get().makeOffsets());
 
         timestamper = new ReplayTimestamper(publication, clock);
+
+        this.outboundSubscription = outboundSubscription;
+        this.retransmitWindows = retransmitWindows;
+        outboundAssembler = retransmitWindows == null ? null : new FragmentAssembler(this::onOutboundFragment);
+    }
+
+    // Copies the FIXP business messages that libraries send into the retransmit windows
+    private void onOutboundFragment(
+        final DirectBuffer buffer, final int start, final int length, final Header header)
+    {
+        final MessageHeaderDecoder messageHeader = this.outboundMessageHeader;
+        messageHeader.wrap(buffer, start);
+        if (messageHeader.templateId() != FixPMessageDecoder.TEMPLATE_ID)
+        {
+            return;
+        }
+
+        final FixPMessageDecoder fixPMessage = this.outboundFixPMessage;
+        final int encoderOffset = start + ENCODED_LENGTH;
+        fixPMessage.wrap(buffer, encoderOffset, messageHeader.blockLength(), messageHeader.version());
+
+        final AbstractFixPParser parser = binaryFixPParser.get();
+        final int headerOffset = encoderOffset + FixPMessageDecoder.BLOCK_LENGTH + SimpleOpenFramingHeader.SOFH_LENGTH;
+        if (!parser.isRetransmittedMessage(buffer, headerOffset))
+        {
+            return;
+        }
+
+        final int templateId = parser.templateId(buffer, headerOffset);
+        final int messageOffset = headerOffset + AbstractFixPParser.FIXP_MESSAGE_HEADER_LENGTH;
+        final int seqNum = abstractBinaryFixPOffsets.get().seqNum(templateId, buffer, messageOffset);
+        if (seqNum != AbstractFixPOffsets.MISSING_OFFSET)
+        {
+            retransmitWindows.onBusinessMessage(fixPMessage.sessionId(), seqNum, buffer, start, length);
+        }
     }
 
     public Action onFragment(
@@ -376,12 +454,15 @@ public class Replayer extends AbstractReplayer
                 return null;
             }
 
+            final FixPRetransmitWindow retransmitWindow = retransmitWindows == null ?
+                null : retransmitWindows.lookup(sessionId, beginSeqNo, endSeqNo);
+
             final FixPReplayerSession session = new FixPReplayerSession(
                 connectionId, correlationId, bufferClaim, idleStrategy, maxClaimAttempts, publication,
                 outboundReplayQuery,
                 (int)beginSeqNo, (int)endSeqNo, sessionId, this, gapfillOnRetransmitILinkTemplateIds,
                 fixPMessageEncoder, binaryFixPParser.get(), binaryFixPProxy.get(), abstractBinaryFixPOffsets.get(),
-                fixPRetransmitHandler, bytesInBuffer, configuration.senderMaxBytesInBuffer());
+                fixPRetransmitHandler, bytesInBuffer, configuration.senderMaxBytesInBuffer(), retransmitWindow);
 
             session.query();
 
@@ -409,6 +490,7 @@ public class Replayer extends AbstractReplayer
         {
             return null;
         }
+        final ConnectionTrafficCounters trafficCounters = senderSequenceNumbers.trafficCounters(connectionId);
 
         DebugLogger.log(REPLAY,
             receivedResendFormatter,
@@ -466,10 +548,16 @@ public class Replayer extends AbstractReplayer
             maxBytesInBuffer,
             utcTimestampEncoder,
             this,
-            throttleRejectBuilder);
+            throttleRejectBuilder,
+            trafficCounters);
 
         fixReplayerSession.query();
 
+        if (trafficCounters != null)
+        {
+            trafficCounters.onResendRequestServed();
+        }
+
         return fixReplayerSession;
     }
 
@@ -481,6 +569,11 @@ public class Replayer extends AbstractReplayer
         timestamper.sendTimestampMessage(timeInNs);
 
         int work = replayerCommandQueue.poll();
+        if (outboundSubscription != null)
+        {
+            // Poll sent messages before the resend requests so that the windows are as up to date as possible
+            work += outboundSubscription.poll(outboundAssembler, POLL_LIMIT);
+        }
         work += pollReplayerChannels();
         return work + inboundSubscription.controlledPoll(this, POLL_LIMIT);
     }
@@ -537,6 +630,7 @@ public class Replayer extends AbstractReplayer
         currentReplayCount.set(0);
         currentReplayCount.close();
         outboundReplayQuery.close();
+        CloseHelper.close(retransmitWindows);
         super.onClose();
     }
 
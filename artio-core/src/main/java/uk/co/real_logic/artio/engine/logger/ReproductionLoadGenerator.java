@@ -0,0 +1,452 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.HdrHistogram.Histogram;
+import org.agrona.CloseHelper;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.concurrent.EpochNanoClock;
+import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static uk.co.real_logic.artio.dictionary.SessionConstants.START_OF_HEADER;
+import static uk.co.real_logic.artio.fields.UtcTimestampEncoder.LENGTH_WITH_MICROSECONDS;
+import static uk.co.real_logic.artio.fields.UtcTimestampEncoder.LENGTH_WITH_MILLISECONDS;
+import static uk.co.real_logic.artio.fields.UtcTimestampEncoder.LENGTH_WITH_NANOSECONDS;
+import static uk.co.real_logic.artio.util.AsciiBuffer.UNKNOWN_INDEX;
+
+/**
+ * Sends a set of {@link RecordedInboundMessages} to a running engine over real TCP connections in order to use a
+ * captured day of production traffic as a load test.
+ *
+ * Each recorded connection is replayed over its own connection to the target address, so the target engine plays
+ * the acceptor role. Messages keep their recorded order and the gaps between them are divided by the speed, so a
+ * speed of 10 replays an hour of traffic in six minutes and {@link #MAXIMUM_SPEED} sends messages as fast as the
+ * connections accept them. Sequence numbers are sent as recorded, so the target should start without any persisted
+ * state for the replayed sessions.
+ *
+ * Two histograms are recorded, in nanoseconds: the send lag, which is how far behind its schedule each message was
+ * sent, and the time to next inbound bytes, which is the time from sending a message on a connection that wasn't
+ * already awaiting inbound bytes until the next bytes are read back from it. The latter isn't a response latency:
+ * the bytes aren't matched to the message that started the timer, so they may be a heartbeat, a response to an
+ * earlier message or only part of a response, and messages sent whilst awaiting inbound bytes aren't timed at all.
+ *
+ * A connection that fails to connect, is disconnected by the target or fails with an I/O error is closed and the rest
+ * of its recorded messages are skipped, the other connections carry on being replayed.
+ */
+public final class ReproductionLoadGenerator implements AutoCloseable
+{
+    public static final double MAXIMUM_SPEED = 0;
+
+    private static final long NOT_AWAITING_INBOUND_BYTES = -1;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int CHECKSUM_VALUE_LENGTH = 3;
+    // "10=" + value + SOH
+    private static final int CHECKSUM_FIELD_LENGTH = 3 + CHECKSUM_VALUE_LENGTH + 1;
+
+    private final Long2ObjectHashMap<Connection> recordedIdToConnection = new Long2ObjectHashMap<>();
+    private final List<Connection> connections = new ArrayList<>();
+    private final Histogram sendLagHistogram = new Histogram(3);
+    private final Histogram timeToNextInboundBytesHistogram = new Histogram(3);
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final InetSocketAddress address;
+    private final double speed;
+    private final boolean rewriteSendingTime;
+    private final long drainTimeoutInNs;
+    private final EpochNanoClock clock;
+
+    private ByteBuffer writeBuffer;
+    private MutableAsciiBuffer writeAsciiBuffer;
+    private long messagesSent;
+    private long messagesSkipped;
+    private long durationInNs;
+
+    /**
+     * Create the load generator.
+     *
+     * @param address the address that the target engine accepts connections on.
+     * @param speed the multiple of the recorded rate to send messages at, or {@link #MAXIMUM_SPEED}.
+     * @param rewriteSendingTime true to overwrite the SendingTime (52=) of each message with the time that it's sent,
+     *                           so that the target's sending time window checks pass.
+     * @param drainTimeoutInNs how long to carry on reading responses for after the last message has been sent.
+     * @param clock the clock used to rewrite SendingTime fields.
+     * @throws IllegalArgumentException if the speed is negative.
+     */
+    public ReproductionLoadGenerator(
+        final InetSocketAddress address,
+        final double speed,
+        final boolean rewriteSendingTime,
+        final long drainTimeoutInNs,
+        final EpochNanoClock clock)
+    {
+        if (speed < 0 || Double.isNaN(speed))
+        {
+            throw new IllegalArgumentException("speed must be positive or MAXIMUM_SPEED, but was " + speed);
+        }
+
+        this.address = address;
+        this.speed = speed;
+        this.rewriteSendingTime = rewriteSendingTime;
+        this.drainTimeoutInNs = drainTimeoutInNs;
+        this.clock = clock;
+    }
+
+    /**
+     * Send the recorded messages, blocking the calling thread until they have all been sent and the drain timeout
+     * has elapsed.
+     *
+     * @param recordedMessages the messages to send.
+     */
+    public void replay(final RecordedInboundMessages recordedMessages)
+    {
+        final int size = recordedMessages.size();
+        if (size == 0)
+        {
+            return;
+        }
+
+        ensureWriteCapacity(recordedMessages.maxMessageLength());
+
+        final long firstTimestamp = recordedMessages.timestamp(0);
+        final long startInNs = System.nanoTime();
+        for (int i = 0; i < size; i++)
+        {
+            final long recordedOffsetInNs = recordedMessages.timestamp(i) - firstTimestamp;
+            final long scheduledInNs = startInNs + scheduledOffsetInNs(recordedOffsetInNs);
+            while (System.nanoTime() < scheduledInNs)
+            {
+                pollInbound();
+            }
+
+            final Connection connection = connection(recordedMessages.connectionId(i));
+            if (connection.disconnected)
+            {
+                messagesSkipped++;
+                continue;
+            }
+
+            final long sendTimeInNs = System.nanoTime();
+            sendLagHistogram.recordValue(sendTimeInNs - scheduledInNs);
+            if (send(connection, recordedMessages, i))
+            {
+                if (connection.awaitingInboundBytesSinceInNs == NOT_AWAITING_INBOUND_BYTES)
+                {
+                    connection.awaitingInboundBytesSinceInNs = sendTimeInNs;
+                }
+                messagesSent++;
+            }
+            else
+            {
+                messagesSkipped++;
+            }
+
+            pollInbound();
+        }
+
+        final long drainDeadlineInNs = System.nanoTime() + drainTimeoutInNs;
+        while (System.nanoTime() < drainDeadlineInNs)
+        {
+            pollInbound();
+        }
+
+        durationInNs = System.nanoTime() - startInNs;
+    }
+
+    public Histogram sendLagHistogram()
+    {
+        return sendLagHistogram;
+    }
+
+    /**
+     * Gets the histogram of the time from sending a message until the next bytes are read back on its connection.
+     * This isn't matched to a response to the message, see the class documentation.
+     *
+     * @return the histogram of the time to next inbound bytes, in nanoseconds.
+     */
+    public Histogram timeToNextInboundBytesHistogram()
+    {
+        return timeToNextInboundBytesHistogram;
+    }
+
+    public long messagesSent()
+    {
+        return messagesSent;
+    }
+
+    /**
+     * Gets the number of recorded messages that weren't sent because their connection had disconnected.
+     *
+     * @return the number of recorded messages that weren't sent because their connection had disconnected.
+     */
+    public long messagesSkipped()
+    {
+        return messagesSkipped;
+    }
+
+    public int disconnectedConnectionCount()
+    {
+        int count = 0;
+        for (final Connection connection : connections)
+        {
+            if (connection.disconnected)
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int connectionCount()
+    {
+        return connections.size();
+    }
+
+    public long durationInNs()
+    {
+        return durationInNs;
+    }
+
+    public void close()
+    {
+        for (final Connection connection : connections)
+        {
+            CloseHelper.close(connection.channel);
+        }
+        connections.clear();
+        recordedIdToConnection.clear();
+    }
+
+    private long scheduledOffsetInNs(final long recordedOffsetInNs)
+    {
+        return speed == MAXIMUM_SPEED ? 0 : (long)(recordedOffsetInNs / speed);
+    }
+
+    private void ensureWriteCapacity(final int capacity)
+    {
+        if (writeBuffer == null || writeBuffer.capacity() < capacity)
+        {
+            writeBuffer = ByteBuffer.allocateDirect(capacity);
+            writeAsciiBuffer = new MutableAsciiBuffer(writeBuffer);
+        }
+    }
+
+    private Connection connection(final long recordedConnectionId)
+    {
+        Connection connection = recordedIdToConnection.get(recordedConnectionId);
+        if (connection == null)
+        {
+            connection = new Connection(open());
+            recordedIdToConnection.put(recordedConnectionId, connection);
+            connections.add(connection);
+        }
+
+        return connection;
+    }
+
+    // Returns null if the connection couldn't be made, which disconnects the recorded connection.
+    private SocketChannel open()
+    {
+        SocketChannel channel = null;
+        try
+        {
+            channel = SocketChannel.open(address);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.configureBlocking(false);
+            return channel;
+        }
+        catch (final IOException e)
+        {
+            CloseHelper.quietClose(channel);
+            return null;
+        }
+    }
+
+    private boolean send(final Connection connection, final RecordedInboundMessages recordedMessages, final int index)
+    {
+        final int length = recordedMessages.length(index);
+        writeAsciiBuffer.putBytes(0, recordedMessages.buffer(index), recordedMessages.offset(index), length);
+        if (rewriteSendingTime)
+        {
+            rewriteSendingTime(writeAsciiBuffer, 0, length, clock.nanoTime());
+        }
+
+        writeBuffer.clear().limit(length);
+        try
+        {
+            while (writeBuffer.hasRemaining())
+            {
+                if (connection.channel.write(writeBuffer) == 0)
+                {
+                    // Keep reading whilst we wait so that the target isn't blocked writing to us.
+                    pollInbound();
+                    if (connection.disconnected)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        catch (final IOException e)
+        {
+            connection.disconnect();
+            return false;
+        }
+
+        return true;
+    }
+
+    private void pollInbound()
+    {
+        final List<Connection> connections = this.connections;
+        for (int i = 0, size = connections.size(); i < size; i++)
+        {
+            final Connection connection = connections.get(i);
+            if (connection.disconnected)
+            {
+                continue;
+            }
+
+            readBuffer.clear();
+            final int read;
+            try
+            {
+                read = connection.channel.read(readBuffer);
+            }
+            catch (final IOException e)
+            {
+                connection.disconnect();
+                continue;
+            }
+
+            if (read > 0)
+            {
+                final long awaitingInboundBytesSinceInNs = connection.awaitingInboundBytesSinceInNs;
+                if (awaitingInboundBytesSinceInNs != NOT_AWAITING_INBOUND_BYTES)
+                {
+                    timeToNextInboundBytesHistogram.recordValue(System.nanoTime() - awaitingInboundBytesSinceInNs);
+                    connection.awaitingInboundBytesSinceInNs = NOT_AWAITING_INBOUND_BYTES;
+                }
+            }
+            else if (read == -1)
+            {
+                connection.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Overwrite the SendingTime field of a FIX message with the given time, keeping the precision of the original
+     * value, and update its checksum.
+     *
+     * @return true if the field was rewritten, false if the message has no SendingTime or checksum that can be updated.
+     */
+    static boolean rewriteSendingTime(
+        final MutableAsciiBuffer buffer, final int offset, final int length, final long epochNanos)
+    {
+        final int checksumTagOffset = offset + length - CHECKSUM_FIELD_LENGTH;
+        if (length <= CHECKSUM_FIELD_LENGTH || !isChecksumTag(buffer, checksumTagOffset))
+        {
+            return false;
+        }
+
+        final int valueOffset = sendingTimeValueOffset(buffer, offset, checksumTagOffset);
+        if (valueOffset == UNKNOWN_INDEX)
+        {
+            return false;
+        }
+
+        final int valueEnd = buffer.scan(valueOffset, checksumTagOffset, START_OF_HEADER);
+        if (valueEnd == UNKNOWN_INDEX)
+        {
+            return false;
+        }
+
+        switch (valueEnd - valueOffset)
+        {
+            case LENGTH_WITH_MILLISECONDS:
+                UtcTimestampEncoder.encode(NANOSECONDS.toMillis(epochNanos), buffer, valueOffset);
+                break;
+
+            case LENGTH_WITH_MICROSECONDS:
+                UtcTimestampEncoder.encodeMicros(NANOSECONDS.toMicros(epochNanos), buffer, valueOffset);
+                break;
+
+            case LENGTH_WITH_NANOSECONDS:
+                UtcTimestampEncoder.encodeNanos(epochNanos, buffer, valueOffset);
+                break;
+
+            default:
+                return false;
+        }
+
+        final int checksum = buffer.computeChecksum(offset, checksumTagOffset);
+        buffer.putNaturalPaddedIntAscii(checksumTagOffset + 3, CHECKSUM_VALUE_LENGTH, checksum);
+        return true;
+    }
+
+    private static boolean isChecksumTag(final MutableAsciiBuffer buffer, final int index)
+    {
+        return buffer.getByte(index - 1) == START_OF_HEADER &&
+            buffer.getByte(index) == '1' &&
+            buffer.getByte(index + 1) == '0' &&
+            buffer.getByte(index + 2) == '=';
+    }
+
+    private static int sendingTimeValueOffset(final MutableAsciiBuffer buffer, final int offset, final int end)
+    {
+        // SOH 5 2 =
+        for (int i = offset, last = end - 4; i < last; i++)
+        {
+            if (buffer.getByte(i) == START_OF_HEADER &&
+                buffer.getByte(i + 1) == '5' &&
+                buffer.getByte(i + 2) == '2' &&
+                buffer.getByte(i + 3) == '=')
+            {
+                return i + 4;
+            }
+        }
+
+        return UNKNOWN_INDEX;
+    }
+
+    private static final class Connection
+    {
+        private final SocketChannel channel;
+        private long awaitingInboundBytesSinceInNs = NOT_AWAITING_INBOUND_BYTES;
+        private boolean disconnected;
+
+        Connection(final SocketChannel channel)
+        {
+            this.channel = channel;
+            this.disconnected = channel == null;
+        }
+
+        void disconnect()
+        {
+            disconnected = true;
+            CloseHelper.quietClose(channel);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import uk.co.real_logic.artio.storage.messages.LastKnownSequenceNumberDecoder;
 
 import java.io.File;
 
+import static org.agrona.BitUtil.CACHE_LINE_LENGTH;
 import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.BitUtil.SIZE_OF_LONG;
 import static uk.co.real_logic.artio.engine.SectorFramer.SECTOR_SIZE;
@@ -45,10 +46,23 @@ final class SequenceNumberIndexDescriptor
 
     static final int NO_META_DATA = -1;
     static final long META_DATA_MAGIC_NUMBER = 0xBEEF;
-    static final int META_DATA_FILE_VERSION = 1;
+    static final int LEGACY_META_DATA_FILE_VERSION = 1;
+    static final int META_DATA_FILE_VERSION = 2;
     static final int READABLE_META_DATA_FILE_VERSION = META_DATA_FILE_VERSION;
-    static final int META_DATA_FILE_HEADER_LENGTH = SIZE_OF_LONG + SIZE_OF_INT;
-    static final int SIZE_OF_META_DATA_LENGTH = SIZE_OF_INT;
+
+    // Meta data file header: magic number, version, end of the allocated slots
+    static final int META_DATA_VERSION_OFFSET = SIZE_OF_LONG;
+    static final int META_DATA_END_OFFSET = META_DATA_VERSION_OFFSET + SIZE_OF_INT;
+    static final int META_DATA_FILE_HEADER_LENGTH = CACHE_LINE_LENGTH;
+
+    // Meta data slot header: capacity, value length, session id, version - then the value
+    static final int META_DATA_SLOT_CAPACITY_OFFSET = 0;
+    static final int META_DATA_SLOT_LENGTH_OFFSET = META_DATA_SLOT_CAPACITY_OFFSET + SIZE_OF_INT;
+    static final int META_DATA_SLOT_SESSION_ID_OFFSET = META_DATA_SLOT_LENGTH_OFFSET + SIZE_OF_INT;
+    static final int META_DATA_SLOT_VERSION_OFFSET = META_DATA_SLOT_SESSION_ID_OFFSET + SIZE_OF_LONG;
+    static final int META_DATA_SLOT_HEADER_LENGTH = 32;
+    static final int MIN_META_DATA_SLOT_CAPACITY = 64;
+    static final int FREE_META_DATA_SLOT = -1;
 
     static final double SEQUENCE_NUMBER_RATIO = 0.9;
 
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.collections.Hashing;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.lang.invoke.VarHandle;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Hash index from session id to the offset of that session's record within a sequence number index buffer. Written
+ * by the {@link SequenceNumberIndexWriter} and read by {@link SequenceNumberIndexReader}s on other threads, changes
+ * are published through a seqlock so lookups don't need to scan the index buffer.
+ * <p>
+ * Records within the index buffer are only ever appended, or all cleared together, so an offset stays valid for a
+ * session until the index is reset.
+ */
+public final class SequenceNumberIndexOffsets
+{
+    /** The session has no record in the index. */
+    public static final int MISSING_RECORD = -1;
+    /** The writer was updating the index during every read attempt, the caller should scan the index buffer. */
+    public static final int CONTENDED = -2;
+
+    static final int INITIAL_CAPACITY = 1024;
+
+    private static final int MAX_READ_ATTEMPTS = 4;
+    private static final long EMPTY_SESSION_ID = 0;
+    private static final int SESSION_ID_OFFSET = 0;
+    private static final int RECORD_OFFSET_OFFSET = SIZE_OF_LONG;
+    private static final int SLOT_SIZE = 2 * SIZE_OF_LONG;
+
+    // Odd whilst the writer is changing the slots
+    private volatile long version;
+    private volatile UnsafeBuffer slots;
+    private int capacity;
+    private int size;
+
+    public SequenceNumberIndexOffsets()
+    {
+        capacity = INITIAL_CAPACITY;
+        slots = newSlots(capacity);
+    }
+
+    /**
+     * Lookup the offset of a session's record. Wait-free, can be called from any thread.
+     *
+     * @param sessionId the session to lookup.
+     * @return the offset of the session's record, {@link #MISSING_RECORD} or {@link #CONTENDED}.
+     */
+    public int get(final long sessionId)
+    {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++)
+        {
+            final long version = this.version;
+            if ((version & 1) == 0)
+            {
+                final UnsafeBuffer slots = this.slots;
+                final int recordOffset = probe(slots, slots.capacity() / SLOT_SIZE, sessionId);
+
+                VarHandle.loadLoadFence(); // LoadLoad required so previous loads don't move past version check below.
+
+                if (version == this.version)
+                {
+                    return recordOffset;
+                }
+            }
+        }
+
+        return CONTENDED;
+    }
+
+    // Called on the writer's thread
+    void put(final long sessionId, final int recordOffset)
+    {
+        beginChange();
+
+        if ((size + 1) * 2 > capacity)
+        {
+            resize();
+        }
+
+        if (insert(slots, capacity, sessionId, recordOffset))
+        {
+            size++;
+        }
+
+        endChange();
+    }
+
+    // Called on the writer's thread
+    void clear()
+    {
+        beginChange();
+
+        slots.setMemory(0, slots.capacity(), (byte)0);
+        size = 0;
+
+        endChange();
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    private void beginChange()
+    {
+        version = version + 1;
+        VarHandle.storeStoreFence();
+    }
+
+    private void endChange()
+    {
+        version = version + 1;
+    }
+
+    private void resize()
+    {
+        final UnsafeBuffer oldSlots = this.slots;
+        final int oldCapacity = this.capacity;
+        final int newCapacity = oldCapacity * 2;
+        final UnsafeBuffer newSlots = newSlots(newCapacity);
+
+        for (int i = 0; i < oldCapacity; i++)
+        {
+            final int slotOffset = i * SLOT_SIZE;
+            final long sessionId = oldSlots.getLong(slotOffset + SESSION_ID_OFFSET);
+            if (sessionId != EMPTY_SESSION_ID)
+            {
+                insert(newSlots, newCapacity, sessionId, (int)oldSlots.getLong(slotOffset + RECORD_OFFSET_OFFSET));
+            }
+        }
+
+        this.capacity = newCapacity;
+        this.slots = newSlots;
+    }
+
+    private static boolean insert(
+        final UnsafeBuffer slots, final int capacity, final long sessionId, final int recordOffset)
+    {
+        final int mask = capacity - 1;
+        int index = Hashing.hash(sessionId, mask);
+        while (true)
+        {
+            final int slotOffset = index * SLOT_SIZE;
+            final long slotSessionId = slots.getLong(slotOffset + SESSION_ID_OFFSET);
+            if (slotSessionId == EMPTY_SESSION_ID || slotSessionId == sessionId)
+            {
+                slots.putLong(slotOffset + RECORD_OFFSET_OFFSET, recordOffset);
+                slots.putLong(slotOffset + SESSION_ID_OFFSET, sessionId);
+                return slotSessionId == EMPTY_SESSION_ID;
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    private static int probe(final UnsafeBuffer slots, final int capacity, final long sessionId)
+    {
+        final int mask = capacity - 1;
+        int index = Hashing.hash(sessionId, mask);
+        // Bounded as a torn read could otherwise see a full table
+        for (int i = 0; i < capacity; i++)
+        {
+            final int slotOffset = index * SLOT_SIZE;
+            final long slotSessionId = slots.getLong(slotOffset + SESSION_ID_OFFSET);
+            if (slotSessionId == sessionId)
+            {
+                return (int)slots.getLong(slotOffset + RECORD_OFFSET_OFFSET);
+            }
+            else if (slotSessionId == EMPTY_SESSION_ID)
+            {
+                return MISSING_RECORD;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return MISSING_RECORD;
+    }
+
+    private static UnsafeBuffer newSlots(final int capacity)
+    {
+        return new UnsafeBuffer(new byte[capacity * SLOT_SIZE]);
+    }
+}
@@ -18,7 +18,7 @@ package uk.co.real_logic.artio.engine.logger;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
-import org.agrona.LangUtil;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.concurrent.AtomicBuffer;
 import uk.co.real_logic.artio.engine.SectorFramer;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
@@ -26,11 +26,6 @@ import uk.co.real_logic.artio.messages.MetaDataStatus;
 import uk.co.real_logic.artio.storage.messages.LastKnownSequenceNumberDecoder;
 import uk.co.real_logic.artio.storage.messages.LastKnownSequenceNumberEncoder;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.RandomAccessFile;
-
 import static io.aeron.archive.status.RecordingPos.NULL_RECORDING_ID;
 import static uk.co.real_logic.artio.engine.ConnectedSessionInfo.UNK_SESSION;
 import static uk.co.real_logic.artio.engine.SectorFramer.OUT_OF_SPACE;
@@ -46,48 +41,76 @@ public class SequenceNumberIndexReader implements AutoCloseable
 {
     private final MessageHeaderDecoder fileHeaderDecoder = new MessageHeaderDecoder();
     private final LastKnownSequenceNumberDecoder lastKnownDecoder = new LastKnownSequenceNumberDecoder();
+    private final Long2LongHashMap sessionIdToBatchIndex = new Long2LongHashMap(UNK_SESSION);
     private final AtomicBuffer inMemoryBuffer;
     private final SectorFramer sectorFramer;
     private final IndexedPositionReader positions;
     private final ErrorHandler errorHandler;
     private final RecordingIdLookup recordingIdLookup;
-    private final RandomAccessFile metaDataFile;
+    private final SessionMetaDataReader metaDataReader;
+    private final SequenceNumberIndexOffsets recordOffsets;
 
     public SequenceNumberIndexReader(
         final AtomicBuffer inMemoryBuffer,
         final ErrorHandler errorHandler,
         final RecordingIdLookup recordingIdLookup,
         final String metaDataDir)
+    {
+        this(inMemoryBuffer, errorHandler, recordingIdLookup, metaDataDir, null);
+    }
+
+    /**
+     * Create a reader.
+     *
+     * @param inMemoryBuffer the index buffer that the writer updates.
+     * @param errorHandler the error handler.
+     * @param recordingIdLookup the recording id lookup for indexed positions, may be null.
+     * @param metaDataDir the directory of the meta data file, may be null.
+     * @param recordOffsets the record offsets published by the writer of the buffer, if null then lookups scan the
+     *                      index buffer.
+     */
+    public SequenceNumberIndexReader(
+        final AtomicBuffer inMemoryBuffer,
+        final ErrorHandler errorHandler,
+        final RecordingIdLookup recordingIdLookup,
+        final String metaDataDir,
+        final SequenceNumberIndexOffsets recordOffsets)
     {
         this.inMemoryBuffer = inMemoryBuffer;
+        this.recordOffsets = recordOffsets;
         this.errorHandler = errorHandler;
         this.recordingIdLookup = recordingIdLookup;
         final int positionTableOffset = positionTableOffset(inMemoryBuffer.capacity());
         sectorFramer = new SectorFramer(positionTableOffset);
         validateBuffer();
         positions = new IndexedPositionReader(positionsBuffer(inMemoryBuffer, positionTableOffset));
-        metaDataFile = openMetaDataFile(metaDataDir);
+        metaDataReader = metaDataDir != null ? new SessionMetaDataReader(metaDataDir) : null;
     }
 
-    private RandomAccessFile openMetaDataFile(final String metaDataDir)
+    public int lastKnownSequenceNumber(final long sessionId)
     {
-        if (metaDataDir != null)
+        final SequenceNumberIndexOffsets recordOffsets = this.recordOffsets;
+        if (recordOffsets != null)
         {
-            final File metaDataFile = metaDataFile(metaDataDir);
-
-            try
+            final int recordOffset = recordOffsets.get(sessionId);
+            if (recordOffset == SequenceNumberIndexOffsets.MISSING_RECORD)
             {
-                return new RandomAccessFile(metaDataFile, "r");
+                return UNK_SESSION;
             }
-            catch (final FileNotFoundException e)
+            else if (recordOffset != SequenceNumberIndexOffsets.CONTENDED)
             {
-                LangUtil.rethrowUnchecked(e);
+                lastKnownDecoder.wrap(inMemoryBuffer, recordOffset, BLOCK_LENGTH, SCHEMA_VERSION);
+                if (lastKnownDecoder.sessionId() == sessionId)
+                {
+                    return lastKnownDecoder.sequenceNumber();
+                }
             }
         }
-        return null;
+
+        return scanLastKnownSequenceNumber(sessionId);
     }
 
-    public int lastKnownSequenceNumber(final long sessionId)
+    private int scanLastKnownSequenceNumber(final long sessionId)
     {
         int position = SequenceNumberIndexDescriptor.HEADER_SIZE;
         while (true)
@@ -110,6 +133,58 @@ public class SequenceNumberIndexReader implements AutoCloseable
         }
     }
 
+    /**
+     * Looks up the last known sequence numbers of a batch of sessions in a single pass over the index, or through
+     * the published record offsets if this reader has them.
+     *
+     * @param sessionIds the sessions to lookup, indices from 0 until count are used.
+     * @param sequenceNumbers the array that the sequence numbers are written into, at the same index as their
+     *                        session id. Unknown sessions are set to {@link
+     *                        uk.co.real_logic.artio.engine.SessionInfo#UNK_SESSION}.
+     * @param count the number of sessions in the batch.
+     */
+    public void lastKnownSequenceNumbers(final long[] sessionIds, final int[] sequenceNumbers, final int count)
+    {
+        if (recordOffsets != null)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                sequenceNumbers[i] = lastKnownSequenceNumber(sessionIds[i]);
+            }
+            return;
+        }
+
+        final Long2LongHashMap sessionIdToBatchIndex = this.sessionIdToBatchIndex;
+        sessionIdToBatchIndex.clear();
+        for (int i = 0; i < count; i++)
+        {
+            sequenceNumbers[i] = UNK_SESSION;
+            sessionIdToBatchIndex.put(sessionIds[i], i);
+        }
+
+        int remaining = sessionIdToBatchIndex.size();
+        int position = SequenceNumberIndexDescriptor.HEADER_SIZE;
+        while (remaining > 0)
+        {
+            position = sectorFramer.claim(position, RECORD_SIZE);
+            if (position == OUT_OF_SPACE)
+            {
+                return;
+            }
+
+            lastKnownDecoder.wrap(inMemoryBuffer, position, BLOCK_LENGTH, SCHEMA_VERSION);
+
+            final long batchIndex = sessionIdToBatchIndex.get(lastKnownDecoder.sessionId());
+            if (batchIndex != UNK_SESSION)
+            {
+                sequenceNumbers[(int)batchIndex] = lastKnownDecoder.sequenceNumber();
+                remaining--;
+            }
+
+            position += RECORD_SIZE;
+        }
+    }
+
     public long indexedPosition(final int aeronSessionId)
     {
         if (recordingIdLookup == null)
@@ -136,7 +211,7 @@ public class SequenceNumberIndexReader implements AutoCloseable
 
     public MetaDataStatus readMetaData(final long sessionId, final DirectBuffer buffer)
     {
-        if (metaDataFile == null)
+        if (metaDataReader == null)
         {
             return MetaDataStatus.FILE_ERROR;
         }
@@ -152,28 +227,13 @@ public class SequenceNumberIndexReader implements AutoCloseable
             return MetaDataStatus.NO_META_DATA;
         }
 
-        try
-        {
-            metaDataFile.seek(metaDataPosition);
-            final int metaDataLength = metaDataFile.readInt();
-
-            final byte[] metaDataValue = new byte[metaDataLength];
-            metaDataFile.read(metaDataValue);
-
-            buffer.wrap(metaDataValue);
-
-            return MetaDataStatus.OK;
-        }
-        catch (final IOException e)
-        {
-            errorHandler.onError(e);
-            return MetaDataStatus.FILE_ERROR;
-        }
+        // Copied as the buffer is retained by callers whilst the value can be updated in place
+        return metaDataReader.readCopy(metaDataPosition, sessionId, buffer);
     }
 
     public void close()
     {
-        CloseHelper.close(metaDataFile);
+        CloseHelper.close(metaDataReader);
     }
 
 }
@@ -21,8 +21,10 @@ import org.agrona.DirectBuffer;
 import org.agrona.ErrorHandler;
 import org.agrona.LangUtil;
 import org.agrona.collections.CollectionUtil;
+import org.agrona.collections.IntHashSet;
 import org.agrona.collections.Long2LongHashMap;
 import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.collections.MutableBoolean;
 import org.agrona.concurrent.AtomicBuffer;
 import org.agrona.concurrent.EpochClock;
 import uk.co.real_logic.artio.dictionary.generation.Exceptions;
@@ -37,7 +39,6 @@ import uk.co.real_logic.artio.storage.messages.LastKnownSequenceNumberEncoder;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -48,6 +49,7 @@ import java.util.function.Predicate;
 import static io.aeron.archive.status.RecordingPos.NULL_RECORDING_ID;
 import static io.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static io.aeron.protocol.DataHeaderFlyweight.BEGIN_FLAG;
+import static org.agrona.BitUtil.SIZE_OF_INT;
 import static org.agrona.BitUtil.align;
 import static uk.co.real_logic.artio.CommonConfiguration.RUNNING_ON_WINDOWS;
 import static uk.co.real_logic.artio.engine.SectorFramer.*;
@@ -88,10 +90,9 @@ public class SequenceNumberIndexWriter implements Index
     private final Long2LongHashMap recordOffsets = new Long2LongHashMap(MISSING_RECORD);
 
     // Meta data state
-    private final File metaDataLocation;
     private final List<WriteMetaDataResponse> responsesToResend = new ArrayList<>();
     private final Predicate<WriteMetaDataResponse> sendResponseFunc = this::sendResponse;
-    private final RandomAccessFile metaDataFile;
+    private final SessionMetaDataStore metaDataStore;
     private final SequenceNumberIndexReader reader;
     private byte[] metaDataWriteBuffer = new byte[0];
     private final Long2ObjectHashMap<Long2LongHashMap> sessionIdToRedactPositions = new Long2ObjectHashMap<>();
@@ -120,6 +121,7 @@ public class SequenceNumberIndexWriter implements Index
     private long lastUpdatedFileTimeInMs;
     private long fileUpdateCount;
     private boolean hasSavedRecordSinceFileUpdate = false;
+    private final SequenceNumberIndexOffsets publishedRecordOffsets;
 
     public SequenceNumberIndexWriter(
         final SequenceNumberExtractor sequenceNumberExtractor,
@@ -136,6 +138,40 @@ public class SequenceNumberIndexWriter implements Index
         final boolean indexChecksumEnabled,
         final boolean logMessages)
     {
+        this(
+            sequenceNumberExtractor,
+            inMemoryBuffer,
+            indexFile,
+            errorHandler,
+            streamId,
+            recordingIdLookup,
+            indexFileStateFlushTimeoutInMs,
+            clock,
+            metaDataDir,
+            connectionIdToFixPSessionId,
+            fixPProtocolType,
+            indexChecksumEnabled,
+            logMessages,
+            null);
+    }
+
+    public SequenceNumberIndexWriter(
+        final SequenceNumberExtractor sequenceNumberExtractor,
+        final AtomicBuffer inMemoryBuffer,
+        final MappedFile indexFile,
+        final ErrorHandler errorHandler,
+        final int streamId,
+        final RecordingIdLookup recordingIdLookup,
+        final long indexFileStateFlushTimeoutInMs,
+        final EpochClock clock,
+        final String metaDataDir,
+        final Long2LongHashMap connectionIdToFixPSessionId,
+        final FixPProtocolType fixPProtocolType,
+        final boolean indexChecksumEnabled,
+        final boolean logMessages,
+        final SequenceNumberIndexOffsets publishedRecordOffsets)
+    {
+        this.publishedRecordOffsets = publishedRecordOffsets;
         this.sequenceNumberExtractor = sequenceNumberExtractor;
         this.inMemoryBuffer = inMemoryBuffer;
         this.indexFile = indexFile;
@@ -175,16 +211,7 @@ public class SequenceNumberIndexWriter implements Index
                 positionWriter = null;
             }
 
-            if (metaDataDir != null)
-            {
-                metaDataLocation = metaDataFile(metaDataDir);
-                metaDataFile = openMetaDataFile(metaDataLocation);
-            }
-            else
-            {
-                metaDataLocation = null;
-                metaDataFile = null;
-            }
+            metaDataStore = metaDataDir != null ? openMetaDataStore(metaDataFile(metaDataDir)) : null;
         }
         catch (final Exception e)
         {
@@ -193,7 +220,14 @@ public class SequenceNumberIndexWriter implements Index
             throw e;
         }
 
-        reader = new SequenceNumberIndexReader(inMemoryBuffer, errorHandler, recordingIdLookup, metaDataDir);
+        indexRecordOffsets();
+        if (metaDataStore != null)
+        {
+            migrateLegacyMetaData();
+            reconcileMetaData();
+        }
+        reader = new SequenceNumberIndexReader(
+            inMemoryBuffer, errorHandler, recordingIdLookup, metaDataDir, publishedRecordOffsets);
         fixPSequenceIndexer = new FixPSequenceIndexer(
             connectionIdToFixPSessionId, errorHandler, fixPProtocolType, reader,
             (seqNum, uuid, messageSize, endPosition, aeronSessionId, possRetrans, timestamp, forNextSession) ->
@@ -202,47 +236,113 @@ public class SequenceNumberIndexWriter implements Index
                 saveRecord(seqNum, uuid, endPosition, NO_REQUIRED_POSITION, possRetrans));
     }
 
-    private RandomAccessFile openMetaDataFile(final File metaDataLocation)
+    private SessionMetaDataStore openMetaDataStore(final File metaDataLocation)
     {
-        RandomAccessFile file = null;
         try
         {
-            file = new RandomAccessFile(metaDataLocation, "rw");
-            if (file.length() == 0)
-            {
-                writeMetaDataFileHeader(file);
-            }
-            else
-            {
-                final long magicNumber = file.readLong();
-                final int fileVersion = file.readInt();
-
-                if (magicNumber != META_DATA_MAGIC_NUMBER)
-                {
-                    throw new IllegalStateException("Invalid magic number in metadata file: " + magicNumber);
-                }
-
-                if (fileVersion < READABLE_META_DATA_FILE_VERSION)
-                {
-                    throw new IllegalStateException("Unreadable metadata file version: " + fileVersion);
-                }
-            }
-            return file;
+            return new SessionMetaDataStore(metaDataLocation);
         }
-        catch (final IOException | IllegalStateException e)
+        catch (final IOException e)
         {
-            Exceptions.suppressingClose(file, e);
             LangUtil.rethrowUnchecked(e);
         }
 
         return null;
     }
 
-    private void writeMetaDataFileHeader(final RandomAccessFile file) throws IOException
+    // Version 1 meta data files were appended to, their values are copied into slots of the new file.
+    private void migrateLegacyMetaData()
     {
-        file.writeLong(META_DATA_MAGIC_NUMBER);
-        file.writeInt(META_DATA_FILE_VERSION);
-        file.getFD().sync();
+        final byte[] legacyContents = metaDataStore.takeLegacyContents();
+        if (legacyContents == null)
+        {
+            return;
+        }
+
+        // A crash after the migrated index was saved but before the backup was removed leaves nothing to migrate
+        if (!referencesOnlyAllocatedSlots())
+        {
+            metaDataStore.reset();
+            migrateLegacyValues(legacyContents);
+
+            // Save the new slot offsets before removing the backup of the legacy file
+            updateFile();
+        }
+
+        try
+        {
+            metaDataStore.completeLegacyMigration();
+        }
+        catch (final IOException e)
+        {
+            errorHandler.onError(e);
+        }
+    }
+
+    private boolean referencesOnlyAllocatedSlots()
+    {
+        final MutableBoolean onlyAllocatedSlots = new MutableBoolean(true);
+        recordOffsets.forEachLong((sessionId, recordOffset) ->
+        {
+            final int slot = getMetaData((int)recordOffset);
+            if (slot != NO_META_DATA && !metaDataStore.isAllocatedTo(slot, sessionId))
+            {
+                onlyAllocatedSlots.set(false);
+            }
+        });
+        return onlyAllocatedSlots.get();
+    }
+
+    private void migrateLegacyValues(final byte[] legacyContents)
+    {
+        recordOffsets.forEachLong((sessionId, recordOffset) ->
+        {
+            final int position = (int)recordOffset;
+            final int legacyPosition = getMetaData(position);
+            if (legacyPosition != NO_META_DATA)
+            {
+                final int length = SessionMetaDataStore.legacyValueLength(legacyContents, legacyPosition);
+                int slot = NO_META_DATA;
+                if (length != NO_META_DATA)
+                {
+                    try
+                    {
+                        slot = metaDataStore.allocate(
+                            sessionId, legacyContents, legacyPosition + SIZE_OF_INT, length);
+                    }
+                    catch (final IOException e)
+                    {
+                        errorHandler.onError(e);
+                    }
+                }
+                putMetaDataField(position, slot);
+            }
+        });
+    }
+
+    // The index file is saved less frequently than the meta data file is updated, so after a crash records can
+    // refer to slots that have since been freed or moved.
+    private void reconcileMetaData()
+    {
+        final IntHashSet referencedSlots = new IntHashSet();
+        recordOffsets.forEachLong((sessionId, recordOffset) ->
+        {
+            final int position = (int)recordOffset;
+            final int slot = getMetaData(position);
+            if (slot != NO_META_DATA)
+            {
+                if (metaDataStore.isAllocatedTo(slot, sessionId))
+                {
+                    referencedSlots.add(slot);
+                }
+                else
+                {
+                    putMetaDataField(position, NO_META_DATA);
+                    hasSavedRecordSinceFileUpdate = true;
+                }
+            }
+        });
+        metaDataStore.freeUnreferencedSlots(referencedSlots);
     }
 
     public void onCatchup(
@@ -514,7 +614,7 @@ public class SequenceNumberIndexWriter implements Index
             final int position = saveRecord(msgSeqNum, sessionId, messagePosition, NO_REQUIRED_POSITION, false);
             if (metaDataLength > 0 && position > 0)
             {
-                writeMetaDataToFile(position, metaDataWriteBuffer, metaDataOffset, metaDataLength);
+                writeMetaDataToFile(position, sessionId, metaDataWriteBuffer, metaDataOffset, metaDataLength);
             }
         }
         return true;
@@ -553,7 +653,7 @@ public class SequenceNumberIndexWriter implements Index
         final long correlationId = writeMetaData.correlationId();
         final int metaDataOffset = writeMetaData.metaDataOffset();
 
-        if (framerContext == null || metaDataFile == null)
+        if (framerContext == null || metaDataStore == null)
         {
             writeMetaDataResponse(libraryId, correlationId, MetaDataStatus.FILE_ERROR);
 
@@ -573,52 +673,45 @@ public class SequenceNumberIndexWriter implements Index
         writeMetaData.getMetaData(metaDataWriteBuffer, metaDataOffset, metaDataLength);
 
         final MetaDataStatus status = writeMetaDataToFile(
-            sequenceNumberIndexFilePosition, metaDataWriteBuffer, metaDataOffset, metaDataLength);
+            sequenceNumberIndexFilePosition, sessionId, metaDataWriteBuffer, metaDataOffset, metaDataLength);
         writeMetaDataResponse(libraryId, correlationId, status);
     }
 
     private MetaDataStatus writeMetaDataToFile(
         final int sequenceNumberIndexFilePosition,
+        final long sessionId,
         final byte[] metaDataValue,
         final int metaDataUpdateOffset,
         final int metaDataUpdateLength)
     {
-        final int oldMetaDataPosition = getMetaData(sequenceNumberIndexFilePosition);
+        if (metaDataStore == null)
+        {
+            return MetaDataStatus.FILE_ERROR;
+        }
+
+        final int oldMetaDataSlot = getMetaData(sequenceNumberIndexFilePosition);
         try
         {
-            if (oldMetaDataPosition == NO_META_DATA)
+            if (oldMetaDataSlot == NO_META_DATA)
             {
                 if (metaDataUpdateOffset != 0)
                 {
                     return MetaDataStatus.INVALID_OFFSET;
                 }
 
-                allocateMetaDataSlot(sequenceNumberIndexFilePosition, metaDataValue, metaDataUpdateLength);
+                final int slot = metaDataStore.allocate(sessionId, metaDataValue, 0, metaDataUpdateLength);
+                putMetaDataField(sequenceNumberIndexFilePosition, slot);
             }
-            else
+            // Is there space to replace in place?
+            else if (!metaDataStore.update(oldMetaDataSlot, metaDataValue, metaDataUpdateOffset, metaDataUpdateLength))
             {
-                metaDataFile.seek(oldMetaDataPosition);
-                final int oldMetaDataLength = metaDataFile.readInt();
-                final int newMetaDataMinLength = metaDataUpdateOffset + metaDataUpdateLength;
-                // Is there space to replace?
-                if (newMetaDataMinLength <= oldMetaDataLength)
-                {
-                    metaDataFile.seek(oldMetaDataPosition + SIZE_OF_META_DATA_LENGTH + metaDataUpdateOffset);
-                    metaDataFile.write(metaDataValue, metaDataUpdateOffset, metaDataUpdateLength);
-                }
-                else
-                {
-                    // Pickup the old prefix that will be copied if it's an update
-                    if (metaDataUpdateOffset > 0)
-                    {
-                        // Already at the old metadata position
-                        metaDataFile.read(metaDataValue, 0, metaDataUpdateOffset);
-                    }
-
-                    allocateMetaDataSlot(sequenceNumberIndexFilePosition, metaDataValue, newMetaDataMinLength);
-                }
+                final int slot = metaDataStore.reallocate(
+                    oldMetaDataSlot, sessionId, metaDataValue, metaDataUpdateOffset, metaDataUpdateLength);
+                putMetaDataField(sequenceNumberIndexFilePosition, slot);
             }
 
+            // Ensures that the meta data changes are forced by the next file update
+            hasSavedRecordSinceFileUpdate = true;
             return MetaDataStatus.OK;
         }
         catch (final IOException e)
@@ -629,25 +722,6 @@ public class SequenceNumberIndexWriter implements Index
         }
     }
 
-    private void allocateMetaDataSlot(
-        final int sequenceNumberIndexFilePosition,
-        final byte[] metaDataValue,
-        final int metaDataLength) throws IOException
-    {
-        final int metaDataFileInitialLength = (int)metaDataFile.length();
-        updateMetaDataFile(metaDataFileInitialLength, metaDataValue, metaDataLength);
-        putMetaDataField(sequenceNumberIndexFilePosition, metaDataFileInitialLength);
-        hasSavedRecordSinceFileUpdate = true;
-    }
-
-    private void updateMetaDataFile(
-        final int position, final byte[] metaDataValue, final int metaDataLength) throws IOException
-    {
-        metaDataFile.seek(position);
-        metaDataFile.writeInt(metaDataValue.length);
-        metaDataFile.write(metaDataValue, 0, metaDataLength);
-    }
-
     private void writeMetaDataResponse(final int libraryId, final long correlationId, final MetaDataStatus status)
     {
         final WriteMetaDataResponse response = new WriteMetaDataResponse(libraryId, correlationId, status);
@@ -688,24 +762,11 @@ public class SequenceNumberIndexWriter implements Index
     {
         inMemoryBuffer.setMemory(0, indexedPositionsOffset, (byte)0);
         initialiseBlankBuffer();
-        recordOffsets.clear();
-        resetMetaDataFile();
-    }
-
-    private void resetMetaDataFile()
-    {
-        if (metaDataLocation != null)
+        indexRecordOffsets();
+        if (metaDataStore != null)
         {
-            try
-            {
-                metaDataFile.seek(0);
-                metaDataFile.setLength(META_DATA_FILE_HEADER_LENGTH);
-                writeMetaDataFileHeader(metaDataFile);
-            }
-            catch (final IOException e)
-            {
-                errorHandler.onError(e);
-            }
+            metaDataStore.reset();
+            metaDataStore.force();
         }
     }
 
@@ -750,21 +811,9 @@ public class SequenceNumberIndexWriter implements Index
     {
         writableFile.buffer().putBytes(0, inMemoryBuffer, 0, fileCapacity);
         writableFile.force();
-        syncMetaDataFile();
-    }
-
-    private void syncMetaDataFile()
-    {
-        if (metaDataFile != null)
+        if (metaDataStore != null)
         {
-            try
-            {
-                metaDataFile.getFD().sync();
-            }
-            catch (final IOException e)
-            {
-                errorHandler.onError(e);
-            }
+            metaDataStore.force();
         }
     }
 
@@ -829,20 +878,7 @@ public class SequenceNumberIndexWriter implements Index
         }
         finally
         {
-            Exceptions.closeAll(indexFile, writableFile, reader, () ->
-            {
-                if (metaDataFile != null)
-                {
-                    try
-                    {
-                        metaDataFile.close();
-                    }
-                    catch (final IOException e)
-                    {
-                        errorHandler.onError(e);
-                    }
-                }
-            });
+            Exceptions.closeAll(indexFile, writableFile, reader, metaDataStore);
         }
     }
 
@@ -893,7 +929,7 @@ public class SequenceNumberIndexWriter implements Index
                 }
                 else if (lastKnownDecoder.sessionId() == sessionId)
                 {
-                    recordOffsets.put(sessionId, position);
+                    putRecordOffset(sessionId, position);
                     updateSequenceNumber(
                         newSequenceNumber, position, messagePosition, requiredPosition, incrementRequired, sessionId);
                     return position;
@@ -953,19 +989,13 @@ public class SequenceNumberIndexWriter implements Index
             // When sequence number resets then old metadata has expired
             if (oldSequenceNumber > newSequenceNumber)
             {
-                final int oldMetaDataPosition = getMetaData(recordOffset);
-                if (oldMetaDataPosition != NO_META_DATA)
+                final int oldMetaDataSlot = getMetaData(recordOffset);
+                if (oldMetaDataSlot != NO_META_DATA)
                 {
                     putMetaDataField(recordOffset, NO_META_DATA);
-                    try
-                    {
-                        metaDataFile.seek(oldMetaDataPosition);
-                        final int metaDataLength = metaDataFile.readInt();
-                        updateMetaDataFile(oldMetaDataPosition, new byte[metaDataLength], metaDataLength);
-                    }
-                    catch (final IOException e)
+                    if (metaDataStore != null)
                     {
-                        errorHandler.onError(e);
+                        metaDataStore.free(oldMetaDataSlot);
                     }
                 }
             }
@@ -985,13 +1015,53 @@ public class SequenceNumberIndexWriter implements Index
         final long sessionId,
         final int position, final long messagePosition)
     {
-        recordOffsets.put(sessionId, position);
         lastKnownEncoder
             .wrap(inMemoryBuffer, position)
             .sessionId(sessionId)
             .messagePosition(messagePosition);
         putSequenceNumber(position, sequenceNumber);
         putMetaDataField(position, NO_META_DATA);
+        // Published after the record is written so that readers never see an offset to an incomplete record
+        putRecordOffset(sessionId, position);
+    }
+
+    private void putRecordOffset(final long sessionId, final int position)
+    {
+        recordOffsets.put(sessionId, position);
+        if (publishedRecordOffsets != null)
+        {
+            publishedRecordOffsets.put(sessionId, position);
+        }
+    }
+
+    // Records are allocated contiguously from the start of the buffer, so the first empty record ends the scan.
+    private void indexRecordOffsets()
+    {
+        recordOffsets.clear();
+        if (publishedRecordOffsets != null)
+        {
+            publishedRecordOffsets.clear();
+        }
+
+        int position = SequenceNumberIndexDescriptor.HEADER_SIZE;
+        while (true)
+        {
+            position = checksumFramer.claim(position, RECORD_SIZE);
+            if (position == OUT_OF_SPACE)
+            {
+                return;
+            }
+
+            lastKnownDecoder.wrap(inMemoryBuffer, position, RECORD_SIZE, SCHEMA_VERSION);
+            final long sessionId = lastKnownDecoder.sessionId();
+            if (sessionId == 0)
+            {
+                return;
+            }
+
+            putRecordOffset(sessionId, position);
+            position += RECORD_SIZE;
+        }
     }
 
     private void initialiseBuffer()
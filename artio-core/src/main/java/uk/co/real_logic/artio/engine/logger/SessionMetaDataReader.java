@@ -0,0 +1,252 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.artio.messages.MetaDataStatus;
+
+import java.io.File;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static uk.co.real_logic.artio.engine.logger.SequenceNumberIndexDescriptor.*;
+
+/**
+ * Reads session meta data directly from the engine's memory mapped meta data file, without copying it or making a
+ * request to the engine. Can be used by a library that shares a file system with its engine, using the engine's
+ * log file directory.
+ * <p>
+ * The buffers that reads wrap point into the file and may be concurrently updated by the engine, so a value should
+ * be checked with {@link #isUnchanged()} after it has been used. Buffers stay valid until this reader is closed.
+ * <p>
+ * Designed to used on a single thread.
+ */
+public class SessionMetaDataReader implements AutoCloseable
+{
+    private static final long MISSING_SLOT = -1;
+    // A slot stays mid change for as long as it takes the engine to copy in a value, so this is only exceeded if
+    // the engine died mid change. The engine fixes the slot up when it's restarted.
+    private static final int MAX_CHANGING_SLOT_SPINS = 1_000_000;
+
+    private final Long2LongHashMap sessionIdToSlot = new Long2LongHashMap(MISSING_SLOT);
+    private final UnsafeBuffer valueBuffer = new UnsafeBuffer(0, 0);
+    private final File location;
+    private UnsafeBuffer buffer;
+    private int lastSlot = META_DATA_FILE_HEADER_LENGTH;
+    private long lastVersion;
+
+    public SessionMetaDataReader(final String logFileDir)
+    {
+        location = metaDataFile(logFileDir);
+        map();
+
+        final long magicNumber = buffer.getLong(0, ByteOrder.BIG_ENDIAN);
+        final int fileVersion = buffer.getInt(META_DATA_VERSION_OFFSET, ByteOrder.BIG_ENDIAN);
+        if (magicNumber != META_DATA_MAGIC_NUMBER)
+        {
+            close();
+            throw new IllegalStateException("Invalid magic number in metadata file: " + magicNumber);
+        }
+
+        if (fileVersion < READABLE_META_DATA_FILE_VERSION)
+        {
+            close();
+            throw new IllegalStateException("Unreadable metadata file version: " + fileVersion);
+        }
+    }
+
+    /**
+     * Wraps a buffer around the current meta data of a session.
+     *
+     * @param sessionId the session whose meta data is read.
+     * @param buffer the buffer that is wrapped around the meta data if the status is OK.
+     * @return OK if the buffer has been wrapped, NO_META_DATA if the session has no meta data. Sessions that the
+     *         engine doesn't know about also have no meta data. FILE_ERROR if the session's meta data was left
+     *         part way through being changed, which happens when the engine stops during an update.
+     */
+    public MetaDataStatus read(final long sessionId, final DirectBuffer buffer)
+    {
+        final int cachedSlot = (int)sessionIdToSlot.get(sessionId);
+        if (cachedSlot != MISSING_SLOT && read(cachedSlot, sessionId, buffer) == MetaDataStatus.OK)
+        {
+            return MetaDataStatus.OK;
+        }
+
+        indexSlots();
+
+        final int slot = (int)sessionIdToSlot.get(sessionId);
+        if (slot == MISSING_SLOT)
+        {
+            return MetaDataStatus.NO_META_DATA;
+        }
+
+        return read(slot, sessionId, buffer);
+    }
+
+    /**
+     * Checks whether the meta data from the last successful read has changed since it was read.
+     *
+     * @return true if the last value read is still consistent, false if it should be read again.
+     */
+    public boolean isUnchanged()
+    {
+        VarHandle.loadLoadFence(); // LoadLoad required so previous loads don't move past version check below.
+        return buffer.getLongVolatile(lastSlot + META_DATA_SLOT_VERSION_OFFSET) == lastVersion;
+    }
+
+    MetaDataStatus read(final int slot, final long sessionId, final DirectBuffer buffer)
+    {
+        if (slot < META_DATA_FILE_HEADER_LENGTH)
+        {
+            return MetaDataStatus.NO_META_DATA;
+        }
+
+        int changingSlotSpins = 0;
+        while (true)
+        {
+            if (slot + META_DATA_SLOT_HEADER_LENGTH > this.buffer.capacity() && !remap(slot))
+            {
+                return MetaDataStatus.NO_META_DATA;
+            }
+
+            final UnsafeBuffer fileBuffer = this.buffer;
+            final long version = fileBuffer.getLongVolatile(slot + META_DATA_SLOT_VERSION_OFFSET);
+            if ((version & 1) != 0)
+            {
+                if (++changingSlotSpins > MAX_CHANGING_SLOT_SPINS)
+                {
+                    return MetaDataStatus.FILE_ERROR;
+                }
+
+                Thread.onSpinWait();
+                continue;
+            }
+
+            final int capacity = fileBuffer.getInt(slot + META_DATA_SLOT_CAPACITY_OFFSET);
+            final int length = fileBuffer.getInt(slot + META_DATA_SLOT_LENGTH_OFFSET);
+            final long slotSessionId = fileBuffer.getLong(slot + META_DATA_SLOT_SESSION_ID_OFFSET);
+
+            VarHandle.loadLoadFence(); // LoadLoad required so previous loads don't move past version check below.
+
+            if (version != fileBuffer.getLongVolatile(slot + META_DATA_SLOT_VERSION_OFFSET))
+            {
+                continue;
+            }
+
+            if (length == FREE_META_DATA_SLOT || slotSessionId != sessionId ||
+                length < 0 || length > capacity - META_DATA_SLOT_HEADER_LENGTH)
+            {
+                return MetaDataStatus.NO_META_DATA;
+            }
+
+            if (slot + META_DATA_SLOT_HEADER_LENGTH + length > fileBuffer.capacity())
+            {
+                if (!remap(slot + META_DATA_SLOT_HEADER_LENGTH + length))
+                {
+                    return MetaDataStatus.NO_META_DATA;
+                }
+                continue;
+            }
+
+            buffer.wrap(fileBuffer, slot + META_DATA_SLOT_HEADER_LENGTH, length);
+            lastSlot = slot;
+            lastVersion = version;
+            return MetaDataStatus.OK;
+        }
+    }
+
+    // Copies the value out of the file so the buffer can be retained after the value is updated.
+    MetaDataStatus readCopy(final int slot, final long sessionId, final DirectBuffer buffer)
+    {
+        final UnsafeBuffer valueBuffer = this.valueBuffer;
+        while (true)
+        {
+            final MetaDataStatus status = read(slot, sessionId, valueBuffer);
+            if (status != MetaDataStatus.OK)
+            {
+                return status;
+            }
+
+            final byte[] metaDataValue = new byte[valueBuffer.capacity()];
+            valueBuffer.getBytes(0, metaDataValue);
+            if (isUnchanged())
+            {
+                buffer.wrap(metaDataValue);
+                return MetaDataStatus.OK;
+            }
+        }
+    }
+
+    private void indexSlots()
+    {
+        sessionIdToSlot.clear();
+
+        final int end = buffer.getIntVolatile(META_DATA_END_OFFSET);
+        if (end > buffer.capacity())
+        {
+            remap(end);
+        }
+
+        final UnsafeBuffer fileBuffer = this.buffer;
+        final int scanEnd = Math.min(end, fileBuffer.capacity());
+        int slot = META_DATA_FILE_HEADER_LENGTH;
+        while (slot < scanEnd)
+        {
+            final int capacity = fileBuffer.getInt(slot + META_DATA_SLOT_CAPACITY_OFFSET);
+            if (capacity < MIN_META_DATA_SLOT_CAPACITY)
+            {
+                // The file has been reset underneath the scan
+                return;
+            }
+
+            if (fileBuffer.getInt(slot + META_DATA_SLOT_LENGTH_OFFSET) != FREE_META_DATA_SLOT)
+            {
+                sessionIdToSlot.put(fileBuffer.getLong(slot + META_DATA_SLOT_SESSION_ID_OFFSET), slot);
+            }
+            slot += capacity;
+        }
+    }
+
+    // Earlier mappings aren't unmapped as buffers handed out may still refer to them, they're released on GC.
+    private boolean remap(final long requiredLength)
+    {
+        if (location.length() < requiredLength)
+        {
+            return false;
+        }
+
+        map();
+        return true;
+    }
+
+    private void map()
+    {
+        buffer = new UnsafeBuffer(IoUtil.mapExistingFile(location, READ_ONLY, location.getName()));
+    }
+
+    public void close()
+    {
+        if (buffer != null)
+        {
+            IoUtil.unmap(buffer.byteBuffer());
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,498 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.BitUtil;
+import org.agrona.CloseHelper;
+import org.agrona.IoUtil;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.IntHashSet;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static uk.co.real_logic.artio.engine.logger.SequenceNumberIndexDescriptor.*;
+
+/**
+ * Memory mapped store of session meta data. Each value lives in a slot whose capacity is a power of two, values are
+ * updated in place whilst they fit and move to a larger slot when they don't. Freed slots are kept on a free list per
+ * capacity and reused before the file is extended.
+ * <p>
+ * Only a single thread writes to the store, readers map the same file through a {@link SessionMetaDataReader} and
+ * detect concurrent changes through a per slot seqlock version. Changes are only forced to disk on {@link #force()}
+ * so that they can be batched with the sequence number index flush.
+ * <p>
+ * A version 1 file is copied to a backup before it's replaced, the backup is kept until
+ * {@link #completeLegacyMigration()} so that a migration interrupted by a crash is redone from it.
+ */
+final class SessionMetaDataStore implements AutoCloseable
+{
+    static final int INITIAL_FILE_LENGTH = 64 * 1024;
+    static final String LEGACY_BACKUP_SUFFIX = ".v1";
+
+    private static final int SIZE_CLASSES = Integer.SIZE;
+    private static final int MIN_SIZE_CLASS = Integer.numberOfTrailingZeros(MIN_META_DATA_SLOT_CAPACITY);
+
+    private final IntArrayList[] freeSlots = new IntArrayList[SIZE_CLASSES];
+    private final RandomAccessFile file;
+    private final File legacyBackup;
+
+    private AtomicBuffer buffer;
+    private int end;
+    private boolean dirty;
+    private byte[] legacyContents;
+
+    SessionMetaDataStore(final File location) throws IOException
+    {
+        for (int i = 0; i < SIZE_CLASSES; i++)
+        {
+            freeSlots[i] = new IntArrayList();
+        }
+
+        legacyBackup = new File(location.getPath() + LEGACY_BACKUP_SUFFIX);
+        file = new RandomAccessFile(location, "rw");
+        try
+        {
+            final long fileLength = file.length();
+            if (legacyBackup.exists())
+            {
+                // A migration was interrupted, the new file may be partially written so it's redone from the backup
+                legacyContents = Files.readAllBytes(legacyBackup.toPath());
+                if (hasReadableHeader())
+                {
+                    map();
+                    scanSlots();
+                }
+                else
+                {
+                    initialiseFile();
+                }
+            }
+            else if (fileLength == 0)
+            {
+                initialiseFile();
+            }
+            else
+            {
+                final long magicNumber = file.readLong();
+                final int fileVersion = file.readInt();
+
+                if (magicNumber != META_DATA_MAGIC_NUMBER)
+                {
+                    throw new IllegalStateException("Invalid magic number in metadata file: " + magicNumber);
+                }
+
+                if (fileVersion == LEGACY_META_DATA_FILE_VERSION)
+                {
+                    legacyContents = new byte[(int)fileLength];
+                    file.seek(0);
+                    file.readFully(legacyContents);
+                    backupLegacyContents();
+                    initialiseFile();
+                }
+                else if (fileVersion < READABLE_META_DATA_FILE_VERSION)
+                {
+                    throw new IllegalStateException("Unreadable metadata file version: " + fileVersion);
+                }
+                else
+                {
+                    map();
+                    scanSlots();
+                }
+            }
+        }
+        catch (final IOException | RuntimeException e)
+        {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the contents of a version 1 meta data file that was replaced when opening this store, values in it are
+     * a big endian length followed by the value, at the offsets referenced by the sequence number index.
+     * <p>
+     * If an earlier migration was interrupted then this store holds whatever it had migrated, which may be all of it
+     * if only removing the backup was interrupted.
+     *
+     * @return the contents of the legacy file or null if there wasn't one.
+     */
+    byte[] takeLegacyContents()
+    {
+        final byte[] legacyContents = this.legacyContents;
+        this.legacyContents = null;
+        return legacyContents;
+    }
+
+    /**
+     * Removes the backup of the version 1 file, called once the migrated values and the index that refers to them
+     * have been forced to disk.
+     */
+    void completeLegacyMigration() throws IOException
+    {
+        Files.deleteIfExists(legacyBackup.toPath());
+    }
+
+    static int legacyValueLength(final byte[] legacyContents, final int position)
+    {
+        if (position < META_DATA_VERSION_OFFSET + BitUtil.SIZE_OF_INT ||
+            position + BitUtil.SIZE_OF_INT > legacyContents.length)
+        {
+            return NO_META_DATA;
+        }
+
+        final int length = new UnsafeBuffer(legacyContents).getInt(position, ByteOrder.BIG_ENDIAN);
+        return Math.max(0, Math.min(length, legacyContents.length - position - BitUtil.SIZE_OF_INT));
+    }
+
+    int allocate(final long sessionId, final byte[] value, final int valueOffset, final int length)
+        throws IOException
+    {
+        final int slot = claimSlot(length);
+        final AtomicBuffer buffer = this.buffer;
+        final long version = beginChange(slot);
+        buffer.putBytes(slot + META_DATA_SLOT_HEADER_LENGTH, value, valueOffset, length);
+        buffer.putInt(slot + META_DATA_SLOT_LENGTH_OFFSET, length);
+        buffer.putLong(slot + META_DATA_SLOT_SESSION_ID_OFFSET, sessionId);
+        endChange(slot, version);
+        return slot;
+    }
+
+    /**
+     * Update a value in place.
+     *
+     * @return true if the update fits within the slot, false if the value needs to be reallocated.
+     */
+    boolean update(final int slot, final byte[] value, final int updateOffset, final int updateLength)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int newMinLength = updateOffset + updateLength;
+        if (newMinLength > buffer.getInt(slot + META_DATA_SLOT_CAPACITY_OFFSET) - META_DATA_SLOT_HEADER_LENGTH)
+        {
+            return false;
+        }
+
+        final int oldLength = buffer.getInt(slot + META_DATA_SLOT_LENGTH_OFFSET);
+        final long version = beginChange(slot);
+        buffer.putBytes(slot + META_DATA_SLOT_HEADER_LENGTH + updateOffset, value, updateOffset, updateLength);
+        buffer.putInt(slot + META_DATA_SLOT_LENGTH_OFFSET, Math.max(oldLength, newMinLength));
+        endChange(slot, version);
+        return true;
+    }
+
+    /**
+     * Moves a value into a slot large enough for an update, the prefix before the update is copied from the old slot
+     * and the old slot is freed.
+     *
+     * @return the new slot.
+     */
+    int reallocate(
+        final int oldSlot,
+        final long sessionId,
+        final byte[] value,
+        final int updateOffset,
+        final int updateLength) throws IOException
+    {
+        final int newLength = updateOffset + updateLength;
+        final int slot = claimSlot(newLength);
+        // Claiming a slot can remap the file
+        final AtomicBuffer buffer = this.buffer;
+        final int oldLength = buffer.getInt(oldSlot + META_DATA_SLOT_LENGTH_OFFSET);
+        final long version = beginChange(slot);
+        buffer.putBytes(
+            slot + META_DATA_SLOT_HEADER_LENGTH,
+            buffer,
+            oldSlot + META_DATA_SLOT_HEADER_LENGTH,
+            Math.min(oldLength, updateOffset));
+        buffer.putBytes(slot + META_DATA_SLOT_HEADER_LENGTH + updateOffset, value, updateOffset, updateLength);
+        buffer.putInt(slot + META_DATA_SLOT_LENGTH_OFFSET, newLength);
+        buffer.putLong(slot + META_DATA_SLOT_SESSION_ID_OFFSET, sessionId);
+        endChange(slot, version);
+
+        free(oldSlot);
+        return slot;
+    }
+
+    void free(final int slot)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int capacity = buffer.getInt(slot + META_DATA_SLOT_CAPACITY_OFFSET);
+        final long version = beginChange(slot);
+        buffer.setMemory(slot + META_DATA_SLOT_HEADER_LENGTH, capacity - META_DATA_SLOT_HEADER_LENGTH, (byte)0);
+        buffer.putInt(slot + META_DATA_SLOT_LENGTH_OFFSET, FREE_META_DATA_SLOT);
+        buffer.putLong(slot + META_DATA_SLOT_SESSION_ID_OFFSET, 0);
+        endChange(slot, version);
+
+        freeSlots[sizeClass(capacity)].addInt(slot);
+    }
+
+    boolean isAllocatedTo(final int slot, final long sessionId)
+    {
+        // Slots are aligned to the minimum capacity, anything else is a stale offset
+        if (slot < META_DATA_FILE_HEADER_LENGTH || slot >= end || (slot & (MIN_META_DATA_SLOT_CAPACITY - 1)) != 0)
+        {
+            return false;
+        }
+
+        final AtomicBuffer buffer = this.buffer;
+        return buffer.getInt(slot + META_DATA_SLOT_LENGTH_OFFSET) != FREE_META_DATA_SLOT &&
+            buffer.getLong(slot + META_DATA_SLOT_SESSION_ID_OFFSET) == sessionId;
+    }
+
+    // Frees slots left allocated by a crash between a meta data update and the index file being saved.
+    void freeUnreferencedSlots(final IntHashSet referencedSlots)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        int slot = META_DATA_FILE_HEADER_LENGTH;
+        while (slot < end)
+        {
+            if (buffer.getInt(slot + META_DATA_SLOT_LENGTH_OFFSET) != FREE_META_DATA_SLOT &&
+                !referencedSlots.contains(slot))
+            {
+                free(slot);
+            }
+            slot += buffer.getInt(slot + META_DATA_SLOT_CAPACITY_OFFSET);
+        }
+    }
+
+    /**
+     * Frees all the slots. The file isn't truncated as readers may still have it mapped.
+     */
+    void reset()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        int slot = META_DATA_FILE_HEADER_LENGTH;
+        while (slot < end)
+        {
+            final int capacity = buffer.getInt(slot + META_DATA_SLOT_CAPACITY_OFFSET);
+            beginChange(slot);
+            slot += capacity;
+        }
+
+        buffer.setMemory(META_DATA_FILE_HEADER_LENGTH, end - META_DATA_FILE_HEADER_LENGTH, (byte)0);
+        for (final IntArrayList freeList : freeSlots)
+        {
+            freeList.clear();
+        }
+        putEnd(META_DATA_FILE_HEADER_LENGTH);
+        dirty = true;
+    }
+
+    void force()
+    {
+        if (dirty)
+        {
+            ((MappedByteBuffer)buffer.byteBuffer()).force();
+            dirty = false;
+        }
+    }
+
+    int end()
+    {
+        return end;
+    }
+
+    public void close()
+    {
+        if (buffer != null)
+        {
+            IoUtil.unmap(buffer.byteBuffer());
+            buffer = null;
+        }
+        CloseHelper.close(file);
+    }
+
+    private int claimSlot(final int length) throws IOException
+    {
+        final int capacity = slotCapacity(length);
+        final IntArrayList freeList = freeSlots[sizeClass(capacity)];
+        if (!freeList.isEmpty())
+        {
+            return freeList.removeAt(freeList.size() - 1);
+        }
+
+        final int slot = end;
+        final long newEnd = (long)slot + capacity;
+        if (newEnd > Integer.MAX_VALUE)
+        {
+            throw new IOException("Metadata file out of space, can't allocate a slot of capacity " + capacity);
+        }
+
+        if (newEnd > buffer.capacity())
+        {
+            grow(newEnd);
+        }
+
+        buffer.putInt(slot + META_DATA_SLOT_CAPACITY_OFFSET, capacity);
+        buffer.putInt(slot + META_DATA_SLOT_LENGTH_OFFSET, FREE_META_DATA_SLOT);
+        putEnd((int)newEnd);
+        return slot;
+    }
+
+    static int slotCapacity(final int length)
+    {
+        return Math.max(MIN_META_DATA_SLOT_CAPACITY, BitUtil.findNextPositivePowerOfTwo(
+            META_DATA_SLOT_HEADER_LENGTH + length));
+    }
+
+    private static int sizeClass(final int capacity)
+    {
+        return Integer.numberOfTrailingZeros(capacity) - MIN_SIZE_CLASS;
+    }
+
+    private long beginChange(final int slot)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final long version = buffer.getLong(slot + META_DATA_SLOT_VERSION_OFFSET);
+        buffer.putLong(slot + META_DATA_SLOT_VERSION_OFFSET, version + 1);
+        VarHandle.storeStoreFence();
+        return version;
+    }
+
+    private void endChange(final int slot, final long version)
+    {
+        buffer.putLongOrdered(slot + META_DATA_SLOT_VERSION_OFFSET, version + 2);
+        dirty = true;
+    }
+
+    private void putEnd(final int end)
+    {
+        this.end = end;
+        buffer.putIntOrdered(META_DATA_END_OFFSET, end);
+    }
+
+    // Rebuilds the free lists, a torn slot at the end of the file from a crash is discarded. A crash mid change
+    // leaves an odd version that readers would wait on forever, so it's moved on to the next even version.
+    private void scanSlots()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int fileEnd = Math.min(buffer.getInt(META_DATA_END_OFFSET), buffer.capacity());
+        int slot = META_DATA_FILE_HEADER_LENGTH;
+        while (slot < fileEnd)
+        {
+            final int capacity = buffer.getInt(slot + META_DATA_SLOT_CAPACITY_OFFSET);
+            if (capacity < MIN_META_DATA_SLOT_CAPACITY || !BitUtil.isPowerOfTwo(capacity) ||
+                (long)slot + capacity > fileEnd)
+            {
+                break;
+            }
+
+            final long version = buffer.getLong(slot + META_DATA_SLOT_VERSION_OFFSET);
+            if ((version & 1) != 0)
+            {
+                buffer.putLongOrdered(slot + META_DATA_SLOT_VERSION_OFFSET, version + 1);
+                dirty = true;
+            }
+
+            if (buffer.getInt(slot + META_DATA_SLOT_LENGTH_OFFSET) == FREE_META_DATA_SLOT)
+            {
+                freeSlots[sizeClass(capacity)].addInt(slot);
+            }
+            slot += capacity;
+        }
+
+        end = slot;
+        if (buffer.getInt(META_DATA_END_OFFSET) != slot)
+        {
+            putEnd(slot);
+        }
+    }
+
+    private boolean hasReadableHeader() throws IOException
+    {
+        if (file.length() < META_DATA_FILE_HEADER_LENGTH)
+        {
+            return false;
+        }
+
+        file.seek(0);
+        final long magicNumber = file.readLong();
+        final int fileVersion = file.readInt();
+        return magicNumber == META_DATA_MAGIC_NUMBER && fileVersion >= READABLE_META_DATA_FILE_VERSION;
+    }
+
+    // Written to a temporary file and renamed so that a crash never leaves a partial backup.
+    private void backupLegacyContents() throws IOException
+    {
+        final Path backupPath = legacyBackup.toPath();
+        final Path tempPath = backupPath.resolveSibling(legacyBackup.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, CREATE, TRUNCATE_EXISTING, WRITE))
+        {
+            final ByteBuffer contents = ByteBuffer.wrap(legacyContents);
+            while (contents.hasRemaining())
+            {
+                channel.write(contents);
+            }
+            channel.force(true);
+        }
+        Files.move(tempPath, backupPath, ATOMIC_MOVE);
+    }
+
+    private void initialiseFile() throws IOException
+    {
+        if (buffer != null)
+        {
+            IoUtil.unmap(buffer.byteBuffer());
+            buffer = null;
+        }
+
+        file.setLength(0);
+        file.setLength(INITIAL_FILE_LENGTH);
+        map();
+
+        final AtomicBuffer buffer = this.buffer;
+        buffer.putLong(0, META_DATA_MAGIC_NUMBER, ByteOrder.BIG_ENDIAN);
+        buffer.putInt(META_DATA_VERSION_OFFSET, META_DATA_FILE_VERSION, ByteOrder.BIG_ENDIAN);
+        putEnd(META_DATA_FILE_HEADER_LENGTH);
+        dirty = true;
+        force();
+    }
+
+    private void grow(final long requiredLength) throws IOException
+    {
+        long newLength = buffer.capacity();
+        while (newLength < requiredLength)
+        {
+            newLength *= 2;
+        }
+
+        IoUtil.unmap(buffer.byteBuffer());
+        buffer = null;
+        file.setLength(Math.min(newLength, Integer.MAX_VALUE));
+        map();
+    }
+
+    private void map() throws IOException
+    {
+        final MappedByteBuffer mappedBuffer = file.getChannel().map(READ_WRITE, 0, file.length());
+        buffer = new UnsafeBuffer(mappedBuffer);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.library;
+
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+
+/**
+ * Optional extension of {@link SessionHandler} for handlers that want to receive runs of consecutive application
+ * messages for the same session in one callback rather than one call per message.
+ *
+ * If the {@link SessionHandler} returned from {@link SessionAcquireHandler#onSessionAcquired} implements this
+ * interface then application messages with {@link uk.co.real_logic.artio.messages.MessageStatus#OK} status are
+ * validated by the session as normal and then accumulated into a {@link SessionMessageBatch}. The batch is delivered
+ * when the library's inbound poll ends, when a message for a different session is received, when it reaches
+ * {@link LibraryConfiguration#messageBatchSize(int)} messages or before any session level message or event for the
+ * same session is delivered. Session level messages, such as Logon or ResendRequest, and catchup replay messages
+ * are still delivered through {@link SessionHandler#onMessage}.
+ */
+public interface BatchSessionHandler extends SessionHandler
+{
+    /**
+     * Event to indicate that a batch of fix messages for a single session have arrived to process.
+     *
+     * The batch is iterated using {@link SessionMessageBatch#next()}. If this method returns
+     * {@link Action#ABORT} then the batch will be redelivered later starting from the message that the batch was
+     * positioned on when it returned, so messages that have already been iterated past are not seen twice.
+     *
+     * @param libraryId the id of library which has received these messages.
+     * @param batch the messages that have been received, only valid for the duration of this callback.
+     * @return an action to indicate the correct back pressure behaviour.
+     */
+    Action onMessageBatch(int libraryId, SessionMessageBatch batch);
+}
@@ -72,6 +72,13 @@ public class FixLibrary extends GatewayProcess
     }
 
     FixLibrary(final LibraryConfiguration configuration)
+    {
+        this(configuration, configuration.sessionExistsHandler());
+    }
+
+    // The session exists handler can be passed separately so that a PartitionedFixLibrary can filter the sessions
+    // each partition is notified of without modifying the caller's configuration.
+    FixLibrary(final LibraryConfiguration configuration, final SessionExistsHandler sessionExistsHandler)
     {
         this.configuration = configuration;
         scheduler = configuration.scheduler();
@@ -89,7 +96,7 @@ public class FixLibrary extends GatewayProcess
             final EpochClock epochClock = configuration.isReproductionEnabled() ?
                 configuration.reproductionConfiguration().clock().toMillis() : new SystemEpochClock();
             poller = new LibraryPoller(
-                configuration, timers, fixCounters, transport, this, epochClock, errorHandler);
+                configuration, timers, fixCounters, transport, this, epochClock, errorHandler, sessionExistsHandler);
         }
         catch (final Exception e)
         {
@@ -146,6 +153,12 @@ public class FixLibrary extends GatewayProcess
         return new FixLibrary(configuration).connect();
     }
 
+    static FixLibrary connect(
+        final LibraryConfiguration configuration, final SessionExistsHandler sessionExistsHandler)
+    {
+        return new FixLibrary(configuration, sessionExistsHandler).connect();
+    }
+
     /**
      * Poll the library all of its component sessions to process any messages
      * and events that have received from or should be sent to the engine.
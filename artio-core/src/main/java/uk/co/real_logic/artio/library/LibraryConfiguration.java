@@ -68,6 +68,7 @@ public final class LibraryConfiguration extends CommonConfiguration
     };
 
     public static final SessionProxyFactory DEFAULT_SESSION_PROXY_FACTORY = DirectSessionProxy::new;
+    public static final int DEFAULT_MESSAGE_BATCH_SIZE = 256;
 
     private int libraryId = ENGINE_LIBRARY_ID;
 
@@ -84,6 +85,7 @@ public final class LibraryConfiguration extends CommonConfiguration
     private FixPConnectionAcquiredHandler fixPConnectionAcquiredHandler;
     private LibraryReproductionConfiguration reproductionConfiguration;
     private long libraryCycleThresholdNs = DEFAULT_CYCLE_THRESHOLD_NS;
+    private int messageBatchSize = DEFAULT_MESSAGE_BATCH_SIZE;
 
     /**
      * When a new FIX session connects to the gateway you register a callback handler to find
@@ -301,6 +303,24 @@ public final class LibraryConfiguration extends CommonConfiguration
         return this;
     }
 
+    /**
+     * Sets the maximum number of messages that are accumulated for a single session before they are delivered to
+     * a {@link BatchSessionHandler}. Has no effect on sessions whose handler isn't a {@link BatchSessionHandler}.
+     *
+     * @param messageBatchSize the maximum number of messages in a {@link SessionMessageBatch}.
+     * @return this for fluent API.
+     */
+    public LibraryConfiguration messageBatchSize(final int messageBatchSize)
+    {
+        if (messageBatchSize <= 0)
+        {
+            throw new IllegalArgumentException("messageBatchSize must be positive: " + messageBatchSize);
+        }
+
+        this.messageBatchSize = messageBatchSize;
+        return this;
+    }
+
     // ------------------------
     // BEGIN INHERITED SETTERS
     // ------------------------
@@ -449,6 +469,11 @@ public final class LibraryConfiguration extends CommonConfiguration
         return libraryCycleThresholdNs;
     }
 
+    public int messageBatchSize()
+    {
+        return messageBatchSize;
+    }
+
     public LibraryConfiguration libraryName(final String libraryName)
     {
         this.libraryName = libraryName;
@@ -114,6 +114,8 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
     private final Long2ObjectHashMap<WeakReference<SessionWriter>> sessionIdToFollowerSessionWriter =
         new Long2ObjectHashMap<>(0, Hashing.DEFAULT_LOAD_FACTOR);
     private final Long2ObjectHashMap<SessionSubscriber> connectionIdToSession = new Long2ObjectHashMap<>();
+    // The subscriber, if any, that has messages accumulated for a BatchSessionHandler
+    private SessionSubscriber batchingSubscriber;
     private InternalFixPConnection[] fixPConnections = EMPTY_FIXP_CONNECTIONS;
     private final List<InternalFixPConnection> unmodifiableFixPConnections =
         new UnmodifiableWrapper<>(() -> fixPConnections);
@@ -240,6 +242,20 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
         final FixLibrary fixLibrary,
         final EpochClock epochClock,
         final ErrorHandler errorHandler)
+    {
+        this(configuration, timers, fixCounters, transport, fixLibrary, epochClock, errorHandler,
+            configuration.sessionExistsHandler());
+    }
+
+    LibraryPoller(
+        final LibraryConfiguration configuration,
+        final LibraryTimers timers,
+        final FixCounters fixCounters,
+        final LibraryTransport transport,
+        final FixLibrary fixLibrary,
+        final EpochClock epochClock,
+        final ErrorHandler errorHandler,
+        final SessionExistsHandler sessionExistsHandler)
     {
         this.libraryId = configuration.libraryId();
         this.fixCounters = fixCounters;
@@ -251,7 +267,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
 
         this.configuration = configuration;
         this.sessionIdStrategy = configuration.sessionIdStrategy();
-        this.sessionExistsHandler = configuration.sessionExistsHandler();
+        this.sessionExistsHandler = sessionExistsHandler;
         this.epochClock = epochClock;
         epochNanoClock = configuration.epochNanoClock();
         this.enginesAreClustered = configuration.libraryAeronChannels().size() > 1;
@@ -631,6 +647,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
     {
         int operations = 0;
         operations += inboundSubscription.controlledPoll(outboundSubscription, fragmentLimit);
+        flushMessageBatch();
         operations += livenessDetector.poll(timeInMs);
         operations += pollSessions(timeInNs);
         operations += pollPendingInitiatorSessions(timeInNs);
@@ -1260,7 +1277,12 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
             final SessionSubscriber subscriber = connectionIdToSession.get(connectionId);
             if (subscriber != null)
             {
-                return subscriber.onMessage(
+                if (subscriber != batchingSubscriber && flushMessageBatch() == ABORT)
+                {
+                    return ABORT;
+                }
+
+                final Action action = subscriber.onMessage(
                     buffer,
                     offset,
                     length,
@@ -1269,13 +1291,46 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
                     messageType,
                     timestampInNs,
                     status,
+                    sequenceNumber,
                     header.position());
+
+                if (subscriber.hasPendingBatch())
+                {
+                    batchingSubscriber = subscriber;
+                }
+
+                return action;
             }
         }
 
         return CONTINUE;
     }
 
+    private Action flushMessageBatch()
+    {
+        final SessionSubscriber subscriber = batchingSubscriber;
+        if (subscriber == null)
+        {
+            return CONTINUE;
+        }
+
+        final Action action = subscriber.flushBatch();
+        if (action != ABORT)
+        {
+            batchingSubscriber = null;
+        }
+
+        return action;
+    }
+
+    private void clearBatchingSubscriber(final SessionSubscriber subscriber)
+    {
+        if (batchingSubscriber == subscriber)
+        {
+            batchingSubscriber = null;
+        }
+    }
+
     public Action onDisconnect(
         final int libraryId, final long connectionId, final DisconnectReason reason)
     {
@@ -1318,6 +1373,7 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
                 }
 
                 connectionIdToSession.remove(connectionId);
+                clearBatchingSubscriber(subscriber);
 
                 if (isEngineOwned)
                 {
@@ -1832,14 +1888,21 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
             final boolean disconnectedSession = disconnectedSessionIds.remove(sessionId);
             if (acquiredSession || disconnectedSession)
             {
-                final SessionSubscriber subscriber = connectionIdToSession.remove(session.connectionId());
+                final long connectionId = session.connectionId();
+                final SessionSubscriber subscriber = connectionIdToSession.get(connectionId);
                 if (subscriber != null)
                 {
-                    if (acquiredSession)
+                    // The batch must be handed over before the subscriber is removed so that an ABORT can be
+                    // retried when the control notification is redelivered.
+                    if (acquiredSession && subscriber.onTimeout(libraryId) == ABORT)
                     {
-                        subscriber.onTimeout(libraryId);
+                        this.sessions = sessions;
+                        return ABORT;
                     }
 
+                    connectionIdToSession.remove(connectionId);
+                    clearBatchingSubscriber(subscriber);
+
                     if (disconnectedSession)
                     {
                         final Action action = subscriber.onDisconnect(libraryId, DisconnectReason.REMOTE_DISCONNECT);
@@ -2225,7 +2288,8 @@ final class LibraryPoller implements LibraryEndPointHandler, ProtocolHandler, Au
             sessionTimer,
             this,
             configuration.replyTimeoutInMs(),
-            errorHandler);
+            errorHandler,
+            configuration.messageBatchSize());
         session.isSlowConsumer(sessionAcquiredInfo.isSlow());
         subscriber.reply(reply);
         subscriber.handler(configuration.sessionAcquireHandler().onSessionAcquired(session, sessionAcquiredInfo));
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.library;
+
+import org.agrona.CloseHelper;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentRunner;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
+
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.agrona.concurrent.AgentRunner.startOnThread;
+
+/**
+ * Partitions FIX sessions across a number of worker threads, each of which polls its own {@link FixLibrary}.
+ *
+ * Every partition is a complete library instance with its own publication to and subscription from the engine, so
+ * the engine's existing routing of messages to the library that owns a session delivers each session's inbound
+ * messages to the worker thread that owns it. Sessions are assigned to partitions by their surrogate session id,
+ * see {@link #partitionFor(long)}: each partition's {@link SessionExistsHandler} is only invoked for the sessions
+ * that belong to it, so an acquiring handler such as {@link AcquiringSessionExistsHandler} will only request those.
+ * For this to spread accepted sessions the engine should be configured so that the engine owns them initially.
+ *
+ * {@link FixLibrary} isn't thread safe, so once launched a partition's library must only be used from its own
+ * worker thread. Operations like initiating or requesting a session are submitted from any thread with
+ * {@link #execute(int, Consumer)} and are run by the worker in between polls.
+ *
+ * This spreads sessions over independent libraries rather than being a single multi-threaded library: the engine
+ * sees one library per partition, there's no conductor thread shared between the partitions, and control operations
+ * run on the worker thread of the partition that they're submitted to.
+ *
+ * The configurations passed to launch aren't modified beyond what {@link FixLibrary#connect(LibraryConfiguration)}
+ * does, each partition's library is given its filtering {@link SessionExistsHandler} directly.
+ */
+public final class PartitionedFixLibrary implements AutoCloseable
+{
+    public static final int DEFAULT_COMMAND_QUEUE_CAPACITY = 1024;
+    public static final int DEFAULT_FRAGMENT_LIMIT = 10;
+
+    private final Partition[] partitions;
+    private final AgentRunner[] runners;
+
+    /**
+     * Connect one library per partition and start a worker thread polling each of them.
+     *
+     * @param partitionCount the number of partitions, and thus worker threads, to use.
+     * @param configurationFactory creates the configuration of each partition's library given the partition index.
+     *                             Each configuration must be a distinct instance with a distinct library id.
+     * @param errorHandler the error handler for exceptions thrown on the worker threads.
+     * @return the launched partitioned library.
+     * @throws IllegalArgumentException if partitionCount isn't positive or configurationFactory returns the same
+     *                                  configuration for more than one partition.
+     */
+    public static PartitionedFixLibrary launch(
+        final int partitionCount,
+        final IntFunction<LibraryConfiguration> configurationFactory,
+        final ErrorHandler errorHandler)
+    {
+        return launch(
+            partitionCount,
+            configurationFactory,
+            errorHandler,
+            DEFAULT_FRAGMENT_LIMIT,
+            DEFAULT_COMMAND_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Connect one library per partition and start a worker thread polling each of them.
+     *
+     * @param partitionCount the number of partitions, and thus worker threads, to use.
+     * @param configurationFactory creates the configuration of each partition's library given the partition index.
+     *                             Each configuration must be a distinct instance with a distinct library id.
+     * @param errorHandler the error handler for exceptions thrown on the worker threads.
+     * @param fragmentLimit the fragment limit passed to {@link FixLibrary#poll(int)} by each worker.
+     * @param commandQueueCapacity the capacity of each partition's queue of pending commands.
+     * @return the launched partitioned library.
+     * @throws IllegalArgumentException if partitionCount, fragmentLimit or commandQueueCapacity isn't positive or
+     *                                  configurationFactory returns the same configuration for more than one
+     *                                  partition.
+     */
+    public static PartitionedFixLibrary launch(
+        final int partitionCount,
+        final IntFunction<LibraryConfiguration> configurationFactory,
+        final ErrorHandler errorHandler,
+        final int fragmentLimit,
+        final int commandQueueCapacity)
+    {
+        validatePositive("partitionCount", partitionCount);
+        validatePositive("fragmentLimit", fragmentLimit);
+        validatePositive("commandQueueCapacity", commandQueueCapacity);
+
+        final LibraryConfiguration[] configurations = configurations(partitionCount, configurationFactory);
+        final Partition[] partitions = new Partition[partitionCount];
+        try
+        {
+            for (int i = 0; i < partitionCount; i++)
+            {
+                final LibraryConfiguration configuration = configurations[i];
+                final FixLibrary library = FixLibrary.connect(
+                    configuration, partitionSessionExistsHandler(i, partitionCount, configuration));
+                partitions[i] = new Partition(i, configuration, library, fragmentLimit, commandQueueCapacity);
+            }
+        }
+        catch (final RuntimeException e)
+        {
+            closeLibraries(partitions);
+            throw e;
+        }
+
+        final PartitionedFixLibrary library = new PartitionedFixLibrary(partitions);
+        library.start(errorHandler);
+        return library;
+    }
+
+    static LibraryConfiguration[] configurations(
+        final int partitionCount, final IntFunction<LibraryConfiguration> configurationFactory)
+    {
+        final LibraryConfiguration[] configurations = new LibraryConfiguration[partitionCount];
+        for (int i = 0; i < partitionCount; i++)
+        {
+            final LibraryConfiguration configuration = configurationFactory.apply(i);
+            for (int j = 0; j < i; j++)
+            {
+                if (configurations[j] == configuration)
+                {
+                    throw new IllegalArgumentException(
+                        "configurationFactory returned the same configuration for partitions " + j + " and " + i);
+                }
+            }
+            configurations[i] = configuration;
+        }
+
+        return configurations;
+    }
+
+    // Without a handler there are no notifications to filter.
+    static SessionExistsHandler partitionSessionExistsHandler(
+        final int partition, final int partitionCount, final LibraryConfiguration configuration)
+    {
+        final SessionExistsHandler sessionExistsHandler = configuration.sessionExistsHandler();
+        return sessionExistsHandler == null ?
+            null : new PartitionSessionExistsHandler(partition, partitionCount, sessionExistsHandler);
+    }
+
+    PartitionedFixLibrary(final Partition[] partitions)
+    {
+        this.partitions = partitions;
+        runners = new AgentRunner[partitions.length];
+    }
+
+    private void start(final ErrorHandler errorHandler)
+    {
+        for (int i = 0; i < partitions.length; i++)
+        {
+            final Partition partition = partitions[i];
+            final LibraryConfiguration configuration = partition.configuration;
+            final AgentRunner runner = new AgentRunner(
+                configuration.libraryIdleStrategy(), errorHandler, null, partition);
+            runners[i] = runner;
+            startOnThread(runner, configuration.threadFactory());
+        }
+    }
+
+    /**
+     * Gets the number of partitions.
+     *
+     * @return the number of partitions.
+     */
+    public int partitionCount()
+    {
+        return partitions.length;
+    }
+
+    /**
+     * Gets the partition that owns a given session.
+     *
+     * @param surrogateSessionId the surrogate id of the session.
+     * @return the index of the partition that owns the session.
+     */
+    public int partitionFor(final long surrogateSessionId)
+    {
+        return partitionFor(surrogateSessionId, partitions.length);
+    }
+
+    static int partitionFor(final long surrogateSessionId, final int partitionCount)
+    {
+        return (int)Math.floorMod(surrogateSessionId, (long)partitionCount);
+    }
+
+    /**
+     * Submit a command to be run on a partition's worker thread with that partition's library.
+     *
+     * @param partition the index of the partition to run the command on.
+     * @param command the command to run.
+     * @return true if the command was queued, false if the partition's command queue is full.
+     * @throws IndexOutOfBoundsException if partition isn't a valid partition index.
+     */
+    public boolean execute(final int partition, final Consumer<FixLibrary> command)
+    {
+        return partitions[partition].commands.offer(command);
+    }
+
+    /**
+     * Submit a command to be run on the worker thread of the partition that owns a given session.
+     *
+     * @param surrogateSessionId the surrogate id of the session.
+     * @param command the command to run.
+     * @return true if the command was queued, false if the partition's command queue is full.
+     * @see #partitionFor(long)
+     */
+    public boolean executeForSession(final long surrogateSessionId, final Consumer<FixLibrary> command)
+    {
+        return execute(partitionFor(surrogateSessionId), command);
+    }
+
+    /**
+     * Stop the worker threads and close all the partitions' libraries.
+     */
+    public void close()
+    {
+        for (final AgentRunner runner : runners)
+        {
+            awaitRunnerStart(runner);
+        }
+
+        CloseHelper.closeAll(runners);
+    }
+
+    // Wait for the worker thread to start so that closing its runner stops and joins it.
+    private static void awaitRunnerStart(final AgentRunner runner)
+    {
+        if (runner != null)
+        {
+            while (runner.thread() == null)
+            {
+                Thread.yield();
+            }
+        }
+    }
+
+    private static void closeLibraries(final Partition[] partitions)
+    {
+        for (final Partition partition : partitions)
+        {
+            if (partition != null)
+            {
+                CloseHelper.quietClose(partition.library);
+            }
+        }
+    }
+
+    private static void validatePositive(final String name, final int value)
+    {
+        if (value <= 0)
+        {
+            throw new IllegalArgumentException(name + " must be positive, but was: " + value);
+        }
+    }
+
+    static final class Partition implements Agent
+    {
+        private final int index;
+        private final LibraryConfiguration configuration;
+        private final FixLibrary library;
+        private final int fragmentLimit;
+        private final ManyToOneConcurrentArrayQueue<Consumer<FixLibrary>> commands;
+        private final Consumer<Consumer<FixLibrary>> runCommand;
+
+        Partition(
+            final int index,
+            final LibraryConfiguration configuration,
+            final FixLibrary library,
+            final int fragmentLimit,
+            final int commandQueueCapacity)
+        {
+            this.index = index;
+            this.configuration = configuration;
+            this.library = library;
+            this.fragmentLimit = fragmentLimit;
+            commands = new ManyToOneConcurrentArrayQueue<>(commandQueueCapacity);
+            runCommand = (command) -> command.accept(this.library);
+        }
+
+        public int doWork()
+        {
+            return commands.drain(runCommand) + library.poll(fragmentLimit);
+        }
+
+        public void onClose()
+        {
+            library.close();
+        }
+
+        public String roleName()
+        {
+            return "partitioned-library-" + index;
+        }
+    }
+
+    static final class PartitionSessionExistsHandler implements SessionExistsHandler
+    {
+        private final int partition;
+        private final int partitionCount;
+        private final SessionExistsHandler delegate;
+
+        PartitionSessionExistsHandler(
+            final int partition, final int partitionCount, final SessionExistsHandler delegate)
+        {
+            this.partition = partition;
+            this.partitionCount = partitionCount;
+            this.delegate = delegate;
+        }
+
+        public void onSessionExists(
+            final FixLibrary library,
+            final long surrogateSessionId,
+            final String localCompId,
+            final String localSubId,
+            final String localLocationId,
+            final String remoteCompId,
+            final String remoteSubId,
+            final String remoteLocationId,
+            final int logonReceivedSequenceNumber,
+            final int logonSequenceIndex)
+        {
+            if (partitionFor(surrogateSessionId, partitionCount) == partition)
+            {
+                delegate.onSessionExists(
+                    library,
+                    surrogateSessionId,
+                    localCompId,
+                    localSubId,
+                    localLocationId,
+                    remoteCompId,
+                    remoteSubId,
+                    remoteLocationId,
+                    logonReceivedSequenceNumber,
+                    logonSequenceIndex);
+            }
+        }
+    }
+}
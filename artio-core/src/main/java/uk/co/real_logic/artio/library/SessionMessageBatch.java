@@ -0,0 +1,251 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.library;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import uk.co.real_logic.artio.session.Session;
+
+/**
+ * A contiguous view over a run of FIX messages received for a single session, see {@link BatchSessionHandler}.
+ *
+ * All the messages in the batch are stored back to back in {@link #buffer()}. The batch is a cursor: call
+ * {@link #next()} to move onto each message in turn and then use the accessors to look at the current message.
+ * The sequence number and message type have already been extracted from each message.
+ */
+public final class SessionMessageBatch
+{
+    private static final int INITIAL_BYTES_PER_MESSAGE = 256;
+
+    private final Session session;
+    private final int capacity;
+    private final ExpandableArrayBuffer buffer;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] sequenceNumbers;
+    private final int[] sequenceIndices;
+    private final long[] messageTypes;
+    private final long[] timestamps;
+    private final long[] positions;
+    private final boolean[] validFlags;
+
+    private int size;
+    private int bufferLength;
+    private int index = -1;
+
+    SessionMessageBatch(final Session session, final int capacity)
+    {
+        this.session = session;
+        this.capacity = capacity;
+        buffer = new ExpandableArrayBuffer(capacity * INITIAL_BYTES_PER_MESSAGE);
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        sequenceNumbers = new int[capacity];
+        sequenceIndices = new int[capacity];
+        messageTypes = new long[capacity];
+        timestamps = new long[capacity];
+        positions = new long[capacity];
+        validFlags = new boolean[capacity];
+    }
+
+    /**
+     * Move onto the next message within the batch.
+     *
+     * @return true if there is a message to process, false if the end of the batch has been reached.
+     */
+    public boolean next()
+    {
+        if (index + 1 < size)
+        {
+            index++;
+            return true;
+        }
+
+        index = size;
+        return false;
+    }
+
+    /**
+     * Gets the session that all the messages in this batch were received on.
+     *
+     * @return the session that all the messages in this batch were received on.
+     */
+    public Session session()
+    {
+        return session;
+    }
+
+    /**
+     * Gets the number of messages within the batch.
+     *
+     * @return the number of messages within the batch.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Gets the index of the current message within the batch.
+     *
+     * @return the index of the current message within the batch.
+     */
+    public int index()
+    {
+        return index;
+    }
+
+    /**
+     * Gets the buffer that all the messages in the batch are stored in.
+     *
+     * @return the buffer that all the messages in the batch are stored in.
+     */
+    public DirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Gets the offset of the current message within {@link #buffer()}.
+     *
+     * @return the offset of the current message within {@link #buffer()}.
+     */
+    public int offset()
+    {
+        return offsets[index];
+    }
+
+    /**
+     * Gets the length of the current message.
+     *
+     * @return the length of the current message.
+     */
+    public int length()
+    {
+        return lengths[index];
+    }
+
+    /**
+     * Gets the MsgSeqNum of the current message.
+     *
+     * @return the MsgSeqNum of the current message.
+     */
+    public int sequenceNumber()
+    {
+        return sequenceNumbers[index];
+    }
+
+    /**
+     * Gets the sequence index of the current message.
+     *
+     * @return the sequence index of the current message.
+     */
+    public int sequenceIndex()
+    {
+        return sequenceIndices[index];
+    }
+
+    /**
+     * Gets the FIX msgType field of the current message, encoded as a long.
+     *
+     * @return the FIX msgType field of the current message, encoded as a long.
+     */
+    public long messageType()
+    {
+        return messageTypes[index];
+    }
+
+    /**
+     * Gets the time of the current message in nanoseconds.
+     *
+     * @return the time of the current message in nanoseconds.
+     */
+    public long timestampInNs()
+    {
+        return timestamps[index];
+    }
+
+    /**
+     * Gets the position in the Aeron stream at the end of the current message.
+     *
+     * @return the position in the Aeron stream at the end of the current message.
+     */
+    public long position()
+    {
+        return positions[index];
+    }
+
+    /**
+     * Gets whether the current message passed session level validation, see {@link OnMessageInfo#isValid()}.
+     *
+     * @return true if the current message passed session level validation, false otherwise.
+     */
+    public boolean isValid()
+    {
+        return validFlags[index];
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    boolean isFull()
+    {
+        return size == capacity;
+    }
+
+    void append(
+        final DirectBuffer srcBuffer,
+        final int srcOffset,
+        final int length,
+        final int sequenceNumber,
+        final int sequenceIndex,
+        final long messageType,
+        final long timestampInNs,
+        final long position,
+        final boolean isValid)
+    {
+        final int size = this.size;
+        final int offset = bufferLength;
+        buffer.putBytes(offset, srcBuffer, srcOffset, length);
+
+        offsets[size] = offset;
+        lengths[size] = length;
+        sequenceNumbers[size] = sequenceNumber;
+        sequenceIndices[size] = sequenceIndex;
+        messageTypes[size] = messageType;
+        timestamps[size] = timestampInNs;
+        positions[size] = position;
+        validFlags[size] = isValid;
+
+        bufferLength = offset + length;
+        this.size = size + 1;
+    }
+
+    // Called when the handler aborts, the message that the cursor is on gets redelivered.
+    void rewindToCurrent()
+    {
+        index = Math.max(-1, Math.min(index, size - 1) - 1);
+    }
+
+    void reset()
+    {
+        size = 0;
+        bufferLength = 0;
+        index = -1;
+    }
+}
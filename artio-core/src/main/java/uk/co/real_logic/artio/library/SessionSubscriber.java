@@ -33,6 +33,7 @@ import java.util.function.BooleanSupplier;
 
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
 import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static uk.co.real_logic.artio.dictionary.SessionConstants.*;
 import static uk.co.real_logic.artio.engine.logger.SequenceNumberIndexWriter.NO_REQUIRED_POSITION;
 import static uk.co.real_logic.artio.messages.GatewayError.UNABLE_TO_LOGON;
 
@@ -46,8 +47,13 @@ class SessionSubscriber implements AutoCloseable, FixSessionOwner
     private final LibraryPoller libraryPoller;
     private final long replyTimeoutInMs;
     private final ErrorHandler errorHandler;
+    private final int messageBatchSize;
 
     private SessionHandler handler;
+    // Only non-null if the handler is a BatchSessionHandler
+    private BatchSessionHandler batchHandler;
+    private SessionMessageBatch batch;
+    private int batchLibraryId;
     private InitiateSessionReply initiateSessionReply;
     private boolean userAbortedLastMessage = false;
     private long lastReceivedPosition = NO_REQUIRED_POSITION;
@@ -60,7 +66,8 @@ class SessionSubscriber implements AutoCloseable, FixSessionOwner
         final Timer sessionTimer,
         final LibraryPoller libraryPoller,
         final long replyTimeoutInMs,
-        final ErrorHandler errorHandler)
+        final ErrorHandler errorHandler,
+        final int messageBatchSize)
     {
         this.info = info;
         this.parser = parser;
@@ -70,6 +77,7 @@ class SessionSubscriber implements AutoCloseable, FixSessionOwner
         this.libraryPoller = libraryPoller;
         this.replyTimeoutInMs = replyTimeoutInMs;
         this.errorHandler = errorHandler;
+        this.messageBatchSize = messageBatchSize;
         this.session.sessionProcessHandler(this);
     }
 
@@ -82,10 +90,34 @@ class SessionSubscriber implements AutoCloseable, FixSessionOwner
         final long messageType,
         final long timestamp,
         final MessageStatus status,
+        final int sequenceNumber,
         final long position)
     {
         final long now = receiveTimer.recordSince(timestamp);
 
+        if (batch != null)
+        {
+            if (status == MessageStatus.OK && !userAbortedLastMessage && !isSessionLevelMessage(messageType))
+            {
+                try
+                {
+                    return onBatchedMessage(
+                        buffer, offset, length, libraryId, sequenceIndex, messageType, timestamp, sequenceNumber,
+                        position);
+                }
+                finally
+                {
+                    sessionTimer.recordSince(now);
+                }
+            }
+
+            // Preserve ordering: anything that isn't batched gets delivered after the pending batch.
+            if (flushBatch() == ABORT)
+            {
+                return ABORT;
+            }
+        }
+
         final OnMessageInfo info = this.info;
         info.status(status);
         // this gets set to false by the Session when a problem is detected.
@@ -178,8 +210,89 @@ class SessionSubscriber implements AutoCloseable, FixSessionOwner
         }
     }
 
+    private Action onBatchedMessage(
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final int libraryId,
+        final int sequenceIndex,
+        final long messageType,
+        final long timestamp,
+        final int sequenceNumber,
+        final long position)
+    {
+        final SessionMessageBatch batch = this.batch;
+        if (batch.isFull() && flushBatch() == ABORT)
+        {
+            return ABORT;
+        }
+
+        final OnMessageInfo info = this.info;
+        info.status(MessageStatus.OK);
+        info.isValid(true);
+
+        final Action action = parser.onMessage(buffer, offset, length, messageType, position);
+        if (action == ABORT)
+        {
+            return ABORT;
+        }
+
+        lastReceivedPosition = position;
+        batchLibraryId = libraryId;
+        batch.append(
+            buffer, offset, length, sequenceNumber, sequenceIndex, messageType, timestamp, position, info.isValid());
+
+        return CONTINUE;
+    }
+
+    /**
+     * Deliver any messages that have been accumulated into the batch to the handler.
+     *
+     * @return the handler's action or CONTINUE if there was nothing to deliver.
+     */
+    Action flushBatch()
+    {
+        final SessionMessageBatch batch = this.batch;
+        if (batch == null || batch.isEmpty())
+        {
+            return CONTINUE;
+        }
+
+        final Action action = batchHandler.onMessageBatch(batchLibraryId, batch);
+        if (action == ABORT)
+        {
+            batch.rewindToCurrent();
+            return ABORT;
+        }
+
+        batch.reset();
+        session.updateLastMessageProcessed();
+        return action;
+    }
+
+    boolean hasPendingBatch()
+    {
+        return batch != null && !batch.isEmpty();
+    }
+
+    private static boolean isSessionLevelMessage(final long messageType)
+    {
+        return messageType == HEARTBEAT_MESSAGE_TYPE ||
+            messageType == TEST_REQUEST_MESSAGE_TYPE ||
+            messageType == RESEND_REQUEST_MESSAGE_TYPE ||
+            messageType == REJECT_MESSAGE_TYPE ||
+            messageType == SEQUENCE_RESET_MESSAGE_TYPE ||
+            messageType == LOGOUT_MESSAGE_TYPE ||
+            messageType == LOGON_MESSAGE_TYPE;
+    }
+
     Action onDisconnect(final int libraryId, final DisconnectReason reason)
     {
+        if (flushBatch() == ABORT)
+        {
+            return ABORT;
+        }
+
         final Action action = handler.onDisconnect(libraryId, session, reason);
         if (action != ABORT)
         {
@@ -265,9 +378,16 @@ class SessionSubscriber implements AutoCloseable, FixSessionOwner
         libraryPoller.enqueueTask(task);
     }
 
-    void onTimeout(final int libraryId)
+    Action onTimeout(final int libraryId)
     {
+        // The session is leaving this library so this is the last chance to hand over the messages.
+        if (flushBatch() == ABORT)
+        {
+            return ABORT;
+        }
+
         handler.onTimeout(libraryId, session);
+        return CONTINUE;
     }
 
     void onSlowStatusNotification(final int libraryId, final boolean hasBecomeSlow)
@@ -289,6 +409,16 @@ class SessionSubscriber implements AutoCloseable, FixSessionOwner
     void handler(final SessionHandler handler)
     {
         this.handler = handler;
+        if (handler instanceof BatchSessionHandler)
+        {
+            batchHandler = (BatchSessionHandler)handler;
+            batch = new SessionMessageBatch(session, messageBatchSize);
+        }
+        else
+        {
+            batchHandler = null;
+            batch = null;
+        }
     }
 
     void reply(final InitiateSessionReply reply)
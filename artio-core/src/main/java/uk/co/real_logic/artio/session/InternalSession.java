@@ -21,6 +21,8 @@ import org.agrona.concurrent.EpochNanoClock;
 import org.agrona.concurrent.status.AtomicCounter;
 import uk.co.real_logic.artio.FixCounters;
 import uk.co.real_logic.artio.dictionary.FixDictionary;
+import uk.co.real_logic.artio.fields.EpochFractionFormat;
+import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
 import uk.co.real_logic.artio.library.OnMessageInfo;
 import uk.co.real_logic.artio.messages.CancelOnDisconnectOption;
 import uk.co.real_logic.artio.messages.ConnectionType;
@@ -49,6 +51,22 @@ public class InternalSession extends Session implements AutoCloseable
     {
         final CharFormatter replayComplete = new CharFormatter(
             "Sess.replayComplete: replaysInFlight=%s,conn=%s,corr=%s");
+
+        // Shared by every session polled on the same thread so that the date and second are only encoded once
+        private final UtcTimestampEncoder[] sendingTimeEncoders =
+            new UtcTimestampEncoder[EpochFractionFormat.values().length];
+
+        UtcTimestampEncoder sendingTimeEncoder(final EpochFractionFormat epochFractionFormat)
+        {
+            final int index = epochFractionFormat.ordinal();
+            UtcTimestampEncoder encoder = sendingTimeEncoders[index];
+            if (encoder == null)
+            {
+                encoder = new UtcTimestampEncoder(epochFractionFormat);
+                sendingTimeEncoders[index] = encoder;
+            }
+            return encoder;
+        }
     }
 
     public InternalSession(
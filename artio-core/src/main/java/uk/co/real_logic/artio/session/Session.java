@@ -106,6 +106,7 @@ public class Session
     private static final int NO_LOGOUT_REJECT_REASON = -1;
 
     private final UtcTimestampEncoder timestampEncoder;
+    private final byte[] sendingTimeBytes = new byte[UtcTimestampEncoder.LENGTH_WITH_NANOSECONDS];
 
     protected final SessionIdStrategy sessionIdStrategy;
     protected final GatewayPublication outboundPublication;
@@ -270,7 +271,7 @@ public class Session
         state(state);
         heartbeatIntervalInS(heartbeatIntervalInS);
         lastMsgSeqNumProcessed = this.enableLastMsgSeqNumProcessed ? 0 : NO_LAST_MSG_SEQ_NUM_PROCESSED;
-        timestampEncoder = new UtcTimestampEncoder(epochFractionClock.epochFractionPrecision());
+        timestampEncoder = formatters.sendingTimeEncoder(epochFractionClock.epochFractionPrecision());
         this.epochFractionClock = epochFractionClock;
         cancelOnDisconnect = new CancelOnDisconnect(
             clock,
@@ -657,9 +658,12 @@ public class Session
     private int prepare(final SessionHeaderEncoder header, final long sendingTimeNanos)
     {
         final int sentSeqNum = newSentSeqNum();
+        // The encoder is shared between sessions and the header wraps rather than copies the array.
+        final int sendingTimeLength = timestampEncoder.updateFrom(sendingTimeNanos, NANOSECONDS);
+        System.arraycopy(timestampEncoder.buffer(), 0, sendingTimeBytes, 0, sendingTimeLength);
         header
             .msgSeqNum(sentSeqNum)
-            .sendingTime(timestampEncoder.buffer(), timestampEncoder.updateFrom(sendingTimeNanos, NANOSECONDS));
+            .sendingTime(sendingTimeBytes, sendingTimeLength);
 
         if (enableLastMsgSeqNumProcessed)
         {
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.engine.AdaptiveIdleStrategy.State.*;
+
+public class AdaptiveIdleStrategyTest
+{
+    private static final long SPIN_PERIOD_NS = 1_000;
+    private static final long YIELD_PERIOD_NS = 10_000;
+    private static final long BUSY_CYCLE_THRESHOLD_NS = 500;
+
+    private final AtomicCounter spinTransitions = mock(AtomicCounter.class);
+    private final AtomicCounter yieldTransitions = mock(AtomicCounter.class);
+    private final AtomicCounter parkTransitions = mock(AtomicCounter.class);
+
+    private long timeInNs = 0;
+    private boolean keepSpinning = false;
+
+    private AdaptiveIdleStrategy idleStrategy = newIdleStrategy(0);
+
+    @Test
+    public void shouldSpinWhilstBusy()
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            advance(SPIN_PERIOD_NS);
+            idleStrategy.idle(1);
+        }
+
+        assertEquals(SPINNING, idleStrategy.state());
+        verifyNoInteractions(spinTransitions, yieldTransitions, parkTransitions);
+    }
+
+    @Test
+    public void shouldBackOffProgressivelyWhenIdle()
+    {
+        idleAfter(SPIN_PERIOD_NS + 1);
+        assertEquals(YIELDING, idleStrategy.state());
+
+        idleAfter(YIELD_PERIOD_NS);
+        assertEquals(PARKING, idleStrategy.state());
+
+        verify(yieldTransitions).incrementOrdered();
+        verify(parkTransitions).incrementOrdered();
+    }
+
+    @Test
+    public void shouldSpinAgainWhenWorkArrives()
+    {
+        idleAfter(SPIN_PERIOD_NS + 1);
+        idleAfter(YIELD_PERIOD_NS);
+
+        idleStrategy.idle(1);
+
+        assertEquals(SPINNING, idleStrategy.state());
+        verify(spinTransitions).incrementOrdered();
+    }
+
+    @Test
+    public void shouldTreatLongDutyCycleAsBusy()
+    {
+        idleStrategy = newIdleStrategy(BUSY_CYCLE_THRESHOLD_NS);
+
+        // Short duty cycles that do no work
+        final long cycleTimeNs = BUSY_CYCLE_THRESHOLD_NS / 5;
+        for (long idleTimeNs = 0; idleTimeNs <= SPIN_PERIOD_NS; idleTimeNs += cycleTimeNs)
+        {
+            idleAfter(cycleTimeNs);
+        }
+        assertEquals(YIELDING, idleStrategy.state());
+
+        idleAfter(BUSY_CYCLE_THRESHOLD_NS + 1);
+
+        assertEquals(SPINNING, idleStrategy.state());
+    }
+
+    @Test
+    public void shouldKeepSpinningWhilstRequired()
+    {
+        keepSpinning = true;
+
+        idleAfter(SPIN_PERIOD_NS + 1);
+        idleAfter(SPIN_PERIOD_NS + 1);
+
+        assertEquals(SPINNING, idleStrategy.state());
+        verifyNoInteractions(yieldTransitions);
+    }
+
+    @Test
+    public void shouldSpinAgainWhenRequiredWhilstParked()
+    {
+        idleAfter(SPIN_PERIOD_NS + 1);
+        idleAfter(YIELD_PERIOD_NS);
+        assertEquals(PARKING, idleStrategy.state());
+
+        keepSpinning = true;
+        idleAfter(1);
+
+        assertEquals(SPINNING, idleStrategy.state());
+    }
+
+    @Test
+    public void shouldSpinWithinTradingHours()
+    {
+        final AdaptiveEngineScheduler.TradingHours tradingHours = new AdaptiveEngineScheduler.TradingHours(
+            LocalTime.of(8, 0), LocalTime.of(17, 0), ZoneOffset.UTC, () -> timeInNs);
+
+        assertTrue(tradingHours.isWithin(LocalTime.of(8, 0)));
+        assertTrue(tradingHours.isWithin(LocalTime.of(12, 30)));
+        assertFalse(tradingHours.isWithin(LocalTime.of(17, 0)));
+        assertFalse(tradingHours.isWithin(LocalTime.of(3, 0)));
+    }
+
+    @Test
+    public void shouldSupportTradingHoursSpanningMidnight()
+    {
+        final AdaptiveEngineScheduler.TradingHours tradingHours = new AdaptiveEngineScheduler.TradingHours(
+            LocalTime.of(22, 0), LocalTime.of(6, 0), ZoneOffset.UTC, () -> timeInNs);
+
+        assertTrue(tradingHours.isWithin(LocalTime.of(23, 0)));
+        assertTrue(tradingHours.isWithin(LocalTime.of(1, 0)));
+        assertFalse(tradingHours.isWithin(LocalTime.of(12, 0)));
+    }
+
+    private AdaptiveIdleStrategy newIdleStrategy(final long busyCycleThresholdNs)
+    {
+        return new AdaptiveIdleStrategy(
+            SPIN_PERIOD_NS,
+            YIELD_PERIOD_NS,
+            1,
+            1,
+            busyCycleThresholdNs,
+            () -> timeInNs,
+            () -> keepSpinning,
+            spinTransitions,
+            yieldTransitions,
+            parkTransitions);
+    }
+
+    private void idleAfter(final long idlePeriodNs)
+    {
+        advance(idlePeriodNs);
+        idleStrategy.idle(0);
+    }
+
+    private void advance(final long periodNs)
+    {
+        timeInNs += periodNs;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import io.aeron.ExclusivePublication;
+import io.aeron.Publication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.messages.GatewayError;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AdminBulkOperationTest
+{
+    private static final long CORRELATION_ID = 1;
+    private static final int HEADER_LENGTH = 32;
+
+    private final AdminReplyPublication adminReplyPublication = mock(AdminReplyPublication.class);
+    private final ExclusivePublication dataPublication = mock(ExclusivePublication.class);
+
+    @BeforeEach
+    void setUp()
+    {
+        when(adminReplyPublication.dataPublication()).thenReturn(dataPublication);
+        when(adminReplyPublication.adminBulkReplyHeaderLength()).thenReturn(HEADER_LENGTH);
+        when(dataPublication.maxMessageLength()).thenReturn(1024 * 1024);
+        replyWith(1L);
+    }
+
+    @Test
+    void shouldReplyOnceWhenThereAreNoFailures()
+    {
+        final AdminBulkOperation operation = newOperation();
+
+        assertTrue(operation.poll());
+        verify(adminReplyPublication).saveAdminBulkReply(
+            eq(CORRELATION_ID), eq(true), any(), any(), any(), eq(0), eq(0));
+    }
+
+    @Test
+    void shouldSplitFailuresOverRepliesWithinMaxMessageLength()
+    {
+        when(dataPublication.maxMessageLength()).thenReturn(8 * 1024);
+        final AdminBulkOperation operation = newOperation();
+        final int failureCount = 5;
+        for (int i = 0; i < failureCount; i++)
+        {
+            operation.onFailure(i, GatewayError.EXCEPTION, "failed");
+        }
+
+        assertTrue(operation.poll());
+
+        verify(adminReplyPublication).saveAdminBulkReply(
+            eq(CORRELATION_ID), eq(false), any(), any(), any(), eq(0), eq(2));
+        verify(adminReplyPublication).saveAdminBulkReply(
+            eq(CORRELATION_ID), eq(false), any(), any(), any(), eq(2), eq(2));
+        verify(adminReplyPublication).saveAdminBulkReply(
+            eq(CORRELATION_ID), eq(true), any(), any(), any(), eq(4), eq(1));
+    }
+
+    @Test
+    void shouldTruncateLongFailureMessages()
+    {
+        final AdminBulkOperation operation = newOperation();
+        operation.onFailure(1, GatewayError.EXCEPTION, "x".repeat(AdminBulkOperation.MAX_FAILURE_MESSAGE_LENGTH + 1));
+
+        assertTrue(operation.poll());
+        verify(adminReplyPublication).saveAdminBulkReply(
+            eq(CORRELATION_ID),
+            eq(true),
+            any(),
+            any(),
+            argThat((List<String> messages) ->
+                messages.get(0).length() == AdminBulkOperation.MAX_FAILURE_MESSAGE_LENGTH),
+            eq(0),
+            eq(1));
+    }
+
+    @Test
+    void shouldRetryReplyWhenBackPressured()
+    {
+        replyWith(Publication.BACK_PRESSURED, 1L);
+        final AdminBulkOperation operation = newOperation();
+
+        assertFalse(operation.poll());
+        assertTrue(operation.poll());
+        verify(adminReplyPublication, times(2)).saveAdminBulkReply(
+            anyLong(), anyBoolean(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldDropOperationWhenReplyCannotBeSent()
+    {
+        final long[] results = { Publication.NOT_CONNECTED, Publication.CLOSED, Publication.MAX_POSITION_EXCEEDED };
+        for (final long result : results)
+        {
+            replyWith(result);
+            assertTrue(newOperation().poll());
+        }
+
+        verify(adminReplyPublication, times(results.length)).saveAdminBulkReply(
+            anyLong(), anyBoolean(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    private void replyWith(final long position, final Long... positions)
+    {
+        when(adminReplyPublication.saveAdminBulkReply(
+            anyLong(), anyBoolean(), any(), any(), any(), anyInt(), anyInt())).thenReturn(position, positions);
+    }
+
+    private AdminBulkOperation newOperation()
+    {
+        return new AdminBulkOperation(CORRELATION_ID, adminReplyPublication);
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import io.aeron.ExclusivePublication;
+import io.aeron.Publication;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.engine.SessionInfo;
+import uk.co.real_logic.artio.engine.logger.SequenceNumberIndexReader;
+import uk.co.real_logic.artio.messages.FixSessionsQueryReplyEncoder;
+import uk.co.real_logic.artio.messages.MessageHeaderEncoder;
+import uk.co.real_logic.artio.session.CompositeKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
+import static uk.co.real_logic.artio.engine.framer.AdminSessionQuery.ANY_LIBRARY_ID;
+import static uk.co.real_logic.artio.engine.framer.AdminSessionQuery.NO_MORE_SESSIONS;
+
+public class AdminSessionQueryTest
+{
+    private static final long CORRELATION_ID = 1;
+    private static final int SESSION_COUNT = 5;
+    private static final int SCAN_LIMIT = 2;
+    private static final int LIBRARY_ID = 3;
+
+    private final List<SessionInfo> allSessions = new ArrayList<>();
+    private final Long2ObjectHashMap<FixGatewaySession> connectedSessions = new Long2ObjectHashMap<>();
+    private final AdminReplyPublication adminReplyPublication = mock(AdminReplyPublication.class);
+    private final ExclusivePublication dataPublication = mock(ExclusivePublication.class);
+    private final ExpandableArrayBuffer replyBuffer = new ExpandableArrayBuffer();
+
+    @BeforeEach
+    void setUp()
+    {
+        for (int i = 0; i < SESSION_COUNT; i++)
+        {
+            allSessions.add(session(i, i % 2 == 0 ? "even" + i : "odd" + i));
+        }
+
+        when(adminReplyPublication.dataPublication()).thenReturn(dataPublication);
+        when(dataPublication.maxMessageLength()).thenReturn(1024 * 1024);
+        when(adminReplyPublication.startFixSessionsQueryReply(anyLong(), anyLong(), anyInt())).thenAnswer(
+            (inv) -> new FixSessionsQueryReplyEncoder()
+                .wrapAndApplyHeader(replyBuffer, 0, new MessageHeaderEncoder())
+                .sessionsCount(inv.getArgument(2)));
+        when(adminReplyPublication.saveFixSessionsQueryReply()).thenReturn(1L);
+    }
+
+    @Test
+    void shouldScanAtMostScanLimitSessionsPerPoll()
+    {
+        final AdminSessionQuery query = newQuery(0, 10, "");
+
+        assertFalse(query.poll());
+        assertFalse(query.poll());
+        verify(adminReplyPublication, never()).startFixSessionsQueryReply(anyLong(), anyLong(), anyInt());
+
+        assertTrue(query.poll());
+        verify(adminReplyPublication).startFixSessionsQueryReply(CORRELATION_ID, NO_MORE_SESSIONS, SESSION_COUNT);
+    }
+
+    @Test
+    void shouldReplyWithCursorOfNextPageWhenPageIsFull()
+    {
+        final AdminSessionQuery query = newQuery(1, 2, "");
+
+        assertTrue(query.poll());
+        verify(adminReplyPublication).startFixSessionsQueryReply(CORRELATION_ID, 3, 2);
+    }
+
+    @Test
+    void shouldOnlyReplyWithSessionsMatchingRemoteCompIdPrefix()
+    {
+        final AdminSessionQuery query = newQuery(0, 10, "even");
+
+        assertEquals(3, pollUntilSent(query));
+        verify(adminReplyPublication).startFixSessionsQueryReply(CORRELATION_ID, NO_MORE_SESSIONS, 3);
+    }
+
+    @Test
+    void shouldRetryReplyWhenBackPressured()
+    {
+        when(adminReplyPublication.saveFixSessionsQueryReply()).thenReturn(Publication.BACK_PRESSURED, 1L);
+        final AdminSessionQuery query = newQuery(0, 1, "");
+
+        assertFalse(query.poll());
+        assertTrue(query.poll());
+        verify(adminReplyPublication, times(2)).startFixSessionsQueryReply(CORRELATION_ID, 1, 1);
+    }
+
+    @Test
+    void shouldDropReplyWhenPublicationIsNotConnected()
+    {
+        when(adminReplyPublication.saveFixSessionsQueryReply()).thenReturn(Publication.NOT_CONNECTED);
+        final AdminSessionQuery query = newQuery(0, 1, "");
+
+        assertTrue(query.poll());
+        verify(adminReplyPublication).startFixSessionsQueryReply(CORRELATION_ID, 1, 1);
+    }
+
+    @Test
+    void shouldPageConnectedSessionsBySessionIdWithoutScanningAllSessions()
+    {
+        connect(4, ENGINE_LIBRARY_ID);
+        connect(0, ENGINE_LIBRARY_ID);
+        connect(2, ENGINE_LIBRARY_ID);
+
+        final AdminSessionQuery firstPage = newQuery(0, 2, true, ANY_LIBRARY_ID);
+        assertEquals(2, pollUntilSent(firstPage));
+        verify(adminReplyPublication).startFixSessionsQueryReply(CORRELATION_ID, 4, 2);
+
+        final AdminSessionQuery lastPage = newQuery(4, 2, true, ANY_LIBRARY_ID);
+        assertEquals(2, pollUntilSent(lastPage));
+        verify(adminReplyPublication).startFixSessionsQueryReply(CORRELATION_ID, NO_MORE_SESSIONS, 1);
+    }
+
+    @Test
+    void shouldScanAtMostScanLimitConnectedSessionsPerPoll()
+    {
+        connect(3, ENGINE_LIBRARY_ID);
+        connect(1, ENGINE_LIBRARY_ID);
+        connect(4, ENGINE_LIBRARY_ID);
+        connect(0, ENGINE_LIBRARY_ID);
+        connect(2, ENGINE_LIBRARY_ID);
+
+        final AdminSessionQuery query = newQuery(1, 2, true, ANY_LIBRARY_ID);
+
+        assertFalse(query.poll());
+        assertFalse(query.poll());
+        verify(adminReplyPublication, never()).startFixSessionsQueryReply(anyLong(), anyLong(), anyInt());
+
+        assertTrue(query.poll());
+        verify(adminReplyPublication).startFixSessionsQueryReply(CORRELATION_ID, 3, 2);
+    }
+
+    @Test
+    void shouldPageConnectedSessionsAsTheyWereWhenQueried()
+    {
+        connect(0, ENGINE_LIBRARY_ID);
+        connect(1, ENGINE_LIBRARY_ID);
+        connect(2, ENGINE_LIBRARY_ID);
+
+        final AdminSessionQuery query = newQuery(0, 10, true, ANY_LIBRARY_ID);
+        assertFalse(query.poll());
+
+        connectedSessions.clear();
+        assertTrue(query.poll());
+        verify(adminReplyPublication).startFixSessionsQueryReply(CORRELATION_ID, NO_MORE_SESSIONS, 3);
+    }
+
+    @Test
+    void shouldOnlyReplyWithSessionsOfLibrary()
+    {
+        connect(1, LIBRARY_ID);
+        connect(2, ENGINE_LIBRARY_ID);
+        connect(3, LIBRARY_ID);
+
+        final AdminSessionQuery query = newQuery(0, 10, false, LIBRARY_ID);
+
+        assertEquals(2, pollUntilSent(query));
+        verify(adminReplyPublication).startFixSessionsQueryReply(CORRELATION_ID, NO_MORE_SESSIONS, 2);
+    }
+
+    private static int pollUntilSent(final AdminSessionQuery query)
+    {
+        int polls = 1;
+        while (!query.poll())
+        {
+            polls++;
+        }
+        return polls;
+    }
+
+    private AdminSessionQuery newQuery(final long cursor, final int pageSize, final String remoteCompIdPrefix)
+    {
+        return newQuery(cursor, pageSize, false, ANY_LIBRARY_ID, remoteCompIdPrefix);
+    }
+
+    private AdminSessionQuery newQuery(
+        final long cursor, final int pageSize, final boolean connectedOnly, final int libraryId)
+    {
+        return newQuery(cursor, pageSize, connectedOnly, libraryId, "");
+    }
+
+    private AdminSessionQuery newQuery(
+        final long cursor,
+        final int pageSize,
+        final boolean connectedOnly,
+        final int libraryId,
+        final String remoteCompIdPrefix)
+    {
+        return new AdminSessionQuery(
+            CORRELATION_ID,
+            cursor,
+            pageSize,
+            connectedOnly,
+            libraryId,
+            remoteCompIdPrefix,
+            SCAN_LIMIT,
+            allSessions,
+            connectedSessions,
+            mock(FixSenderEndPoints.class),
+            mock(SequenceNumberIndexReader.class),
+            mock(SequenceNumberIndexReader.class),
+            adminReplyPublication);
+    }
+
+    private void connect(final int sessionId, final int libraryId)
+    {
+        final SessionInfo sessionInfo = allSessions.get(sessionId);
+        final CompositeKey sessionKey = sessionInfo.sessionKey();
+        final FixGatewaySession gatewaySession = mock(FixGatewaySession.class);
+        when(gatewaySession.sessionId()).thenReturn((long)sessionId);
+        when(gatewaySession.sessionKey()).thenReturn(sessionKey);
+        when(gatewaySession.libraryId()).thenReturn(libraryId);
+        when(gatewaySession.address()).thenReturn("localhost:1234");
+        connectedSessions.put(sessionId, gatewaySession);
+    }
+
+    private static SessionInfo session(final long sessionId, final String remoteCompId)
+    {
+        final CompositeKey sessionKey = mock(CompositeKey.class);
+        when(sessionKey.localCompId()).thenReturn("acceptor");
+        when(sessionKey.localSubId()).thenReturn("");
+        when(sessionKey.localLocationId()).thenReturn("");
+        when(sessionKey.remoteCompId()).thenReturn(remoteCompId);
+        when(sessionKey.remoteSubId()).thenReturn("");
+        when(sessionKey.remoteLocationId()).thenReturn("");
+
+        final SessionContext sessionContext = mock(SessionContext.class);
+        when(sessionContext.sessionId()).thenReturn(sessionId);
+        when(sessionContext.sessionKey()).thenReturn(sessionKey);
+        return sessionContext;
+    }
+}
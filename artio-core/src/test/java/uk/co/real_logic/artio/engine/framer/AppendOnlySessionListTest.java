@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.engine.SessionInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class AppendOnlySessionListTest
+{
+    private final AppendOnlySessionList list = new AppendOnlySessionList();
+    private final SessionInfo first = mock(SessionInfo.class);
+    private final SessionInfo second = mock(SessionInfo.class);
+
+    @Test
+    public void shouldIterateSnapshotWhenClearedDuringIteration()
+    {
+        list.add(first);
+        list.add(second);
+
+        final Iterator<SessionInfo> iterator = list.iterator();
+        assertSame(first, iterator.next());
+
+        list.clear();
+
+        assertSame(second, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    public void shouldNotSeeSessionsAddedAfterIterationStarts()
+    {
+        list.add(first);
+
+        final List<SessionInfo> seen = new ArrayList<>();
+        list.forEach(sessionInfo ->
+        {
+            seen.add(sessionInfo);
+            list.add(second);
+        });
+
+        assertEquals(Collections.singletonList(first), seen);
+        assertEquals(2, list.stream().count());
+    }
+
+    @Test
+    public void shouldRejectIndexBeyondSizeAfterClear()
+    {
+        list.add(first);
+        list.clear();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.CloseHelper;
+import org.agrona.LangUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static uk.co.real_logic.artio.TestFixtures.unusedPort;
+import static uk.co.real_logic.artio.Timing.assertEventuallyTrue;
+import static uk.co.real_logic.artio.engine.framer.ReceiverEndPoints.ARTIO_ITERATION_THRESHOLD;
+
+public class BusyPollTcpChannelSupplierTest
+{
+    private final List<TcpChannel> channels = new ArrayList<>();
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    private BusyPollTcpChannelSupplier supplier;
+
+    @AfterEach
+    public void close()
+    {
+        channels.forEach(TcpChannel::close);
+        CloseHelper.closeAll(closeables);
+        CloseHelper.close(supplier);
+    }
+
+    @Test
+    public void shouldAcceptConnections() throws IOException
+    {
+        final int port = unusedPort();
+        supplier = new BusyPollTcpChannelSupplier(new EngineConfiguration().bindTo("localhost", port));
+
+        final int connections = 3;
+        for (int i = 0; i < connections; i++)
+        {
+            closeables.add(SocketChannel.open(new InetSocketAddress("localhost", port)));
+        }
+
+        assertEventuallyTrue("Failed to accept connections", () ->
+        {
+            poll();
+            return channels.size() == connections;
+        });
+    }
+
+    @Test
+    public void shouldCompleteConnectionsWhenBusyPolling() throws IOException
+    {
+        shouldCompleteConnections(ARTIO_ITERATION_THRESHOLD);
+    }
+
+    @Test
+    public void shouldCompleteConnectionsWhenSelecting() throws IOException
+    {
+        shouldCompleteConnections(ARTIO_ITERATION_THRESHOLD + 70);
+    }
+
+    @Test
+    public void shouldStopConnecting() throws IOException
+    {
+        final InetSocketAddress address = listen();
+        supplier = new BusyPollTcpChannelSupplier(new EngineConfiguration());
+
+        supplier.open(address, (channel, exception) -> channels.add(channel));
+        supplier.stopConnecting(address);
+
+        assertEquals(0, supplier.openingCount());
+        poll();
+        assertEquals(0, channels.size());
+    }
+
+    private void shouldCompleteConnections(final int connections) throws IOException
+    {
+        final InetSocketAddress address = listen();
+        supplier = new BusyPollTcpChannelSupplier(new EngineConfiguration());
+
+        for (int i = 0; i < connections; i++)
+        {
+            supplier.open(address, (channel, exception) ->
+            {
+                assertNull(exception);
+                channels.add(channel);
+            });
+        }
+
+        assertEventuallyTrue("Failed to complete connections", () ->
+        {
+            poll();
+            return channels.size() == connections;
+        });
+        assertEquals(0, supplier.openingCount());
+    }
+
+    private InetSocketAddress listen() throws IOException
+    {
+        final InetSocketAddress address = new InetSocketAddress("localhost", unusedPort());
+        final ServerSocketChannel listeningChannel = ServerSocketChannel.open();
+        closeables.add(listeningChannel);
+        listeningChannel.bind(address, 128);
+        return address;
+    }
+
+    private void poll()
+    {
+        try
+        {
+            supplier.pollSelector(0, (timeInMs, channel) -> channels.add(channel));
+        }
+        catch (final IOException e)
+        {
+            LangUtil.rethrowUnchecked(e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.engine.logger.CoalescedReplayQuery;
+import uk.co.real_logic.artio.engine.logger.ReplayOperation;
+import uk.co.real_logic.artio.engine.logger.ReplayQuery;
+import uk.co.real_logic.artio.engine.logger.SequenceNumberIndexReader;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.aeron.Publication.BACK_PRESSURED;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.LogTag.CATCHUP;
+
+public class CatchupSchedulerTest
+{
+    private static final long REQUIRED_POSITION = 1024;
+    private static final long TIME_IN_MS = 1;
+
+    private final SequenceNumberIndexReader receivedSequenceNumberIndex = mock(SequenceNumberIndexReader.class);
+    private final ReplayQuery inboundMessages = mock(ReplayQuery.class);
+    private final CoalescedReplayQuery coalescedQuery = mock(CoalescedReplayQuery.class);
+    private final ReplayOperation replayOperation = mock(ReplayOperation.class);
+    private final GatewayPublication inboundPublication = mock(GatewayPublication.class);
+    private final AtomicCounter sessionsPending = mock(AtomicCounter.class);
+    private final AtomicCounter replaysActive = mock(AtomicCounter.class);
+    private final AtomicCounter sessionsCompleted = mock(AtomicCounter.class);
+    private final AtomicCounter rangesCoalesced = mock(AtomicCounter.class);
+    private final List<CatchupReplayer> replayers = new ArrayList<>();
+
+    private CatchupScheduler scheduler;
+
+    @BeforeEach
+    public void setUp()
+    {
+        when(inboundMessages.coalescedQuery()).thenReturn(coalescedQuery);
+        when(coalescedQuery.build(CATCHUP)).thenReturn(replayOperation);
+        when(coalescedQuery.coalescedRanges()).thenReturn(2);
+        indexedPosition(REQUIRED_POSITION);
+        newScheduler(2, 2);
+    }
+
+    @Test
+    public void shouldWaitForIndexBeforeStartingReplay()
+    {
+        indexedPosition(REQUIRED_POSITION - 1);
+        final CatchupReplayer replayer = enqueueReplayer(true);
+
+        scheduler.poll(TIME_IN_MS);
+
+        verify(replayer, never()).addTo(any());
+
+        indexedPosition(REQUIRED_POSITION);
+        scheduler.poll(TIME_IN_MS);
+
+        verify(replayer).addTo(coalescedQuery);
+        verify(coalescedQuery).build(CATCHUP);
+    }
+
+    @Test
+    public void shouldCatchupSessionsWithASingleReplay()
+    {
+        enqueueReplayer(true);
+        enqueueReplayer(true);
+
+        scheduler.poll(TIME_IN_MS);
+
+        verify(coalescedQuery, times(1)).build(CATCHUP);
+        verify(rangesCoalesced).getAndAddOrdered(2);
+        verifyNoReplies();
+
+        when(replayOperation.pollReplay()).thenReturn(true);
+        scheduler.poll(TIME_IN_MS);
+
+        for (final CatchupReplayer replayer : replayers)
+        {
+            verify(replayer).onCoalescedReplayComplete();
+            verify(replayer).attempt();
+        }
+        verify(sessionsCompleted, times(2)).incrementOrdered();
+    }
+
+    @Test
+    public void shouldBoundSessionsPerReplayAndConcurrentReplays()
+    {
+        newScheduler(1, 2);
+        enqueueReplayer(true);
+        enqueueReplayer(true);
+        final CatchupReplayer third = enqueueReplayer(true);
+
+        scheduler.poll(TIME_IN_MS);
+
+        verify(coalescedQuery, times(1)).build(CATCHUP);
+        verify(third, never()).addTo(any());
+
+        when(replayOperation.pollReplay()).thenReturn(true);
+        scheduler.poll(TIME_IN_MS);
+
+        verify(third).addTo(coalescedQuery);
+        verify(coalescedQuery, times(2)).build(CATCHUP);
+    }
+
+    @Test
+    public void shouldReplaySessionsThatCannotBeCoalescedOnTheirOwn()
+    {
+        final CatchupReplayer replayer = enqueueReplayer(false);
+        when(replayer.attempt()).thenReturn(BACK_PRESSURED, 1L);
+
+        scheduler.poll(TIME_IN_MS);
+        scheduler.poll(TIME_IN_MS);
+
+        verify(coalescedQuery, never()).build(any());
+        verify(replayer).attempt();
+        verify(sessionsCompleted, never()).incrementOrdered();
+
+        scheduler.poll(TIME_IN_MS);
+
+        verify(replayer, times(2)).attempt();
+        verify(sessionsCompleted).incrementOrdered();
+    }
+
+    @Test
+    public void shouldReplyToSessionsThatTimeOutDuringReplay()
+    {
+        final CatchupReplayer replayer = enqueueReplayer(true);
+        final CatchupReplayer otherReplayer = enqueueReplayer(true);
+        doAnswer(inv -> stopReplaying(replayer)).when(replayer).checkTimeout(anyLong());
+
+        scheduler.poll(TIME_IN_MS);
+        scheduler.poll(TIME_IN_MS);
+
+        verify(replayer).attempt();
+        verify(otherReplayer, never()).attempt();
+        verify(replayOperation, never()).startClose();
+    }
+
+    @Test
+    public void shouldNotWaitForSessionsQueuedBehindOneAwaitingALaterPosition()
+    {
+        final CatchupReplayer laterReplayer = enqueueReplayer(true);
+        when(laterReplayer.requiredPosition()).thenReturn(REQUIRED_POSITION * 2);
+        final CatchupReplayer replayer = enqueueReplayer(true);
+
+        scheduler.poll(TIME_IN_MS);
+
+        verify(laterReplayer, never()).addTo(any());
+        verify(replayer).addTo(coalescedQuery);
+        verify(sessionsPending, times(2)).setOrdered(1);
+    }
+
+    @Test
+    public void shouldReplyToSessionsThatTimeOutWaitingForTheIndex()
+    {
+        indexedPosition(REQUIRED_POSITION - 1);
+        final CatchupReplayer replayer = enqueueReplayer(true);
+        when(replayer.checkIndexTimeout(anyLong())).thenReturn(true);
+        when(replayer.attempt()).thenReturn(BACK_PRESSURED, 1L);
+
+        scheduler.poll(TIME_IN_MS);
+
+        verify(replayer).attempt();
+        verify(sessionsCompleted, never()).incrementOrdered();
+
+        scheduler.poll(TIME_IN_MS);
+
+        verify(replayer, times(2)).attempt();
+        verify(sessionsCompleted).incrementOrdered();
+        verify(replayer, never()).addTo(any());
+        verify(sessionsPending, atLeastOnce()).setOrdered(0);
+    }
+
+    private void newScheduler(final int maxConcurrentReplays, final int maxSessionsPerReplay)
+    {
+        scheduler = new CatchupScheduler(
+            receivedSequenceNumberIndex,
+            inboundMessages,
+            inboundPublication,
+            maxConcurrentReplays,
+            maxSessionsPerReplay,
+            sessionsPending,
+            replaysActive,
+            sessionsCompleted,
+            rangesCoalesced);
+    }
+
+    private void indexedPosition(final long position)
+    {
+        when(receivedSequenceNumberIndex.indexedPosition(anyInt())).thenReturn(position);
+    }
+
+    private CatchupReplayer enqueueReplayer(final boolean canCoalesce)
+    {
+        final CatchupReplayer replayer = mock(CatchupReplayer.class);
+        when(replayer.requiredPosition()).thenReturn(REQUIRED_POSITION);
+        when(replayer.attempt()).thenReturn(1L);
+        when(replayer.addTo(coalescedQuery)).then(inv ->
+        {
+            when(replayer.isCoalescedReplaying()).thenReturn(canCoalesce);
+            return canCoalesce;
+        });
+        doAnswer(inv -> stopReplaying(replayer)).when(replayer).onCoalescedReplayComplete();
+
+        replayers.add(replayer);
+        scheduler.enqueue(replayer);
+        return replayer;
+    }
+
+    private Object stopReplaying(final CatchupReplayer replayer)
+    {
+        when(replayer.isCoalescedReplaying()).thenReturn(false);
+        return null;
+    }
+
+    private void verifyNoReplies()
+    {
+        for (final CatchupReplayer replayer : replayers)
+        {
+            verify(replayer, never()).attempt();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import uk.co.real_logic.artio.builder.LogonEncoder;
 import uk.co.real_logic.artio.dictionary.FixDictionary;
 import uk.co.real_logic.artio.engine.EngineConfiguration;
 import uk.co.real_logic.artio.engine.MappedFile;
+import uk.co.real_logic.artio.engine.SessionInfo;
 import uk.co.real_logic.artio.fixt.FixDictionaryImpl;
 import uk.co.real_logic.artio.session.CompositeKey;
 import uk.co.real_logic.artio.session.SessionIdStrategy;
@@ -298,6 +299,25 @@ public class FixContextsTest
         assertThat(filePosition3, lessThan(filePosition2));
     }
 
+    @Test
+    public void allSessionsRetainsLogonOrderWhenGrown()
+    {
+        final int sessionCount = 40;
+        final List<CompositeKey> keys = IntStream.range(0, sessionCount)
+            .mapToObj(i -> idStrategy.onInitiateLogon("s" + i, null, null, "t", null, null))
+            .collect(toList());
+
+        keys.forEach(key -> fixContexts.onLogon(key, fixDictionary));
+
+        final List<SessionInfo> allSessions = fixContexts.allSessions();
+        assertThat(allSessions, hasSize(sessionCount));
+        for (int i = 0; i < sessionCount; i++)
+        {
+            assertEquals(keys.get(i), allSessions.get(i).sessionKey());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> allSessions.get(sessionCount));
+    }
+
     @Test
     public void shouldReloadOldFileFormat() throws IOException
     {
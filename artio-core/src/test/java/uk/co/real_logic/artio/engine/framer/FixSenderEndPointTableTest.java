@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import io.aeron.ExclusivePublication;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.engine.ConnectionTrafficCounters;
+import uk.co.real_logic.artio.engine.MessageTimingHandler;
+import uk.co.real_logic.artio.engine.SenderSequenceNumber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS;
+import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
+import static uk.co.real_logic.artio.engine.framer.FixSenderEndPointTable.NO_INDEX;
+import static uk.co.real_logic.artio.messages.DisconnectReason.SLOW_CONSUMER;
+
+public class FixSenderEndPointTableTest
+{
+    private static final int LIBRARY_ID = 2;
+    private static final int OTHER_LIBRARY_ID = 3;
+
+    private final FixSenderEndPointTable table = new FixSenderEndPointTable();
+
+    @Test
+    public void shouldLookupLibraryIdOfSession()
+    {
+        final FixSenderEndPoint endPoint = newEndPoint(1);
+        endPoint.sessionId(11);
+        table.add(endPoint);
+
+        assertEquals(LIBRARY_ID, table.libraryLookup(11));
+        assertEquals(ENGINE_LIBRARY_ID, table.libraryLookup(12));
+
+        endPoint.libraryId(OTHER_LIBRARY_ID);
+
+        assertEquals(OTHER_LIBRARY_ID, table.libraryLookup(11));
+    }
+
+    @Test
+    public void shouldKeepRowsDenseWhenRemovingEndPoints()
+    {
+        final FixSenderEndPoint first = newEndPoint(1);
+        final FixSenderEndPoint second = newEndPoint(2);
+        final FixSenderEndPoint third = newEndPoint(3);
+        first.sessionId(11);
+        table.add(first);
+        table.add(second);
+        table.add(third);
+        third.sessionId(13);
+
+        table.remove(first);
+
+        assertEquals(2, table.size());
+        assertEquals(NO_INDEX, first.tableIndex());
+        assertEquals(0, third.tableIndex());
+        assertEquals(1, second.tableIndex());
+        assertEquals(ENGINE_LIBRARY_ID, table.libraryLookup(11));
+        assertEquals(LIBRARY_ID, table.libraryLookup(13));
+
+        third.libraryId(OTHER_LIBRARY_ID);
+        assertEquals(OTHER_LIBRARY_ID, table.libraryLookup(13));
+    }
+
+    @Test
+    public void shouldGrowBeyondInitialCapacity()
+    {
+        final int count = 100;
+        for (int i = 0; i < count; i++)
+        {
+            final FixSenderEndPoint endPoint = newEndPoint(i);
+            table.add(endPoint);
+            endPoint.sessionId(i + 1);
+        }
+
+        assertEquals(count, table.size());
+        assertEquals(LIBRARY_ID, table.libraryLookup(count));
+    }
+
+    @Test
+    public void shouldOnlyDisconnectEndPointsWithBufferedBytesPastTheirTimeout()
+    {
+        final FixReceiverEndPoint slowReceiver = mock(FixReceiverEndPoint.class);
+        final FixReceiverEndPoint idleReceiver = mock(FixReceiverEndPoint.class);
+        final FixSenderEndPoint slow = newEndPoint(1, slowReceiver);
+        final FixSenderEndPoint idle = newEndPoint(2, idleReceiver);
+        table.add(slow);
+        table.add(idle);
+
+        final long timeInMs = 100;
+        table.bytesInBuffer(slow.tableIndex(), 10);
+        table.sendingTimeoutTimeInMs(slow.tableIndex(), timeInMs);
+
+        assertEquals(0, table.poll(timeInMs));
+        verify(slowReceiver, never()).completeDisconnect(any());
+
+        assertEquals(1, table.poll(timeInMs + 1));
+        verify(slowReceiver).completeDisconnect(SLOW_CONSUMER);
+        verify(idleReceiver, never()).completeDisconnect(any());
+    }
+
+    private FixSenderEndPoint newEndPoint(final long connectionId)
+    {
+        return newEndPoint(connectionId, mock(FixReceiverEndPoint.class));
+    }
+
+    private FixSenderEndPoint newEndPoint(final long connectionId, final FixReceiverEndPoint receiverEndPoint)
+    {
+        return new FixSenderEndPoint(
+            connectionId,
+            LIBRARY_ID,
+            mock(ExclusivePublication.class),
+            mock(ReproductionLogWriter.class),
+            mock(TcpChannel.class),
+            mock(AtomicCounter.class),
+            mock(AtomicCounter.class),
+            mock(ErrorHandler.class),
+            mock(Framer.class),
+            1024,
+            DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS,
+            0,
+            mock(SenderSequenceNumber.class),
+            mock(ConnectionTrafficCounters.class),
+            mock(MessageTimingHandler.class),
+            receiverEndPoint,
+            new FixSenderEndPoint.Formatters());
+    }
+}
@@ -27,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
 import org.mockito.verification.VerificationMode;
+import uk.co.real_logic.artio.engine.ConnectionTrafficCounters;
 import uk.co.real_logic.artio.engine.MessageTimingHandler;
 import uk.co.real_logic.artio.engine.SenderSequenceNumber;
 import uk.co.real_logic.artio.messages.MessageHeaderDecoder;
@@ -67,6 +68,7 @@ public class FixSenderEndPointTest
     private final ByteBuffer byteBuffer = ByteBuffer.allocate(1024);
     private final UnsafeBuffer buffer = new UnsafeBuffer(byteBuffer);
     private final SenderSequenceNumber senderSequenceNumber = mock(SenderSequenceNumber.class);
+    private final ConnectionTrafficCounters trafficCounters = mock(ConnectionTrafficCounters.class);
     private final MessageTimingHandler messageTimingHandler = mock(MessageTimingHandler.class);
     private final ExclusivePublication inboundPublication = mock(ExclusivePublication.class);
     private final ReproductionLogWriter reproductionLogWriter = mock(ReproductionLogWriter.class);
@@ -86,6 +88,7 @@ public class FixSenderEndPointTest
         DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS,
         0,
         senderSequenceNumber,
+        trafficCounters,
         messageTimingHandler,
         receiverEndPoint,
         new FixSenderEndPoint.Formatters());
@@ -123,6 +126,36 @@ public class FixSenderEndPointTest
         verifyNoMoreErrors();
     }
 
+    @Test
+    public void shouldCountBytesAndMessagesWritten()
+    {
+        channelWillWrite(BODY_LENGTH);
+        onOutboundMessage(100);
+
+        verify(trafficCounters).onBytesWritten(BODY_LENGTH);
+        verify(trafficCounters).onMessageWritten();
+    }
+
+    @Test
+    public void shouldOnlyCountMessageWrittenOnceFragmentedWriteCompletes()
+    {
+        becomeSlowConsumer();
+        reset(trafficCounters);
+
+        final int firstWrites = 41;
+        final int remaining = BODY_LENGTH - firstWrites;
+
+        channelWillWrite(firstWrites);
+        poll();
+        verify(trafficCounters).onBytesWritten(firstWrites);
+        verify(trafficCounters, never()).onMessageWritten();
+
+        channelWillWrite(remaining);
+        poll();
+        verify(trafficCounters).onBytesWritten(remaining);
+        verify(trafficCounters).onMessageWritten();
+    }
+
     private void assertReattemptBytesWritten(final int firstWrites)
     {
         assertEquals(firstWrites, endPoint.reattemptBytesWritten());
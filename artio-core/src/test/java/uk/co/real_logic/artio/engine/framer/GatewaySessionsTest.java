@@ -0,0 +1,333 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.CloseHelper;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.EpochClock;
+import org.agrona.concurrent.YieldingIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.FixCounters;
+import uk.co.real_logic.artio.decoder.AbstractLogonDecoder;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+import uk.co.real_logic.artio.engine.framer.GatewaySessions.AuthenticationState;
+import uk.co.real_logic.artio.engine.logger.SequenceNumberIndexReader;
+import uk.co.real_logic.artio.fields.EpochFractionFormat;
+import uk.co.real_logic.artio.protocol.GatewayPublication;
+import uk.co.real_logic.artio.session.SessionCustomisationStrategy;
+import uk.co.real_logic.artio.session.SessionIdStrategy;
+import uk.co.real_logic.artio.validation.AuthenticationProxy;
+import uk.co.real_logic.artio.validation.AuthenticationStrategy;
+import uk.co.real_logic.artio.validation.PersistenceLevel;
+import uk.co.real_logic.artio.validation.SessionPersistenceStrategy;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.Timing.assertEventuallyTrue;
+
+public class GatewaySessionsTest
+{
+    private static final int AERON_SESSION_ID = 42;
+    private static final long REQUIRED_POSITION = 1024L;
+    private static final long CONNECTION_ID = 3L;
+    private static final long SESSION_ID = 7L;
+    private static final long OTHER_SESSION_ID = 8L;
+    private static final int LAST_SENT_SEQUENCE_NUMBER = 10;
+    private static final int LAST_RECEIVED_SEQUENCE_NUMBER = 20;
+
+    private final EpochClock epochClock = mock(EpochClock.class);
+    private final GatewayPublication inboundPublication = mock(GatewayPublication.class);
+    private final GatewayPublication outboundPublication = mock(GatewayPublication.class);
+    private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final SequenceNumberIndexReader sentSequenceNumberIndex = mock(SequenceNumberIndexReader.class);
+    private final SequenceNumberIndexReader receivedSequenceNumberIndex = mock(SequenceNumberIndexReader.class);
+    private final GatewaySession session = mockSession(SESSION_ID);
+    private final GatewaySession otherSession = mockSession(OTHER_SESSION_ID);
+    private final ReceiverEndPoint receiverEndPoint = mock(ReceiverEndPoint.class);
+    private final ReceiverEndPoint otherReceiverEndPoint = mock(ReceiverEndPoint.class);
+
+    private final AuthenticationStrategy authenticationStrategy = mock(AuthenticationStrategy.class);
+    private final SessionPersistenceStrategy persistenceStrategy = mock(SessionPersistenceStrategy.class);
+    private final AbstractLogonDecoder logon = mock(AbstractLogonDecoder.class);
+    private final FixGatewaySession fixGatewaySession = mock(FixGatewaySession.class);
+    private final FixReceiverEndPoint fixReceiverEndPoint = mock(FixReceiverEndPoint.class);
+
+    private LogonAuthenticator logonAuthenticator;
+
+    @BeforeEach
+    public void setUp()
+    {
+        when(outboundPublication.sessionId()).thenReturn(AERON_SESSION_ID);
+        when(outboundPublication.initialPosition()).thenReturn(0L);
+        indexedPosition(REQUIRED_POSITION);
+
+        doAnswer(inv -> fillSequenceNumbers(inv.getArgument(1), inv.getArgument(2), LAST_SENT_SEQUENCE_NUMBER))
+            .when(sentSequenceNumberIndex).lastKnownSequenceNumbers(any(), any(), anyInt());
+        doAnswer(inv -> fillSequenceNumbers(inv.getArgument(1), inv.getArgument(2), LAST_RECEIVED_SEQUENCE_NUMBER))
+            .when(receivedSequenceNumberIndex).lastKnownSequenceNumbers(any(), any(), anyInt());
+
+        when(persistenceStrategy.getPersistenceLevel(any())).thenReturn(PersistenceLevel.TRANSIENT_SEQUENCE_NUMBERS);
+    }
+
+    @AfterEach
+    public void close()
+    {
+        CloseHelper.close(logonAuthenticator);
+    }
+
+    @Test
+    public void shouldResolveLogonsWaitingForTheIndexerTogether()
+    {
+        final TestGatewaySessions gatewaySessions = new TestGatewaySessions(Integer.MAX_VALUE);
+        final TestPendingAcceptorLogon logon = authenticatedLogon(gatewaySessions, session, receiverEndPoint);
+        final TestPendingAcceptorLogon otherLogon = authenticatedLogon(
+            gatewaySessions, otherSession, otherReceiverEndPoint);
+
+        assertFalse(logon.poll());
+        assertFalse(otherLogon.poll());
+        assertEquals(AuthenticationState.INDEXER_CATCHUP, logon.state);
+        assertEquals(AuthenticationState.INDEXER_CATCHUP, otherLogon.state);
+
+        assertEquals(2, gatewaySessions.pollSessions(0, 0));
+
+        verify(sentSequenceNumberIndex).lastKnownSequenceNumbers(any(), any(), eq(2));
+        verify(receivedSequenceNumberIndex).lastKnownSequenceNumbers(any(), any(), eq(2));
+        verify(session).acceptorSequenceNumbers(LAST_SENT_SEQUENCE_NUMBER, LAST_RECEIVED_SEQUENCE_NUMBER);
+        verify(otherSession).acceptorSequenceNumbers(LAST_SENT_SEQUENCE_NUMBER, LAST_RECEIVED_SEQUENCE_NUMBER);
+        assertTrue(logon.poll());
+        assertTrue(logon.isAccepted());
+        assertTrue(otherLogon.isAccepted());
+    }
+
+    @Test
+    public void shouldWaitForTheIndexerToReachTheRequiredPosition()
+    {
+        final TestGatewaySessions gatewaySessions = new TestGatewaySessions(Integer.MAX_VALUE);
+        final TestPendingAcceptorLogon logon = authenticatedLogon(gatewaySessions, session, receiverEndPoint);
+        logon.poll();
+        indexedPosition(REQUIRED_POSITION - 1);
+
+        assertEquals(0, gatewaySessions.pollSessions(0, 0));
+        assertFalse(logon.isAccepted());
+        verify(sentSequenceNumberIndex, never()).lastKnownSequenceNumbers(any(), any(), anyInt());
+
+        indexedPosition(REQUIRED_POSITION);
+
+        assertEquals(1, gatewaySessions.pollSessions(0, 0));
+        assertTrue(logon.isAccepted());
+    }
+
+    @Test
+    public void shouldLimitLogonAdmissionsPerDutyCycle()
+    {
+        final TestGatewaySessions gatewaySessions = new TestGatewaySessions(1);
+        final TestPendingAcceptorLogon logon = authenticatedLogon(gatewaySessions, session, receiverEndPoint);
+        final TestPendingAcceptorLogon otherLogon = authenticatedLogon(
+            gatewaySessions, otherSession, otherReceiverEndPoint);
+
+        logon.poll();
+        otherLogon.poll();
+
+        assertEquals(AuthenticationState.INDEXER_CATCHUP, logon.state);
+        assertEquals(AuthenticationState.AUTHENTICATED, otherLogon.state);
+        verify(otherSession, never()).onAuthenticationResult();
+
+        gatewaySessions.pollSessions(0, 0);
+        otherLogon.poll();
+
+        assertEquals(AuthenticationState.INDEXER_CATCHUP, otherLogon.state);
+        verify(otherSession).onAuthenticationResult();
+    }
+
+    @Test
+    public void shouldDropLogonsThatDisconnectWhilstWaitingForTheIndexer()
+    {
+        final TestGatewaySessions gatewaySessions = new TestGatewaySessions(Integer.MAX_VALUE);
+        final TestPendingAcceptorLogon logon = authenticatedLogon(gatewaySessions, session, receiverEndPoint);
+        final TestPendingAcceptorLogon otherLogon = authenticatedLogon(
+            gatewaySessions, otherSession, otherReceiverEndPoint);
+        logon.poll();
+        otherLogon.poll();
+        when(receiverEndPoint.hasDisconnected()).thenReturn(true);
+
+        assertEquals(1, gatewaySessions.pollSessions(0, 0));
+        assertEquals(0, gatewaySessions.pollSessions(0, 0));
+
+        verify(sentSequenceNumberIndex).lastKnownSequenceNumbers(any(), any(), eq(1));
+        verify(session, never()).acceptorSequenceNumbers(anyInt(), anyInt());
+        assertFalse(logon.isAccepted());
+        assertTrue(otherLogon.isAccepted());
+    }
+
+    @Test
+    public void shouldRetryOfferingLogonWhenAuthenticationQueueIsFull()
+    {
+        final LogonAuthenticator logonAuthenticator = mock(LogonAuthenticator.class);
+        when(logonAuthenticator.offer(any())).thenReturn(false, true);
+        final FixGatewaySessions gatewaySessions = newFixGatewaySessions(logonAuthenticator);
+
+        final AcceptorLogonResult result = authenticate(gatewaySessions);
+        verify(logonAuthenticator).offer(any());
+
+        assertFalse(result.poll());
+        verify(logonAuthenticator, times(2)).offer(any());
+
+        assertFalse(result.poll());
+        verify(logonAuthenticator, times(2)).offer(any());
+        verifyNoInteractions(authenticationStrategy);
+    }
+
+    @Test
+    public void shouldAuthenticateOnTheLogonAuthenticatorThread()
+    {
+        logonAuthenticator = new LogonAuthenticator(
+            1, new YieldingIdleStrategy(), errorHandler, Thread::new, "test-");
+        final FixGatewaySessions gatewaySessions = newFixGatewaySessions(logonAuthenticator);
+        final AtomicReference<Thread> authenticatingThread = new AtomicReference<>();
+        doAnswer(inv ->
+        {
+            authenticatingThread.set(Thread.currentThread());
+            inv.<AuthenticationProxy>getArgument(1).accept();
+            return null;
+        }).when(authenticationStrategy).authenticateAsync(any(), any());
+
+        final GatewaySessions.PendingAcceptorLogon result =
+            (GatewaySessions.PendingAcceptorLogon)authenticate(gatewaySessions);
+
+        assertEventuallyTrue(
+            "Logon not authenticated", () -> result.state == AuthenticationState.AUTHENTICATED);
+        verify(authenticationStrategy).authenticateAsync(eq(logon), any());
+        assertNotSame(Thread.currentThread(), authenticatingThread.get());
+    }
+
+    private FixGatewaySessions newFixGatewaySessions(final LogonAuthenticator logonAuthenticator)
+    {
+        final EngineConfiguration configuration = new EngineConfiguration()
+            .authenticationStrategy(authenticationStrategy);
+
+        return new FixGatewaySessions(
+            epochClock,
+            inboundPublication,
+            outboundPublication,
+            mock(SessionIdStrategy.class),
+            mock(SessionCustomisationStrategy.class),
+            mock(FixCounters.class),
+            configuration,
+            errorHandler,
+            mock(FixContexts.class),
+            persistenceStrategy,
+            sentSequenceNumberIndex,
+            receivedSequenceNumberIndex,
+            EpochFractionFormat.MILLISECONDS,
+            logonAuthenticator);
+    }
+
+    private AcceptorLogonResult authenticate(final FixGatewaySessions gatewaySessions)
+    {
+        return gatewaySessions.authenticate(
+            logon, CONNECTION_ID, fixGatewaySession, null, null, null, "127.0.0.1", fixReceiverEndPoint);
+    }
+
+    private TestPendingAcceptorLogon authenticatedLogon(
+        final TestGatewaySessions gatewaySessions,
+        final GatewaySession session,
+        final ReceiverEndPoint receiverEndPoint)
+    {
+        final TestPendingAcceptorLogon logon = new TestPendingAcceptorLogon(gatewaySessions, session, receiverEndPoint);
+        logon.accept();
+        return logon;
+    }
+
+    private void indexedPosition(final long position)
+    {
+        when(sentSequenceNumberIndex.indexedPosition(AERON_SESSION_ID)).thenReturn(position);
+    }
+
+    private static Object fillSequenceNumbers(final int[] sequenceNumbers, final int count, final int value)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            sequenceNumbers[i] = value;
+        }
+        return null;
+    }
+
+    private static GatewaySession mockSession(final long sessionId)
+    {
+        final GatewaySession session = mock(GatewaySession.class);
+        when(session.sessionId()).thenReturn(sessionId);
+        return session;
+    }
+
+    private final class TestGatewaySessions extends GatewaySessions
+    {
+        TestGatewaySessions(final int logonAdmissionsPerCycle)
+        {
+            super(
+                epochClock,
+                inboundPublication,
+                outboundPublication,
+                errorHandler,
+                sentSequenceNumberIndex,
+                receivedSequenceNumberIndex,
+                logonAdmissionsPerCycle);
+        }
+
+        protected void setLastSequenceResetTime(final GatewaySession gatewaySession)
+        {
+        }
+    }
+
+    private static final class TestPendingAcceptorLogon extends GatewaySessions.PendingAcceptorLogon
+    {
+        TestPendingAcceptorLogon(
+            final TestGatewaySessions gatewaySessions,
+            final GatewaySession session,
+            final ReceiverEndPoint receiverEndPoint)
+        {
+            gatewaySessions.super(session, CONNECTION_ID, null, null, receiverEndPoint);
+        }
+
+        protected void onAuthenticated()
+        {
+            awaitIndexerCatchup(REQUIRED_POSITION);
+        }
+
+        protected void encodeRejectMessage()
+        {
+        }
+
+        protected GatewaySessions.SendRejectResult sendReject()
+        {
+            return GatewaySessions.SendRejectResult.DISCONNECTED;
+        }
+
+        public void reject()
+        {
+        }
+
+        public String remoteAddress()
+        {
+            return "127.0.0.1";
+        }
+    }
+}
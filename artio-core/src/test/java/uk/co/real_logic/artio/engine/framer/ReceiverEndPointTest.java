@@ -30,6 +30,7 @@ import org.mockito.verification.VerificationMode;
 import uk.co.real_logic.artio.TestFixtures;
 import uk.co.real_logic.artio.decoder.LogonDecoder;
 import uk.co.real_logic.artio.dictionary.FixDictionary;
+import uk.co.real_logic.artio.engine.ConnectionTrafficCounters;
 import uk.co.real_logic.artio.engine.FixEngine;
 import uk.co.real_logic.artio.messages.DisconnectReason;
 import uk.co.real_logic.artio.messages.MessageStatus;
@@ -76,6 +77,7 @@ class ReceiverEndPointTest
     private final GatewayPublication publication = mock(GatewayPublication.class);
     private final FixContexts mockFixContexts = mock(FixContexts.class);
     private final AtomicCounter messagesRead = mock(AtomicCounter.class);
+    private final ConnectionTrafficCounters trafficCounters = mock(ConnectionTrafficCounters.class);
     private final ErrorHandler errorHandler = mock(ErrorHandler.class);
     private final Framer framer = mock(Framer.class);
     private final FixGatewaySession gatewaySession = mock(FixGatewaySession.class);
@@ -148,11 +150,16 @@ class ReceiverEndPointTest
     }
 
     private void givenReceiverEndPoint(final long sessionId)
+    {
+        givenReceiverEndPoint(sessionId, false);
+    }
+
+    private void givenReceiverEndPoint(final long sessionId, final boolean lazyCompaction)
     {
         endPoint = new FixReceiverEndPoint(
-            mockChannel, BUFFER_SIZE, publication,
+            mockChannel, BUFFER_SIZE, lazyCompaction, publication,
             CONNECTION_ID, sessionId, SEQUENCE_INDEX + 1, mockFixContexts,
-            messagesRead, framer, errorHandler, LIBRARY_ID,
+            messagesRead, trafficCounters, framer, errorHandler, LIBRARY_ID,
             mockGatewaySessions,
             mockClock,
             new AcceptorFixDictionaryLookup(FixDictionary.of(FixDictionary.findDefault()), new HashMap<>()),
@@ -354,6 +361,30 @@ class ReceiverEndPointTest
         sessionReceivesTwoMessageAtBufferStart();
     }
 
+    @Test
+    void shouldFrameSecondSplitMessageInPlaceWhenCompactingLazily()
+    {
+        givenReceiverEndPoint(SESSION_ID, true);
+
+        theEndpointReceivesACompleteAndAnIncompleteMessage();
+        endPoint.poll();
+
+        theEndpointReceivesTheRestOfTheMessage();
+        endPoint.poll();
+
+        verify(publication).saveMessage(
+            anyBuffer(), eq(0), eq(MSG_LEN), eq(LIBRARY_ID),
+            eq(MESSAGE_TYPE), eq(SESSION_ID), anyInt(), eq(CONNECTION_ID),
+            eq(OK), eq(0), eq(TIMESTAMP));
+        verify(publication).saveMessage(
+            anyBuffer(), eq(MSG_LEN), eq(MSG_LEN), eq(LIBRARY_ID),
+            eq(MESSAGE_TYPE), eq(SESSION_ID), anyInt(), eq(CONNECTION_ID),
+            eq(OK), eq(0), eq(TIMESTAMP));
+
+        sessionReceivesMessageAt(0, MSG_LEN, times(1));
+        sessionReceivesMessageAt(MSG_LEN, MSG_LEN, times(1));
+    }
+
     @Test
     void aClosedSocketSavesItsDisconnect() throws IOException
     {
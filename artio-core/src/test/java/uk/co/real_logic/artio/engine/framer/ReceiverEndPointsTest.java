@@ -15,15 +15,27 @@
  */
 package uk.co.real_logic.artio.engine.framer;
 
+import org.agrona.CloseHelper;
+import org.agrona.ErrorHandler;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.LongConsumer;
 
+import static java.nio.channels.SelectionKey.OP_READ;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.artio.engine.framer.ReceiverEndPoints.ARTIO_ITERATION_THRESHOLD;
 import static uk.co.real_logic.artio.engine.framer.ReceiverEndPoints.disconnectILinkConnections;
 
 public class ReceiverEndPointsTest
@@ -31,6 +43,19 @@ public class ReceiverEndPointsTest
     private static final int LIBRARY_ID = 1;
 
     private final LongConsumer removeFunc = mock(LongConsumer.class);
+    private final List<Pipe> pipes = new ArrayList<>();
+
+    private ReceiverEndPoints receiverEndPoints;
+
+    @AfterEach
+    public void tearDown()
+    {
+        CloseHelper.close(receiverEndPoints);
+        for (final Pipe pipe : pipes)
+        {
+            CloseHelper.closeAll(pipe.source(), pipe.sink());
+        }
+    }
 
     @Test
     public void shouldRemoveILink3EndPoints()
@@ -70,6 +95,67 @@ public class ReceiverEndPointsTest
         assertSame(endPoints, result);
     }
 
+    @Test
+    public void shouldOnlyPollReadableEndPointsAboveIterationThreshold() throws IOException
+    {
+        final ReceiverEndPoint[] endPoints = addSelectedEndPoints();
+        when(endPoints[1].poll()).thenReturn(3);
+        when(endPoints[4].poll()).thenReturn(5);
+
+        makeReadable(1);
+        makeReadable(4);
+
+        assertEquals(8, receiverEndPoints.pollEndPoints());
+        for (int i = 0; i < endPoints.length; i++)
+        {
+            verify(endPoints[i], times(i == 1 || i == 4 ? 1 : 0)).poll();
+        }
+    }
+
+    @Test
+    public void shouldPollRemainingReadableEndPointsAfterBackPressure() throws IOException
+    {
+        final ReceiverEndPoint[] endPoints = addSelectedEndPoints();
+        for (final ReceiverEndPoint endPoint : endPoints)
+        {
+            when(endPoint.poll()).thenReturn(-3);
+            when(endPoint.retryFrameMessages()).thenReturn(true);
+        }
+
+        makeReadable(2);
+        makeReadable(3);
+
+        assertEquals(3, receiverEndPoints.pollEndPoints());
+        assertEquals(3, receiverEndPoints.pollEndPoints());
+
+        verify(endPoints[2]).poll();
+        verify(endPoints[3]).poll();
+    }
+
+    private ReceiverEndPoint[] addSelectedEndPoints() throws IOException
+    {
+        receiverEndPoints = new ReceiverEndPoints(mock(ErrorHandler.class));
+        final ReceiverEndPoint[] endPoints = new ReceiverEndPoint[ARTIO_ITERATION_THRESHOLD + 2];
+        for (int i = 0; i < endPoints.length; i++)
+        {
+            final ReceiverEndPoint endPoint = mock(FixReceiverEndPoint.class);
+            final Pipe pipe = Pipe.open();
+            pipes.add(pipe);
+            pipe.source().configureBlocking(false);
+            doAnswer(inv -> pipe.source().register(inv.getArgument(0), OP_READ, endPoint))
+                .when(endPoint).register(any(Selector.class));
+
+            receiverEndPoints.add(endPoint);
+            endPoints[i] = endPoint;
+        }
+        return endPoints;
+    }
+
+    private void makeReadable(final int index) throws IOException
+    {
+        pipes.get(index).sink().write(ByteBuffer.wrap(new byte[1]));
+    }
+
     private ReceiverEndPoint[] makeEndPoints()
     {
         final ReceiverEndPoint[] endPoints = new ReceiverEndPoint[5];
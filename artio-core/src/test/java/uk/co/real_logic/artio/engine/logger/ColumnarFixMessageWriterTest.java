@@ -0,0 +1,246 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.engine.logger.ColumnarExportDescriptor.ColumnType;
+import uk.co.real_logic.artio.fields.DecimalFloat;
+import uk.co.real_logic.artio.fields.UtcTimestampDecoder;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_INT;
+import static uk.co.real_logic.artio.dictionary.generation.CodecUtil.MISSING_LONG;
+import static uk.co.real_logic.artio.engine.logger.ColumnarExportDescriptor.*;
+
+public class ColumnarFixMessageWriterTest
+{
+    private static final File EXPORT_FILE = new File(IoUtil.tmpDirName() + "/ColumnarFixMessageWriterTest.afxc");
+
+    private static final int PRICE = 44;
+    private static final int ORDER_QTY = 38;
+    private static final int SYMBOL = 55;
+    private static final int SENDING_TIME = 52;
+    private static final int CUM_QTY = 14;
+
+    private static final String EXECUTION_REPORT =
+        "8=FIX.4.4\0019=100\00135=8\00134=12\00149=SENDER\00156=TARGET\00152=20250102-03:04:05.678\001" +
+        "55=MSFT\00138=100\00144=123.45\00114=100\00110=000\001";
+    private static final String NEW_ORDER =
+        "8=FIX.4.4\0019=100\00135=D\00134=13\00149=SENDER\00156=TARGET\00152=20250102-03:04:06.000\001" +
+        "55=AAPL\00138=not-a-number\00110=000\001";
+    private static final String SECOND_EXECUTION_REPORT =
+        "8=FIX.4.4\0019=100\00135=8\00134=14\00149=SENDER\00156=TARGET\00155=MSFT\00144=-0.5\00110=000\001";
+
+    private final DecimalFloat decimal = new DecimalFloat();
+
+    @AfterEach
+    public void deleteFile()
+    {
+        IoUtil.deleteIfExists(EXPORT_FILE);
+    }
+
+    @Test
+    public void shouldReadWrittenColumns()
+    {
+        final ColumnarFixMessageWriter writer = newWriter();
+        addRow(writer, 1_000L, 1L, 0, EXECUTION_REPORT);
+        addRow(writer, 2_000L, 2L, 1, NEW_ORDER);
+        addRow(writer, 3_000L, 1L, 0, SECOND_EXECUTION_REPORT);
+        writer.close();
+
+        try (ColumnarFixMessageReader reader = new ColumnarFixMessageReader(EXPORT_FILE))
+        {
+            assertEquals(3, reader.rowCount());
+            assertEquals(10, reader.columnCount());
+
+            final int timestampColumn = reader.columnIndex(ARCHIVE_TIMESTAMP_TAG);
+            assertEquals(1_000L, reader.getLong(timestampColumn, 0));
+            assertEquals(3_000L, reader.getLong(timestampColumn, 2));
+
+            final int sessionColumn = reader.columnIndex(SESSION_ID_TAG);
+            assertEquals(2L, reader.getLong(sessionColumn, 1));
+            assertEquals(1, reader.getInt(reader.columnIndex(STATUS_TAG), 1));
+
+            final int seqNumColumn = reader.columnIndex(MSG_SEQ_NUM_TAG);
+            assertEquals(ColumnType.INT, reader.columnType(seqNumColumn));
+            assertEquals(12, reader.getInt(seqNumColumn, 0));
+            assertEquals(13, reader.getInt(seqNumColumn, 1));
+            assertEquals(14, reader.getInt(seqNumColumn, 2));
+
+            final int msgTypeColumn = reader.columnIndex(MSG_TYPE_TAG);
+            assertEquals(messageType("8"), reader.getLong(msgTypeColumn, 0));
+            assertEquals(messageType("D"), reader.getLong(msgTypeColumn, 1));
+
+            final int sendingTimeColumn = reader.columnIndex(SENDING_TIME);
+            assertEquals(ColumnType.TIMESTAMP, reader.columnType(sendingTimeColumn));
+            assertEquals(timestampInNs("20250102-03:04:05.678"), reader.getLong(sendingTimeColumn, 0));
+            assertEquals(MISSING_LONG, reader.getLong(sendingTimeColumn, 2));
+
+            final int priceColumn = reader.columnIndex(PRICE);
+            assertTrue(reader.getDecimal(priceColumn, 0, decimal));
+            assertEquals(new DecimalFloat(12345, 2), decimal);
+            assertFalse(reader.getDecimal(priceColumn, 1, decimal));
+            assertTrue(reader.getDecimal(priceColumn, 2, decimal));
+            assertEquals(new DecimalFloat(-5, 1), decimal);
+
+            final int quantityColumn = reader.columnIndex(ORDER_QTY);
+            assertEquals(100L, reader.getLong(quantityColumn, 0));
+            assertEquals(MISSING_LONG, reader.getLong(quantityColumn, 1));
+
+            assertEquals(100, reader.getInt(reader.columnIndex(CUM_QTY), 0));
+            assertEquals(MISSING_INT, reader.getInt(reader.columnIndex(CUM_QTY), 1));
+        }
+    }
+
+    @Test
+    public void shouldDictionaryEncodeStrings()
+    {
+        final ColumnarFixMessageWriter writer = newWriter();
+        addRow(writer, 1_000L, 1L, 0, EXECUTION_REPORT);
+        addRow(writer, 2_000L, 2L, 0, NEW_ORDER);
+        addRow(writer, 3_000L, 1L, 0, SECOND_EXECUTION_REPORT);
+        writer.close();
+
+        try (ColumnarFixMessageReader reader = new ColumnarFixMessageReader(EXPORT_FILE))
+        {
+            final int symbolColumn = reader.columnIndex(SYMBOL);
+            assertEquals(2, reader.dictionarySize());
+            assertEquals(reader.getStringCode(symbolColumn, 0), reader.getStringCode(symbolColumn, 2));
+            assertNotEquals(reader.getStringCode(symbolColumn, 0), reader.getStringCode(symbolColumn, 1));
+            assertEquals("MSFT", reader.getString(symbolColumn, 0));
+            assertEquals("AAPL", reader.getString(symbolColumn, 1));
+        }
+    }
+
+    @Test
+    public void shouldAlignColumnData()
+    {
+        final ColumnarFixMessageWriter writer = newWriter();
+        addRow(writer, 1_000L, 1L, 0, EXECUTION_REPORT);
+        writer.close();
+
+        try (ColumnarFixMessageReader reader = new ColumnarFixMessageReader(EXPORT_FILE))
+        {
+            reader.rowGroupBuffer(0);
+            for (int column = 0; column < reader.columnCount(); column++)
+            {
+                assertEquals(0, reader.columnDataOffset(column) % COLUMN_ALIGNMENT);
+            }
+        }
+    }
+
+    @Test
+    public void shouldSplitRowsIntoRowGroups()
+    {
+        final ColumnarFixMessageWriter writer = newWriter(2);
+        addRow(writer, 1_000L, 1L, 0, EXECUTION_REPORT);
+        addRow(writer, 2_000L, 2L, 1, NEW_ORDER);
+        addRow(writer, 3_000L, 1L, 0, SECOND_EXECUTION_REPORT);
+        writer.close();
+
+        try (ColumnarFixMessageReader reader = new ColumnarFixMessageReader(EXPORT_FILE))
+        {
+            assertEquals(3, reader.rowCount());
+            assertEquals(2, reader.rowGroupCount());
+            assertEquals(2, reader.rowGroupRows(0));
+            assertEquals(1, reader.rowGroupRows(1));
+
+            final int seqNumColumn = reader.columnIndex(MSG_SEQ_NUM_TAG);
+            assertEquals(14, reader.getInt(seqNumColumn, 2));
+            assertEquals(12, reader.getInt(seqNumColumn, 0));
+            assertEquals(13, reader.getInt(seqNumColumn, 1));
+
+            final int priceColumn = reader.columnIndex(PRICE);
+            assertTrue(reader.getDecimal(priceColumn, 2, decimal));
+            assertEquals(new DecimalFloat(-5, 1), decimal);
+            assertTrue(reader.getDecimal(priceColumn, 0, decimal));
+            assertEquals(new DecimalFloat(12345, 2), decimal);
+
+            final int symbolColumn = reader.columnIndex(SYMBOL);
+            assertEquals("MSFT", reader.getString(symbolColumn, 2));
+            assertEquals("AAPL", reader.getString(symbolColumn, 1));
+        }
+    }
+
+    @Test
+    public void shouldWriteEmptyExport()
+    {
+        newWriter().close();
+
+        try (ColumnarFixMessageReader reader = new ColumnarFixMessageReader(EXPORT_FILE))
+        {
+            assertEquals(0, reader.rowCount());
+            assertEquals(0, reader.rowGroupCount());
+            assertEquals(0, reader.dictionarySize());
+            assertEquals(ColumnarFixMessageReader.MISSING_COLUMN, reader.columnIndex(9999));
+        }
+    }
+
+    @Test
+    public void shouldRejectFilesThatAreNotExports() throws IOException
+    {
+        Files.write(EXPORT_FILE.toPath(), new byte[HEADER_LENGTH]);
+
+        assertThrows(IllegalArgumentException.class, () -> new ColumnarFixMessageReader(EXPORT_FILE));
+    }
+
+    private ColumnarFixMessageWriter newWriter()
+    {
+        return newWriter(ColumnarFixMessageWriter.DEFAULT_MAX_ROW_GROUP_ROWS);
+    }
+
+    private ColumnarFixMessageWriter newWriter(final int maxRowGroupRows)
+    {
+        return new ColumnarFixMessageWriter(
+            EXPORT_FILE,
+            new int[]{ SENDING_TIME, PRICE, ORDER_QTY, SYMBOL, CUM_QTY },
+            new ColumnType[]{ ColumnType.TIMESTAMP, ColumnType.DECIMAL, ColumnType.LONG, ColumnType.STRING,
+                ColumnType.INT },
+            maxRowGroupRows);
+    }
+
+    private static void addRow(
+        final ColumnarFixMessageWriter writer,
+        final long timestamp,
+        final long sessionId,
+        final int status,
+        final String message)
+    {
+        final byte[] bytes = message.getBytes(US_ASCII);
+        writer.addRow(timestamp, sessionId, status, new UnsafeBuffer(bytes), 0, bytes.length);
+    }
+
+    private static long messageType(final String value)
+    {
+        final MutableAsciiBuffer buffer = new MutableAsciiBuffer(value.getBytes(US_ASCII));
+        return buffer.getMessageType(0, buffer.capacity());
+    }
+
+    private static long timestampInNs(final String value)
+    {
+        final MutableAsciiBuffer buffer = new MutableAsciiBuffer(value.getBytes(US_ASCII));
+        return UtcTimestampDecoder.decodeNanos(buffer, 0, buffer.capacity(), false);
+    }
+}
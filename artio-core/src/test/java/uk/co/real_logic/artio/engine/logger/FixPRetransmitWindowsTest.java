@@ -0,0 +1,139 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd., Monotonic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class FixPRetransmitWindowsTest
+{
+    private static final long SESSION_ID = 123;
+    private static final int MESSAGE_LENGTH = 16;
+
+    private final AtomicCounter hits = mock(AtomicCounter.class);
+    private final AtomicCounter misses = mock(AtomicCounter.class);
+    private final UnsafeBuffer message = new UnsafeBuffer(new byte[MESSAGE_LENGTH]);
+    private final FixPRetransmitWindows windows = new FixPRetransmitWindows(
+        4, MESSAGE_LENGTH * 8, 2, hits, misses);
+
+    @Test
+    public void shouldServeRangeWithinWindow()
+    {
+        send(1, 5);
+
+        final FixPRetransmitWindow window = windows.lookup(SESSION_ID, 2, 4);
+
+        assertNotNull(window);
+        for (long seqNo = 2; seqNo <= 4; seqNo++)
+        {
+            assertEquals(MESSAGE_LENGTH, window.length(seqNo));
+            assertEquals(seqNo, window.buffer().getLong(window.offset(seqNo)));
+        }
+        verify(hits).incrementOrdered();
+        verifyNoInteractions(misses);
+    }
+
+    @Test
+    public void shouldMissWhenOldestMessagesEvictedBySlots()
+    {
+        send(1, 6);
+
+        assertNull(windows.lookup(SESSION_ID, 2, 6));
+        assertNotNull(windows.lookup(SESSION_ID, 3, 6));
+        verify(misses).incrementOrdered();
+        verify(hits).incrementOrdered();
+    }
+
+    @Test
+    public void shouldEvictWhenBytesRunOut()
+    {
+        final FixPRetransmitWindow window = new FixPRetransmitWindow(16, MESSAGE_LENGTH * 3);
+        for (long seqNo = 1; seqNo <= 5; seqNo++)
+        {
+            message.putLong(0, seqNo);
+            window.onMessage(seqNo, message, 0, MESSAGE_LENGTH);
+        }
+
+        assertEquals(3, window.minSeqNo());
+        assertEquals(5, window.maxSeqNo());
+        for (long seqNo = 3; seqNo <= 5; seqNo++)
+        {
+            assertEquals(seqNo, window.buffer().getLong(window.offset(seqNo)));
+        }
+    }
+
+    @Test
+    public void shouldRestartWindowAfterSequenceReset()
+    {
+        send(5, 7);
+        send(1, 2);
+
+        assertNull(windows.lookup(SESSION_ID, 5, 7));
+        assertNotNull(windows.lookup(SESSION_ID, 1, 2));
+    }
+
+    @Test
+    public void shouldMissUnknownSession()
+    {
+        send(1, 3);
+
+        assertNull(windows.lookup(SESSION_ID + 1, 1, 3));
+        verify(misses).incrementOrdered();
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedSessionWhenMaxSessionsReached()
+    {
+        send(SESSION_ID, 1, 3);
+        send(SESSION_ID + 1, 1, 3);
+        assertNotNull(windows.lookup(SESSION_ID, 1, 3));
+
+        send(SESSION_ID + 2, 1, 3);
+
+        assertNotNull(windows.lookup(SESSION_ID, 1, 3));
+        assertNull(windows.lookup(SESSION_ID + 1, 1, 3));
+        assertNotNull(windows.lookup(SESSION_ID + 2, 1, 3));
+    }
+
+    @Test
+    public void shouldNotServeEvictedMessagesToReusedWindow()
+    {
+        send(SESSION_ID, 1, 3);
+        send(SESSION_ID + 1, 1, 3);
+        send(SESSION_ID + 2, 4, 5);
+
+        assertNull(windows.lookup(SESSION_ID + 2, 3, 5));
+        assertNotNull(windows.lookup(SESSION_ID + 2, 4, 5));
+    }
+
+    private void send(final long fromSeqNo, final long toSeqNo)
+    {
+        send(SESSION_ID, fromSeqNo, toSeqNo);
+    }
+
+    private void send(final long sessionId, final long fromSeqNo, final long toSeqNo)
+    {
+        for (long seqNo = fromSeqNo; seqNo <= toSeqNo; seqNo++)
+        {
+            message.putLong(0, seqNo);
+            windows.onBusinessMessage(sessionId, seqNo, message, 0, MESSAGE_LENGTH);
+        }
+    }
+}
@@ -53,6 +53,7 @@ import java.nio.ByteBuffer;
 import java.util.stream.IntStream;
 
 import static io.aeron.Aeron.NULL_VALUE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
 import static org.hamcrest.Matchers.greaterThan;
@@ -97,6 +98,11 @@ public class ReplayIndexTest extends AbstractLogTest
 
     private final FakeMessageHandler fakeHandler = new FakeMessageHandler();
     private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final AtomicCounter sessionOpens = mock(AtomicCounter.class);
+    private final AtomicCounter sessionEvictions = mock(AtomicCounter.class);
+    private int maxOpenSessions = DEFAULT_REPLAY_INDEX_MAX_OPEN_SESSIONS;
+    private long timeInNs = 0;
+    private final EpochNanoClock clock = () -> timeInNs;
 
     private ArchivingMediaDriver mediaDriver;
     private AeronArchive aeronArchive;
@@ -122,7 +128,12 @@ public class ReplayIndexTest extends AbstractLogTest
             mock(SequenceNumberIndexReader.class),
             DEFAULT_TIME_INDEX_FLUSH_INTERVAL_IN_NS,
             DEFAULT_INDEX_CHECKSUM_ENABLED,
-            new ReplayEvictionHandler(errorHandler));
+            new ReplayEvictionHandler(errorHandler),
+            maxOpenSessions,
+            DEFAULT_REPLAY_INDEX_IDLE_SESSION_TIMEOUT_IN_MS,
+            clock,
+            sessionOpens,
+            sessionEvictions);
     }
 
     private Aeron aeron()
@@ -263,6 +274,35 @@ public class ReplayIndexTest extends AbstractLogTest
         verifyMessagesRead(2);
     }
 
+    @Test
+    @Timeout(20_000L)
+    public void shouldCoalesceOverlappingSessionsIntoOneReplay()
+    {
+        indexExampleMessage(SESSION_ID, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+        indexExampleMessage(SESSION_ID_2, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+        indexExampleMessage(SESSION_ID, SEQUENCE_NUMBER + 1, SEQUENCE_INDEX);
+        indexExampleMessage(SESSION_ID_2, SEQUENCE_NUMBER + 1, SEQUENCE_INDEX);
+        indexExampleMessage(SESSION_ID, SEQUENCE_NUMBER + 2, SEQUENCE_INDEX);
+
+        final FakeMessageHandler otherHandler = new FakeMessageHandler();
+        final CoalescedReplayQuery coalescedQuery = query.coalescedQuery();
+        assertTrue(coalescedQuery.addSession(
+            SESSION_ID, SEQUENCE_NUMBER, SEQUENCE_INDEX, SEQUENCE_NUMBER + 1, SEQUENCE_INDEX, REPLAY, fakeHandler));
+        assertTrue(coalescedQuery.addSession(
+            SESSION_ID_2, SEQUENCE_NUMBER, SEQUENCE_INDEX, SEQUENCE_NUMBER + 1, SEQUENCE_INDEX, REPLAY, otherHandler));
+        assertFalse(coalescedQuery.addSession(
+            SESSION_ID, SEQUENCE_NUMBER, SEQUENCE_INDEX, SEQUENCE_NUMBER + 1, SEQUENCE_INDEX, REPLAY, fakeHandler));
+        assertEquals(2, coalescedQuery.sessionCount());
+
+        final int msgCount = replay(coalescedQuery.build(REPLAY));
+
+        assertEquals(1, coalescedQuery.coalescedRanges());
+        assertEquals(0, coalescedQuery.sessionCount());
+        assertEquals(4, msgCount);
+        verifyMessagesRead(2);
+        assertEquals(2, otherHandler.times());
+    }
+
     @Test
     @Timeout(20_000L)
     public void shouldNotReturnLogEntriesWithOutOfRangeSequenceNumbers()
@@ -368,6 +408,51 @@ public class ReplayIndexTest extends AbstractLogTest
         verifyMappedFile(SESSION_ID_2);
     }
 
+    @Test
+    @Timeout(20_000L)
+    public void shouldEvictLeastRecentlyUsedSessionWhenMaxOpenSessionsReached()
+    {
+        replayIndex.close();
+        maxOpenSessions = 1;
+        newReplayIndex();
+
+        indexExampleMessage(SESSION_ID, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+        indexExampleMessage(SESSION_ID_2, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+        indexExampleMessage(SESSION_ID, SEQUENCE_NUMBER + 1, SEQUENCE_INDEX);
+
+        assertEquals(1, replayIndex.openSessionCount());
+        verify(sessionOpens, times(3)).incrementOrdered();
+        verify(sessionEvictions, times(2)).incrementOrdered();
+
+        final int msgCount = query(SEQUENCE_NUMBER, SEQUENCE_INDEX, SEQUENCE_NUMBER + 1, SEQUENCE_INDEX);
+        assertEquals(2, msgCount);
+        assertEquals(1, query(SESSION_ID_2, SEQUENCE_NUMBER, SEQUENCE_INDEX, SEQUENCE_NUMBER, SEQUENCE_INDEX));
+    }
+
+    @Test
+    @Timeout(20_000L)
+    public void shouldEvictIdleSessions()
+    {
+        indexExampleMessage(SESSION_ID, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+        indexExampleMessage(SESSION_ID_2, SEQUENCE_NUMBER, SEQUENCE_INDEX);
+        assertEquals(2, replayIndex.openSessionCount());
+
+        timeInNs += MILLISECONDS.toNanos(DEFAULT_REPLAY_INDEX_IDLE_SESSION_TIMEOUT_IN_MS) - 1;
+        replayIndex.doWork();
+        assertEquals(2, replayIndex.openSessionCount());
+        verify(sessionEvictions, never()).incrementOrdered();
+
+        indexExampleMessage(SESSION_ID, SEQUENCE_NUMBER + 1, SEQUENCE_INDEX);
+        timeInNs += 1;
+        replayIndex.doWork();
+
+        assertEquals(1, replayIndex.openSessionCount());
+        verify(sessionEvictions).incrementOrdered();
+
+        final int msgCount = query(SEQUENCE_NUMBER, SEQUENCE_INDEX, SEQUENCE_NUMBER + 1, SEQUENCE_INDEX);
+        assertEquals(2, msgCount);
+    }
+
     @Test
     @Timeout(20_000L)
     public void shouldQueryStartPositions()
@@ -667,6 +752,11 @@ public class ReplayIndexTest extends AbstractLogTest
             REPLAY,
             new FixMessageTracker(REPLAY, fakeHandler, sessionId));
 
+        return replay(operation);
+    }
+
+    private int replay(final ReplayOperation operation)
+    {
         final IdleStrategy idleStrategy = CommonConfiguration.backoffIdleStrategy();
         while (!operation.pollReplay())
         {
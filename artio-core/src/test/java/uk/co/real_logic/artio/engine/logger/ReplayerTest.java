@@ -15,6 +15,7 @@
  */
 package uk.co.real_logic.artio.engine.logger;
 
+import io.aeron.Publication;
 import io.aeron.Subscription;
 import io.aeron.driver.Configuration;
 import io.aeron.driver.DutyCycleTracker;
@@ -315,6 +316,35 @@ public class ReplayerTest extends AbstractLogTest
         });
     }
 
+    @Test
+    public void shouldRetryAppMessageWhenGapFillBeforeItIsBackPressured()
+    {
+        final int endSeqNo = endSeqNoForTwoMessages();
+
+        setReplayedMessages(2);
+
+        onReplay(endSeqNo, inv ->
+        {
+            onTestRequest(BEGIN_SEQ_NO);
+
+            // Only the gap fill is back pressured, the app message mustn't be sent before it
+            bufferContainsExampleMessage(true, SESSION_ID, endSeqNo, SEQUENCE_INDEX);
+            final int abortedLength = fragmentLength();
+            setupCapturingClaim();
+            when(publication.tryClaim(intThat(length -> length != abortedLength), eq(claim)))
+                .thenReturn(Publication.BACK_PRESSURED);
+            onFragment(abortedLength, ABORT, getMessageTracker());
+            verify(publication, never()).tryClaim(eq(abortedLength), eq(claim));
+
+            final int offset = setupCapturingClaim();
+            final int srcLength = onExampleMessage(endSeqNo);
+
+            assertResentGapFillThenMessage(endSeqNo, offset, srcLength, times(2));
+
+            return true;
+        });
+    }
+
     /**
      * Replays two example messages, sequence number of BEGIN_SEQ_NO and BEGIN_SEQ_NO + 1
      */
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.messages.FixMessageDecoder;
+import uk.co.real_logic.artio.messages.MessageStatus;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReproductionLoadGeneratorTest
+{
+    private static final long NOW_IN_NS = 1772600767123456789L; // 2026-03-04T05:06:07.123456789Z
+    private static final int OFFSET = 10;
+
+    private static final String HEADER = "8=FIX.4.4\0019=60\00135=0\00134=2\00149=SENDER\00156=TARGET\001";
+
+    @Test
+    public void shouldRewriteMillisecondSendingTimeAndChecksum()
+    {
+        assertRewritten(
+            HEADER + "52=20250102-03:04:05.678\00110=000\001",
+            HEADER + "52=20260304-05:06:07.123\00110=084\001");
+    }
+
+    @Test
+    public void shouldKeepPrecisionOfNanosecondSendingTime()
+    {
+        assertRewritten(
+            HEADER + "52=20250102-03:04:05.678000000\00110=000\001",
+            HEADER + "52=20260304-05:06:07.123456789\00110=155\001");
+    }
+
+    @Test
+    public void shouldNotRewriteMessageWithoutSendingTime()
+    {
+        final String message = HEADER + "112=abc\00110=000\001";
+        final MutableAsciiBuffer buffer = bufferOf(message);
+
+        assertFalse(ReproductionLoadGenerator.rewriteSendingTime(buffer, OFFSET, message.length(), NOW_IN_NS));
+        assertEquals(message, buffer.getAscii(OFFSET, message.length()));
+    }
+
+    @Test
+    public void shouldNotMistakeOtherTagsEndingInFiftyTwoForSendingTime()
+    {
+        final String message = HEADER + "152=20250102-03:04:05.678\00110=000\001";
+        final MutableAsciiBuffer buffer = bufferOf(message);
+
+        assertFalse(ReproductionLoadGenerator.rewriteSendingTime(buffer, OFFSET, message.length(), NOW_IN_NS));
+    }
+
+    @Test
+    public void shouldRejectNegativeSpeed()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ReproductionLoadGenerator(
+            null, -1, true, 0, () -> NOW_IN_NS));
+    }
+
+    @Test
+    public void shouldSkipMessagesOfConnectionsThatCannotConnect() throws IOException
+    {
+        final InetSocketAddress unusedAddress;
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open())
+        {
+            serverChannel.bind(new InetSocketAddress("localhost", 0));
+            unusedAddress = (InetSocketAddress)serverChannel.getLocalAddress();
+        }
+
+        final RecordedInboundMessages recordedMessages = new RecordedInboundMessages();
+        record(recordedMessages, 1L);
+        record(recordedMessages, 2L);
+        record(recordedMessages, 1L);
+
+        try (ReproductionLoadGenerator generator = new ReproductionLoadGenerator(
+            unusedAddress, ReproductionLoadGenerator.MAXIMUM_SPEED, false, 0, () -> NOW_IN_NS))
+        {
+            generator.replay(recordedMessages);
+
+            assertEquals(0, generator.messagesSent());
+            assertEquals(3, generator.messagesSkipped());
+            assertEquals(2, generator.disconnectedConnectionCount());
+        }
+    }
+
+    private void record(final RecordedInboundMessages recordedMessages, final long connectionId)
+    {
+        final String message = HEADER + "10=000\001";
+        final FixMessageDecoder decoder = mock(FixMessageDecoder.class);
+        when(decoder.status()).thenReturn(MessageStatus.OK);
+        when(decoder.connection()).thenReturn(connectionId);
+        when(decoder.timestamp()).thenReturn(NOW_IN_NS);
+
+        recordedMessages.onMessage(decoder, bufferOf(message), OFFSET, message.length(), null);
+    }
+
+    private void assertRewritten(final String message, final String expected)
+    {
+        final MutableAsciiBuffer buffer = bufferOf(message);
+
+        assertTrue(ReproductionLoadGenerator.rewriteSendingTime(buffer, OFFSET, message.length(), NOW_IN_NS));
+        assertEquals(expected, buffer.getAscii(OFFSET, message.length()));
+    }
+
+    private MutableAsciiBuffer bufferOf(final String message)
+    {
+        final MutableAsciiBuffer buffer = new MutableAsciiBuffer(new byte[OFFSET + message.length()]);
+        buffer.putBytes(OFFSET, message.getBytes(US_ASCII));
+        return buffer;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static uk.co.real_logic.artio.engine.logger.SequenceNumberIndexOffsets.INITIAL_CAPACITY;
+import static uk.co.real_logic.artio.engine.logger.SequenceNumberIndexOffsets.MISSING_RECORD;
+
+public class SequenceNumberIndexOffsetsTest
+{
+    private final SequenceNumberIndexOffsets recordOffsets = new SequenceNumberIndexOffsets();
+
+    @Test
+    public void shouldNotFindUnknownSession()
+    {
+        assertEquals(MISSING_RECORD, recordOffsets.get(1L));
+    }
+
+    @Test
+    public void shouldFindPublishedRecordOffset()
+    {
+        recordOffsets.put(1L, 64);
+        recordOffsets.put(2L, 96);
+
+        assertEquals(64, recordOffsets.get(1L));
+        assertEquals(96, recordOffsets.get(2L));
+        assertEquals(MISSING_RECORD, recordOffsets.get(3L));
+    }
+
+    @Test
+    public void shouldUpdateRecordOffsetOfExistingSession()
+    {
+        recordOffsets.put(1L, 64);
+        recordOffsets.put(1L, 128);
+
+        assertEquals(128, recordOffsets.get(1L));
+        assertEquals(1, recordOffsets.size());
+    }
+
+    @Test
+    public void shouldKeepRecordOffsetsWhenResized()
+    {
+        final int sessionCount = INITIAL_CAPACITY * 4;
+        for (int i = 1; i <= sessionCount; i++)
+        {
+            recordOffsets.put(i, i * 32);
+        }
+
+        for (int i = 1; i <= sessionCount; i++)
+        {
+            assertEquals(i * 32, recordOffsets.get(i));
+        }
+        assertEquals(sessionCount, recordOffsets.size());
+    }
+
+    @Test
+    public void shouldClearRecordOffsets()
+    {
+        recordOffsets.put(1L, 64);
+
+        recordOffsets.clear();
+
+        assertEquals(MISSING_RECORD, recordOffsets.get(1L));
+        assertEquals(0, recordOffsets.size());
+    }
+}
@@ -205,6 +205,51 @@ public class SequenceNumberIndexTest extends AbstractLogTest
         assertLastKnownSequenceNumberIs(SESSION_ID, updatedSequenceNumber);
     }
 
+    @Test
+    public void shouldLookupBatchOfSequenceNumbers()
+    {
+        final int otherSequenceNumber = 8;
+        final long unknownSessionId = 404L;
+
+        indexFixMessage();
+        bufferContainsExampleMessage(true, SESSION_ID_2, otherSequenceNumber, SEQUENCE_INDEX);
+        indexRecord();
+
+        final long[] sessionIds = {SESSION_ID_2, unknownSessionId, SESSION_ID, 0L};
+        final int[] sequenceNumbers = new int[sessionIds.length];
+        reader.lastKnownSequenceNumbers(sessionIds, sequenceNumbers, 3);
+
+        assertEquals(otherSequenceNumber, sequenceNumbers[0]);
+        assertEquals(UNK_SESSION, sequenceNumbers[1]);
+        assertEquals(SEQUENCE_NUMBER, sequenceNumbers[2]);
+        assertEquals(0, sequenceNumbers[3]);
+    }
+
+    @Test
+    public void shouldLookupSequenceNumbersThroughPublishedRecordOffsets()
+    {
+        final int otherSequenceNumber = 8;
+
+        indexFixMessage();
+        writer.close();
+
+        final SequenceNumberIndexOffsets recordOffsets = new SequenceNumberIndexOffsets();
+        writer = newWriter(inMemoryBuffer, recordOffsets);
+        reader = new SequenceNumberIndexReader(inMemoryBuffer, errorHandler, recordingIdLookup, null, recordOffsets);
+
+        // Records loaded from the file are published upon startup
+        assertLastKnownSequenceNumberIs(SESSION_ID, SEQUENCE_NUMBER);
+        assertLastKnownSequenceNumberIs(SESSION_ID_2, UNK_SESSION);
+
+        bufferContainsExampleMessage(true, SESSION_ID_2, otherSequenceNumber, SEQUENCE_INDEX);
+        indexRecord();
+        assertLastKnownSequenceNumberIs(SESSION_ID_2, otherSequenceNumber);
+
+        writer.resetSequenceNumbers();
+        assertUnknownSession();
+        assertLastKnownSequenceNumberIs(SESSION_ID_2, UNK_SESSION);
+    }
+
     @Test
     public void shouldRedactSequenceNumber()
     {
@@ -525,13 +570,19 @@ public class SequenceNumberIndexTest extends AbstractLogTest
     }
 
     private SequenceNumberIndexWriter newWriter(final AtomicBuffer inMemoryBuffer)
+    {
+        return newWriter(inMemoryBuffer, null);
+    }
+
+    private SequenceNumberIndexWriter newWriter(
+        final AtomicBuffer inMemoryBuffer, final SequenceNumberIndexOffsets recordOffsets)
     {
         final MappedFile indexFile = newIndexFile();
         return new SequenceNumberIndexWriter(new SequenceNumberExtractor(),
             inMemoryBuffer, indexFile, errorHandler, STREAM_ID, recordingIdLookup,
             DEFAULT_INDEX_FILE_STATE_FLUSH_TIMEOUT_IN_MS, clock, null,
             new Long2LongHashMap(UNK_SESSION),
-            FixPProtocolType.ILINK_3, DEFAULT_INDEX_CHECKSUM_ENABLED, true);
+            FixPProtocolType.ILINK_3, DEFAULT_INDEX_CHECKSUM_ENABLED, true, recordOffsets);
     }
 
     private MappedFile newIndexFile()
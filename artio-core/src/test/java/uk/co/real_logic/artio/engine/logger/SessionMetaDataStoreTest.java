@@ -0,0 +1,300 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.agrona.CloseHelper;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.messages.MetaDataStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.co.real_logic.artio.engine.logger.SequenceNumberIndexDescriptor.*;
+
+public class SessionMetaDataStoreTest
+{
+    private static final long SESSION_ID = 1L;
+    private static final long OTHER_SESSION_ID = 2L;
+    private static final int LEGACY_POSITION = META_DATA_VERSION_OFFSET + Integer.BYTES;
+
+    private final File logFileDir = new File(IoUtil.tmpDirName(), "session-meta-data-store-test");
+    private final UnsafeBuffer readBuffer = new UnsafeBuffer(0, 0);
+
+    private SessionMetaDataStore store;
+    private SessionMetaDataReader reader;
+
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        IoUtil.delete(logFileDir, true);
+        IoUtil.ensureDirectoryExists(logFileDir, logFileDir.getAbsolutePath());
+        store = new SessionMetaDataStore(metaDataFile(logFileDir.getPath()));
+        reader = new SessionMetaDataReader(logFileDir.getPath());
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        CloseHelper.closeAll(reader, store);
+        IoUtil.delete(logFileDir, true);
+    }
+
+    @Test
+    public void shouldReadAllocatedValueWithoutCopying() throws IOException
+    {
+        store.allocate(SESSION_ID, value(4, 1), 0, 4);
+
+        assertEquals(MetaDataStatus.OK, reader.read(SESSION_ID, readBuffer));
+        assertValue(value(4, 1));
+        assertTrue(reader.isUnchanged());
+    }
+
+    @Test
+    public void shouldNotReadValueOfUnknownSession() throws IOException
+    {
+        store.allocate(SESSION_ID, value(4, 1), 0, 4);
+
+        assertEquals(MetaDataStatus.NO_META_DATA, reader.read(OTHER_SESSION_ID, readBuffer));
+    }
+
+    @Test
+    public void shouldUpdateValueInPlaceWhenItFits() throws IOException
+    {
+        final int slot = store.allocate(SESSION_ID, value(4, 1), 0, 4);
+
+        assertTrue(store.update(slot, value(8, 2), 0, 8));
+        assertEquals(MetaDataStatus.OK, reader.read(SESSION_ID, readBuffer));
+        assertValue(value(8, 2));
+
+        final byte[] suffix = value(10, 3);
+        assertTrue(store.update(slot, suffix, 8, 2));
+        assertEquals(MetaDataStatus.OK, reader.read(SESSION_ID, readBuffer));
+        final byte[] expected = value(10, 2);
+        expected[8] = suffix[8];
+        expected[9] = suffix[9];
+        assertValue(expected);
+    }
+
+    @Test
+    public void shouldReallocateValueAndCopyPrefixWhenItOutgrowsSlot() throws IOException
+    {
+        final int oldSlot = store.allocate(SESSION_ID, value(8, 1), 0, 8);
+        final int newLength = MIN_META_DATA_SLOT_CAPACITY * 2;
+        final byte[] update = value(newLength, 2);
+
+        assertFalse(store.update(oldSlot, update, 8, newLength - 8));
+        final int newSlot = store.reallocate(oldSlot, SESSION_ID, update, 8, newLength - 8);
+
+        assertNotEquals(oldSlot, newSlot);
+        assertFalse(store.isAllocatedTo(oldSlot, SESSION_ID));
+        assertTrue(store.isAllocatedTo(newSlot, SESSION_ID));
+        assertEquals(MetaDataStatus.OK, reader.read(SESSION_ID, readBuffer));
+        final byte[] expected = update.clone();
+        System.arraycopy(value(8, 1), 0, expected, 0, 8);
+        assertValue(expected);
+    }
+
+    @Test
+    public void shouldReuseFreedSlots() throws IOException
+    {
+        final int slot = store.allocate(SESSION_ID, value(4, 1), 0, 4);
+        final int end = store.end();
+
+        store.free(slot);
+
+        assertEquals(MetaDataStatus.NO_META_DATA, reader.read(SESSION_ID, readBuffer));
+        assertEquals(slot, store.allocate(OTHER_SESSION_ID, value(6, 2), 0, 6));
+        assertEquals(end, store.end());
+    }
+
+    @Test
+    public void shouldDetectValueChangedAfterRead() throws IOException
+    {
+        final int slot = store.allocate(SESSION_ID, value(4, 1), 0, 4);
+        assertEquals(MetaDataStatus.OK, reader.read(SESSION_ID, readBuffer));
+
+        store.update(slot, value(4, 2), 0, 4);
+
+        assertFalse(reader.isUnchanged());
+    }
+
+    @Test
+    public void shouldGrowFileWhenOutOfSpace() throws IOException
+    {
+        final int length = 1000;
+        final int sessionCount = 2 * SessionMetaDataStore.INITIAL_FILE_LENGTH / length;
+        for (int i = 1; i <= sessionCount; i++)
+        {
+            store.allocate(i, value(length, i), 0, length);
+        }
+
+        assertThat(store.end(), greaterThan(SessionMetaDataStore.INITIAL_FILE_LENGTH));
+        assertEquals(MetaDataStatus.OK, reader.read(sessionCount, readBuffer));
+        assertValue(value(length, sessionCount));
+    }
+
+    @Test
+    public void shouldRebuildFreeSlotsWhenReopened() throws IOException
+    {
+        final int freedSlot = store.allocate(SESSION_ID, value(4, 1), 0, 4);
+        final int otherSlot = store.allocate(OTHER_SESSION_ID, value(4, 2), 0, 4);
+        store.free(freedSlot);
+        store.close();
+
+        store = new SessionMetaDataStore(metaDataFile(logFileDir.getPath()));
+
+        assertTrue(store.isAllocatedTo(otherSlot, OTHER_SESSION_ID));
+        assertEquals(freedSlot, store.allocate(3L, value(4, 3), 0, 4));
+    }
+
+    @Test
+    public void shouldFreeAllSlotsWhenReset() throws IOException
+    {
+        final int slot = store.allocate(SESSION_ID, value(4, 1), 0, 4);
+
+        store.reset();
+
+        assertFalse(store.isAllocatedTo(slot, SESSION_ID));
+        assertEquals(META_DATA_FILE_HEADER_LENGTH, store.end());
+        assertEquals(MetaDataStatus.NO_META_DATA, reader.read(SESSION_ID, readBuffer));
+    }
+
+    @Test
+    public void shouldReplaceLegacyFileAndKeepItsContents() throws IOException
+    {
+        final File location = writeLegacyFile();
+
+        store = new SessionMetaDataStore(location);
+        reader = new SessionMetaDataReader(logFileDir.getPath());
+
+        final byte[] legacyContents = store.takeLegacyContents();
+        assertNotNull(legacyContents);
+        assertNull(store.takeLegacyContents());
+        assertEquals(4, SessionMetaDataStore.legacyValueLength(legacyContents, LEGACY_POSITION));
+        assertEquals(META_DATA_FILE_HEADER_LENGTH, store.end());
+    }
+
+    @Test
+    public void shouldRedoInterruptedLegacyMigrationFromBackup() throws IOException
+    {
+        final File location = writeLegacyFile();
+        final File backup = new File(location.getPath() + SessionMetaDataStore.LEGACY_BACKUP_SUFFIX);
+
+        store = new SessionMetaDataStore(location);
+        assertNotNull(store.takeLegacyContents());
+        final int slot = store.allocate(SESSION_ID, value(4, 1), 0, 4);
+        store.close();
+        assertTrue(backup.exists());
+
+        store = new SessionMetaDataStore(location);
+        final byte[] legacyContents = store.takeLegacyContents();
+        assertNotNull(legacyContents);
+        assertEquals(4, SessionMetaDataStore.legacyValueLength(legacyContents, LEGACY_POSITION));
+        assertTrue(store.isAllocatedTo(slot, SESSION_ID));
+
+        store.completeLegacyMigration();
+        store.close();
+        assertFalse(backup.exists());
+
+        store = new SessionMetaDataStore(location);
+        assertNull(store.takeLegacyContents());
+        assertTrue(store.isAllocatedTo(slot, SESSION_ID));
+    }
+
+    @Test
+    public void shouldFinishChangeInterruptedByCrashWhenReopened() throws IOException
+    {
+        final int slot = store.allocate(SESSION_ID, value(4, 1), 0, 4);
+        store.close();
+        putVersion(slot, 3);
+
+        store = new SessionMetaDataStore(metaDataFile(logFileDir.getPath()));
+
+        assertEquals(MetaDataStatus.OK, reader.read(SESSION_ID, readBuffer));
+        assertValue(value(4, 1));
+        assertEquals(4, putVersion(slot, 4));
+    }
+
+    @Test
+    public void shouldNotWaitForeverOnSlotLeftMidChange() throws IOException
+    {
+        final int slot = store.allocate(SESSION_ID, value(4, 1), 0, 4);
+        putVersion(slot, 3);
+
+        assertEquals(MetaDataStatus.FILE_ERROR, reader.read(SESSION_ID, readBuffer));
+    }
+
+    // Returns the slot's previous version
+    private long putVersion(final int slot, final long version)
+    {
+        final MappedByteBuffer mappedBuffer = IoUtil.mapExistingFile(
+            metaDataFile(logFileDir.getPath()), "meta data");
+        try
+        {
+            final UnsafeBuffer fileBuffer = new UnsafeBuffer(mappedBuffer);
+            final long oldVersion = fileBuffer.getLong(slot + META_DATA_SLOT_VERSION_OFFSET);
+            fileBuffer.putLong(slot + META_DATA_SLOT_VERSION_OFFSET, version);
+            return oldVersion;
+        }
+        finally
+        {
+            IoUtil.unmap(mappedBuffer);
+        }
+    }
+
+    private File writeLegacyFile() throws IOException
+    {
+        CloseHelper.closeAll(reader, store);
+        final File location = metaDataFile(logFileDir.getPath());
+        IoUtil.deleteIfExists(location);
+
+        try (RandomAccessFile legacyFile = new RandomAccessFile(location, "rw"))
+        {
+            legacyFile.writeLong(META_DATA_MAGIC_NUMBER);
+            legacyFile.writeInt(LEGACY_META_DATA_FILE_VERSION);
+            legacyFile.writeInt(4);
+            legacyFile.write(value(4, 1));
+        }
+
+        return location;
+    }
+
+    private void assertValue(final byte[] expected)
+    {
+        final byte[] actual = new byte[readBuffer.capacity()];
+        readBuffer.getBytes(0, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    private static byte[] value(final int length, final int seed)
+    {
+        final byte[] value = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            value[i] = (byte)(seed + i);
+        }
+        return value;
+    }
+}
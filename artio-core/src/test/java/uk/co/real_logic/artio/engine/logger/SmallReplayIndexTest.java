@@ -31,9 +31,12 @@ import org.agrona.collections.Long2LongHashMap;
 import org.agrona.collections.LongArrayList;
 import org.agrona.collections.LongHashSet;
 import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.EpochNanoClock;
 import org.agrona.concurrent.NoOpIdleStrategy;
+import org.agrona.concurrent.OffsetEpochNanoClock;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.concurrent.YieldingIdleStrategy;
+import org.agrona.concurrent.status.AtomicCounter;
 import org.junit.jupiter.api.AfterEach;
 
 
@@ -94,6 +97,10 @@ public class SmallReplayIndexTest extends AbstractLogTest implements ReplayQuery
 
     private final FakeMessageHandler fakeHandler = new FakeMessageHandler();
     private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final AtomicCounter sessionOpens = mock(AtomicCounter.class);
+    private final AtomicCounter sessionEvictions = mock(AtomicCounter.class);
+    private final int maxOpenSessions = DEFAULT_REPLAY_INDEX_MAX_OPEN_SESSIONS;
+    private final EpochNanoClock clock = new OffsetEpochNanoClock();
 
     private ArchivingMediaDriver mediaDriver;
     private AeronArchive aeronArchive;
@@ -119,7 +126,12 @@ public class SmallReplayIndexTest extends AbstractLogTest implements ReplayQuery
             mock(SequenceNumberIndexReader.class),
             DEFAULT_TIME_INDEX_FLUSH_INTERVAL_IN_NS,
             DEFAULT_INDEX_CHECKSUM_ENABLED,
-            new ReplayEvictionHandler(errorHandler));
+            new ReplayEvictionHandler(errorHandler),
+            maxOpenSessions,
+            DEFAULT_REPLAY_INDEX_IDLE_SESSION_TIMEOUT_IN_MS,
+            clock,
+            sessionOpens,
+            sessionEvictions);
     }
 
     private Aeron aeron()
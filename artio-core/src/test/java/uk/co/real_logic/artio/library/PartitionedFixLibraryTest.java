@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.library;
+
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.library.PartitionedFixLibrary.Partition;
+import uk.co.real_logic.artio.library.PartitionedFixLibrary.PartitionSessionExistsHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PartitionedFixLibraryTest
+{
+    private static final int PARTITION_COUNT = 3;
+    private static final int FRAGMENT_LIMIT = 5;
+
+    private final FixLibrary library = mock(FixLibrary.class);
+    private final SessionExistsHandler delegate = mock(SessionExistsHandler.class);
+
+    @Test
+    public void shouldSpreadConsecutiveSessionIdsAcrossPartitions()
+    {
+        final int[] sessionsPerPartition = new int[PARTITION_COUNT];
+        for (long sessionId = -6; sessionId < 6; sessionId++)
+        {
+            final int partition = PartitionedFixLibrary.partitionFor(sessionId, PARTITION_COUNT);
+            assertTrue(partition >= 0 && partition < PARTITION_COUNT, "Invalid partition: " + partition);
+            assertEquals(Math.floorMod(sessionId, PARTITION_COUNT), partition);
+            sessionsPerPartition[partition]++;
+        }
+
+        assertArrayEquals(new int[]{ 4, 4, 4 }, sessionsPerPartition);
+    }
+
+    @Test
+    public void shouldOnlyAcquireSessionsOnTheOwningPartition()
+    {
+        final FixLibrary[] libraries = new FixLibrary[PARTITION_COUNT];
+        final AcquiringSessionExistsHandler[] acquiringHandlers = new AcquiringSessionExistsHandler[PARTITION_COUNT];
+        final SessionExistsHandler[] partitionHandlers = new SessionExistsHandler[PARTITION_COUNT];
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            libraries[i] = mock(FixLibrary.class);
+            acquiringHandlers[i] = new AcquiringSessionExistsHandler();
+            partitionHandlers[i] = PartitionedFixLibrary.partitionSessionExistsHandler(
+                i, PARTITION_COUNT, new LibraryConfiguration().sessionExistsHandler(acquiringHandlers[i]));
+        }
+
+        // The engine tells every library about each session that it owns
+        final int sessionCount = 9;
+        for (long sessionId = 0; sessionId < sessionCount; sessionId++)
+        {
+            for (int i = 0; i < PARTITION_COUNT; i++)
+            {
+                partitionHandlers[i].onSessionExists(
+                    libraries[i], sessionId, "local", "", "", "remote" + sessionId, "", "", 1, 0);
+            }
+        }
+
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            assertEquals(sessionCount / PARTITION_COUNT, acquiringHandlers[i].requests().size());
+            for (long sessionId = 0; sessionId < sessionCount; sessionId++)
+            {
+                final int expectedRequests = sessionId % PARTITION_COUNT == i ? 1 : 0;
+                verify(libraries[i], times(expectedRequests))
+                    .requestSession(eq(sessionId), anyInt(), anyInt(), anyLong());
+            }
+        }
+    }
+
+    @Test
+    public void shouldNotWrapMissingSessionExistsHandler()
+    {
+        final LibraryConfiguration configuration = new LibraryConfiguration().sessionExistsHandler(null);
+
+        assertNull(PartitionedFixLibrary.partitionSessionExistsHandler(0, PARTITION_COUNT, configuration));
+    }
+
+    @Test
+    public void shouldRejectConfigurationSharedBetweenPartitions()
+    {
+        final LibraryConfiguration configuration = new LibraryConfiguration().sessionExistsHandler(delegate);
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PartitionedFixLibrary.launch(
+            PARTITION_COUNT, (partition) -> configuration, Throwable::printStackTrace));
+        assertSame(delegate, configuration.sessionExistsHandler());
+    }
+
+    @Test
+    public void shouldOnlyNotifyOwningPartitionOfExistingSessions()
+    {
+        final List<PartitionSessionExistsHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            handlers.add(new PartitionSessionExistsHandler(i, PARTITION_COUNT, delegate));
+        }
+
+        final long sessionId = 4;
+        for (final PartitionSessionExistsHandler handler : handlers)
+        {
+            handler.onSessionExists(library, sessionId, "local", "", "", "remote", "", "", 1, 0);
+        }
+
+        verify(delegate, times(1)).onSessionExists(library, sessionId, "local", "", "", "remote", "", "", 1, 0);
+    }
+
+    @Test
+    public void shouldRunSubmittedCommandsOnPollingThread()
+    {
+        final Partition partition = new Partition(0, new LibraryConfiguration(), library, FRAGMENT_LIMIT, 2);
+        final PartitionedFixLibrary partitioned = new PartitionedFixLibrary(new Partition[]{ partition });
+        final List<FixLibrary> executedWith = new ArrayList<>();
+
+        assertTrue(partitioned.execute(0, executedWith::add));
+        assertTrue(partitioned.executeForSession(42, executedWith::add));
+        assertFalse(partitioned.execute(0, executedWith::add), "Queue should be full");
+        assertEquals(0, executedWith.size());
+
+        when(library.poll(FRAGMENT_LIMIT)).thenReturn(1);
+        assertEquals(3, partition.doWork());
+
+        assertEquals(2, executedWith.size());
+        assertSame(library, executedWith.get(0));
+        verify(library).poll(FRAGMENT_LIMIT);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.library;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import uk.co.real_logic.artio.session.Session;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class SessionMessageBatchTest
+{
+    private static final long MESSAGE_TYPE = 'D';
+
+    private final Session session = mock(Session.class);
+    private final SessionMessageBatch batch = new SessionMessageBatch(session, 3);
+
+    @Test
+    public void shouldIterateOverAppendedMessages()
+    {
+        append("first", 1);
+        append("second", 2);
+
+        assertEquals(2, batch.size());
+        assertSame(session, batch.session());
+
+        assertTrue(batch.next());
+        assertMessage("first", 1);
+
+        assertTrue(batch.next());
+        assertMessage("second", 2);
+
+        assertFalse(batch.next());
+    }
+
+    @Test
+    public void shouldBeFullAtCapacity()
+    {
+        assertTrue(batch.isEmpty());
+
+        append("first", 1);
+        append("second", 2);
+        assertFalse(batch.isFull());
+
+        append("third", 3);
+        assertTrue(batch.isFull());
+    }
+
+    @Test
+    public void shouldRedeliverFromCurrentMessageAfterRewind()
+    {
+        append("first", 1);
+        append("second", 2);
+        append("third", 3);
+
+        assertTrue(batch.next());
+        assertTrue(batch.next());
+        batch.rewindToCurrent();
+
+        assertTrue(batch.next());
+        assertMessage("second", 2);
+    }
+
+    @Test
+    public void shouldRedeliverLastMessageIfAbortedAfterIteration()
+    {
+        append("first", 1);
+
+        assertTrue(batch.next());
+        assertFalse(batch.next());
+        batch.rewindToCurrent();
+
+        assertTrue(batch.next());
+        assertMessage("first", 1);
+    }
+
+    @Test
+    public void shouldBeEmptyAfterReset()
+    {
+        append("first", 1);
+        assertTrue(batch.next());
+
+        batch.reset();
+
+        assertTrue(batch.isEmpty());
+        assertFalse(batch.next());
+
+        append("second", 2);
+        assertTrue(batch.next());
+        assertMessage("second", 2);
+        assertEquals(0, batch.offset());
+    }
+
+    private void append(final String body, final int sequenceNumber)
+    {
+        final byte[] bytes = body.getBytes(StandardCharsets.US_ASCII);
+        batch.append(
+            new UnsafeBuffer(bytes), 0, bytes.length, sequenceNumber, 0, MESSAGE_TYPE, sequenceNumber,
+            sequenceNumber * 100L, true);
+    }
+
+    private void assertMessage(final String body, final int sequenceNumber)
+    {
+        assertEquals(body, batch.buffer().getStringWithoutLengthAscii(batch.offset(), batch.length()));
+        assertEquals(sequenceNumber, batch.sequenceNumber());
+        assertEquals(MESSAGE_TYPE, batch.messageType());
+        assertEquals(sequenceNumber * 100L, batch.position());
+        assertTrue(batch.isValid());
+    }
+}
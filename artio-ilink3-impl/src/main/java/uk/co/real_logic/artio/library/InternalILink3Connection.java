@@ -158,11 +158,14 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
     private final BusinessReject521Decoder businessReject = new BusinessReject521Decoder();
     private final Consumer<StringBuilder> businessRejectAppendTo = businessReject::appendTo;
 
-    // Reorder buffer
+    // Reorder buffer, messages are held between retransmitQueueHead and retransmitQueueOffset
+    private int retransmitQueueHead = 0;
     private int retransmitQueueOffset = 0;
     private final int maxRetransmitQueueSize;
     private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
     private final ExpandableArrayBuffer retransmitQueue = new ExpandableArrayBuffer();
+    private final ArrayList<RetransmitReassemblyIndex> reassemblyIndices = new ArrayList<>();
+    private int activeReassemblyIndices = 0;
 
     private final ILink3Proxy proxy;
     private final ILink3Offsets offsets;
@@ -397,7 +400,7 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
 
     int retransmitQueueSize()
     {
-        return retransmitQueueOffset;
+        return retransmitQueueOffset - retransmitQueueHead;
     }
 
     private long calculateInitialSequenceNumber(
@@ -1195,9 +1198,7 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
     private void enqueueRetransmitMessage(
         final DirectBuffer buffer, final int offset, final int totalLength, final long seqNum)
     {
-        final int newQueueSize = retransmitQueueOffset + totalLength;
-
-        if (newQueueSize > maxRetransmitQueueSize)
+        if (retransmitQueueSize() + totalLength > maxRetransmitQueueSize)
         {
             // We've hit the maximum size of the retransmit queue, at this point we need to make sure that we don't
             // drop the messages but we can't enqueue them, so we enqueue another retransmit request.
@@ -1225,9 +1226,34 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
             return;
         }
 
+        if (retransmitQueueOffset + totalLength > maxRetransmitQueueSize)
+        {
+            compactRetransmitQueue();
+        }
+
         final int headerOffset = offset - HEADER_LENGTH;
         retransmitQueue.putBytes(retransmitQueueOffset, buffer, headerOffset, totalLength);
-        retransmitQueueOffset = newQueueSize;
+        retransmitQueueOffset += totalLength;
+    }
+
+    // Messages that have been handed off are skipped by moving the head, the remainder is only copied down to the
+    // start of the queue when the space after it runs out.
+    private void compactRetransmitQueue()
+    {
+        final int head = retransmitQueueHead;
+        if (head > 0)
+        {
+            final int size = retransmitQueueOffset - head;
+            retransmitQueue.putBytes(0, retransmitQueue, head, size);
+            retransmitQueueHead = 0;
+            retransmitQueueOffset = size;
+        }
+    }
+
+    private void clearRetransmitQueue()
+    {
+        retransmitQueueHead = 0;
+        retransmitQueueOffset = 0;
     }
 
     private Action onBusinessMessage(
@@ -1400,31 +1426,27 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
 
     private void processOutOfOrderRetransmitQueue()
     {
-        // A retransmit within a retransmit happened - messages might be out of order and need sorting.
+        // A retransmit within a retransmit happened - messages might be out of order. The contiguous run of the
+        // retransmitted uuid is handed off as it is found, the rest are indexed by sequence number per uuid.
         final ExpandableArrayBuffer retransmitQueue = this.retransmitQueue;
         final MessageHeaderDecoder headerDecoder = this.headerDecoder;
-        final SortedSet<RetransmitQueueEntry> entries = new TreeSet<>();
         long retransmitContiguousSeqNo = this.retransmitContiguousSeqNo;
+        activeReassemblyIndices = 0;
 
-        int offset = 0;
+        int offset = retransmitQueueHead;
         while (offset < retransmitQueueOffset)
         {
             final int length = readSofhMessageSize(retransmitQueue, offset);
 
-            final int headerOffset = offset + SOFH_LENGTH;
-            headerDecoder.wrap(retransmitQueue, headerOffset);
-            final int blockLength = headerDecoder.blockLength();
+            headerDecoder.wrap(retransmitQueue, offset + SOFH_LENGTH);
             final int templateId = headerDecoder.templateId();
-            final int version = headerDecoder.version();
 
-            final int messageOffset = headerOffset + MessageHeaderDecoder.ENCODED_LENGTH;
+            final int messageOffset = offset + HEADER_LENGTH;
             final int seqNum = offsets.seqNum(templateId, retransmitQueue, messageOffset);
             final long messageUuid = offsets.uuid(templateId, retransmitQueue, messageOffset);
             if (messageUuid == retransmitUuid && seqNum == retransmitContiguousSeqNo + 1)
             {
-                final Action action = onBusinessMessage(
-                    retransmitQueue, messageOffset, templateId, blockLength, version, false,
-                    length);
+                final Action action = onQueuedBusinessMessage(offset, length);
                 if (action == ABORT)
                 {
                     this.retransmitContiguousSeqNo = retransmitContiguousSeqNo;
@@ -1435,36 +1457,119 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
             }
             else
             {
-                entries.add(new RetransmitQueueEntry(messageUuid, seqNum, offset));
+                final RetransmitReassemblyIndex index = reassemblyIndex(messageUuid);
+                if (index.fits(seqNum))
+                {
+                    index.add(seqNum, offset);
+                }
+                else
+                {
+                    // Too far from the other queued messages of its uuid to index, hand off in queue order instead.
+                    final Action action = onQueuedBusinessMessage(offset, length);
+                    if (action == ABORT)
+                    {
+                        activeReassemblyIndices = 0;
+                        this.retransmitContiguousSeqNo = NOT_AWAITING_RETRANSMIT;
+                        clearRetransmitQueue();
+                        return;
+                    }
+                }
             }
 
             offset += length;
         }
 
-        for (final RetransmitQueueEntry entry : entries)
+        // Hand off the indexed messages in order of uuid and then sequence number, skipping over any gaps.
+        RetransmitReassemblyIndex index;
+        while ((index = removeLowestUuidReassemblyIndex()) != null)
         {
-            final int entryOffset = entry.offset;
-            final int messageSize = readSofhMessageSize(retransmitQueue, entryOffset);
-            final int headerOffset = entryOffset + SOFH_LENGTH;
-            headerDecoder.wrap(retransmitQueue, headerOffset);
-            final int blockLength = headerDecoder.blockLength();
-            final int templateId = headerDecoder.templateId();
-            final int version = headerDecoder.version();
-
-            final int messageOffset = headerOffset + MessageHeaderDecoder.ENCODED_LENGTH;
-            final Action action = onBusinessMessage(
-                retransmitQueue, messageOffset, templateId, blockLength, version, false,
-                messageSize);
-            if (action == ABORT)
+            long seqNo = index.nextSeqNo(index.minSeqNo());
+            while (seqNo != RetransmitReassemblyIndex.NO_SEQ_NO)
             {
-                this.retransmitContiguousSeqNo = NOT_AWAITING_RETRANSMIT;
-                retransmitQueueOffset = 0;
-                return;
+                final int entryOffset = index.offset(seqNo);
+                final Action action = onQueuedBusinessMessage(
+                    entryOffset, readSofhMessageSize(retransmitQueue, entryOffset));
+                if (action == ABORT)
+                {
+                    activeReassemblyIndices = 0;
+                    this.retransmitContiguousSeqNo = NOT_AWAITING_RETRANSMIT;
+                    clearRetransmitQueue();
+                    return;
+                }
+
+                seqNo = index.nextSeqNo(seqNo + 1);
             }
         }
 
         this.retransmitContiguousSeqNo = NOT_AWAITING_RETRANSMIT;
-        retransmitQueueOffset = 0;
+        clearRetransmitQueue();
+    }
+
+    private Action onQueuedBusinessMessage(final int offset, final int length)
+    {
+        final ExpandableArrayBuffer retransmitQueue = this.retransmitQueue;
+        final MessageHeaderDecoder headerDecoder = this.headerDecoder;
+        headerDecoder.wrap(retransmitQueue, offset + SOFH_LENGTH);
+
+        return onBusinessMessage(
+            retransmitQueue,
+            offset + HEADER_LENGTH,
+            headerDecoder.templateId(),
+            headerDecoder.blockLength(),
+            headerDecoder.version(),
+            false,
+            length);
+    }
+
+    private RetransmitReassemblyIndex reassemblyIndex(final long uuid)
+    {
+        final ArrayList<RetransmitReassemblyIndex> reassemblyIndices = this.reassemblyIndices;
+        final int activeReassemblyIndices = this.activeReassemblyIndices;
+        for (int i = 0; i < activeReassemblyIndices; i++)
+        {
+            final RetransmitReassemblyIndex index = reassemblyIndices.get(i);
+            if (index.uuid() == uuid)
+            {
+                return index;
+            }
+        }
+
+        if (activeReassemblyIndices == reassemblyIndices.size())
+        {
+            reassemblyIndices.add(new RetransmitReassemblyIndex(configuration.retransmitRequestMessageLimit()));
+        }
+
+        final RetransmitReassemblyIndex index = reassemblyIndices.get(activeReassemblyIndices);
+        index.reset(uuid);
+        this.activeReassemblyIndices = activeReassemblyIndices + 1;
+        return index;
+    }
+
+    private RetransmitReassemblyIndex removeLowestUuidReassemblyIndex()
+    {
+        final ArrayList<RetransmitReassemblyIndex> reassemblyIndices = this.reassemblyIndices;
+        final int activeReassemblyIndices = this.activeReassemblyIndices;
+        if (activeReassemblyIndices == 0)
+        {
+            return null;
+        }
+
+        int lowest = 0;
+        for (int i = 1; i < activeReassemblyIndices; i++)
+        {
+            if (reassemblyIndices.get(i).uuid() < reassemblyIndices.get(lowest).uuid())
+            {
+                lowest = i;
+            }
+        }
+
+        // swap the removed index to the end of the active ones so that it can be reused
+        final int last = activeReassemblyIndices - 1;
+        final RetransmitReassemblyIndex index = reassemblyIndices.get(lowest);
+        reassemblyIndices.set(lowest, reassemblyIndices.get(last));
+        reassemblyIndices.set(last, index);
+        this.activeReassemblyIndices = last;
+        return index;
     }
 
     private void processInOrderRetransmitQueue()
@@ -1474,7 +1579,7 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
         // Simple retransmit queue case - messages are all in order and can all be sent.
         final ExpandableArrayBuffer retransmitQueue = this.retransmitQueue;
         final MessageHeaderDecoder headerDecoder = this.headerDecoder;
-        int offset = 0;
+        int offset = retransmitQueueHead;
         boolean first = true;
         while (offset < retransmitQueueOffset)
         {
@@ -1520,16 +1625,14 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
             }
         }
 
-        // shuffle up remaining bytes
-        final int remainder = retransmitQueueOffset - offset;
-        if (remainder > 0)
+        // skip over the handed off messages rather than shuffling up the remaining bytes
+        if (offset < retransmitQueueOffset)
         {
-            retransmitQueue.putBytes(0, retransmitQueue, offset, remainder);
-            retransmitQueueOffset = remainder;
+            retransmitQueueHead = offset;
         }
         else
         {
-            retransmitQueueOffset = 0;
+            clearRetransmitQueue();
         }
         retransmitMaxSeqNo = NOT_AWAITING_RETRANSMIT;
     }
@@ -1557,6 +1660,17 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
 
     private void addRetransmitRequest(final long lastUuid, final long fromSeqNo, final int msgCount)
     {
+        // Extend the last queued request if this one carries on from it, so that adjacent gaps need one round trip.
+        final RetransmitRequest lastRequest = retransmitRequests.peekLast();
+        if (lastRequest != null &&
+            lastRequest.lastUuid == lastUuid &&
+            lastRequest.fromSeqNo + lastRequest.msgCount == fromSeqNo &&
+            lastRequest.msgCount + msgCount <= configuration.retransmitRequestMessageLimit())
+        {
+            lastRequest.msgCount += msgCount;
+            return;
+        }
+
         retransmitRequests.offerLast(new RetransmitRequest(lastUuid, fromSeqNo, msgCount));
     }
 
@@ -1596,33 +1710,6 @@ public final class InternalILink3Connection extends InternalFixPConnection imple
         }
     }
 
-    static final class RetransmitQueueEntry implements Comparable<RetransmitQueueEntry>
-    {
-        final long uuid;
-        final long seqNum;
-        final int offset;
-
-        RetransmitQueueEntry(final long uuid, final long seqNum, final int offset)
-        {
-            this.uuid = uuid;
-            this.seqNum = seqNum;
-            this.offset = offset;
-        }
-
-        public int compareTo(final RetransmitQueueEntry o)
-        {
-            final int uuidCompare = Long.compare(uuid, o.uuid);
-            if (uuidCompare == 0)
-            {
-                return Long.compare(seqNum, o.seqNum);
-            }
-            else
-            {
-                return uuidCompare;
-            }
-        }
-    }
-
     public Action onRetransmitReject(
         final String reason, final long uuid, final long lastUuid, final long requestTimestamp, final int errorCodes)
     {
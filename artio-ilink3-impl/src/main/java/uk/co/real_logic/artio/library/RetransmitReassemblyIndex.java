@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Monotonic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.library;
+
+import java.util.Arrays;
+
+import static org.agrona.BitUtil.findNextPositivePowerOfTwo;
+
+/**
+ * Indexes the messages of a single uuid held in the retransmit queue by sequence number so that they can be handed
+ * off in sequence number order without sorting.
+ *
+ * Slots form a ring keyed by <code>seqNo &amp; mask</code>, which holds the offset of the message within the retransmit
+ * queue, and a bitmap records which slots are filled so that gaps can be skipped a word at a time. The ring grows
+ * whenever the span of sequence numbers that it holds exceeds its capacity, up to a maximum span that is fixed on
+ * construction. Messages that would take the span beyond that should be checked for with {@link #fits(long)} and
+ * handled by the caller rather than added, so that a sequence number far from the others can't inflate the ring.
+ */
+final class RetransmitReassemblyIndex
+{
+    static final long NO_SEQ_NO = -1;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int maxSpan;
+
+    private long uuid;
+    private long minSeqNo = NO_SEQ_NO;
+    private long maxSeqNo = NO_SEQ_NO;
+    private int size;
+    private int mask;
+    private int[] offsets;
+    private long[] filledSlots;
+
+    /**
+     * Create the index.
+     *
+     * @param maxSpan the largest span of sequence numbers, from lowest to highest inclusive, that the index will hold.
+     */
+    RetransmitReassemblyIndex(final int maxSpan)
+    {
+        this.maxSpan = maxSpan;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    void reset(final long uuid)
+    {
+        this.uuid = uuid;
+        if (size > 0)
+        {
+            Arrays.fill(filledSlots, 0L);
+        }
+        minSeqNo = NO_SEQ_NO;
+        maxSeqNo = NO_SEQ_NO;
+        size = 0;
+    }
+
+    long uuid()
+    {
+        return uuid;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    long minSeqNo()
+    {
+        return minSeqNo;
+    }
+
+    /**
+     * Check whether a message could be added to the index without its span exceeding the maximum span.
+     *
+     * @param seqNo the sequence number of the message.
+     * @return true if the message could be added, false otherwise.
+     */
+    boolean fits(final long seqNo)
+    {
+        return size == 0 || Math.max(maxSeqNo, seqNo) - Math.min(minSeqNo, seqNo) < maxSpan;
+    }
+
+    /**
+     * Add a message to the index, the caller must have checked that it {@link #fits(long)}.
+     *
+     * @param seqNo the sequence number of the message.
+     * @param offset the offset of the message within the retransmit queue.
+     * @return true if the message was added, false if a message with the same sequence number is already indexed.
+     */
+    boolean add(final long seqNo, final int offset)
+    {
+        if (size == 0)
+        {
+            minSeqNo = seqNo;
+            maxSeqNo = seqNo;
+        }
+        else
+        {
+            final long newMinSeqNo = Math.min(minSeqNo, seqNo);
+            final long newMaxSeqNo = Math.max(maxSeqNo, seqNo);
+            final long span = newMaxSeqNo - newMinSeqNo + 1;
+            if (span > offsets.length)
+            {
+                grow(span);
+            }
+
+            if (isFilled(seqNo))
+            {
+                return false;
+            }
+
+            minSeqNo = newMinSeqNo;
+            maxSeqNo = newMaxSeqNo;
+        }
+
+        final int slot = (int)seqNo & mask;
+        offsets[slot] = offset;
+        filledSlots[slot >>> 6] |= 1L << slot;
+        size++;
+        return true;
+    }
+
+    /**
+     * Find the first indexed sequence number that is at least <code>fromSeqNo</code>.
+     *
+     * @param fromSeqNo the sequence number to search from.
+     * @return the next indexed sequence number, or {@link #NO_SEQ_NO} if there isn't one.
+     */
+    long nextSeqNo(final long fromSeqNo)
+    {
+        if (size == 0)
+        {
+            return NO_SEQ_NO;
+        }
+
+        final long maxSeqNo = this.maxSeqNo;
+        final long[] filledSlots = this.filledSlots;
+        long seqNo = Math.max(fromSeqNo, minSeqNo);
+        while (seqNo <= maxSeqNo)
+        {
+            final int slot = (int)seqNo & mask;
+            final int bitIndex = slot & 63;
+            final long bits = filledSlots[slot >>> 6] >>> bitIndex;
+            if (bits != 0)
+            {
+                final long nextSeqNo = seqNo + Long.numberOfTrailingZeros(bits);
+                return nextSeqNo <= maxSeqNo ? nextSeqNo : NO_SEQ_NO;
+            }
+
+            seqNo += 64 - bitIndex;
+        }
+
+        return NO_SEQ_NO;
+    }
+
+    int offset(final long seqNo)
+    {
+        return offsets[(int)seqNo & mask];
+    }
+
+    private boolean isFilled(final long seqNo)
+    {
+        final int slot = (int)seqNo & mask;
+        return (filledSlots[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private void grow(final long span)
+    {
+        final int[] oldOffsets = offsets;
+        final long[] oldFilledSlots = filledSlots;
+        final int oldMask = mask;
+
+        allocate(findNextPositivePowerOfTwo((int)span));
+
+        for (long seqNo = minSeqNo; seqNo <= maxSeqNo; seqNo++)
+        {
+            final int oldSlot = (int)seqNo & oldMask;
+            if ((oldFilledSlots[oldSlot >>> 6] & (1L << oldSlot)) != 0)
+            {
+                final int slot = (int)seqNo & mask;
+                offsets[slot] = oldOffsets[oldSlot];
+                filledSlots[slot >>> 6] |= 1L << slot;
+            }
+        }
+    }
+
+    private void allocate(final int capacity)
+    {
+        offsets = new int[capacity];
+        filledSlots = new long[capacity >>> 6];
+        mask = capacity - 1;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020 Monotonic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.library;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.co.real_logic.artio.library.RetransmitReassemblyIndex.NO_SEQ_NO;
+
+public class RetransmitReassemblyIndexTest
+{
+    private static final long UUID = 5;
+    private static final int MAX_SPAN = 10_000;
+
+    private final RetransmitReassemblyIndex index = new RetransmitReassemblyIndex(MAX_SPAN);
+
+    @Test
+    public void shouldIterateInSequenceNumberOrderSkippingGaps()
+    {
+        index.reset(UUID);
+
+        assertTrue(index.add(7, 70));
+        assertTrue(index.add(3, 30));
+        assertTrue(index.add(200, 2000));
+        assertTrue(index.add(4, 40));
+
+        assertThat(seqNos(), contains(3L, 4L, 7L, 200L));
+        assertEquals(70, index.offset(7));
+        assertEquals(2000, index.offset(200));
+    }
+
+    @Test
+    public void shouldKeepFirstMessageForDuplicateSequenceNumber()
+    {
+        index.reset(UUID);
+
+        assertTrue(index.add(10, 1));
+        assertFalse(index.add(10, 2));
+
+        assertEquals(1, index.size());
+        assertEquals(1, index.offset(10));
+    }
+
+    @Test
+    public void shouldGrowWhenSpanExceedsCapacity()
+    {
+        index.reset(UUID);
+
+        assertTrue(index.add(1_000, 1));
+        assertTrue(index.add(10, 2));
+        assertTrue(index.add(5_000, 3));
+        assertFalse(index.add(10, 4));
+
+        assertThat(seqNos(), contains(10L, 1_000L, 5_000L));
+        assertEquals(2, index.offset(10));
+        assertEquals(1, index.offset(1_000));
+        assertEquals(3, index.offset(5_000));
+    }
+
+    @Test
+    public void shouldNotFitMessagesBeyondMaxSpan()
+    {
+        index.reset(UUID);
+
+        assertTrue(index.fits(Long.MAX_VALUE));
+        assertTrue(index.add(100, 1));
+
+        assertTrue(index.fits(100 + MAX_SPAN - 1));
+        assertFalse(index.fits(100 + MAX_SPAN));
+        assertFalse(index.fits(Integer.MAX_VALUE));
+
+        assertTrue(index.add(100 + MAX_SPAN - 1, 2));
+        assertTrue(index.fits(100));
+        assertFalse(index.fits(99));
+        assertThat(seqNos(), contains(100L, 100L + MAX_SPAN - 1));
+    }
+
+    @Test
+    public void shouldBeEmptyAfterReset()
+    {
+        index.reset(UUID);
+        index.add(2, 1);
+        index.reset(UUID + 1);
+
+        assertEquals(UUID + 1, index.uuid());
+        assertEquals(0, index.size());
+        assertEquals(NO_SEQ_NO, index.nextSeqNo(0));
+
+        assertTrue(index.add(2, 3));
+        assertThat(seqNos(), contains(2L));
+    }
+
+    private List<Long> seqNos()
+    {
+        final List<Long> seqNos = new ArrayList<>();
+        long seqNo = index.nextSeqNo(index.minSeqNo());
+        while (seqNo != NO_SEQ_NO)
+        {
+            seqNos.add(seqNo);
+            seqNo = index.nextSeqNo(seqNo + 1);
+        }
+        return seqNos;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.co.real_logic.artio.fields.DecimalFloat;
+import uk.co.real_logic.artio.fields.UtcTimestampDecoder;
+import uk.co.real_logic.artio.util.AsciiBufferCharReader;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+import uk.co.real_logic.artio.util.float_parsing.DecimalFloatParser;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AsciiParsingBenchmark
+{
+    private static final String PRICE = "12345.678901";
+    private static final String TIMESTAMP = "20231115-10:11:12.123456789";
+
+    private final MutableAsciiBuffer priceBuffer = new MutableAsciiBuffer(new byte[32]);
+    private final MutableAsciiBuffer timestampBuffer = new MutableAsciiBuffer(new byte[32]);
+    private final DecimalFloat price = new DecimalFloat();
+    private final UtcTimestampDecoder timestampDecoder = new UtcTimestampDecoder(true);
+
+    private int priceLength;
+    private int timestampLength;
+
+    @Setup
+    public void setup()
+    {
+        priceLength = priceBuffer.putAscii(0, PRICE);
+        timestampLength = timestampBuffer.putAscii(0, TIMESTAMP);
+    }
+
+    @Benchmark
+    public void parsePrice(final Blackhole bh)
+    {
+        bh.consume(priceBuffer.getFloat(price, 0, priceLength));
+    }
+
+    @Benchmark
+    public void parsePriceCharByChar(final Blackhole bh)
+    {
+        bh.consume(DecimalFloatParser.extract(
+            price, AsciiBufferCharReader.INSTANCE, priceBuffer, 0, priceLength, -1, null));
+    }
+
+    @Benchmark
+    public void decodeTimestamp(final Blackhole bh)
+    {
+        bh.consume(UtcTimestampDecoder.decodeNanos(timestampBuffer, 0, timestampLength, true));
+    }
+
+    @Benchmark
+    public void decodeTimestampWithCachedDate(final Blackhole bh)
+    {
+        bh.consume(timestampDecoder.decodeNanos(timestampBuffer, 0, timestampLength));
+    }
+}
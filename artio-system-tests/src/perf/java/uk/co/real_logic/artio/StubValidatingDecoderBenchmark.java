@@ -20,6 +20,7 @@ import org.openjdk.jmh.infra.Blackhole;
 import uk.co.real_logic.artio.builder.Validation;
 import uk.co.real_logic.artio.decoder.HeaderDecoder;
 import uk.co.real_logic.artio.decoder.LogonDecoder;
+import uk.co.real_logic.artio.decoder.NewOrderSingleDecoder;
 import uk.co.real_logic.artio.util.AsciiBuffer;
 import uk.co.real_logic.artio.util.MutableAsciiBuffer;
 
@@ -35,6 +36,8 @@ public class StubValidatingDecoderBenchmark
 {
     private final LogonDecoder logonDecoder = new LogonDecoder();
     private final AsciiBuffer asciiBuffer = new MutableAsciiBuffer(TestData.LOGON);
+    private final NewOrderSingleDecoder newOrderSingleDecoder = new NewOrderSingleDecoder();
+    private final AsciiBuffer newOrderSingleBuffer = new MutableAsciiBuffer(TestData.NEW_ORDER_SINGLE);
 
     @Setup
     public void setup()
@@ -85,4 +88,15 @@ public class StubValidatingDecoderBenchmark
         bh.consume(logonDecoder.validate());
     }
 
+    @Benchmark
+    public void decodeNewOrderSingle(final Blackhole bh)
+    {
+        bh.consume(newOrderSingleDecoder.decode(newOrderSingleBuffer, 0, newOrderSingleBuffer.capacity()));
+
+        bh.consume(newOrderSingleDecoder.header().msgSeqNum());
+        bh.consume(newOrderSingleDecoder.clOrdID());
+        bh.consume(newOrderSingleDecoder.side());
+
+        bh.consume(newOrderSingleDecoder.validate());
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.concurrent.status.CountersReader.COUNTER_LENGTH;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS;
+
+/**
+ * Compares the per duty cycle scans of the sender end points, walking each end point object through a map as the
+ * framer used to against walking the packed {@link FixSenderEndPointTable}. Every end point is idle, which is the
+ * common case for a large number of connections. Lives in this package in order to reach the end points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FixSenderEndPointsBenchmark
+{
+    private static final int LIBRARY_ID = 2;
+    private static final long MISSING_SESSION_ID = -1;
+
+    @Param({"10000", "50000"})
+    int connections;
+
+    private final Long2ObjectHashMap<FixSenderEndPoint> connectionIdToSenderEndpoint = new Long2ObjectHashMap<>();
+    private final FixSenderEndPointTable table = new FixSenderEndPointTable();
+    private long timeInMs;
+
+    @Setup
+    public void setup()
+    {
+        final UnsafeBuffer counterValues = new UnsafeBuffer(new byte[connections * COUNTER_LENGTH]);
+        final FixSenderEndPoint.Formatters formatters = new FixSenderEndPoint.Formatters();
+        for (int i = 0; i < connections; i++)
+        {
+            final FixSenderEndPoint endPoint = new FixSenderEndPoint(
+                i,
+                LIBRARY_ID,
+                null,
+                null,
+                null,
+                new AtomicCounter(counterValues, i),
+                null,
+                null,
+                null,
+                1024,
+                DEFAULT_SLOW_CONSUMER_TIMEOUT_IN_MS,
+                0,
+                null,
+                null,
+                null,
+                null,
+                formatters);
+            endPoint.sessionId(i + 1);
+            connectionIdToSenderEndpoint.put(i, endPoint);
+            table.add(endPoint);
+        }
+    }
+
+    @Benchmark
+    public int objectPoll()
+    {
+        final long timeInMs = ++this.timeInMs;
+        int count = 0;
+        for (final FixSenderEndPoint senderEndPoint : connectionIdToSenderEndpoint.values())
+        {
+            if (senderEndPoint.poll(timeInMs))
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    public int tablePoll()
+    {
+        return table.poll(++timeInMs);
+    }
+
+    @Benchmark
+    public int objectLibraryLookup()
+    {
+        for (final FixSenderEndPoint senderEndPoint : connectionIdToSenderEndpoint.values())
+        {
+            if (senderEndPoint.sessionId() == MISSING_SESSION_ID)
+            {
+                return senderEndPoint.libraryId();
+            }
+        }
+
+        return 0;
+    }
+
+    @Benchmark
+    public int tableLibraryLookup()
+    {
+        return table.libraryLookup(MISSING_SESSION_ID);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.framer;
+
+import org.agrona.CloseHelper;
+import org.openjdk.jmh.annotations.*;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the selector based {@link DefaultTcpChannelSupplier} with the {@link BusyPollTcpChannelSupplier}. The idle
+ * poll is the cost paid by the framer on every duty cycle when nothing is connecting, the accept latency is the time
+ * from a client connecting to the engine being handed the accepted channel. Run with {@code -prof perfnorm} in order
+ * to compare the CPU spent per operation.
+ * <p>
+ * Only accepting is measured, reads from accepted channels are polled by the framer's receiver end points whichever
+ * supplier is used.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TcpChannelSupplierBenchmark
+{
+    @Param({"selector", "busyPoll"})
+    String supplierType;
+
+    private final TcpChannelSupplier.NewChannelHandler onNewChannel = this::onNewChannel;
+    private TcpChannelSupplier supplier;
+    private InetSocketAddress address;
+    private TcpChannel acceptedChannel;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        final int port;
+        try (ServerSocket socket = new ServerSocket(0))
+        {
+            port = socket.getLocalPort();
+        }
+
+        address = new InetSocketAddress("localhost", port);
+        final EngineConfiguration configuration = new EngineConfiguration().bindTo("localhost", port);
+        supplier = "busyPoll".equals(supplierType) ?
+            new BusyPollTcpChannelSupplier(configuration) : new DefaultTcpChannelSupplier(configuration);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        CloseHelper.close(supplier);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int idlePoll() throws IOException
+    {
+        return supplier.pollSelector(0, onNewChannel);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void acceptLatency() throws IOException
+    {
+        try (SocketChannel client = SocketChannel.open(address))
+        {
+            while (acceptedChannel == null)
+            {
+                supplier.pollSelector(0, onNewChannel);
+            }
+
+            acceptedChannel.close();
+            acceptedChannel = null;
+        }
+    }
+
+    private void onNewChannel(final long timeInMs, final TcpChannel channel)
+    {
+        acceptedChannel = channel;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.engine.logger;
+
+import org.HdrHistogram.Histogram;
+import uk.co.real_logic.artio.CommonConfiguration;
+import uk.co.real_logic.artio.LogTag;
+
+import static uk.co.real_logic.artio.engine.EngineConfiguration.*;
+
+/**
+ * Times {@link ReplayQuery} index lookups against the replay index files of a running engine without replaying
+ * anything from the archive. Lives in this package in order to reach the query's range lookup.
+ */
+public final class ReplayQueryLookups implements AutoCloseable
+{
+    private final ReplayQuery query;
+
+    private long rangesFound;
+
+    public ReplayQueryLookups(final String logFileDir, final int streamId)
+    {
+        query = new ReplayQuery(
+            logFileDir,
+            DEFAULT_LOGGER_CACHE_NUM_SETS,
+            DEFAULT_LOGGER_CACHE_SET_SIZE,
+            LoggerUtil::mapExistingFile,
+            streamId,
+            CommonConfiguration.backoffIdleStrategy(),
+            null,
+            Throwable::printStackTrace,
+            NoOpReplayQueryListener.INSTANCE,
+            -1,
+            DEFAULT_REPLAY_INDEX_RECORD_CAPACITY,
+            DEFAULT_REPLAY_INDEX_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * Look up the recording ranges of a sequence number range repeatedly, recording the time of each lookup.
+     *
+     * @param sessionId the FIX session id whose replay index is queried.
+     * @param beginSequenceNumber the first sequence number of the range, inclusive.
+     * @param endSequenceNumber the last sequence number of the range, inclusive.
+     * @param iterations the number of lookups to make.
+     * @param histogram the histogram that lookup times are recorded into, in nanoseconds.
+     * @return the number of recording ranges found over all of the lookups.
+     */
+    public long measure(
+        final long sessionId,
+        final int beginSequenceNumber,
+        final int endSequenceNumber,
+        final int iterations,
+        final Histogram histogram)
+    {
+        if (!query.hasSessionIndex(sessionId))
+        {
+            throw new IllegalArgumentException("No replay index for session " + sessionId);
+        }
+
+        final long rangesFoundBefore = rangesFound;
+        for (int i = 0; i < iterations; i++)
+        {
+            final long startInNs = System.nanoTime();
+            final RecordingRange ranges = query.queryRanges(
+                sessionId, beginSequenceNumber, 0, endSequenceNumber, 0, LogTag.REPLAY);
+            histogram.recordValue(System.nanoTime() - startInNs);
+
+            for (RecordingRange range = ranges; range != null; range = range.next)
+            {
+                rangesFound++;
+            }
+
+            // Return the ranges so that later lookups are timed against the pool's steady state, not allocation.
+            query.releaseRanges(ranges);
+        }
+
+        return rangesFound - rangesFoundBefore;
+    }
+
+    public void close()
+    {
+        query.close();
+    }
+}
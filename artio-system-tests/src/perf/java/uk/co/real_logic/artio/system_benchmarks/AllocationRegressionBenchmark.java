@@ -0,0 +1,432 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.system_benchmarks;
+
+import io.aeron.CommonContext;
+import io.aeron.archive.Archive;
+import io.aeron.archive.ArchivingMediaDriver;
+import io.aeron.driver.MediaDriver;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.artio.OrdType;
+import uk.co.real_logic.artio.Reply;
+import uk.co.real_logic.artio.Side;
+import uk.co.real_logic.artio.builder.NewOrderSingleEncoder;
+import uk.co.real_logic.artio.builder.ResendRequestEncoder;
+import uk.co.real_logic.artio.decoder.ExecutionReportDecoder;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+import uk.co.real_logic.artio.engine.FixEngine;
+import uk.co.real_logic.artio.engine.logger.FixArchiveScanner;
+import uk.co.real_logic.artio.engine.logger.FixMessageConsumer;
+import uk.co.real_logic.artio.fields.DecimalFloat;
+import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
+import uk.co.real_logic.artio.library.AcquiringSessionExistsHandler;
+import uk.co.real_logic.artio.library.FixLibrary;
+import uk.co.real_logic.artio.library.LibraryConfiguration;
+import uk.co.real_logic.artio.library.OnMessageInfo;
+import uk.co.real_logic.artio.library.SessionConfiguration;
+import uk.co.real_logic.artio.library.SessionHandler;
+import uk.co.real_logic.artio.messages.DisconnectReason;
+import uk.co.real_logic.artio.session.Session;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BooleanSupplier;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_OUTBOUND_LIBRARY_STREAM;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_ARCHIVE_SCANNER_STREAM;
+import static uk.co.real_logic.artio.system_benchmarks.BenchmarkConfiguration.*;
+
+/**
+ * Drives an in-process acceptor and initiator pair through logon, order flow, resend requests and an archive scan
+ * and measures the bytes allocated by each Artio thread per message using
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ *
+ * Every phase is run once to warm up and then again to be measured. Exits with a non-zero status if any thread
+ * allocates more than {@code fix.benchmark.max_allocated_bytes_per_message} bytes per message in the order flow or
+ * resend phases, or if the archive scan allocates more than {@code fix.benchmark.max_scan_allocated_bytes_per_message}.
+ */
+public final class AllocationRegressionBenchmark
+{
+    private static final String INITIATOR_AERON_CHANNEL = System.getProperty(
+        "fix.benchmark.initiator_aeron_channel", "aeron:udp?endpoint=localhost:10002");
+    private static final long AWAIT_TIMEOUT_IN_NS = SECONDS.toNanos(30);
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+    private final List<Thread> threads = new CopyOnWriteArrayList<>();
+    private final NewOrderSingleEncoder newOrderSingle = new NewOrderSingleEncoder();
+    private final ResendRequestEncoder resendRequest = new ResendRequestEncoder();
+    private final UtcTimestampEncoder transactTime = new UtcTimestampEncoder();
+    private final UnsafeBuffer clOrdIdBuffer = new UnsafeBuffer(new byte[20]);
+    private final ExecutionReportCounter executionReports = new ExecutionReportCounter();
+
+    private FixLibrary acceptingLibrary;
+    private FixLibrary initiatingLibrary;
+    private Session session;
+    private int ordersSent;
+    private boolean failed;
+
+    public static void main(final String[] args)
+    {
+        if (!THREAD_MX_BEAN.isThreadAllocatedMemorySupported())
+        {
+            System.err.println("Thread allocated memory measurement isn't supported by this JVM");
+            System.exit(1);
+        }
+        THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+
+        final boolean failed = new AllocationRegressionBenchmark().run();
+        System.exit(failed ? 1 : 0);
+    }
+
+    private boolean run()
+    {
+        final ThreadFactory threadFactory = (runnable) ->
+        {
+            final Thread thread = new Thread(runnable);
+            threads.add(thread);
+            return thread;
+        };
+        threads.add(Thread.currentThread());
+
+        try (ArchivingMediaDriver mediaDriver = newMediaDriver();
+            FixEngine acceptingEngine = FixEngine.launch(acceptingEngineConfiguration(threadFactory));
+            FixEngine initiatingEngine = FixEngine.launch(initiatingEngineConfiguration(threadFactory));
+            FixLibrary acceptingLibrary = FixLibrary.connect(acceptingLibraryConfiguration());
+            FixLibrary initiatingLibrary = FixLibrary.connect(initiatingLibraryConfiguration()))
+        {
+            this.acceptingLibrary = acceptingLibrary;
+            this.initiatingLibrary = initiatingLibrary;
+            await("libraries to connect", () -> acceptingLibrary.isConnected() && initiatingLibrary.isConnected());
+
+            logon();
+
+            final String logFileDir = acceptingEngine.configuration().logFileDir();
+            System.out.printf("Warming up with %d messages%n", WARMUP_MESSAGES);
+            exchangeOrders(WARMUP_MESSAGES);
+            requestResends(RESEND_REQUESTS);
+            scanArchive(logFileDir);
+
+            final long[] before = new long[threads.size()];
+
+            snapshot(before);
+            exchangeOrders(MESSAGES_EXCHANGED);
+            report("order flow", before, MESSAGES_EXCHANGED, MAX_ALLOCATED_BYTES_PER_MESSAGE);
+
+            snapshot(before);
+            final int replayedMessages = requestResends(RESEND_REQUESTS);
+            report("resend requests", before, replayedMessages, MAX_ALLOCATED_BYTES_PER_MESSAGE);
+
+            snapshot(before);
+            final int scannedMessages = scanArchive(logFileDir);
+            report("archive scan", before, scannedMessages, MAX_SCAN_ALLOCATED_BYTES_PER_MESSAGE);
+        }
+
+        return failed;
+    }
+
+    private void logon()
+    {
+        final SessionConfiguration sessionConfiguration = SessionConfiguration.builder()
+            .address("localhost", PORT)
+            .senderCompId(INITIATOR_ID)
+            .targetCompId(ACCEPTOR_ID)
+            .credentials("bob", VALID_PASSWORD)
+            .build();
+
+        final Reply<Session> reply = initiatingLibrary.initiate(sessionConfiguration);
+        await("logon", () -> !reply.isExecuting());
+        if (!reply.hasCompleted())
+        {
+            throw new IllegalStateException("Unable to logon: " + reply.state() + ", " + reply.error());
+        }
+
+        session = reply.resultIfPresent();
+        await("session to become active", session::isActive);
+
+        newOrderSingle
+            .side(Side.BUY)
+            .ordType(OrdType.MARKET)
+            .price(new DecimalFloat(100));
+        newOrderSingle.instrument().symbol("MSFT");
+        newOrderSingle.orderQtyData().orderQty(new DecimalFloat(2));
+    }
+
+    private void exchangeOrders(final int messageCount)
+    {
+        final long expectedExecutionReports = executionReports.count + messageCount;
+        int sent = 0;
+        while (sent < messageCount)
+        {
+            final long liveExecutionReports = executionReports.count - executionReports.replayed;
+            if (ordersSent - liveExecutionReports < MAX_MESSAGES_IN_FLIGHT && trySendOrder())
+            {
+                sent++;
+            }
+
+            poll();
+        }
+
+        await("execution reports", () -> executionReports.count >= expectedExecutionReports);
+    }
+
+    private boolean trySendOrder()
+    {
+        final int clOrdId = ordersSent + 1;
+        final int clOrdIdLength = clOrdIdBuffer.putIntAscii(0, clOrdId);
+        final int transactTimeLength = transactTime.encode(System.currentTimeMillis());
+        newOrderSingle
+            .clOrdID(clOrdIdBuffer.byteArray(), clOrdIdLength)
+            .transactTime(transactTime.buffer(), transactTimeLength);
+
+        if (session.trySend(newOrderSingle) < 0)
+        {
+            return false;
+        }
+
+        ordersSent = clOrdId;
+        return true;
+    }
+
+    // Each resend request replays every execution report sent by the acceptor so far.
+    private int requestResends(final int resendRequests)
+    {
+        int replayedMessages = 0;
+        for (int i = 0; i < resendRequests; i++)
+        {
+            final int replayCount = ordersSent;
+            final long expectedExecutionReports = executionReports.count + replayCount;
+            executionReports.replayed += replayCount;
+
+            resendRequest.beginSeqNo(1).endSeqNo(0);
+            while (session.trySend(resendRequest) < 0)
+            {
+                poll();
+            }
+
+            await("replayed execution reports", () -> executionReports.count >= expectedExecutionReports);
+            replayedMessages += replayCount;
+        }
+
+        return replayedMessages;
+    }
+
+    private int scanArchive(final String logFileDir)
+    {
+        final int[] messageCount = new int[1];
+        final FixMessageConsumer consumer = (message, buffer, offset, length, header) -> messageCount[0]++;
+        final FixArchiveScanner.Configuration configuration = new FixArchiveScanner.Configuration()
+            .aeronDirectoryName(CommonContext.getAeronDirectoryName())
+            .logFileDir(logFileDir)
+            .idleStrategy(idleStrategy());
+
+        try (FixArchiveScanner scanner = new FixArchiveScanner(configuration))
+        {
+            scanner.scan(
+                IPC_CHANNEL,
+                DEFAULT_OUTBOUND_LIBRARY_STREAM,
+                consumer,
+                (fixPMessage, buffer, offset, header) -> {},
+                false,
+                DEFAULT_ARCHIVE_SCANNER_STREAM);
+        }
+
+        return messageCount[0];
+    }
+
+    private void snapshot(final long[] allocatedBytes)
+    {
+        for (int i = 0; i < allocatedBytes.length; i++)
+        {
+            allocatedBytes[i] = THREAD_MX_BEAN.getThreadAllocatedBytes(threads.get(i).getId());
+        }
+    }
+
+    private void report(
+        final String phase, final long[] before, final int messageCount, final double maxBytesPerMessage)
+    {
+        System.out.printf("%n%s: %d messages%n", phase, messageCount);
+        System.out.printf("%-40s %16s %16s%n", "Thread", "Bytes", "Bytes/Message");
+
+        final List<String> failures = new ArrayList<>();
+        for (int i = 0; i < before.length; i++)
+        {
+            final Thread thread = threads.get(i);
+            final long allocatedBytes = THREAD_MX_BEAN.getThreadAllocatedBytes(thread.getId());
+            if (allocatedBytes == -1)
+            {
+                continue; // thread has terminated
+            }
+
+            final long delta = allocatedBytes - before[i];
+            final double bytesPerMessage = messageCount == 0 ? 0 : (double)delta / messageCount;
+            System.out.printf("%-40s %16d %16.3f%n", thread.getName(), delta, bytesPerMessage);
+
+            if (bytesPerMessage > maxBytesPerMessage)
+            {
+                failures.add(thread.getName());
+            }
+        }
+
+        if (!failures.isEmpty())
+        {
+            System.err.printf("%s: %s allocated more than %.3f bytes per message%n",
+                phase, failures, maxBytesPerMessage);
+            failed = true;
+        }
+    }
+
+    private void await(final String description, final BooleanSupplier condition)
+    {
+        final long deadlineInNs = System.nanoTime() + AWAIT_TIMEOUT_IN_NS;
+        while (!condition.getAsBoolean())
+        {
+            if (System.nanoTime() > deadlineInNs)
+            {
+                throw new IllegalStateException("Timed out waiting for " + description);
+            }
+
+            poll();
+        }
+    }
+
+    private void poll()
+    {
+        acceptingLibrary.poll(10);
+        initiatingLibrary.poll(10);
+    }
+
+    private static ArchivingMediaDriver newMediaDriver()
+    {
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .dirDeleteOnStart(true);
+
+        final Archive.Context archiveCtx = new Archive.Context()
+            .deleteArchiveOnStart(true)
+            .archiveDirectoryName("allocation-benchmark-archive");
+
+        archiveCtx.segmentFileLength(context.ipcTermBufferLength());
+
+        return ArchivingMediaDriver.launch(context, archiveCtx);
+    }
+
+    private static EngineConfiguration acceptingEngineConfiguration(final ThreadFactory threadFactory)
+    {
+        final EngineConfiguration configuration = new EngineConfiguration();
+        configuration.agentNamePrefix("acc-");
+        configuration.threadFactory(threadFactory);
+
+        return configuration
+            .bindTo("localhost", PORT)
+            .libraryAeronChannel(IPC_CHANNEL)
+            .monitoringFile(IoUtil.tmpDirName() + File.separator + "allocation-acceptor" + File.separator + "counters")
+            .deleteLogFileDirOnStart(true)
+            .logFileDir("allocation-benchmark-acceptor-logs")
+            .framerIdleStrategy(idleStrategy());
+    }
+
+    private static EngineConfiguration initiatingEngineConfiguration(final ThreadFactory threadFactory)
+    {
+        final EngineConfiguration configuration = new EngineConfiguration();
+        configuration.agentNamePrefix("init-");
+        configuration.threadFactory(threadFactory);
+
+        return configuration
+            .libraryAeronChannel(INITIATOR_AERON_CHANNEL)
+            .monitoringFile(IoUtil.tmpDirName() + File.separator + "allocation-initiator" + File.separator + "counters")
+            .deleteLogFileDirOnStart(true)
+            .logFileDir("allocation-benchmark-initiator-logs")
+            .framerIdleStrategy(idleStrategy());
+    }
+
+    private static LibraryConfiguration acceptingLibraryConfiguration()
+    {
+        final LibraryConfiguration configuration = new LibraryConfiguration();
+        configuration.agentNamePrefix("acc-");
+
+        return configuration
+            .libraryAeronChannels(singletonList(IPC_CHANNEL))
+            .sessionAcquireHandler((session, acquiredInfo) -> new BenchmarkSessionHandler())
+            .sessionExistsHandler(new AcquiringSessionExistsHandler(true));
+    }
+
+    private LibraryConfiguration initiatingLibraryConfiguration()
+    {
+        final LibraryConfiguration configuration = new LibraryConfiguration();
+        configuration.agentNamePrefix("init-");
+
+        return configuration
+            .libraryAeronChannels(singletonList(INITIATOR_AERON_CHANNEL))
+            .sessionAcquireHandler((session, acquiredInfo) -> executionReports);
+    }
+
+    private static final class ExecutionReportCounter implements SessionHandler
+    {
+        private long count;
+        private long replayed;
+
+        public Action onMessage(
+            final DirectBuffer buffer,
+            final int offset,
+            final int length,
+            final int libraryId,
+            final Session session,
+            final int sequenceIndex,
+            final long messageType,
+            final long timestampInNs,
+            final long position,
+            final OnMessageInfo messageInfo)
+        {
+            if (messageType == ExecutionReportDecoder.MESSAGE_TYPE)
+            {
+                count++;
+            }
+
+            return CONTINUE;
+        }
+
+        public void onTimeout(final int libraryId, final Session session)
+        {
+        }
+
+        public void onSlowStatus(final int libraryId, final Session session, final boolean hasBecomeSlow)
+        {
+        }
+
+        public Action onDisconnect(final int libraryId, final Session session, final DisconnectReason reason)
+        {
+            System.out.printf("%d disconnected due to %s%n", session.id(), reason);
+
+            return CONTINUE;
+        }
+
+        public void onSessionStart(final Session session)
+        {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.system_benchmarks;
+
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import org.agrona.DirectBuffer;
+import uk.co.real_logic.artio.library.BatchSessionHandler;
+import uk.co.real_logic.artio.library.OnMessageInfo;
+import uk.co.real_logic.artio.library.SessionMessageBatch;
+import uk.co.real_logic.artio.messages.DisconnectReason;
+import uk.co.real_logic.artio.session.Session;
+
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.ABORT;
+import static io.aeron.logbuffer.ControlledFragmentHandler.Action.CONTINUE;
+
+/**
+ * Does the same work as {@link BenchmarkSessionHandler} but receives application messages in batches, run the
+ * {@link FixBenchmarkServer} with -Dfix.benchmark.batch_delivery=true to compare against per-message delivery.
+ */
+public final class BatchBenchmarkSessionHandler implements BatchSessionHandler
+{
+    private final BenchmarkSessionHandler delegate = new BenchmarkSessionHandler();
+
+    public Action onMessageBatch(final int libraryId, final SessionMessageBatch batch)
+    {
+        final BenchmarkSessionHandler delegate = this.delegate;
+        final Session session = batch.session();
+        final DirectBuffer buffer = batch.buffer();
+        while (batch.next())
+        {
+            final Action action = delegate.onMessage(
+                buffer,
+                batch.offset(),
+                batch.length(),
+                libraryId,
+                session,
+                batch.sequenceIndex(),
+                batch.messageType(),
+                batch.timestampInNs(),
+                batch.position(),
+                null);
+
+            if (action == ABORT)
+            {
+                return ABORT;
+            }
+        }
+
+        return CONTINUE;
+    }
+
+    public Action onMessage(
+        final DirectBuffer buffer,
+        final int offset,
+        final int length,
+        final int libraryId,
+        final Session session,
+        final int sequenceIndex,
+        final long messageType,
+        final long timestampInNs,
+        final long position,
+        final OnMessageInfo messageInfo)
+    {
+        return delegate.onMessage(
+            buffer, offset, length, libraryId, session, sequenceIndex, messageType, timestampInNs, position,
+            messageInfo);
+    }
+
+    public void onTimeout(final int libraryId, final Session session)
+    {
+        delegate.onTimeout(libraryId, session);
+    }
+
+    public void onSlowStatus(final int libraryId, final Session session, final boolean hasBecomeSlow)
+    {
+        delegate.onSlowStatus(libraryId, session, hasBecomeSlow);
+    }
+
+    public Action onDisconnect(final int libraryId, final Session session, final DisconnectReason reason)
+    {
+        return delegate.onDisconnect(libraryId, session, reason);
+    }
+
+    public void onSessionStart(final Session session)
+    {
+        delegate.onSessionStart(session);
+    }
+}
@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 
 import static io.aeron.CommonContext.IPC_CHANNEL;
 import static uk.co.real_logic.artio.CommonConfiguration.backoffIdleStrategy;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_MAX_CONCURRENT_SESSION_REPLAYS;
 
 public final class BenchmarkConfiguration
 {
@@ -42,9 +43,36 @@ public final class BenchmarkConfiguration
     public static final int NUMBER_OF_SESSIONS = Integer.getInteger("fix.benchmark.num_sessions", 25);
     public static final long LOGOUT_LINGER_TIMEOUT_IN_MS = Long.getLong(
         "fix.benchmark.logout_linger_timeout", TimeUnit.SECONDS.toMillis(2));
+    public static final boolean BATCH_DELIVERY = Boolean.getBoolean("fix.benchmark.batch_delivery");
+    public static final int MESSAGE_BATCH_SIZE = Integer.getInteger("fix.benchmark.message_batch_size", 256);
+    public static final int RESEND_REQUESTS = Integer.getInteger("fix.benchmark.resend_requests", 10);
+    public static final int LOGON_STORM_SESSIONS = Integer.getInteger("fix.benchmark.logon_storm_sessions", 500);
+    public static final int[] REPLAY_INDEX_SIZES = intList("fix.benchmark.replay_index_sizes", "1000,10000,100000");
+    public static final int[] REPLAY_RANGE_SIZES = intList("fix.benchmark.replay_range_sizes", "1,10,100,1000");
+    public static final int REPLAY_ITERATIONS = Integer.getInteger("fix.benchmark.replay_iterations", 100);
+    public static final int REPLAY_QUERY_ITERATIONS = Integer.getInteger(
+        "fix.benchmark.replay_query_iterations", 10_000);
+    public static final int REPLAY_SESSIONS = Integer.getInteger("fix.benchmark.replay_sessions", 8);
+    public static final int MAX_CONCURRENT_SESSION_REPLAYS = Integer.getInteger(
+        "fix.benchmark.max_concurrent_session_replays", DEFAULT_MAX_CONCURRENT_SESSION_REPLAYS);
+    public static final double MAX_ALLOCATED_BYTES_PER_MESSAGE = Double.parseDouble(
+        System.getProperty("fix.benchmark.max_allocated_bytes_per_message", "1"));
+    public static final double MAX_SCAN_ALLOCATED_BYTES_PER_MESSAGE = Double.parseDouble(
+        System.getProperty("fix.benchmark.max_scan_allocated_bytes_per_message", "64"));
     public static final String VALID_PASSWORD = "password";
     public static final char[] VALID_PASSWORD_CHARS = VALID_PASSWORD.toCharArray();
 
+    private static int[] intList(final String propertyName, final String defaultValue)
+    {
+        final String[] values = System.getProperty(propertyName, defaultValue).split(",");
+        final int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            ints[i] = Integer.parseInt(values[i].trim());
+        }
+        return ints;
+    }
+
     static IdleStrategy idleStrategy()
     {
         final String strategyName = System.getProperty("fix.benchmark.engine_idle", "");
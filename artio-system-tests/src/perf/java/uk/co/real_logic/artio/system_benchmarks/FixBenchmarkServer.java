@@ -51,6 +51,7 @@ public final class FixBenchmarkServer
         {
             final IdleStrategy idleStrategy = idleStrategy();
             System.out.printf("Using %s idle strategy%n", idleStrategy.getClass().getSimpleName());
+            System.out.printf("Using %s message delivery%n", BATCH_DELIVERY ? "batched" : "per-message");
             while (true)
             {
                 final boolean notConnected = !library.isConnected();
@@ -109,7 +110,9 @@ public final class FixBenchmarkServer
 
         return configuration
             .libraryAeronChannels(singletonList(AERON_CHANNEL))
-            .sessionAcquireHandler((session, acquiredInfo) -> new BenchmarkSessionHandler())
+            .messageBatchSize(MESSAGE_BATCH_SIZE)
+            .sessionAcquireHandler((session, acquiredInfo) -> BATCH_DELIVERY ?
+                new BatchBenchmarkSessionHandler() : new BenchmarkSessionHandler())
             .sessionExistsHandler(new AcquiringSessionExistsHandler(true))
             .libraryConnectHandler(new LibraryConnectHandler()
             {
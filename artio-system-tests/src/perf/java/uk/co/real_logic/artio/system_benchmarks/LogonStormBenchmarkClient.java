@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.system_benchmarks;
+
+import org.HdrHistogram.Histogram;
+import uk.co.real_logic.artio.builder.HeaderEncoder;
+import uk.co.real_logic.artio.builder.LogonEncoder;
+import uk.co.real_logic.artio.builder.TestRequestEncoder;
+import uk.co.real_logic.artio.timing.HistogramLogReader;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static uk.co.real_logic.artio.system_benchmarks.BenchmarkConfiguration.*;
+
+/**
+ * Logs on a burst of sessions at once, as happens at market open, and measures how long the engine takes to admit
+ * all of them alongside the round trip latency of a session that was already logged on. Run it against a
+ * {@link FixBenchmarkServer} configured with the engine's logon authentication and admission properties.
+ */
+public final class LogonStormBenchmarkClient extends AbstractBenchmarkClient
+{
+    public static void main(final String[] args) throws IOException
+    {
+        new LogonStormBenchmarkClient().runBenchmark();
+    }
+
+    private static final String STORM_INITIATOR_PREFIX = INITIATOR_ID + "_STORM_";
+
+    private final LogonEncoder stormLogon = new LogonEncoder();
+
+    public void runBenchmark() throws IOException
+    {
+        final SocketChannel[] stormChannels = new SocketChannel[LOGON_STORM_SESSIONS];
+        final boolean[] admitted = new boolean[LOGON_STORM_SESSIONS];
+
+        try (SocketChannel liveChannel = open())
+        {
+            logon(liveChannel);
+
+            final TestRequestEncoder testRequest = setupTestRequest();
+            final HeaderEncoder header = testRequest.header();
+            final Histogram histogram = new Histogram(3);
+
+            int liveSeqNum = 2;
+            for (int i = 0; i < WARMUP_MESSAGES; i++)
+            {
+                exchangeMessage(liveChannel, testRequest, header, liveSeqNum++, histogram);
+            }
+            System.out.println("Warmup Complete");
+            parkAfterWarmup();
+            histogram.reset();
+
+            final long stormStartInNs = System.nanoTime();
+            for (int i = 0; i < LOGON_STORM_SESSIONS; i++)
+            {
+                final SocketChannel stormChannel = open();
+                stormChannels[i] = stormChannel;
+                sendLogon(stormChannel, STORM_INITIATOR_PREFIX + i);
+            }
+
+            int admittedCount = 0;
+            while (admittedCount < LOGON_STORM_SESSIONS)
+            {
+                exchangeMessage(liveChannel, testRequest, header, liveSeqNum++, histogram);
+
+                for (int i = 0; i < LOGON_STORM_SESSIONS; i++)
+                {
+                    if (!admitted[i] && pollLogonReply(stormChannels[i]))
+                    {
+                        admitted[i] = true;
+                        admittedCount++;
+                    }
+                }
+            }
+            final long admitTimeInNs = System.nanoTime() - stormStartInNs;
+
+            System.out.printf("Admitted %d sessions in %d ms%n",
+                LOGON_STORM_SESSIONS, NANOSECONDS.toMillis(admitTimeInNs));
+            HistogramLogReader.prettyPrint(
+                System.currentTimeMillis(), histogram, "Live session during logon storm in Micros", 1000);
+        }
+        finally
+        {
+            for (final SocketChannel stormChannel : stormChannels)
+            {
+                if (stormChannel != null)
+                {
+                    stormChannel.close();
+                }
+            }
+        }
+    }
+
+    private void sendLogon(final SocketChannel socketChannel, final String initiatorId) throws IOException
+    {
+        final LogonEncoder logon = this.stormLogon;
+        logon.heartBtInt(10);
+        logon.password(VALID_PASSWORD_CHARS);
+        setupHeader(initiatorId, logon.header())
+            .msgSeqNum(1);
+
+        timestampEncoder.encode(System.currentTimeMillis());
+
+        write(socketChannel, logon.encode(writeFlyweight, 0));
+    }
+
+    private boolean pollLogonReply(final SocketChannel socketChannel) throws IOException
+    {
+        readBuffer.clear();
+        return socketChannel.read(readBuffer) > 0;
+    }
+
+    private void exchangeMessage(
+        final SocketChannel socketChannel,
+        final TestRequestEncoder testRequest,
+        final HeaderEncoder header,
+        final int seqNum,
+        final Histogram histogram)
+        throws IOException
+    {
+        header.msgSeqNum(seqNum);
+        timestampEncoder.encode(System.currentTimeMillis());
+
+        final long result = testRequest.encode(writeFlyweight, 0);
+
+        final long sendingTime = System.nanoTime();
+        write(socketChannel, result);
+
+        read(socketChannel);
+        final long returnTime = System.nanoTime();
+        histogram.recordValue(returnTime - sendingTime);
+    }
+}
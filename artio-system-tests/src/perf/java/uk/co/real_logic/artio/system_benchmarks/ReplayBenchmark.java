@@ -0,0 +1,620 @@
+/*
+ * Copyright 2015-2025 Real Logic Limited, Adaptive Financial Consulting Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.artio.system_benchmarks;
+
+import io.aeron.archive.Archive;
+import io.aeron.archive.ArchivingMediaDriver;
+import io.aeron.driver.MediaDriver;
+import org.HdrHistogram.Histogram;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.artio.OrdType;
+import uk.co.real_logic.artio.Side;
+import uk.co.real_logic.artio.builder.NewOrderSingleEncoder;
+import uk.co.real_logic.artio.builder.ResendRequestEncoder;
+import uk.co.real_logic.artio.engine.ByteBufferUtil;
+import uk.co.real_logic.artio.engine.EngineConfiguration;
+import uk.co.real_logic.artio.engine.FixEngine;
+import uk.co.real_logic.artio.engine.logger.ReplayQueryLookups;
+import uk.co.real_logic.artio.fields.DecimalFloat;
+import uk.co.real_logic.artio.fields.UtcTimestampEncoder;
+import uk.co.real_logic.artio.library.FixLibrary;
+import uk.co.real_logic.artio.library.LibraryConfiguration;
+import uk.co.real_logic.artio.messages.InitialAcceptedSessionOwner;
+import uk.co.real_logic.artio.util.MutableAsciiBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static io.aeron.CommonContext.IPC_CHANNEL;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static uk.co.real_logic.artio.CommonConfiguration.DEFAULT_OUTBOUND_LIBRARY_STREAM;
+import static uk.co.real_logic.artio.dictionary.SessionConstants.START_OF_HEADER;
+import static uk.co.real_logic.artio.engine.EngineConfiguration.DEFAULT_GAPFILL_ON_REPLAY_MESSAGE_TYPES;
+import static uk.co.real_logic.artio.system_benchmarks.BenchmarkConfiguration.*;
+import static uk.co.real_logic.artio.timing.HistogramLogReader.prettyPrint;
+import static uk.co.real_logic.artio.util.AsciiBuffer.UNKNOWN_INDEX;
+
+/**
+ * Measures the replay subsystem by driving an in-process acceptor from raw socket initiators. Four things are
+ * measured, each printed as a histogram in microseconds:
+ *
+ * <ul>
+ *     <li>{@code ReplayQuery} lookup cost as the replay index grows through
+ *     {@code fix.benchmark.replay_index_sizes} execution reports.</li>
+ *     <li>ResendRequest turnaround to the first and last replayed message for each of
+ *     {@code fix.benchmark.replay_range_sizes}.</li>
+ *     <li>The same turnaround when execution reports are gap filled through
+ *     {@link EngineConfiguration#gapfillOnReplayMessageTypes(Set)}.</li>
+ *     <li>Turnaround when {@code fix.benchmark.replay_sessions} sessions each have
+ *     {@code fix.benchmark.max_concurrent_session_replays} resend requests in flight at once.</li>
+ * </ul>
+ */
+public final class ReplayBenchmark extends AbstractBenchmarkClient
+{
+    private static final int HEARTBEAT_INTERVAL_IN_S = 60;
+    private static final long AWAIT_TIMEOUT_IN_NS = SECONDS.toNanos(60);
+    private static final long NOT_RECEIVED = -1;
+    private static final int REPLAY_READ_BUFFER_SIZE = 1024 * 1024;
+    private static final double NANOS_TO_MICROS = 1000.0;
+
+    // SOH 1 0 = d d d SOH
+    private static final int CHECKSUM_FIELD_LENGTH = 8;
+    private static final int MSG_SEQ_NUM = 34;
+    private static final int MSG_TYPE = 35;
+    private static final int NEW_SEQ_NO = 36;
+    private static final int POSS_DUP_FLAG = 43;
+    private static final byte EXECUTION_REPORT = '8';
+    private static final byte SEQUENCE_RESET = '4';
+
+    private final Map<String, Long> initiatorIdToSessionId = new ConcurrentHashMap<>();
+    private final UtcTimestampEncoder transactTime = new UtcTimestampEncoder();
+    private final UnsafeBuffer clOrdIdBuffer = new UnsafeBuffer(new byte[20]);
+    private int ordersSent;
+
+    public static void main(final String[] args) throws IOException
+    {
+        final ReplayBenchmark benchmark = new ReplayBenchmark();
+        try (ArchivingMediaDriver mediaDriver = newMediaDriver())
+        {
+            benchmark.runScenario("Resend Requests", engineConfiguration(), benchmark::resendScenario);
+
+            final Set<String> gapfillOnReplayMessageTypes = new HashSet<>(DEFAULT_GAPFILL_ON_REPLAY_MESSAGE_TYPES);
+            gapfillOnReplayMessageTypes.add(String.valueOf((char)EXECUTION_REPORT));
+            benchmark.runScenario(
+                "Gap Filled Resend Requests",
+                engineConfiguration().gapfillOnReplayMessageTypes(gapfillOnReplayMessageTypes),
+                benchmark::gapFillScenario);
+
+            benchmark.runScenario(
+                "Concurrent Resend Requests",
+                engineConfiguration().maxConcurrentSessionReplays(MAX_CONCURRENT_SESSION_REPLAYS),
+                benchmark::concurrentScenario);
+        }
+    }
+
+    private void runScenario(final String name, final EngineConfiguration configuration, final Scenario scenario)
+        throws IOException
+    {
+        System.out.printf("%n%s%n", name);
+        initiatorIdToSessionId.clear();
+
+        try (FixEngine engine = FixEngine.launch(configuration);
+            LibraryPollerThread libraryPoller = new LibraryPollerThread(FixLibrary.connect(libraryConfiguration())))
+        {
+            libraryPoller.awaitConnected();
+            scenario.run(engine.configuration().logFileDir());
+        }
+    }
+
+    private void resendScenario(final String logFileDir) throws IOException
+    {
+        try (ReplayConnection connection = new ReplayConnection(INITIATOR_ID);
+            ReplayQueryLookups lookups = new ReplayQueryLookups(logFileDir, DEFAULT_OUTBOUND_LIBRARY_STREAM))
+        {
+            final long sessionId = awaitSessionId(INITIATOR_ID);
+            for (final int indexSize : REPLAY_INDEX_SIZES)
+            {
+                connection.sendOrders(indexSize - connection.executionReports);
+
+                final int endSeqNo = connection.lastReceivedSeqNum;
+                final Histogram tailHistogram = new Histogram(3);
+                final Histogram fullHistogram = new Histogram(3);
+                lookups.measure(sessionId, endSeqNo, endSeqNo, REPLAY_QUERY_ITERATIONS, tailHistogram);
+                lookups.measure(sessionId, 1, endSeqNo, REPLAY_QUERY_ITERATIONS, fullHistogram);
+
+                final long timestampInMs = System.currentTimeMillis();
+                prettyPrint(timestampInMs, tailHistogram,
+                    "ReplayQuery last message lookup, index size " + indexSize, NANOS_TO_MICROS);
+                prettyPrint(timestampInMs, fullHistogram,
+                    "ReplayQuery whole index lookup, index size " + indexSize, NANOS_TO_MICROS);
+            }
+
+            measureTurnaround(connection, "Resend");
+        }
+    }
+
+    private void gapFillScenario(final String logFileDir) throws IOException
+    {
+        try (ReplayConnection connection = new ReplayConnection(INITIATOR_ID))
+        {
+            connection.sendOrders(maxRangeSize());
+
+            measureTurnaround(connection, "Gap filled resend");
+        }
+    }
+
+    private void concurrentScenario(final String logFileDir) throws IOException
+    {
+        final ReplayConnection[] connections = new ReplayConnection[REPLAY_SESSIONS];
+        try
+        {
+            for (int i = 0; i < REPLAY_SESSIONS; i++)
+            {
+                connections[i] = new ReplayConnection(INITIATOR_ID + i);
+            }
+
+            final int rangeSize = maxRangeSize();
+            for (final ReplayConnection connection : connections)
+            {
+                connection.sendOrders(rangeSize);
+            }
+
+            final Histogram requestHistogram = new Histogram(3);
+            final Histogram roundHistogram = new Histogram(3);
+            for (int i = 0; i < REPLAY_ITERATIONS; i++)
+            {
+                final long roundStartInNs = System.nanoTime();
+                for (final ReplayConnection connection : connections)
+                {
+                    connection.replayHistogram = requestHistogram;
+                    final int endSeqNo = connection.lastReceivedSeqNum;
+                    for (int j = 0; j < MAX_CONCURRENT_SESSION_REPLAYS; j++)
+                    {
+                        connection.requestResend(endSeqNo - rangeSize + 1, endSeqNo);
+                    }
+                }
+
+                await("concurrent replays", connections, () -> allReplaysComplete(connections));
+                roundHistogram.recordValue(System.nanoTime() - roundStartInNs);
+            }
+
+            final long timestampInMs = System.currentTimeMillis();
+            final String description = REPLAY_SESSIONS + " sessions x " + MAX_CONCURRENT_SESSION_REPLAYS +
+                " resend requests of " + rangeSize + " messages";
+            prettyPrint(timestampInMs, requestHistogram, "Each replay, " + description, NANOS_TO_MICROS);
+            prettyPrint(timestampInMs, roundHistogram, "All replays, " + description, NANOS_TO_MICROS);
+        }
+        finally
+        {
+            for (final ReplayConnection connection : connections)
+            {
+                if (connection != null)
+                {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private void measureTurnaround(final ReplayConnection connection, final String label) throws IOException
+    {
+        final ReplayConnection[] connections = {connection};
+        for (final int rangeSize : REPLAY_RANGE_SIZES)
+        {
+            if (rangeSize > connection.executionReports)
+            {
+                System.out.printf("Skipping range size %d as only %d messages have been sent%n",
+                    rangeSize, connection.executionReports);
+                continue;
+            }
+
+            final Histogram firstHistogram = new Histogram(3);
+            final Histogram lastHistogram = new Histogram(3);
+            for (int i = 0; i < REPLAY_ITERATIONS; i++)
+            {
+                final int endSeqNo = connection.lastReceivedSeqNum;
+                final long sentInNs = connection.requestResend(endSeqNo - rangeSize + 1, endSeqNo);
+                await("replay", connections, connection::replaysComplete);
+
+                firstHistogram.recordValue(connection.firstReplayedInNs - sentInNs);
+                lastHistogram.recordValue(connection.lastReplayedInNs - sentInNs);
+            }
+
+            final long timestampInMs = System.currentTimeMillis();
+            prettyPrint(timestampInMs, firstHistogram,
+                label + " to first replayed message, range size " + rangeSize, NANOS_TO_MICROS);
+            prettyPrint(timestampInMs, lastHistogram,
+                label + " to last replayed message, range size " + rangeSize, NANOS_TO_MICROS);
+        }
+    }
+
+    private static boolean allReplaysComplete(final ReplayConnection[] connections)
+    {
+        for (final ReplayConnection connection : connections)
+        {
+            if (!connection.replaysComplete())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int maxRangeSize()
+    {
+        int maxRangeSize = 0;
+        for (final int rangeSize : REPLAY_RANGE_SIZES)
+        {
+            maxRangeSize = Math.max(maxRangeSize, rangeSize);
+        }
+        return maxRangeSize;
+    }
+
+    private long awaitSessionId(final String initiatorId)
+    {
+        final long deadlineInNs = System.nanoTime() + AWAIT_TIMEOUT_IN_NS;
+        Long sessionId;
+        while ((sessionId = initiatorIdToSessionId.get(initiatorId)) == null)
+        {
+            if (System.nanoTime() > deadlineInNs)
+            {
+                throw new IllegalStateException("Timed out waiting for the session of " + initiatorId);
+            }
+
+            Thread.yield();
+        }
+
+        return sessionId;
+    }
+
+    private static void await(
+        final String description, final ReplayConnection[] connections, final BooleanSupplier condition)
+        throws IOException
+    {
+        final long deadlineInNs = System.nanoTime() + AWAIT_TIMEOUT_IN_NS;
+        while (!condition.getAsBoolean())
+        {
+            if (System.nanoTime() > deadlineInNs)
+            {
+                throw new IllegalStateException("Timed out waiting for " + description);
+            }
+
+            for (final ReplayConnection connection : connections)
+            {
+                connection.poll();
+            }
+        }
+    }
+
+    private static ArchivingMediaDriver newMediaDriver()
+    {
+        final MediaDriver.Context context = new MediaDriver.Context()
+            .dirDeleteOnStart(true);
+
+        final Archive.Context archiveCtx = new Archive.Context()
+            .deleteArchiveOnStart(true)
+            .archiveDirectoryName("replay-benchmark-archive");
+
+        archiveCtx.segmentFileLength(context.ipcTermBufferLength());
+
+        return ArchivingMediaDriver.launch(context, archiveCtx);
+    }
+
+    private static EngineConfiguration engineConfiguration()
+    {
+        final EngineConfiguration configuration = new EngineConfiguration();
+        configuration.initialAcceptedSessionOwner(InitialAcceptedSessionOwner.SOLE_LIBRARY);
+
+        return configuration
+            .bindTo("localhost", PORT)
+            .libraryAeronChannel(IPC_CHANNEL)
+            .deleteLogFileDirOnStart(true)
+            .logFileDir("replay-benchmark-logs")
+            .framerIdleStrategy(idleStrategy());
+    }
+
+    private LibraryConfiguration libraryConfiguration()
+    {
+        final LibraryConfiguration configuration = new LibraryConfiguration();
+
+        return configuration
+            .libraryAeronChannels(singletonList(IPC_CHANNEL))
+            .sessionAcquireHandler((session, acquiredInfo) ->
+            {
+                initiatorIdToSessionId.put(session.compositeKey().remoteCompId(), session.id());
+                return new BenchmarkSessionHandler();
+            });
+    }
+
+    @FunctionalInterface
+    private interface Scenario
+    {
+        void run(String logFileDir) throws IOException;
+    }
+
+    private static final class LibraryPollerThread implements AutoCloseable
+    {
+        private final FixLibrary library;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean connected;
+
+        LibraryPollerThread(final FixLibrary library)
+        {
+            this.library = library;
+            thread = new Thread(this::run, "replay-benchmark-library");
+            thread.start();
+        }
+
+        private void run()
+        {
+            final IdleStrategy idleStrategy = idleStrategy();
+            while (running)
+            {
+                idleStrategy.idle(library.poll(10));
+                if (!connected && library.isConnected())
+                {
+                    connected = true;
+                }
+            }
+        }
+
+        void awaitConnected()
+        {
+            final long deadlineInNs = System.nanoTime() + AWAIT_TIMEOUT_IN_NS;
+            while (!connected)
+            {
+                if (System.nanoTime() > deadlineInNs)
+                {
+                    throw new IllegalStateException("Timed out waiting for the library to connect");
+                }
+
+                Thread.yield();
+            }
+        }
+
+        public void close()
+        {
+            running = false;
+            try
+            {
+                thread.join();
+            }
+            catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            library.close();
+        }
+    }
+
+    private final class ReplayConnection implements AutoCloseable
+    {
+        private final SocketChannel channel;
+        private final NewOrderSingleEncoder newOrderSingle = new NewOrderSingleEncoder();
+        private final ResendRequestEncoder resendRequest = new ResendRequestEncoder();
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(REPLAY_READ_BUFFER_SIZE);
+        private final MutableAsciiBuffer flyweight = new MutableAsciiBuffer(buffer);
+        private final long[] requestSentInNs = new long[MAX_CONCURRENT_SESSION_REPLAYS];
+
+        private int sentSeqNum = 1;
+        private int lastReceivedSeqNum = 1;
+        private int ordersSubmitted;
+        private int executionReports;
+
+        private int awaitedEndSeqNo;
+        private int requestedReplays;
+        private int completedReplays;
+        private long firstReplayedInNs;
+        private long lastReplayedInNs;
+        private Histogram replayHistogram;
+
+        ReplayConnection(final String initiatorId) throws IOException
+        {
+            channel = open();
+            logon(channel, initiatorId, HEARTBEAT_INTERVAL_IN_S);
+
+            setupHeader(initiatorId, newOrderSingle.header());
+            newOrderSingle
+                .side(Side.BUY)
+                .ordType(OrdType.MARKET)
+                .price(new DecimalFloat(100));
+            newOrderSingle.instrument().symbol("MSFT");
+            newOrderSingle.orderQtyData().orderQty(new DecimalFloat(2));
+
+            setupHeader(initiatorId, resendRequest.header());
+        }
+
+        void sendOrders(final int count) throws IOException
+        {
+            final int expectedExecutionReports = executionReports + count;
+            int sent = 0;
+            while (sent < count)
+            {
+                if (ordersSubmitted - executionReports < MAX_MESSAGES_IN_FLIGHT)
+                {
+                    sendOrder();
+                    sent++;
+                }
+
+                poll();
+            }
+
+            await("execution reports", new ReplayConnection[]{this},
+                () -> executionReports >= expectedExecutionReports);
+        }
+
+        private void sendOrder() throws IOException
+        {
+            final int clOrdId = ++ordersSent;
+            final int clOrdIdLength = clOrdIdBuffer.putIntAscii(0, clOrdId);
+            final int transactTimeLength = transactTime.encode(System.currentTimeMillis());
+            newOrderSingle
+                .clOrdID(clOrdIdBuffer.byteArray(), clOrdIdLength)
+                .transactTime(transactTime.buffer(), transactTimeLength);
+
+            write(channel, encode(newOrderSingle, newOrderSingle.header(), ++sentSeqNum));
+            ordersSubmitted++;
+        }
+
+        long requestResend(final int beginSeqNo, final int endSeqNo) throws IOException
+        {
+            resendRequest.beginSeqNo(beginSeqNo).endSeqNo(endSeqNo);
+            final long result = encode(resendRequest, resendRequest.header(), ++sentSeqNum);
+
+            awaitedEndSeqNo = endSeqNo;
+            firstReplayedInNs = NOT_RECEIVED;
+            final long sentInNs = System.nanoTime();
+            requestSentInNs[requestedReplays % requestSentInNs.length] = sentInNs;
+            requestedReplays++;
+            write(channel, result);
+
+            return sentInNs;
+        }
+
+        boolean replaysComplete()
+        {
+            return completedReplays == requestedReplays;
+        }
+
+        void poll() throws IOException
+        {
+            final int read = channel.read(buffer);
+            if (read == -1)
+            {
+                throw new IllegalStateException("Disconnected by the acceptor");
+            }
+
+            if (read == 0)
+            {
+                return;
+            }
+
+            final long timeInNs = System.nanoTime();
+            final int limit = buffer.position();
+            int start = 0;
+            int checksumOffset;
+            while ((checksumOffset = checksumFieldOffset(start, limit)) != UNKNOWN_INDEX &&
+                checksumOffset + CHECKSUM_FIELD_LENGTH <= limit)
+            {
+                final int end = checksumOffset + CHECKSUM_FIELD_LENGTH;
+                onMessage(start, end, timeInNs);
+                start = end;
+            }
+
+            ByteBufferUtil.limit(buffer, limit);
+            ByteBufferUtil.position(buffer, start);
+            buffer.compact();
+        }
+
+        private void onMessage(final int start, final int end, final long timeInNs)
+        {
+            final int msgSeqNum = naturalValue(start, end, MSG_SEQ_NUM);
+            final byte msgType = flyweight.getByte(valueOffset(start, end, MSG_TYPE));
+            final int possDupOffset = valueOffset(start, end, POSS_DUP_FLAG);
+            final boolean possDup = possDupOffset != UNKNOWN_INDEX && flyweight.getByte(possDupOffset) == 'Y';
+
+            if (possDup || msgType == SEQUENCE_RESET)
+            {
+                if (firstReplayedInNs == NOT_RECEIVED)
+                {
+                    firstReplayedInNs = timeInNs;
+                }
+
+                final int replayedThrough = msgType == SEQUENCE_RESET ?
+                    naturalValue(start, end, NEW_SEQ_NO) - 1 : msgSeqNum;
+                if (replayedThrough == awaitedEndSeqNo)
+                {
+                    onReplayComplete(timeInNs);
+                }
+            }
+            else
+            {
+                lastReceivedSeqNum = msgSeqNum;
+                if (msgType == EXECUTION_REPORT)
+                {
+                    executionReports++;
+                }
+            }
+        }
+
+        private void onReplayComplete(final long timeInNs)
+        {
+            lastReplayedInNs = timeInNs;
+            if (replayHistogram != null)
+            {
+                replayHistogram.recordValue(timeInNs - requestSentInNs[completedReplays % requestSentInNs.length]);
+            }
+            completedReplays++;
+        }
+
+        private int checksumFieldOffset(final int start, final int limit)
+        {
+            int index = start;
+            while ((index = flyweight.scan(index, limit, START_OF_HEADER)) != UNKNOWN_INDEX && index + 3 < limit)
+            {
+                if (flyweight.getByte(index + 1) == '1' &&
+                    flyweight.getByte(index + 2) == '0' &&
+                    flyweight.getByte(index + 3) == '=')
+                {
+                    return index;
+                }
+                index++;
+            }
+
+            return UNKNOWN_INDEX;
+        }
+
+        private int naturalValue(final int start, final int end, final int tag)
+        {
+            final int valueOffset = valueOffset(start, end, tag);
+            return flyweight.getNatural(valueOffset, flyweight.scan(valueOffset, end, START_OF_HEADER));
+        }
+
+        // Only used for two digit tags, which are all preceded by a separator as they never start a message.
+        private int valueOffset(final int start, final int end, final int tag)
+        {
+            final byte tens = (byte)('0' + tag / 10);
+            final byte units = (byte)('0' + tag % 10);
+            for (int i = start, last = end - 3; i < last; i++)
+            {
+                if (flyweight.getByte(i) == START_OF_HEADER &&
+                    flyweight.getByte(i + 1) == tens &&
+                    flyweight.getByte(i + 2) == units &&
+                    flyweight.getByte(i + 3) == '=')
+                {
+                    return i + 4;
+                }
+            }
+
+            return UNKNOWN_INDEX;
+        }
+
+        public void close() throws IOException
+        {
+            channel.close();
+        }
+    }
+}
@@ -28,12 +28,16 @@ import uk.co.real_logic.artio.FixGatewayException;
 import uk.co.real_logic.artio.Reply;
 import uk.co.real_logic.artio.admin.ArtioAdmin;
 import uk.co.real_logic.artio.admin.ArtioAdminConfiguration;
+import uk.co.real_logic.artio.admin.FixAdminBulkResult;
 import uk.co.real_logic.artio.admin.FixAdminSession;
+import uk.co.real_logic.artio.admin.FixAdminSessionPage;
+import uk.co.real_logic.artio.admin.FixAdminSessionQuery;
 import uk.co.real_logic.artio.engine.DefaultEngineScheduler;
 import uk.co.real_logic.artio.engine.FixEngine;
 import uk.co.real_logic.artio.library.LibraryConfiguration;
 import uk.co.real_logic.artio.session.Session;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.concurrent.TimeUnit.MINUTES;
@@ -41,6 +45,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static uk.co.real_logic.artio.TestFixtures.launchMediaDriver;
+import static uk.co.real_logic.artio.engine.FixEngine.ENGINE_LIBRARY_ID;
 import static uk.co.real_logic.artio.system_tests.SystemTestUtil.*;
 import static uk.co.real_logic.artio.system_tests.TestSystem.LONG_AWAIT_TIMEOUT_IN_MS;
 import static uk.co.real_logic.artio.util.CustomMatchers.assertThrows;
@@ -148,6 +153,51 @@ public class ArtioAdminSystemTest extends AbstractGatewayToGatewaySystemTest
         });
     }
 
+    @Test
+    @Timeout(LONG_AWAIT_TIMEOUT_IN_MS)
+    public void shouldQuerySessionsInPages()
+    {
+        connectSessions();
+        acquireAcceptingSession();
+        messagesCanBeExchanged();
+
+        // An offline session
+        Reply<Session> successfulReply = initiate(initiatingLibrary, port, INITIATOR_ID3, ACCEPTOR_ID);
+        final Session offlineSession = completeConnectSessions(successfulReply);
+        logoutSession(offlineSession);
+        assertSessionDisconnected(offlineSession);
+
+        // A gateway managed session
+        successfulReply = initiate(initiatingLibrary, port, INITIATOR_ID2, ACCEPTOR_ID);
+        final Session otherInitSession = completeConnectSessions(successfulReply);
+        messagesCanBeExchanged(otherInitSession);
+
+        testSystem.awaitLongBlocking(() ->
+        {
+            launchArtioAdmin();
+
+            final FixAdminSessionQuery query = new FixAdminSessionQuery().pageSize(2);
+            final FixAdminSessionPage firstPage = artioAdmin.querySessions(query, FixAdminSessionPage.START_CURSOR);
+            assertThat(firstPage.sessions(), hasSize(2));
+            assertTrue(firstPage.hasMore());
+
+            final FixAdminSessionPage secondPage = artioAdmin.querySessions(query, firstPage.nextCursor());
+            assertThat(secondPage.sessions(), hasSize(1));
+            assertFalse(secondPage.hasMore());
+
+            assertThat(remoteCompIds(query), containsInAnyOrder(INITIATOR_ID, INITIATOR_ID2, INITIATOR_ID3));
+            assertThat(
+                remoteCompIds(new FixAdminSessionQuery().connectedOnly(true)),
+                containsInAnyOrder(INITIATOR_ID, INITIATOR_ID2));
+            assertThat(
+                remoteCompIds(new FixAdminSessionQuery().libraryId(ENGINE_LIBRARY_ID)),
+                contains(INITIATOR_ID2));
+            assertThat(
+                remoteCompIds(new FixAdminSessionQuery().remoteCompIdPrefix(INITIATOR_ID3)),
+                contains(INITIATOR_ID3));
+        });
+    }
+
     @Test
     @Timeout(LONG_AWAIT_TIMEOUT_IN_MS)
     public void shouldDisconnectSession()
@@ -278,6 +328,50 @@ public class ArtioAdminSystemTest extends AbstractGatewayToGatewaySystemTest
         });
     }
 
+    @Test
+    @Timeout(LONG_AWAIT_TIMEOUT_IN_MS)
+    public void shouldResetSequenceNumbersInBulk()
+    {
+        connectSessions();
+        messagesCanBeExchanged();
+        messagesCanBeExchanged();
+        assertInitSeqNum(3, 3, 0);
+
+        testSystem.awaitLongBlocking(() ->
+        {
+            launchArtioAdmin();
+
+            final FixAdminBulkResult result = artioAdmin.resetSequenceNumbers(new long[]{1, -1337L});
+            assertEquals(2, result.sessionCount());
+            assertEquals(1, result.successCount());
+            assertThat(result.failures().keySet(), contains(-1337L));
+            assertThat(result.failures().get(-1337L), containsString("unknown"));
+        });
+
+        awaitInitSequenceReset();
+        messagesCanBeExchanged();
+    }
+
+    @Test
+    @Timeout(LONG_AWAIT_TIMEOUT_IN_MS)
+    public void shouldDisconnectSessionsMatchingFilterInBulk()
+    {
+        connectSessions();
+        acquireAcceptingSession();
+        messagesCanBeExchanged();
+
+        testSystem.awaitLongBlocking(() ->
+        {
+            launchArtioAdmin();
+
+            final FixAdminBulkResult result = artioAdmin.disconnectSessions(FixAdminSession::isConnected);
+            assertEquals(1, result.sessionCount());
+            assertTrue(result.isSuccess(), result.toString());
+        });
+
+        assertSessionsDisconnected();
+    }
+
     @Test
     public void shouldThrowExceptionIfAdminClientFailsToConnectToTheFixEngine()
     {
@@ -331,6 +425,13 @@ public class ArtioAdminSystemTest extends AbstractGatewayToGatewaySystemTest
         assertFalse(adminSession.isSlow());
     }
 
+    private List<String> remoteCompIds(final FixAdminSessionQuery query)
+    {
+        final List<String> remoteCompIds = new ArrayList<>();
+        artioAdmin.forEachFixSession(query, (session) -> remoteCompIds.add(session.sessionKey().remoteCompId()));
+        return remoteCompIds;
+    }
+
     private void launchArtioAdmin()
     {
         final ArtioAdminConfiguration config = new ArtioAdminConfiguration();